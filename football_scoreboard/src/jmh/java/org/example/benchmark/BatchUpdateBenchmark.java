@@ -0,0 +1,74 @@
+package org.example.benchmark;
+
+import org.example.model.OperationResult;
+import org.example.model.ScoreBoardOperation;
+import org.example.repository.ScoreBoardDataStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A burst of goal events applied as one batch compared with the same events applied one by one
+ * One invocation always applies 100 score updates, so the scores of both benchmarks are comparable
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(BatchUpdateBenchmark.EVENTS)
+public class BatchUpdateBenchmark {
+
+    static final int EVENTS = 100;
+
+    @Param({"1000", "100000"})
+    public int matchCount;
+
+    @Param({"1", "10", "100"})
+    public int batchSize;
+
+    @Param({"locking", "snapshot", "stamped"})
+    public String store;
+
+    private ScoreBoardDataStore dataStore;
+    private String[] homeTeams; //Built once, so the measured methods do not concatenate names
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataStore = BenchmarkFixtures.store(store, BenchmarkFixtures.comparator("match"));
+        BenchmarkFixtures.populate(dataStore, matchCount);
+        homeTeams = BenchmarkFixtures.homeTeams(matchCount);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int batched() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int applied = 0;
+        for(int start = 0; start < EVENTS; start += batchSize) {
+            List<ScoreBoardOperation> operations = new ArrayList<>(batchSize);
+            for(int i = 0; i < batchSize; i++) {
+                operations.add(ScoreBoardOperation.updateScore(homeTeams[random.nextInt(matchCount)], random.nextInt(8), random.nextInt(8)));
+            }
+            for(OperationResult result : dataStore.applyBatch(operations)) {
+                applied += result.isSuccess() ? 1 : 0;
+            }
+        }
+        return applied;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int oneByOne() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int applied = 0;
+        for(int i = 0; i < EVENTS; i++) {
+            applied += dataStore.setScore(homeTeams[random.nextInt(matchCount)], random.nextInt(8), random.nextInt(8)) ? 1 : 0;
+        }
+        return applied;
+    }
+}
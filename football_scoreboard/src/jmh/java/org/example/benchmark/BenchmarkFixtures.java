@@ -0,0 +1,119 @@
+package org.example.benchmark;
+
+import org.example.helper.MatchComparator;
+import org.example.metrics.ScoreBoardMetrics;
+import org.example.model.MatchInProgress;
+import org.example.repository.ScoreBoardDataStore;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.example.repository.impl.InstrumentedFootballWorldcupScoreboard;
+import org.example.repository.impl.OffHeapFootballWorldcupScoreboard;
+import org.example.repository.impl.RingBufferFootballWorldcupScoreboard;
+import org.example.repository.impl.ShardedFootballWorldcupScoreboard;
+import org.example.repository.impl.SnapshotFootballWorldcupScoreboard;
+import org.example.repository.impl.StampedLockFootballWorldcupScoreboard;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.example.model.Constants.AWAYTEAM;
+import static org.example.model.Constants.HOMETEAM;
+
+/**
+ * Builds the data stores, comparators and matches used by the benchmarks
+ * Every match gets its own pair of teams and its own start time so no two matches collide in the summary
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static String homeTeam(int index) {
+        return "Home-" + index;
+    }
+
+    static String awayTeam(int index) {
+        return "Away-" + index;
+    }
+
+    /**
+     * The home teams of the first count matches, for the measured methods which pick a match by its index
+     */
+    static String[] homeTeams(int count) {
+        String[] teams = new String[count];
+        for (int i = 0; i < count; i++) {
+            teams[i] = homeTeam(i);
+        }
+        return teams;
+    }
+
+    static String[] awayTeams(int count) {
+        String[] teams = new String[count];
+        for (int i = 0; i < count; i++) {
+            teams[i] = awayTeam(i);
+        }
+        return teams;
+    }
+
+    /**
+     * match: MatchComparator used by the application
+     * chained: the same ordering built with the Comparator combinators
+     */
+    static Comparator<MatchInProgress> comparator(String name) {
+        switch (name) {
+            case "match":
+                return new MatchComparator();
+            case "chained":
+                return Comparator.comparingInt((MatchInProgress m) -> m.getHomeTeamScore() + m.getAwayTeamScore()).reversed()
+                        .thenComparing(MatchInProgress::getStartTime, Comparator.reverseOrder())
+                        .thenComparing(MatchInProgress::getHomeTeam);
+            default:
+                throw new IllegalArgumentException("Unknown comparator " + name);
+        }
+    }
+
+    static ScoreBoardDataStore store(String name, Comparator<MatchInProgress> comparator) {
+        switch (name) {
+            case "locking":
+                return FootballWorldcupScoreboard.getScoreBoard(comparator);
+            case "snapshot":
+                return SnapshotFootballWorldcupScoreboard.getScoreBoard(comparator);
+            case "stamped":
+                return StampedLockFootballWorldcupScoreboard.getScoreBoard(comparator);
+            case "instrumented":
+                return InstrumentedFootballWorldcupScoreboard.getScoreBoard(FootballWorldcupScoreboard.getScoreBoard(comparator), new ScoreBoardMetrics());
+            case "ring":
+                return RingBufferFootballWorldcupScoreboard.getScoreBoard(comparator);
+            case "sharded":
+                return ShardedFootballWorldcupScoreboard.getScoreBoard(comparator, Runtime.getRuntime().availableProcessors());
+            case "offheap":
+                return OffHeapFootballWorldcupScoreboard.getScoreBoard(comparator);
+            case "bucketed":
+                return FootballWorldcupScoreboard.getBucketedScoreBoard(); //Always in the order of MatchComparator
+            default:
+                throw new IllegalArgumentException("Unknown data store " + name);
+        }
+    }
+
+    static MatchInProgress match(OffsetDateTime startedAt, String homeTeam, String awayTeam) {
+        Map<String, String> teams = new HashMap<>();
+        teams.put(HOMETEAM, homeTeam);
+        teams.put(AWAYTEAM, awayTeam);
+        return new MatchInProgress(startedAt, teams);
+    }
+
+    /**
+     * Creates matchCount matches with distinct start times and adds them to the store
+     */
+    static MatchInProgress[] populate(ScoreBoardDataStore store, int matchCount) {
+        OffsetDateTime base = OffsetDateTime.now(ZoneOffset.UTC);
+        MatchInProgress[] matches = new MatchInProgress[matchCount];
+        for (int i = 0; i < matchCount; i++) {
+            matches[i] = match(base.plusNanos(i * 1000L), homeTeam(i), awayTeam(i));
+            store.add(matches[i]);
+        }
+        return matches;
+    }
+}
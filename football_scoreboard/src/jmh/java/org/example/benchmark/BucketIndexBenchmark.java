@@ -0,0 +1,61 @@
+package org.example.benchmark;
+
+import org.example.helper.MatchComparator;
+import org.example.model.MatchInProgress;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A goal and the top 10 with the summary kept in a single tree against the summary kept in buckets by total score
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BucketIndexBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int matchCount;
+
+    @Param({"tree", "bucketed"})
+    public String index;
+
+    private FootballWorldcupScoreboard dataStore;
+    private int[] ids;
+    private String[] homeTeams; //Built once, so the measured methods do not concatenate names
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataStore = "tree".equals(index) ? FootballWorldcupScoreboard.getScoreBoard(new MatchComparator())
+                : FootballWorldcupScoreboard.getBucketedScoreBoard();
+        BenchmarkFixtures.populate(dataStore, matchCount);
+        homeTeams = BenchmarkFixtures.homeTeams(matchCount);
+        ids = new int[matchCount];
+        for (int i = 0; i < matchCount; i++) {
+            ids[i] = dataStore.getTeamId(homeTeams[i]);
+            dataStore.setScore(ids[i], i % 4, i % 3); //Real scores, most matches share a total with many others
+        }
+    }
+
+    @Benchmark
+    public boolean setScore() {
+        int i = ThreadLocalRandom.current().nextInt(matchCount);
+        return dataStore.setScore(ids[i], (i + 1) % 4, i % 3);
+    }
+
+    @Benchmark
+    public List<MatchInProgress> top10() {
+        return dataStore.getSummary(0, 10);
+    }
+
+    @Benchmark
+    public int rank() {
+        return dataStore.getRank(homeTeams[ThreadLocalRandom.current().nextInt(matchCount)]);
+    }
+}
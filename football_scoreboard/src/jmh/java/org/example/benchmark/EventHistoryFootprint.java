@@ -0,0 +1,50 @@
+package org.example.benchmark;
+
+import org.example.model.MatchEventHistory;
+import org.example.model.MatchInProgress;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Heap cost of the event history of a match, per event and per match, not a JMH benchmark
+ * <p>
+ * Creates the matches, measures the heap used after a full collection, records the events on every match
+ * and measures it again. Only the last version of every match is kept, the history is what grows:
+ * <p>
+ * java -XX:+UseG1GC -Xms2g -Xmx2g -cp target/benchmarks.jar org.example.benchmark.EventHistoryFootprint 100000 20
+ */
+public class EventHistoryFootprint {
+
+    public static void main(String[] args) throws InterruptedException {
+        int matchCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int eventsPerMatch = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        OffsetDateTime base = OffsetDateTime.now(ZoneOffset.UTC);
+        MatchInProgress[] matches = new MatchInProgress[matchCount];
+        for (int i = 0; i < matchCount; i++) {
+            matches[i] = BenchmarkFixtures.match(base.plusNanos(i * 1000L), BenchmarkFixtures.homeTeam(i), BenchmarkFixtures.awayTeam(i));
+        }
+        long before = OffHeapFootprint.usedHeapAfterGc();
+        for (int i = 0; i < matchCount; i++) {
+            MatchInProgress match = matches[i];
+            for (int event = 0; event < eventsPerMatch; event++) {
+                MatchInProgress next = match.withScore(event / 2 + (event & 1), event / 2);
+                next.getHistory().record(match, next, event * 90 / Math.max(1, eventsPerMatch));
+                match = next;
+            }
+            matches[i] = match;
+        }
+        long after = OffHeapFootprint.usedHeapAfterGc();
+
+        long events = (long) matchCount * eventsPerMatch;
+        long capacity = 0;
+        for (MatchInProgress match : matches) {
+            capacity += match.getHistory().getCapacity();
+        }
+        System.out.printf("%d matches with %d events: %.1f MB, %.1f bytes per event on the heap, %d bytes per event in the columns%n",
+                matchCount, eventsPerMatch, (after - before) / 1e6, (after - before) / (double) events, MatchEventHistory.BYTES_PER_EVENT);
+        System.out.printf("%.2f slots per event, %.1f bytes per match for the array headers%n", capacity / (double) events,
+                ((after - before) - capacity * MatchEventHistory.BYTES_PER_EVENT) / (double) matchCount);
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.benchmark;
+
+import org.example.ingestion.BackpressurePolicy;
+import org.example.ingestion.ScoreBoardIngestion;
+import org.example.model.OperationResult;
+import org.example.repository.ScoreBoardDataStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Score updates of four feed threads, synchronous on the data store against queued to the single writer of ScoreBoardIngestion
+ * The queued updates are throttled by BackpressurePolicy.BLOCK, so their throughput is the one the writer sustains
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class IngestionBenchmark {
+
+    @Param({"1000"})
+    public int matchCount;
+
+    @Param({"64", "1024"})
+    public int maxBatchSize;
+
+    private ScoreBoardDataStore dataStore;
+    private ScoreBoardIngestion ingestion;
+    private String[] homeTeams; //Built once, so the measured methods do not concatenate names
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataStore = BenchmarkFixtures.store("locking", BenchmarkFixtures.comparator("match"));
+        BenchmarkFixtures.populate(dataStore, matchCount);
+        homeTeams = BenchmarkFixtures.homeTeams(matchCount);
+        ingestion = ScoreBoardIngestion.start(dataStore, ScoreBoardIngestion.DEFAULT_CAPACITY, maxBatchSize, BackpressurePolicy.BLOCK);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ingestion.close();
+    }
+
+    @Benchmark
+    public boolean synchronousUpdate() {
+        int i = ThreadLocalRandom.current().nextInt(matchCount);
+        return dataStore.setScore(homeTeams[i], i & 7, i & 3);
+    }
+
+    @Benchmark
+    public CompletableFuture<OperationResult> queuedUpdate() {
+        int i = ThreadLocalRandom.current().nextInt(matchCount);
+        return ingestion.updateScore(homeTeams[i], i & 7, i & 3);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.benchmark;
+
+import org.example.repository.ScoreBoardDataStore;
+import org.example.repository.impl.JournaledFootballWorldcupScoreboard;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Latency of setScore with and without the journal, at a high rate of goal events from 4 threads
+ * none: the plain data store
+ * 1: every change is forced to the disk, concurrent writers share the forces
+ * 64: one force per 64 changes
+ * 0: the changes are only written, the OS decides when to force
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JournalBenchmark {
+
+    @Param({"1000"})
+    public int matchCount;
+
+    @Param({"none", "1", "64", "0"})
+    public String syncBatchSize;
+
+    private ScoreBoardDataStore dataStore;
+    private Path directory;
+    private String[] homeTeams; //Built once, so the measured methods do not concatenate names
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ScoreBoardDataStore plain = BenchmarkFixtures.store("locking", BenchmarkFixtures.comparator("match"));
+        if("none".equals(syncBatchSize)) {
+            dataStore = plain;
+        } else {
+            directory = Files.createTempDirectory("journal-benchmark");
+            dataStore = JournaledFootballWorldcupScoreboard.getScoreBoard(plain, directory, Integer.parseInt(syncBatchSize),
+                    JournaledFootballWorldcupScoreboard.DEFAULT_COMPACTION_INTERVAL);
+        }
+        BenchmarkFixtures.populate(dataStore, matchCount);
+        homeTeams = BenchmarkFixtures.homeTeams(matchCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if(directory == null) {
+            return;
+        }
+        ((JournaledFootballWorldcupScoreboard) dataStore).close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean updateScore() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return dataStore.setScore(homeTeams[random.nextInt(matchCount)], random.nextInt(8), random.nextInt(8));
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.benchmark;
+
+import org.example.helper.MatchComparator;
+import org.example.model.MatchInProgress;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The hot path of a single match, run with -prof gc to see the bytes allocated per operation, one new version per score update
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchInProgressBenchmark {
+
+    private final MatchComparator comparator = new MatchComparator();
+    private MatchInProgress first;
+    private MatchInProgress second;
+    private int goals;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        first = BenchmarkFixtures.match(utc, BenchmarkFixtures.homeTeam(1), BenchmarkFixtures.awayTeam(1));
+        second = BenchmarkFixtures.match(utc.plusNanos(1000), BenchmarkFixtures.homeTeam(2), BenchmarkFixtures.awayTeam(2));
+    }
+
+    @Benchmark
+    public MatchInProgress withScore() {
+        goals++;
+        first = first.withScore(goals & 15, goals & 7);
+        return first;
+    }
+
+    @Benchmark
+    public int compare() {
+        goals++;
+        second = second.withScore(goals & 3, 1);
+        return comparator.compare(first, second);
+    }
+}
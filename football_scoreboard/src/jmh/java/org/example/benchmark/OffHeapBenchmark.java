@@ -0,0 +1,58 @@
+package org.example.benchmark;
+
+import org.example.model.MatchInProgress;
+import org.example.repository.ScoreBoardDataStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The off heap records against the tree of FootballWorldcupScoreboard,
+ * a score update is O(1) off heap while the top 10 has to read every record
+ * Run with -prof gc to see the bytes allocated per update
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OffHeapBenchmark {
+
+    @Param({"1000", "100000"})
+    public int matchCount;
+
+    @Param({"locking", "offheap"})
+    public String store;
+
+    private ScoreBoardDataStore dataStore;
+    private int[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataStore = BenchmarkFixtures.store(store, BenchmarkFixtures.comparator("match"));
+        BenchmarkFixtures.populate(dataStore, matchCount);
+        ids = new int[matchCount];
+        for (int i = 0; i < matchCount; i++) {
+            ids[i] = dataStore.getTeamId(BenchmarkFixtures.homeTeam(i));
+        }
+    }
+
+    @Benchmark
+    public boolean setScore() {
+        int i = ThreadLocalRandom.current().nextInt(matchCount);
+        return dataStore.setScore(ids[i], i & 7, i & 3);
+    }
+
+    @Benchmark
+    public MatchInProgress get() {
+        return dataStore.get(ids[ThreadLocalRandom.current().nextInt(matchCount)]);
+    }
+
+    @Benchmark
+    public List<MatchInProgress> top10() {
+        return dataStore.getSummary(0, 10);
+    }
+}
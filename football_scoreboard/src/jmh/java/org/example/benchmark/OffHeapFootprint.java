@@ -0,0 +1,73 @@
+package org.example.benchmark;
+
+import org.example.helper.MatchComparator;
+import org.example.repository.ScoreBoardDataStore;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Heap footprint and garbage collection of a data store full of live matches, not a JMH benchmark
+ * <p>
+ * Fills the store, measures the heap used after a full collection and then applies random score updates,
+ * counting the collections and the time spent in them. Run every store in its own JVM, with a fixed heap:
+ * <p>
+ * java -Xms2g -Xmx2g -cp target/benchmarks.jar org.example.benchmark.OffHeapFootprint offheap 500000 20000000
+ */
+public class OffHeapFootprint {
+
+    public static void main(String[] args) throws InterruptedException {
+        String store = args.length > 0 ? args[0] : "offheap";
+        int matchCount = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        int updates = args.length > 2 ? Integer.parseInt(args[2]) : 20_000_000;
+
+        long emptyHeap = usedHeapAfterGc();
+        ScoreBoardDataStore dataStore = BenchmarkFixtures.store(store, new MatchComparator());
+        int[] ids = new int[matchCount];
+        BenchmarkFixtures.populate(dataStore, matchCount);
+        for (int i = 0; i < matchCount; i++) {
+            ids[i] = dataStore.getTeamId(BenchmarkFixtures.homeTeam(i));
+        }
+        long fullHeap = usedHeapAfterGc();
+
+        long collections = collectionCount();
+        long collectionMillis = collectionMillis();
+        Random random = new Random(1);
+        long start = System.nanoTime();
+        for (int i = 0; i < updates; i++) {
+            dataStore.setScore(ids[random.nextInt(matchCount)], i & 7, i & 3);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%s: %d matches, %.1f MB heap, %d bytes of heap per match%n", store, matchCount,
+                (fullHeap - emptyHeap) / 1e6, (fullHeap - emptyHeap) / matchCount);
+        System.out.printf("%d updates in %.2f s, %d collections, %d ms in collections%n", updates, elapsed / 1e9,
+                collectionCount() - collections, collectionMillis() - collectionMillis);
+    }
+
+    static long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long collectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += collector.getCollectionCount();
+        }
+        return count;
+    }
+
+    private static long collectionMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += collector.getCollectionTime();
+        }
+        return millis;
+    }
+}
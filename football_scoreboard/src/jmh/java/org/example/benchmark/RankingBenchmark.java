@@ -0,0 +1,62 @@
+package org.example.benchmark;
+
+import org.example.helper.MatchComparator;
+import org.example.helper.RankingStrategy;
+import org.example.model.MatchInProgress;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The top 10 by kick off read from a maintained ranking against sorting the summary for every request,
+ * and what every ranking adds to a score update
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RankingBenchmark {
+
+    @Param({"1000", "100000"})
+    public int matchCount;
+
+    @Param({"0", "3"})
+    public int rankings;
+
+    private FootballWorldcupScoreboard dataStore;
+    private int[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<RankingStrategy> strategies = rankings == 0 ? Collections.emptyList()
+                : List.of(RankingStrategy.KICK_OFF, RankingStrategy.GOAL_DIFFERENCE, RankingStrategy.TEAM_NAME);
+        dataStore = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), strategies);
+        BenchmarkFixtures.populate(dataStore, matchCount);
+        ids = new int[matchCount];
+        for (int i = 0; i < matchCount; i++) {
+            ids[i] = dataStore.getTeamId(BenchmarkFixtures.homeTeam(i));
+        }
+    }
+
+    @Benchmark
+    public boolean setScore() {
+        int i = ThreadLocalRandom.current().nextInt(matchCount);
+        return dataStore.setScore(ids[i], i & 7, i & 3);
+    }
+
+    @Benchmark
+    public List<MatchInProgress> top10ByKickOff() {
+        if (rankings > 0) {
+            return dataStore.getSummary(RankingStrategy.KICK_OFF.getName(), 0, 10);
+        }
+        List<MatchInProgress> summary = dataStore.getSummary();
+        summary.sort(RankingStrategy.KICK_OFF.getComparator());
+        return summary.subList(0, Math.min(10, summary.size()));
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.benchmark;
+
+import org.example.model.MatchInProgress;
+import org.example.repository.ScoreBoardDataStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution of score updates, with the p99 in the SampleTime output,
+ * of the single writer ring buffer against the locking FootballWorldcupScoreboard
+ * Two updaters and one summary reader run together, so the lock is contended
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RingBufferBenchmark {
+
+    @Param({"1000", "100000"})
+    public int matchCount;
+
+    @Param({"locking", "ring"})
+    public String store;
+
+    private ScoreBoardDataStore dataStore;
+    private String[] homeTeams; //Built once, so the measured methods do not concatenate names
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataStore = BenchmarkFixtures.store(store, BenchmarkFixtures.comparator("match"));
+        BenchmarkFixtures.populate(dataStore, matchCount);
+        homeTeams = BenchmarkFixtures.homeTeams(matchCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if(dataStore instanceof Closeable) {
+            ((Closeable) dataStore).close();
+        }
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(2)
+    public boolean updateScore() {
+        int i = ThreadLocalRandom.current().nextInt(matchCount);
+        return dataStore.setScore(homeTeams[i], i & 7, i & 3);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public List<MatchInProgress> readSummaryPage() {
+        return dataStore.getSummary(0, 10);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean uncontendedUpdateScore() {
+        int i = ThreadLocalRandom.current().nextInt(matchCount);
+        return dataStore.setScore(homeTeams[i], i & 7, i & 3);
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.benchmark;
+
+import org.example.model.MatchInProgress;
+import org.example.repository.ScoreBoardDataStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the data store operations, single threaded and under reader/writer contention
+ * <p>
+ * The reader/writer ratio of a JMH group is fixed at compile time, so each ratio is its own group:
+ * readHeavy 3 readers : 1 writer, balanced 2 : 2, writeHeavy 1 reader : 3 writers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoreBoardDataStoreBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int matchCount;
+
+    @Param({"locking", "snapshot", "stamped", "instrumented"})
+    public String store;
+
+    @Param({"match", "chained"})
+    public String comparator;
+
+    private ScoreBoardDataStore dataStore;
+    private MatchInProgress[] matches;
+    private String[] homeTeams; //Built once, so the measured methods do not concatenate names
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataStore = BenchmarkFixtures.store(store, BenchmarkFixtures.comparator(comparator));
+        matches = BenchmarkFixtures.populate(dataStore, matchCount);
+        homeTeams = BenchmarkFixtures.homeTeams(matchCount);
+    }
+
+    @Benchmark
+    public boolean setScore() {
+        return updateRandomMatch();
+    }
+
+    @Benchmark
+    public MatchInProgress get() {
+        return dataStore.get(homeTeams[ThreadLocalRandom.current().nextInt(matchCount)]);
+    }
+
+    @Benchmark
+    public List<MatchInProgress> getSummary() {
+        return dataStore.getSummary();
+    }
+
+    /**
+     * A match finishes and starts again so the number of matches stays the same
+     * Run single threaded, two threads could remove the same match
+     */
+    @Benchmark
+    @Threads(1)
+    public boolean removeAndAdd() {
+        MatchInProgress matchInProgress = matches[ThreadLocalRandom.current().nextInt(matchCount)];
+        dataStore.remove(matchInProgress.getHomeTeam());
+        return dataStore.add(matchInProgress);
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(3)
+    public List<MatchInProgress> readHeavyReader() {
+        return dataStore.getSummary();
+    }
+
+    @Benchmark
+    @Group("readHeavy")
+    @GroupThreads(1)
+    public boolean readHeavyWriter() {
+        return updateRandomMatch();
+    }
+
+    @Benchmark
+    @Group("balanced")
+    @GroupThreads(2)
+    public List<MatchInProgress> balancedReader() {
+        return dataStore.getSummary();
+    }
+
+    @Benchmark
+    @Group("balanced")
+    @GroupThreads(2)
+    public boolean balancedWriter() {
+        return updateRandomMatch();
+    }
+
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(1)
+    public List<MatchInProgress> writeHeavyReader() {
+        return dataStore.getSummary();
+    }
+
+    @Benchmark
+    @Group("writeHeavy")
+    @GroupThreads(3)
+    public boolean writeHeavyWriter() {
+        return updateRandomMatch();
+    }
+
+    private boolean updateRandomMatch() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return dataStore.setScore(homeTeams[random.nextInt(matchCount)], random.nextInt(8), random.nextInt(8));
+    }
+}
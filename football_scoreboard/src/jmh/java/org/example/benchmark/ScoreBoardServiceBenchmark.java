@@ -0,0 +1,62 @@
+package org.example.benchmark;
+
+import org.example.ScoreBoardService;
+import org.example.serviceimpl.FootballWCScoreBoardServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of starting a new match through the service, which also builds the MatchInProgress
+ * Every invocation finishes a running match and starts a fresh one with the same teams
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class ScoreBoardServiceBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int matchCount;
+
+    @Param({"locking", "snapshot", "stamped"})
+    public String store;
+
+    @Param({"match", "chained"})
+    public String comparator;
+
+    private ScoreBoardService service;
+    private String[] homeTeams; //Built once, so the measured methods do not concatenate names
+    private String[] awayTeams;
+    private OffsetDateTime startedAt; //A start time may not be older than a minute, so it is refreshed every iteration
+    private long invocations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new FootballWCScoreBoardServiceImpl(BenchmarkFixtures.store(store, BenchmarkFixtures.comparator(comparator)));
+        homeTeams = BenchmarkFixtures.homeTeams(matchCount);
+        awayTeams = BenchmarkFixtures.awayTeams(matchCount);
+        OffsetDateTime base = OffsetDateTime.now(ZoneOffset.UTC);
+        for (int i = 0; i < matchCount; i++) {
+            service.startNewMatch(base.plusNanos(i * 1000L), homeTeams[i], awayTeams[i]);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void refreshStartTime() {
+        startedAt = OffsetDateTime.now(ZoneOffset.UTC).plusSeconds(1);
+    }
+
+    @Benchmark
+    public boolean finishAndStartNewMatch() {
+        int index = (int) (invocations % matchCount);
+        invocations++;
+        service.finishMatch(homeTeams[index]);
+        return service.startNewMatch(startedAt.plusNanos(invocations), homeTeams[index], awayTeams[index]);
+    }
+}
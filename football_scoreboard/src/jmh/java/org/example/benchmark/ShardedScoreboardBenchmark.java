@@ -0,0 +1,47 @@
+package org.example.benchmark;
+
+import org.example.helper.MatchComparator;
+import org.example.repository.ScoreBoardDataStore;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.example.repository.impl.ShardedFootballWorldcupScoreboard;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write throughput of the sharded data store by number of shards, 0 is the single locked FootballWorldcupScoreboard
+ * Run with -t 1,2,4,8 ... to see how the throughput scales with the cores
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class ShardedScoreboardBenchmark {
+
+    @Param({"10000"})
+    public int matchCount;
+
+    @Param({"0", "1", "4", "16", "64"})
+    public int shards;
+
+    private ScoreBoardDataStore dataStore;
+    private String[] homeTeams; //Built once, so the measured methods do not concatenate names
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataStore = shards == 0 ? FootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 0)
+                : ShardedFootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), shards);
+        BenchmarkFixtures.populate(dataStore, matchCount);
+        homeTeams = BenchmarkFixtures.homeTeams(matchCount);
+    }
+
+    @Benchmark
+    public boolean setScore() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return dataStore.setScore(homeTeams[random.nextInt(matchCount)], random.nextInt(8), random.nextInt(8));
+    }
+}
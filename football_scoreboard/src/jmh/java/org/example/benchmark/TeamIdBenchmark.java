@@ -0,0 +1,65 @@
+package org.example.benchmark;
+
+import org.example.model.MatchInProgress;
+import org.example.repository.ScoreBoardDataStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A score update and a lookup by the name of the team against the same by its id,
+ * the id is looked up once in the setup as a client would do
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TeamIdBenchmark {
+
+    @Param({"1000", "100000"})
+    public int matchCount;
+
+    @Param({"locking", "snapshot"})
+    public String store;
+
+    private ScoreBoardDataStore dataStore;
+    private String[] names;
+    private int[] ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataStore = BenchmarkFixtures.store(store, BenchmarkFixtures.comparator("match"));
+        BenchmarkFixtures.populate(dataStore, matchCount);
+        names = new String[matchCount];
+        ids = new int[matchCount];
+        for (int i = 0; i < matchCount; i++) {
+            names[i] = new String(BenchmarkFixtures.homeTeam(i)); //Not the interned instance, equals has to compare the characters
+            ids[i] = dataStore.getTeamId(names[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean setScoreByName() {
+        int i = ThreadLocalRandom.current().nextInt(matchCount);
+        return dataStore.setScore(names[i], i & 7, i & 3);
+    }
+
+    @Benchmark
+    public boolean setScoreById() {
+        int i = ThreadLocalRandom.current().nextInt(matchCount);
+        return dataStore.setScore(ids[i], i & 7, i & 3);
+    }
+
+    @Benchmark
+    public MatchInProgress getByName() {
+        return dataStore.get(names[ThreadLocalRandom.current().nextInt(matchCount)]);
+    }
+
+    @Benchmark
+    public MatchInProgress getById() {
+        return dataStore.get(ids[ThreadLocalRandom.current().nextInt(matchCount)]);
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.benchmark;
+
+import org.example.ScoreBoardService;
+import org.example.helper.MatchComparator;
+import org.example.repository.ScoreBoardDataStore;
+import org.example.serviceimpl.AsyncScoreBoardService;
+import org.example.serviceimpl.FootballWCScoreBoardServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 100000 concurrent callers, each making one blocking score update and one match lookup on the service
+ * <p>
+ * virtual: every caller is a virtual thread of its own
+ * platform: the callers queue for a pool of 200 platform threads, like a request handling pool
+ * async: the callers go through AsyncScoreBoardService.onVirtualThreads, the lookup is chained to the future of the update
+ * The locking data store takes a ReentrantLock, the offheap one still takes its monitor and pins the carrier of a waiting virtual thread
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    private static final int CALLERS = 100_000;
+    private static final int MATCHES = 1000;
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"locking", "offheap"})
+    public String store;
+
+    @Param({"virtual", "platform", "async"})
+    public String threads;
+
+    private ScoreBoardService service;
+    private ExecutorService executor;
+    private AsyncScoreBoardService asyncService;
+    private int[] ids;
+    private String[] homeTeams;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ScoreBoardDataStore dataStore = BenchmarkFixtures.store(store, new MatchComparator());
+        BenchmarkFixtures.populate(dataStore, MATCHES);
+        service = new FootballWCScoreBoardServiceImpl(dataStore);
+        ids = new int[MATCHES];
+        homeTeams = BenchmarkFixtures.homeTeams(MATCHES);
+        for (int i = 0; i < MATCHES; i++) {
+            ids[i] = service.getTeamId(homeTeams[i]);
+        }
+        if ("async".equals(threads)) {
+            asyncService = AsyncScoreBoardService.onVirtualThreads(service);
+        } else {
+            executor = "virtual".equals(threads) ? Executors.newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(PLATFORM_THREADS);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (asyncService != null) {
+            asyncService.close();
+        } else {
+            executor.close();
+        }
+    }
+
+    /**
+     * One operation is one caller
+     */
+    @Benchmark
+    @OperationsPerInvocation(CALLERS)
+    public void callers() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(CALLERS);
+        for (int c = 0; c < CALLERS; c++) {
+            int match = c % MATCHES;
+            int goals = c & 7;
+            if (asyncService != null) {
+                asyncService.updateScore(ids[match], goals, 0)
+                        .thenCompose(updated -> asyncService.getMatch(homeTeams[match]))
+                        .whenComplete((matchInProgress, e) -> done.countDown());
+                continue;
+            }
+            executor.execute(() -> {
+                try {
+                    service.updateScore(ids[match], goals, 0);
+                    service.getMatch(homeTeams[match]);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+}
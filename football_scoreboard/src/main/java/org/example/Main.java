@@ -1,9 +1,11 @@
 package org.example;
 
 import org.example.helper.MatchComparator;
+import org.example.http.ScoreBoardHttpServer;
 import org.example.model.MatchInProgress;
 import org.example.serviceimpl.FootballWCScoreBoardServiceImpl;
 
+import java.net.InetSocketAddress;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
@@ -64,6 +66,12 @@ public class Main {
         for(int i=0; i<summary.size(); i++) {
             print(summary, i);
         }
+
+        if(args.length > 0) {
+            //Keeps serving the summary, for example on http://localhost:8080/summary
+            ScoreBoardHttpServer server = ScoreBoardHttpServer.start(service, new InetSocketAddress(Integer.parseInt(args[0])));
+            System.out.println("\n====Serving the scoreboard on port " + server.getAddress().getPort() + "====");
+        }
     }
 
     private static void print(List<MatchInProgress> summary, int index) {
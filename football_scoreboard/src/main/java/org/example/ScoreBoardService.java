@@ -1,9 +1,15 @@
 package org.example;
 
 import org.example.model.MatchInProgress;
+import org.example.model.OperationResult;
+import org.example.model.RankedMatch;
+import org.example.model.ScoreBoardChange;
+import org.example.model.ScoreBoardOperation;
+import org.example.model.SummaryChanges;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.concurrent.Flow;
 
 public interface ScoreBoardService {
 
@@ -11,4 +17,73 @@ public interface ScoreBoardService {
     boolean updateScore(String homeTeam, int homeTeamScore, int awayTeamScore);
     boolean finishMatch(String homeTeam);
     List<MatchInProgress> getSummary();
+
+    /**
+     * The id of a team, to be looked up once and passed to the int methods afterwards
+     * TeamRegistry.NO_TEAM if the team is unknown, ScoreBoardException if the data store does not index the teams by id
+     */
+    int getTeamId(String team);
+
+    /**
+     * Like updateScore with the name of a team, without hashing the name
+     */
+    boolean updateScore(int teamId, int homeTeamScore, int awayTeamScore);
+
+    /**
+     * Like finishMatch with the name of a team, without hashing the name
+     */
+    boolean finishMatch(int teamId);
+
+    /**
+     * A page of the summary, the top k matches are getSummary(0, k)
+     * Only the requested part of the summary is walked
+     */
+    List<MatchInProgress> getSummary(int offset, int limit);
+
+    /**
+     * A page of another ranking of the matches, by its name, see RankingStrategy
+     * ScoreBoardException if the data store does not keep that ranking
+     */
+    List<MatchInProgress> getSummary(String ranking, int offset, int limit);
+
+    /**
+     * The match of the given team, home or away, null if the team is not playing
+     */
+    MatchInProgress getMatch(String team);
+
+    /**
+     * 0 based rank of the match of the given team (home or away) in the summary, -1 if the team is not playing
+     */
+    int getRank(String team);
+
+    /**
+     * The match of the given team, home or away, with its rank in the summary, both read at the same moment
+     * null if the team is not playing
+     */
+    RankedMatch getRankedMatch(String team);
+
+    /**
+     * Start, update and finish many matches at once, for example a burst of goal events from the feed
+     * Readers see either none or all of the batch, every operation gets its own result
+     */
+    List<OperationResult> applyBatch(List<ScoreBoardOperation> operations);
+
+    /**
+     * Only what changed in the summary since the given sequence number, 0 for everything since the start
+     * A client which fell too far behind gets the full summary instead
+     * The next call passes getLastSequence of the result
+     */
+    SummaryChanges getChangesSince(long sequence);
+
+    /**
+     * Grows with every change of the summary, -1 if the data store does not count its changes
+     * A summary read after this call is at least as new as the returned sequence
+     */
+    long getLastSequence();
+
+    /**
+     * Pushes every change of the summary to the subscribers instead of letting them poll
+     * A slow subscriber gets only the latest change per match and never slows down the updates
+     */
+    Flow.Publisher<ScoreBoardChange> getChangePublisher();
 }
@@ -4,17 +4,24 @@ import org.example.model.MatchInProgress;
 
 import java.util.Comparator;
 
+/**
+ * The order of the summary, the most goals first, then the most recently started, then the most recently created
+ * <p>
+ * The key of a match is its total score, its start time in epoch nanos and its sequence number, all primitives
+ * The sequence number is unique per match, so only the versions of the same match compare as equal
+ * and two different matches can never replace each other in a sorted set
+ */
 public class MatchComparator implements Comparator<MatchInProgress> {
     @Override
     public int compare(MatchInProgress o1, MatchInProgress o2) {
-        if(o1.equals(o2)) {
-            return 0; //consistent with equals
+        int byTotal = Integer.compare(o2.getTotalScore(), o1.getTotalScore());//Descending order
+        if(byTotal != 0) {
+            return byTotal;
         }
-        int score1 = o1.getHomeTeamScore() + o1.getAwayTeamScore();
-        int score2 = o2.getHomeTeamScore() + o2.getAwayTeamScore();
-        if(score1 != score2) {
-            return score2 - score1;//Descending order
+        int byStartTime = Long.compare(o2.getStartEpochNanos(), o1.getStartEpochNanos());//Descending order
+        if(byStartTime != 0) {
+            return byStartTime;
         }
-        return o2.getStartTime().compareTo(o1.getStartTime());//Descending order
+        return Long.compare(o2.getMatchSequence(), o1.getMatchSequence());//Descending order
     }
 }
@@ -0,0 +1,122 @@
+package org.example.helper;
+
+import org.example.exception.ScoreBoardException;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded queue for many producers and a single consumer, lock free
+ * <p>
+ * A producer claims a slot with one compare-and-set of the producer index and then fills it,
+ * the consumer empties the slots in order and never competes with the producers for an index.
+ * The capacity is rounded up to a power of two, so a slot is found with a mask.
+ * <p>
+ * Once closed the queue takes no more elements, the elements offered before are still polled.
+ * Closing is a flag in the producer index, so a producer can never claim a slot after the close.
+ * <p>
+ * offer and close are thread safe, poll, drainTo and isEmpty must only be called by the consumer
+ */
+public class MpscBoundedQueue<E> {
+
+    public enum OfferResult {
+        ACCEPTED, FULL, CLOSED
+    }
+
+    private static final long CLOSED_FLAG = 1L << 62;
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong(); //Next slot to claim, with CLOSED_FLAG once closed
+    private final AtomicLong consumerIndex = new AtomicLong(); //Next slot to empty, written by the consumer only
+
+    public MpscBoundedQueue(int capacity) {
+        if(capacity < 1 || capacity > 1 << 30) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Capacity must be between 1 and 2^30", null);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if(size < capacity) {
+            size <<= 1;
+        }
+        slots = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Never blocks, FULL and CLOSED leave the element to the caller
+     */
+    public OfferResult offer(E e) {
+        if(e == null) {
+            throw new NullPointerException();
+        }
+        while(true) {
+            long index = producerIndex.get();
+            if((index & CLOSED_FLAG) != 0) {
+                return OfferResult.CLOSED;
+            }
+            if(index - consumerIndex.get() > mask) {
+                return OfferResult.FULL;
+            }
+            if(producerIndex.compareAndSet(index, index + 1)) {
+                slots.lazySet((int) index & mask, e);
+                return OfferResult.ACCEPTED;
+            }
+        }
+    }
+
+    /**
+     * The oldest element, null if the queue is empty
+     * A slot which is claimed but not filled yet is waited for, the producer is only one store away
+     */
+    public E poll() {
+        long index = consumerIndex.get();
+        int slot = (int) index & mask;
+        E e = slots.get(slot);
+        if(e == null) {
+            if(index == (producerIndex.get() & ~CLOSED_FLAG)) {
+                return null;
+            }
+            do {
+                Thread.onSpinWait();
+                e = slots.get(slot);
+            } while(e == null);
+        }
+        slots.lazySet(slot, null);
+        consumerIndex.lazySet(index + 1);
+        return e;
+    }
+
+    /**
+     * Moves up to limit elements to the list in their order, returns how many were moved
+     */
+    public int drainTo(List<? super E> list, int limit) {
+        int drained = 0;
+        E e;
+        while(drained < limit && (e = poll()) != null) {
+            list.add(e);
+            drained++;
+        }
+        return drained;
+    }
+
+    public boolean isEmpty() {
+        return consumerIndex.get() == (producerIndex.get() & ~CLOSED_FLAG);
+    }
+
+    public void close() {
+        long index;
+        do {
+            index = producerIndex.get();
+        } while((index & CLOSED_FLAG) == 0 && !producerIndex.compareAndSet(index, index | CLOSED_FLAG));
+    }
+
+    public boolean isClosed() {
+        return (producerIndex.get() & CLOSED_FLAG) != 0;
+    }
+}
@@ -0,0 +1,301 @@
+package org.example.helper;
+
+import java.util.*;
+
+/**
+ * A sorted set which also knows the position of its elements
+ * <p>
+ * It is a treap, a binary search tree balanced by random priorities, where every node counts the nodes below it
+ * add, remove, contains, rankOf and get run in O(log n)
+ * Iterating k elements from any position runs in O(log n + k), so a page of the summary never walks the whole set
+ * <p>
+ * Like TreeSet the ordering is given by the comparator, which must be consistent with equals
+ * Not thread safe
+ */
+public class OrderStatisticTree<E> extends AbstractSet<E> implements RankedSet<E> {
+
+    private final Comparator<? super E> comparator;
+    private Node<E> root;
+    private long seed = 0x9E3779B97F4A7C15L; //xorshift state for the priorities
+    private boolean changed; //Set by the recursive add and remove
+
+    public OrderStatisticTree(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    @Override
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public boolean add(E e) {
+        changed = false;
+        root = insert(root, e);
+        return changed;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        changed = false;
+        root = delete(root, o);
+        return changed;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return rankOf(o) >= 0;
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * 0 based position of the element, -1 if it is not in the set
+     */
+    @Override
+    public int rankOf(Object o) {
+        int rank = 0;
+        Node<E> node = root;
+        while(node != null) {
+            int c = compare(o, node.value);
+            if(c < 0) {
+                node = node.left;
+            } else if(c > 0) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return rank + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Number of elements ordered before the given one, which does not have to be in the set
+     */
+    @Override
+    public int countLessThan(E e) {
+        int count = 0;
+        Node<E> node = root;
+        while(node != null) {
+            int c = compare(e, node.value);
+            if(c <= 0) {
+                if(c == 0) {
+                    return count + size(node.left);
+                }
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The element at the given 0 based position
+     */
+    @Override
+    public E get(int index) {
+        if(index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " size " + size());
+        }
+        Node<E> node = root;
+        while(true) {
+            int leftSize = size(node.left);
+            if(index < leftSize) {
+                node = node.left;
+            } else if(index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return iterator(0);
+    }
+
+    /**
+     * Iterates in order, starting at the given 0 based position
+     * The iterator may not be used after the set changed
+     */
+    @Override
+    public Iterator<E> iterator(int fromIndex) {
+        return new InOrderIterator(fromIndex);
+    }
+
+    /**
+     * At most limit elements starting at the given position, O(log n + limit)
+     */
+    @Override
+    public List<E> range(int fromIndex, int limit) {
+        int count = Math.max(0, Math.min(limit, size() - fromIndex));
+        List<E> result = new ArrayList<>(count);
+        Iterator<E> iterator = iterator(fromIndex);
+        while(result.size() < count && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(Object o, E value) {
+        return comparator.compare((E) o, value);
+    }
+
+    private Node<E> insert(Node<E> node, E value) {
+        if(node == null) {
+            changed = true;
+            return new Node<>(value, nextPriority());
+        }
+        int c = comparator.compare(value, node.value);
+        if(c == 0) {
+            return node;
+        }
+        if(c < 0) {
+            node.left = insert(node.left, value);
+            update(node);
+            if(node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, value);
+            update(node);
+            if(node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        return node;
+    }
+
+    private Node<E> delete(Node<E> node, Object value) {
+        if(node == null) {
+            return null;
+        }
+        int c = compare(value, node.value);
+        if(c < 0) {
+            node.left = delete(node.left, value);
+        } else if(c > 0) {
+            node.right = delete(node.right, value);
+        } else {
+            changed = true;
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<E> merge(Node<E> left, Node<E> right) {
+        if(left == null) {
+            return right;
+        }
+        if(right == null) {
+            return left;
+        }
+        if(left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node<E> rotateRight(Node<E> node) {
+        Node<E> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private Node<E> rotateLeft(Node<E> node) {
+        Node<E> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+        return (int) seed;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node<?> node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static final class Node<E> {
+        private final E value;
+        private final int priority;
+        private Node<E> left;
+        private Node<E> right;
+        private int size = 1;
+
+        private Node(E value, int priority) {
+            this.value = value;
+            this.priority = priority;
+        }
+    }
+
+    private final class InOrderIterator implements Iterator<E> {
+        private final Deque<Node<E>> stack = new ArrayDeque<>(); //Top is the next node
+
+        private InOrderIterator(int fromIndex) {
+            Node<E> node = root;
+            int index = fromIndex;
+            while(node != null) {
+                int leftSize = size(node.left);
+                if(index < leftSize) {
+                    stack.push(node);
+                    node = node.left;
+                } else if(index == leftSize) {
+                    stack.push(node);
+                    return;
+                } else {
+                    index -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public E next() {
+            if(stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node<E> node = stack.pop();
+            for(Node<E> next = node.right; next != null; next = next.left) {
+                stack.push(next);
+            }
+            return node.value;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.helper;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A sorted set which also knows the position of its elements, the index of a summary
+ * See OrderStatisticTree for any comparator and ScoreBucketIndex for the order of MatchComparator
+ */
+public interface RankedSet<E> extends Set<E> {
+
+    /**
+     * The order of the set, consistent with equals
+     */
+    Comparator<? super E> comparator();
+
+    /**
+     * 0 based position of the element, -1 if it is not in the set
+     */
+    int rankOf(Object o);
+
+    /**
+     * Number of elements ordered before the given one, which does not have to be in the set
+     */
+    int countLessThan(E e);
+
+    /**
+     * The element at the given 0 based position
+     */
+    E get(int index);
+
+    /**
+     * Iterates in order, starting at the given 0 based position
+     * The iterator may not be used after the set changed
+     */
+    Iterator<E> iterator(int fromIndex);
+
+    /**
+     * At most limit elements starting at the given position
+     */
+    List<E> range(int fromIndex, int limit);
+}
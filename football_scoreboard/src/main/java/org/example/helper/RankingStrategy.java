@@ -0,0 +1,66 @@
+package org.example.helper;
+
+import org.example.exception.ScoreBoardException;
+import org.example.model.MatchInProgress;
+
+import java.util.Comparator;
+
+/**
+ * A named order of the live matches, kept by the data store as an index of its own next to the summary
+ * <p>
+ * The data store is given its rankings when it is created and updates every one of them on every change,
+ * so a page of any ranking is read in O(log N + k) without sorting the summary
+ * Every write pays O(log N) once more per ranking
+ * <p>
+ * Matches which the comparator of a ranking finds equal are ordered by their sequence number,
+ * so a ranking never loses a match, see MatchComparator
+ */
+public final class RankingStrategy {
+
+    /**
+     * The biggest lead first, then as the summary
+     */
+    public static final RankingStrategy GOAL_DIFFERENCE = of("goalDifference",
+            Comparator.comparingInt((MatchInProgress m) -> -Math.abs(m.getHomeTeamScore() - m.getAwayTeamScore()))
+                    .thenComparing(new MatchComparator()));
+
+    /**
+     * The earliest kick off first
+     */
+    public static final RankingStrategy KICK_OFF = of("kickOff", Comparator.comparingLong(MatchInProgress::getStartEpochNanos));
+
+    /**
+     * By the name of the home team
+     */
+    public static final RankingStrategy TEAM_NAME = of("teamName", Comparator.comparing(MatchInProgress::getHomeTeam));
+
+    private final String name;
+    private final Comparator<MatchInProgress> comparator;
+
+    private RankingStrategy(String name, Comparator<MatchInProgress> comparator) {
+        this.name = name;
+        this.comparator = comparator;
+    }
+
+    /**
+     * The comparator has to give the same result for all the versions of a match with the same score
+     */
+    public static RankingStrategy of(String name, Comparator<MatchInProgress> comparator) {
+        if(name == null || comparator == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Name and comparator of a ranking may not be null", null);
+        }
+        return new RankingStrategy(name, comparator.thenComparing(Comparator.comparingLong(MatchInProgress::getMatchSequence).reversed()));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The comparator given to of, with the sequence number as the last tie breaker
+     */
+    public Comparator<MatchInProgress> getComparator() {
+        return comparator;
+    }
+}
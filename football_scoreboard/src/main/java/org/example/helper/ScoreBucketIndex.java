@@ -0,0 +1,259 @@
+package org.example.helper;
+
+import org.example.model.MatchInProgress;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The summary in the order of MatchComparator, with the matches bucketed by their total score
+ * <p>
+ * The total of a football match is tiny, so the buckets are an array indexed by the total
+ * and every bucket only orders its own matches by start time and sequence number, with primitive compares
+ * A goal moves a match from one small bucket to the next, the totals of the other matches are never compared
+ * The summary is a walk over the buckets from the highest total down, a rank adds up the sizes of the buckets above
+ * <p>
+ * The totals outside of 0 to MAX_BUCKETED_TOTAL are kept in two trees before and after the buckets,
+ * so any score is ranked correctly, only not as quickly
+ * <p>
+ * Not thread safe
+ */
+public class ScoreBucketIndex extends AbstractSet<MatchInProgress> implements RankedSet<MatchInProgress> {
+
+    public static final int MAX_BUCKETED_TOTAL = 1023;
+
+    /**
+     * The order inside a bucket, where all the totals are the same
+     */
+    private static final Comparator<MatchInProgress> BY_START = (o1, o2) -> {
+        int byStartTime = Long.compare(o2.getStartEpochNanos(), o1.getStartEpochNanos());//Descending order
+        return byStartTime != 0 ? byStartTime : Long.compare(o2.getMatchSequence(), o1.getMatchSequence());
+    };
+
+    private final MatchComparator comparator = new MatchComparator();
+    private final OrderStatisticTree<MatchInProgress> above = new OrderStatisticTree<>(comparator); //Totals over MAX_BUCKETED_TOTAL
+    private final OrderStatisticTree<MatchInProgress> below = new OrderStatisticTree<>(comparator); //Negative totals
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private OrderStatisticTree<MatchInProgress>[] buckets = new OrderStatisticTree[16]; //Index is the total, grows with the highest total
+    private int size;
+
+    public ScoreBucketIndex() {
+        for(int total = 0; total < buckets.length; total++) {
+            buckets[total] = new OrderStatisticTree<>(BY_START);
+        }
+    }
+
+    /**
+     * The same order as MatchComparator
+     */
+    @Override
+    public Comparator<? super MatchInProgress> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * O(log b) for a bucket of b matches
+     */
+    @Override
+    public boolean add(MatchInProgress matchInProgress) {
+        if(!segmentFor(matchInProgress.getTotalScore(), true).add(matchInProgress)) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * O(log b) for a bucket of b matches
+     */
+    @Override
+    public boolean remove(Object o) {
+        if(!(o instanceof MatchInProgress)) {
+            return false;
+        }
+        OrderStatisticTree<MatchInProgress> segment = segmentFor(((MatchInProgress) o).getTotalScore(), false);
+        if(segment == null || !segment.remove(o)) {
+            return false;
+        }
+        size--;
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return rankOf(o) >= 0;
+    }
+
+    @Override
+    public void clear() {
+        above.clear();
+        below.clear();
+        for(OrderStatisticTree<MatchInProgress> bucket : buckets) {
+            bucket.clear();
+        }
+        size = 0;
+    }
+
+    /**
+     * O(B + log b) for B buckets
+     */
+    @Override
+    public int rankOf(Object o) {
+        if(!(o instanceof MatchInProgress)) {
+            return -1;
+        }
+        int total = ((MatchInProgress) o).getTotalScore();
+        OrderStatisticTree<MatchInProgress> segment = segmentFor(total, false);
+        int rank = segment == null ? -1 : segment.rankOf(o);
+        return rank < 0 ? -1 : countAbove(total) + rank;
+    }
+
+    /**
+     * O(B + log b) for B buckets
+     */
+    @Override
+    public int countLessThan(MatchInProgress matchInProgress) {
+        int total = matchInProgress.getTotalScore();
+        OrderStatisticTree<MatchInProgress> segment = segmentFor(total, false);
+        return countAbove(total) + (segment == null ? 0 : segment.countLessThan(matchInProgress));
+    }
+
+    /**
+     * O(B + log b) for B buckets
+     */
+    @Override
+    public MatchInProgress get(int index) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " size " + size);
+        }
+        for(int segment = 0; ; segment++) {
+            OrderStatisticTree<MatchInProgress> tree = segment(segment);
+            if(index < tree.size()) {
+                return tree.get(index);
+            }
+            index -= tree.size();
+        }
+    }
+
+    @Override
+    public Iterator<MatchInProgress> iterator() {
+        return iterator(0);
+    }
+
+    /**
+     * The buckets before the given position are skipped by their sizes
+     */
+    @Override
+    public Iterator<MatchInProgress> iterator(int fromIndex) {
+        return new BucketIterator(fromIndex);
+    }
+
+    /**
+     * O(B + log b + limit) for B buckets
+     */
+    @Override
+    public List<MatchInProgress> range(int fromIndex, int limit) {
+        int count = Math.max(0, Math.min(limit, size - fromIndex));
+        List<MatchInProgress> result = new ArrayList<>(count);
+        Iterator<MatchInProgress> iterator = iterator(fromIndex);
+        while(result.size() < count && iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    /**
+     * The tree of the given total, null if create is false and there is no bucket for it yet
+     */
+    private OrderStatisticTree<MatchInProgress> segmentFor(int total, boolean create) {
+        if(total < 0) {
+            return below;
+        }
+        if(total > MAX_BUCKETED_TOTAL) {
+            return above;
+        }
+        if(total >= buckets.length) {
+            if(!create) {
+                return null;
+            }
+            int length = buckets.length;
+            buckets = Arrays.copyOf(buckets, Math.min(MAX_BUCKETED_TOTAL + 1, Math.max(total + 1, length * 2)));
+            for(int i = length; i < buckets.length; i++) {
+                buckets[i] = new OrderStatisticTree<>(BY_START);
+            }
+        }
+        return buckets[total];
+    }
+
+    /**
+     * The trees in the order of the summary, above first, then the buckets from the highest total down, then below
+     */
+    private OrderStatisticTree<MatchInProgress> segment(int segment) {
+        if(segment == 0) {
+            return above;
+        }
+        if(segment <= buckets.length) {
+            return buckets[buckets.length - segment];
+        }
+        return below;
+    }
+
+    private int segmentCount() {
+        return buckets.length + 2;
+    }
+
+    /**
+     * Number of matches with a higher total than the given one
+     */
+    private int countAbove(int total) {
+        if(total > MAX_BUCKETED_TOTAL) {
+            return 0;
+        }
+        int count = above.size();
+        for(int higher = buckets.length - 1; higher > total && higher >= 0; higher--) {
+            count += buckets[higher].size();
+        }
+        return count;
+    }
+
+    private final class BucketIterator implements Iterator<MatchInProgress> {
+        private int segment;
+        private Iterator<MatchInProgress> current;
+
+        private BucketIterator(int fromIndex) {
+            int skip = Math.max(0, fromIndex);
+            while(segment < segmentCount() && skip >= segment(segment).size()) {
+                skip -= segment(segment).size();
+                segment++;
+            }
+            current = segment < segmentCount() ? segment(segment).iterator(skip) : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while(current != null && !current.hasNext()) {
+                segment++;
+                current = segment < segmentCount() ? segment(segment).iterator(0) : null;
+            }
+            return current != null;
+        }
+
+        @Override
+        public MatchInProgress next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.helper;
+
+import org.example.exception.ScoreBoardException;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.example.model.Constants.*;
+
+/**
+ * Interns the names of the teams to dense int ids, 0 for the first team registered, 1 for the next and so on
+ * <p>
+ * A caller which looks the id of a team up once can use the int methods of the data store afterwards,
+ * which index the matches by id and never hash the name again
+ * New teams may be registered at any time, an id is never reused
+ * All the methods of this class are thread safe, idOf and nameOf never lock
+ */
+public class TeamRegistry {
+
+    public static final int NO_TEAM = -1;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final ReentrantLock registerLock = new ReentrantLock(); //Not a monitor, register runs under the lock of a data store
+    private volatile String[] names = new String[16]; //Index is the id, replaced by a larger copy when full
+    private volatile int size;
+
+    /**
+     * A registry of the teams of org.example.model.Constants, in the order they are listed there
+     */
+    public static TeamRegistry withDefaultTeams() {
+        TeamRegistry registry = new TeamRegistry();
+        for(String team : new String[]{ARGENTINA, AUSTRALIA, URUGUAY, ITALY, GERMANY, FRANCE, SPAIN, BRAZIL, MEXICO, CANADA}) {
+            registry.register(team);
+        }
+        return registry;
+    }
+
+    /**
+     * The id of the team, registered now if it is new
+     * O(1)
+     */
+    public int register(String team) {
+        if(team == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Team may not be null", null);
+        }
+        Integer id = ids.get(team);
+        if(id != null) {
+            return id;
+        }
+        registerLock.lock();
+        try {
+            id = ids.get(team);
+            if(id != null) {
+                return id;
+            }
+            int next = size;
+            String[] current = names;
+            if(next == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[next] = team;
+            names = current;
+            size = next + 1;
+            ids.put(team, next); //Published last, so a found id always has its name
+            return next;
+        } finally {
+            registerLock.unlock();
+        }
+    }
+
+    /**
+     * The id of the team, NO_TEAM if it was never registered
+     * O(1)
+     */
+    public int idOf(String team) {
+        if(team == null) {
+            return NO_TEAM;
+        }
+        Integer id = ids.get(team);
+        return id == null ? NO_TEAM : id;
+    }
+
+    /**
+     * The interned name of the team with the given id
+     * O(1)
+     */
+    public String nameOf(int id) {
+        if(id < 0 || id >= size) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("There is no team with the id " + id, null);
+        }
+        return names[id];
+    }
+
+    /**
+     * Number of teams registered, the ids are 0 to size - 1
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,200 @@
+package org.example.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.example.model.ScoreBoardChange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans the changes of the summary out to Server-Sent Events connections
+ * <p>
+ * Every change is encoded once, and the same bytes are queued for every connection.
+ * Each connection is served by its own virtual thread, which blocks on its bounded queue and writes to the client.
+ * A connection whose queue is full drops all its queued events and is sent the full summary instead,
+ * as an event named snapshot. The first event of every connection is a snapshot too.
+ * <p>
+ * A client may see a change again which is already in the last snapshot, every event carries its sequence as id
+ * and the full state of its match, so applying it twice does no harm
+ */
+final class ScoreBoardEventStream implements Flow.Subscriber<ScoreBoardChange> {
+
+    static final long HEARTBEAT_MILLIS = 15_000;
+
+    private static final byte[] WAKE_UP = new byte[0]; //Queued when a connection has to resync
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final Flow.Publisher<ScoreBoardChange> publisher;
+    private final SummaryCache summaryCache;
+    private final int queueCapacity;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private volatile SnapshotEvent snapshotEvent; //The last snapshot, encoded once per sequence
+    private volatile Flow.Subscription subscription;
+    private volatile boolean closed;
+
+    ScoreBoardEventStream(Flow.Publisher<ScoreBoardChange> publisher, SummaryCache summaryCache, int queueCapacity) {
+        this.publisher = publisher;
+        this.summaryCache = summaryCache;
+        this.queueCapacity = queueCapacity;
+        publisher.subscribe(this);
+    }
+
+    /**
+     * Streams to the client until it goes away or the server stops, blocking the calling virtual thread
+     */
+    void serve(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        Connection connection = new Connection(queueCapacity);
+        connections.add(connection);
+        try (OutputStream out = exchange.getResponseBody()) {
+            while(!closed) {
+                if(connection.resync) {
+                    connection.resync = false;
+                    connection.queue.clear();
+                    out.write(snapshot());
+                    out.flush();
+                    continue;
+                }
+                byte[] event = connection.queue.poll(HEARTBEAT_MILLIS, TimeUnit.MILLISECONDS);
+                if(event == null) {
+                    out.write(HEARTBEAT);
+                } else if(event != WAKE_UP) {
+                    out.write(event);
+                }
+                out.flush();
+            }
+        } catch (InterruptedException e) {
+            //The server stops
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            //Log it so that it may be debugged, the client went away
+        } finally {
+            connections.remove(connection);
+        }
+    }
+
+    int getConnectionCount() {
+        return connections.size();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    /**
+     * Encodes the change once and queues the same bytes for every connection, never blocks
+     */
+    @Override
+    public void onNext(ScoreBoardChange change) {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"sequence\":").append(change.getSequence())
+                .append(",\"type\":\"").append(change.getType()).append('"')
+                .append(",\"oldRank\":").append(change.getOldRank())
+                .append(",\"newRank\":").append(change.getNewRank())
+                .append(",\"match\":");
+        ScoreBoardJson.appendMatch(json, change.getMatch(), change.getNewRank());
+        json.append('}');
+        byte[] event = ("id: " + change.getSequence() + "\nevent: change\ndata: " + json + "\n\n").getBytes(StandardCharsets.UTF_8);
+        for(Connection connection : connections) {
+            connection.offer(event);
+        }
+    }
+
+    /**
+     * The publisher dropped this stream, every connection resyncs and the stream subscribes again
+     */
+    @Override
+    public void onError(Throwable throwable) {
+        //Log it so that it may be debugged
+        for(Connection connection : connections) {
+            connection.requestResync();
+        }
+        if(!closed) {
+            publisher.subscribe(this);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        subscription = null;
+    }
+
+    /**
+     * Ends every connection once it has written its current event
+     */
+    void close() {
+        closed = true;
+        Flow.Subscription current = subscription;
+        if(current != null) {
+            current.cancel();
+        }
+        for(Connection connection : connections) {
+            connection.queue.offer(WAKE_UP);
+        }
+    }
+
+    /**
+     * The full summary as one event, encoded once per sequence from the cached JSON
+     */
+    private byte[] snapshot() {
+        SummaryCache.CachedSummary summary = summaryCache.get();
+        SnapshotEvent current = snapshotEvent;
+        if(current != null && current.summary == summary) {
+            return current.bytes;
+        }
+        byte[] prefix = ("id: " + summary.getSequence() + "\nevent: snapshot\ndata: ").getBytes(StandardCharsets.UTF_8);
+        byte[] json = summary.getBody();
+        byte[] bytes = new byte[prefix.length + json.length + 2];
+        System.arraycopy(prefix, 0, bytes, 0, prefix.length);
+        System.arraycopy(json, 0, bytes, prefix.length, json.length);
+        bytes[bytes.length - 2] = '\n';
+        bytes[bytes.length - 1] = '\n';
+        snapshotEvent = new SnapshotEvent(summary, bytes);
+        return bytes;
+    }
+
+    private static final class SnapshotEvent {
+        private final SummaryCache.CachedSummary summary;
+        private final byte[] bytes;
+
+        private SnapshotEvent(SummaryCache.CachedSummary summary, byte[] bytes) {
+            this.summary = summary;
+            this.bytes = bytes;
+        }
+    }
+
+    private static final class Connection {
+        private final BlockingQueue<byte[]> queue;
+        private volatile boolean resync = true; //The first event is the snapshot
+
+        private Connection(int capacity) {
+            queue = new ArrayBlockingQueue<>(capacity);
+        }
+
+        private void offer(byte[] event) {
+            if(!queue.offer(event)) {
+                requestResync();
+            }
+        }
+
+        /**
+         * The queued events are dropped, the snapshot sent instead holds all of them
+         */
+        private void requestResync() {
+            resync = true;
+            queue.clear();
+            queue.offer(WAKE_UP);
+        }
+    }
+}
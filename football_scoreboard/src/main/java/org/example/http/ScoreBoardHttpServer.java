@@ -0,0 +1,250 @@
+package org.example.http;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.ScoreBoardService;
+import org.example.exception.ScoreBoardException;
+import org.example.model.MatchInProgress;
+import org.example.model.RankedMatch;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Read only HTTP API of the scoreboard, on the HTTP server of the JDK with one virtual thread per request
+ * <p>
+ * GET /summary                      the full summary, cached once per change, with an ETag
+ * GET /summary?offset=0&amp;limit=10    a page of the summary
+ * GET /summary?ranking=kickOff       another ranking kept by the data store, see RankingStrategy, with the same paging
+ * GET /matches/{team}               the match of a team, home or away, with its rank
+ * GET /events                       Server-Sent Events, a snapshot of the summary and then every change, see ScoreBoardEventStream
+ * <p>
+ * A request with If-None-Match of the current ETag gets 304 without a body
+ * All the responses are JSON, as written by ScoreBoardJson
+ */
+public class ScoreBoardHttpServer implements Closeable {
+
+    public static final int DEFAULT_EVENT_QUEUE_CAPACITY = 256;
+
+    static final String JSON = "application/json; charset=utf-8";
+
+    private final ScoreBoardService service;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final SummaryCache summaryCache;
+    private final int eventQueueCapacity;
+    private ScoreBoardEventStream eventStream; //Guarded by this, created with the first connection
+
+    private ScoreBoardHttpServer(ScoreBoardService service, HttpServer server, ExecutorService executor, int eventQueueCapacity) {
+        this.service = service;
+        this.server = server;
+        this.executor = executor;
+        this.summaryCache = new SummaryCache(service);
+        this.eventQueueCapacity = eventQueueCapacity;
+    }
+
+    /**
+     * Starts serving right away, port 0 picks a free port, see getAddress
+     */
+    public static ScoreBoardHttpServer start(ScoreBoardService service, InetSocketAddress address) {
+        return start(service, address, DEFAULT_EVENT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * eventQueueCapacity is the number of events queued per Server-Sent Events connection before it is resynced
+     */
+    public static ScoreBoardHttpServer start(ScoreBoardService service, InetSocketAddress address, int eventQueueCapacity) {
+        if(service == null || address == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Service and address may not be null", null);
+        }
+        if(eventQueueCapacity < 1) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Event queue capacity must be positive", null);
+        }
+        HttpServer server;
+        try {
+            server = HttpServer.create(address, 0);
+        } catch (IOException e) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Could not listen on " + address, e);
+        }
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        ScoreBoardHttpServer httpServer = new ScoreBoardHttpServer(service, server, executor, eventQueueCapacity);
+        server.createContext("/summary", httpServer::handleSummary);
+        server.createContext("/matches/", httpServer::handleMatch);
+        server.createContext("/events", httpServer::handleEvents);
+        server.start();
+        return httpServer;
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * Number of open Server-Sent Events connections
+     */
+    public synchronized int getEventConnectionCount() {
+        return eventStream == null ? 0 : eventStream.getConnectionCount();
+    }
+
+    /**
+     * Stops accepting requests and lets the running ones finish for up to a second
+     * The Server-Sent Events connections are closed
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if(eventStream != null) {
+                eventStream.close();
+            }
+        }
+        server.stop(1);
+        executor.shutdownNow();
+    }
+
+    /**
+     * A cache hit costs a look at the last sequence and a write of the cached bytes
+     */
+    private void handleSummary(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if(!isRead(exchange)) {
+                return;
+            }
+            String query = exchange.getRequestURI().getRawQuery();
+            if(query != null && !query.isEmpty()) {
+                handlePage(exchange, query);
+                return;
+            }
+            SummaryCache.CachedSummary summary = summaryCache.get();
+            send(exchange, 200, summary.getEtag(), summary.getBody());
+        }
+    }
+
+    private void handlePage(HttpExchange exchange, String query) throws IOException {
+        int offset = 0;
+        int limit = Integer.MAX_VALUE;
+        String ranking = null;
+        try {
+            for(String parameter : query.split("&")) {
+                int separator = parameter.indexOf('=');
+                String name = separator < 0 ? parameter : parameter.substring(0, separator);
+                String value = separator < 0 ? "" : parameter.substring(separator + 1);
+                if("offset".equals(name)) {
+                    offset = Integer.parseInt(value);
+                } else if("limit".equals(name)) {
+                    limit = Integer.parseInt(value);
+                } else if("ranking".equals(name)) {
+                    ranking = URLDecoder.decode(value, StandardCharsets.UTF_8);
+                }
+            }
+        } catch (NumberFormatException e) {
+            //Log it so that it may be debugged
+            send(exchange, 400, null, ScoreBoardJson.error("Offset and limit must be numbers, not negative"));
+            return;
+        }
+        try {
+            List<MatchInProgress> page = ranking == null ? service.getSummary(offset, limit) : service.getSummary(ranking, offset, limit);
+            send(exchange, 200, null, ScoreBoardJson.summary(page, offset));
+        } catch (ScoreBoardException e) {
+            //Log it so that it may be debugged
+            send(exchange, 400, null, ScoreBoardJson.error(ranking == null ? "Offset and limit must be numbers, not negative" : e.getMessage()));
+        }
+    }
+
+    /**
+     * The ETag changes with the version and the rank of the match, both read at the same moment,
+     * and has the same instance prefix as the ETag of the summary
+     */
+    private void handleMatch(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if(!isRead(exchange)) {
+                return;
+            }
+            String path = exchange.getRequestURI().getRawPath();
+            String team = URLDecoder.decode(path.substring("/matches/".length()), StandardCharsets.UTF_8);
+            RankedMatch rankedMatch = service.getRankedMatch(team);
+            if(rankedMatch == null) {
+                send(exchange, 404, null, ScoreBoardJson.error("There is no match going on with the team " + team));
+                return;
+            }
+            MatchInProgress matchInProgress = rankedMatch.getMatch();
+            int rank = rankedMatch.getRank();
+            String etag = "\"" + summaryCache.getInstance() + "-" + matchInProgress.getStartEpochNanos() + "-" + matchInProgress.getVersion() + "-" + rank + "\"";
+            send(exchange, 200, etag, ScoreBoardJson.match(matchInProgress, rank));
+        }
+    }
+
+    /**
+     * Holds the virtual thread of the request for as long as the client stays connected
+     * A data store which does not keep its changes gets 501
+     */
+    private void handleEvents(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if(!isRead(exchange)) {
+                return;
+            }
+            ScoreBoardEventStream stream;
+            try {
+                stream = eventStream();
+            } catch (ScoreBoardException e) {
+                //Log it so that it may be debugged
+                send(exchange, 501, null, ScoreBoardJson.error(e.getMessage()));
+                return;
+            }
+            stream.serve(exchange);
+        }
+    }
+
+    private synchronized ScoreBoardEventStream eventStream() {
+        if(eventStream == null) {
+            eventStream = new ScoreBoardEventStream(service.getChangePublisher(), summaryCache, eventQueueCapacity);
+        }
+        return eventStream;
+    }
+
+    /**
+     * Only GET and HEAD are served, anything else gets 405
+     */
+    private static boolean isRead(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        if("GET".equals(method) || "HEAD".equals(method)) {
+            return true;
+        }
+        exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+        send(exchange, 405, null, ScoreBoardJson.error("Method " + method + " is not allowed"));
+        return false;
+    }
+
+    private static void send(HttpExchange exchange, int status, String etag, byte[] body) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        if(etag != null) {
+            headers.set("ETag", etag);
+            headers.set("Cache-Control", "no-cache");
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            if(status == 200 && ifNoneMatch != null && ifNoneMatch.contains(etag)) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+        }
+        headers.set("Content-Type", JSON);
+        if("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.http;
+
+import org.example.model.MatchInProgress;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes the matches as JSON, without any library
+ * A match is written as
+ * {"rank":0,"homeTeam":"Spain","awayTeam":"Brazil","homeScore":10,"awayScore":2,"startedAt":"2023-08-20T10:15:30Z","version":2}
+ */
+final class ScoreBoardJson {
+
+    private ScoreBoardJson() {
+    }
+
+    /**
+     * The summary as an array, rank is the position in the summary plus the offset of the page
+     */
+    static byte[] summary(List<MatchInProgress> matches, int offset) {
+        StringBuilder json = new StringBuilder(64 + matches.size() * 160);
+        json.append('[');
+        for(int i = 0; i < matches.size(); i++) {
+            if(i > 0) {
+                json.append(',');
+            }
+            appendMatch(json, matches.get(i), offset + i);
+        }
+        json.append(']');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] match(MatchInProgress matchInProgress, int rank) {
+        StringBuilder json = new StringBuilder(192);
+        appendMatch(json, matchInProgress, rank);
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static byte[] error(String message) {
+        StringBuilder json = new StringBuilder(64);
+        json.append("{\"error\":");
+        appendString(json, message);
+        json.append('}');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static void appendMatch(StringBuilder json, MatchInProgress matchInProgress, int rank) {
+        json.append("{\"rank\":").append(rank)
+                .append(",\"homeTeam\":");
+        appendString(json, matchInProgress.getHomeTeam());
+        json.append(",\"awayTeam\":");
+        appendString(json, matchInProgress.getAwayTeam());
+        json.append(",\"homeScore\":").append(matchInProgress.getHomeTeamScore())
+                .append(",\"awayScore\":").append(matchInProgress.getAwayTeamScore())
+                .append(",\"startedAt\":\"").append(matchInProgress.getStartTime()).append('"')
+                .append(",\"version\":").append(matchInProgress.getVersion())
+                .append('}');
+    }
+
+    static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for(int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if(c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.http;
+
+import org.example.ScoreBoardService;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * The JSON of the full summary, serialized once per change of the summary
+ * <p>
+ * The cache is keyed by the last sequence of the service. The sequence is read before the summary,
+ * so the cached JSON is never older than its sequence and the next change always replaces it.
+ * Only one thread serializes a new summary, the others wait for it and share the result.
+ * They wait on a ReentrantLock, not a monitor, so a virtual thread waiting here frees its carrier.
+ * <p>
+ * A data store which does not count its changes is serialized for every request,
+ * the ETag is then the checksum of the JSON
+ */
+final class SummaryCache {
+
+    private final ScoreBoardService service;
+    private final String instance = Long.toHexString(ThreadLocalRandom.current().nextLong()); //The sequences start again after a restart
+    private final ReentrantLock lock = new ReentrantLock(); //Held while one thread serializes a new summary
+    private volatile CachedSummary cached;
+
+    SummaryCache(ScoreBoardService service) {
+        this.service = service;
+    }
+
+    /**
+     * Random per cache, the prefix of every ETag, so an ETag of a previous run never matches after a restart
+     */
+    String getInstance() {
+        return instance;
+    }
+
+    /**
+     * O(1) if the summary did not change since the last call, O(n) otherwise
+     */
+    CachedSummary get() {
+        long sequence = service.getLastSequence();
+        if(sequence < 0) {
+            byte[] body = ScoreBoardJson.summary(service.getSummary(), 0);
+            CRC32 crc = new CRC32();
+            crc.update(body);
+            return new CachedSummary(sequence, body, "\"" + instance + "-c" + Long.toHexString(crc.getValue()) + "\"");
+        }
+        CachedSummary current = cached;
+        if(current != null && current.sequence >= sequence) {
+            return current;
+        }
+        lock.lock();
+        try {
+            current = cached;
+            if(current != null && current.sequence >= sequence) {
+                return current;
+            }
+            byte[] body = ScoreBoardJson.summary(service.getSummary(), 0);
+            current = new CachedSummary(sequence, body, "\"" + instance + "-" + sequence + "\"");
+            cached = current;
+            return current;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Immutable, shared by all the requests for the same sequence
+     */
+    static final class CachedSummary {
+        private final long sequence;
+        private final byte[] body;
+        private final String etag;
+
+        private CachedSummary(long sequence, byte[] body, String etag) {
+            this.sequence = sequence;
+            this.body = body;
+            this.etag = etag;
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+
+        String getEtag() {
+            return etag;
+        }
+
+        /**
+         * The JSON itself, not a copy, shared by all the requests for the same sequence, so it must not be modified
+         */
+        byte[] getBody() {
+            return body;
+        }
+    }
+}
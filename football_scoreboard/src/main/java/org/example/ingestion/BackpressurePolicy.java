@@ -0,0 +1,16 @@
+package org.example.ingestion;
+
+/**
+ * What a producer does when the ingestion queue is full
+ */
+public enum BackpressurePolicy {
+    /**
+     * The producer waits for a free slot, backing off from 1 microsecond up to 1 millisecond
+     * Nothing is lost, a slow data store slows the feeds down
+     */
+    BLOCK,
+    /**
+     * The future fails right away with ScoreBoardException, the feed decides whether to retry or drop the event
+     */
+    REJECT
+}
@@ -0,0 +1,215 @@
+package org.example.ingestion;
+
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MpscBoundedQueue;
+import org.example.model.OperationResult;
+import org.example.model.ScoreBoardOperation;
+import org.example.repository.ScoreBoardDataStore;
+
+import java.io.Closeable;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous front end for the writes, many feed threads submit and a single writer thread applies
+ * <p>
+ * The feeds put their operations into a bounded lock free queue and get a CompletableFuture back right away.
+ * The writer drains up to maxBatchSize operations at a time and applies them with one applyBatch,
+ * so the data store is written by one thread only and its lock is never contended by the feeds.
+ * Every future completes with the OperationResult of its operation, in the order of the queue.
+ * When the queue is full the BackpressurePolicy decides whether the feed waits or is rejected.
+ * <p>
+ * The futures complete on the writer thread, a slow continuation should use the async methods of the future.
+ * The reads go straight to the data store or the service as before.
+ */
+public class ScoreBoardIngestion implements Closeable {
+
+    public static final int DEFAULT_CAPACITY = 65_536;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+
+    private static final int SPINS_BEFORE_PARK = 1000;
+    private static final long MIN_BACKOFF_NANOS = 1_000;
+    private static final long MAX_BACKOFF_NANOS = 1_000_000;
+
+    private final ScoreBoardDataStore dataStore;
+    private final MpscBoundedQueue<PendingOperation> queue;
+    private final int maxBatchSize;
+    private final BackpressurePolicy policy;
+    private final Thread writer;
+    private volatile boolean writerParked;
+
+    private ScoreBoardIngestion(ScoreBoardDataStore dataStore, int capacity, int maxBatchSize, BackpressurePolicy policy) {
+        this.dataStore = dataStore;
+        this.queue = new MpscBoundedQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.policy = policy;
+        this.writer = new Thread(this::write, "scoreboard-ingestion");
+        this.writer.setDaemon(true);
+    }
+
+    public static ScoreBoardIngestion start(ScoreBoardDataStore dataStore) {
+        return start(dataStore, DEFAULT_CAPACITY, DEFAULT_MAX_BATCH_SIZE, BackpressurePolicy.BLOCK);
+    }
+
+    /**
+     * The capacity is rounded up to a power of two
+     */
+    public static ScoreBoardIngestion start(ScoreBoardDataStore dataStore, int capacity, int maxBatchSize, BackpressurePolicy policy) {
+        if(dataStore == null || policy == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Data store and backpressure policy may not be null", null);
+        }
+        if(capacity < 1 || maxBatchSize < 1) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Capacity and batch size must be positive", null);
+        }
+        ScoreBoardIngestion ingestion = new ScoreBoardIngestion(dataStore, capacity, maxBatchSize, policy);
+        ingestion.writer.start();
+        return ingestion;
+    }
+
+    public CompletableFuture<OperationResult> startNewMatch(OffsetDateTime time, String homeTeam, String awayTeam) {
+        return submit(ScoreBoardOperation.startMatch(time, homeTeam, awayTeam));
+    }
+
+    public CompletableFuture<OperationResult> updateScore(String homeTeam, int homeTeamScore, int awayTeamScore) {
+        return submit(ScoreBoardOperation.updateScore(homeTeam, homeTeamScore, awayTeamScore));
+    }
+
+    public CompletableFuture<OperationResult> finishMatch(String homeTeam) {
+        return submit(ScoreBoardOperation.finishMatch(homeTeam));
+    }
+
+    /**
+     * Queues the operation, with BackpressurePolicy.BLOCK it waits while the queue is full,
+     * except on the writer thread, in a continuation of a future, where a full queue is rejected as with REJECT
+     * The future fails with ScoreBoardException if the operation is rejected, the ingestion is closed
+     * or the data store throws for the whole batch, an invalid operation completes with a failed OperationResult
+     */
+    public CompletableFuture<OperationResult> submit(ScoreBoardOperation operation) {
+        PendingOperation pending = new PendingOperation(operation);
+        if(operation == null) {
+            //Log it so that it may be debugged
+            pending.completeExceptionally(new ScoreBoardException("Operation may not be null", null));
+            return pending;
+        }
+        long backoff = MIN_BACKOFF_NANOS;
+        while(true) {
+            switch (queue.offer(pending)) {
+                case ACCEPTED:
+                    if(writerParked) {
+                        LockSupport.unpark(writer);
+                    }
+                    return pending;
+                case CLOSED:
+                    //Log it so that it may be debugged
+                    pending.completeExceptionally(new ScoreBoardException("The ingestion is closed", null));
+                    return pending;
+                default:
+                    if(policy == BackpressurePolicy.REJECT) {
+                        //Log it so that it may be debugged
+                        pending.completeExceptionally(new ScoreBoardException("The ingestion queue is full", null));
+                        return pending;
+                    }
+                    if(Thread.currentThread() == writer) {
+                        //Submitted from a continuation of a future, only the writer itself could make room
+                        pending.completeExceptionally(new ScoreBoardException("The ingestion queue is full and the writer may not wait for itself", null));
+                        return pending;
+                    }
+                    LockSupport.parkNanos(backoff);
+                    backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+                    if(Thread.currentThread().isInterrupted()) {
+                        //Log it so that it may be debugged
+                        pending.completeExceptionally(new ScoreBoardException("Interrupted while the ingestion queue is full", null));
+                        return pending;
+                    }
+            }
+        }
+    }
+
+    /**
+     * Takes no more operations, applies the queued ones and waits for the writer to finish
+     */
+    @Override
+    public void close() {
+        queue.close();
+        LockSupport.unpark(writer);
+        if(Thread.currentThread() == writer) {
+            return; //Closed from a continuation of a future, the writer finishes on its own
+        }
+        boolean interrupted = false;
+        while(writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if(interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The writer thread, spins for a while when the queue is empty and then parks until a producer wakes it up
+     */
+    private void write() {
+        List<PendingOperation> batch = new ArrayList<>(maxBatchSize);
+        List<ScoreBoardOperation> operations = new ArrayList<>(maxBatchSize);
+        int idle = 0;
+        while(true) {
+            if(queue.drainTo(batch, maxBatchSize) > 0) {
+                apply(batch, operations);
+                batch.clear();
+                operations.clear();
+                idle = 0;
+            } else if(queue.isClosed()) {
+                if(queue.isEmpty()) {
+                    return;
+                }
+            } else if(++idle < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+            } else {
+                writerParked = true;
+                if(queue.isEmpty() && !queue.isClosed()) { //A producer which did not see the flag yet has already queued
+                    LockSupport.park(this);
+                }
+                writerParked = false;
+                idle = 0;
+            }
+        }
+    }
+
+    private void apply(List<PendingOperation> batch, List<ScoreBoardOperation> operations) {
+        for(PendingOperation pending : batch) {
+            operations.add(pending.operation);
+        }
+        List<OperationResult> results;
+        try {
+            results = dataStore.applyBatch(operations);
+        } catch (RuntimeException e) {
+            //Log it so that it may be debugged
+            for(PendingOperation pending : batch) {
+                pending.completeExceptionally(e);
+            }
+            return;
+        }
+        for(int i = 0; i < batch.size(); i++) {
+            batch.get(i).complete(results.get(i));
+        }
+    }
+
+    /**
+     * The queued operation is its own future, so a submit allocates one object besides the operation
+     */
+    private static final class PendingOperation extends CompletableFuture<OperationResult> {
+        private final ScoreBoardOperation operation;
+
+        private PendingOperation(ScoreBoardOperation operation) {
+            this.operation = operation;
+        }
+    }
+}
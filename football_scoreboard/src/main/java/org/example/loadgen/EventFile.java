@@ -0,0 +1,52 @@
+package org.example.loadgen;
+
+import org.example.exception.ScoreBoardException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A tournament day as a text file, one event per line as written by LoadEvent.toLine, in the order they are played
+ * Empty lines and lines starting with # are skipped, so a recorded feed can be annotated by hand
+ */
+public final class EventFile {
+
+    private EventFile() {
+    }
+
+    public static void write(Path file, List<LoadEvent> events) {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# atSecond,type,homeTeam,awayTeam,homeScore,awayScore");
+            writer.newLine();
+            for(LoadEvent event : events) {
+                writer.write(event.toLine());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Could not write the events to " + file, e);
+        }
+    }
+
+    public static List<LoadEvent> read(Path file) {
+        List<LoadEvent> events = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while((line = reader.readLine()) != null) {
+                if(!line.isBlank() && !line.startsWith("#")) {
+                    events.add(LoadEvent.parse(line.trim()));
+                }
+            }
+        } catch (IOException e) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Could not read the events from " + file, e);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.loadgen;
+
+import org.example.exception.ScoreBoardException;
+
+/**
+ * One event of a tournament day, immutable
+ * <p>
+ * The time is in seconds since the first kick off of the day, it only orders the events,
+ * the ReplayHarness plays them at its own rate in this order
+ * A SCORE and a CORRECTION both carry the full new score, a correction takes a goal back
+ */
+public class LoadEvent {
+
+    public enum Type {
+        START, SCORE, CORRECTION, FINISH
+    }
+
+    private final long atSecond;
+    private final Type type;
+    private final String homeTeam;
+    private final String awayTeam;
+    private final int homeScore;
+    private final int awayScore;
+
+    private LoadEvent(long atSecond, Type type, String homeTeam, String awayTeam, int homeScore, int awayScore) {
+        checkTeam(homeTeam);
+        checkTeam(awayTeam);
+        this.atSecond = atSecond;
+        this.type = type;
+        this.homeTeam = homeTeam;
+        this.awayTeam = awayTeam;
+        this.homeScore = homeScore;
+        this.awayScore = awayScore;
+    }
+
+    public static LoadEvent start(long atSecond, String homeTeam, String awayTeam) {
+        return new LoadEvent(atSecond, Type.START, homeTeam, awayTeam, 0, 0);
+    }
+
+    public static LoadEvent score(long atSecond, String homeTeam, String awayTeam, int homeScore, int awayScore) {
+        return new LoadEvent(atSecond, Type.SCORE, homeTeam, awayTeam, homeScore, awayScore);
+    }
+
+    public static LoadEvent correction(long atSecond, String homeTeam, String awayTeam, int homeScore, int awayScore) {
+        return new LoadEvent(atSecond, Type.CORRECTION, homeTeam, awayTeam, homeScore, awayScore);
+    }
+
+    public static LoadEvent finish(long atSecond, String homeTeam, String awayTeam) {
+        return new LoadEvent(atSecond, Type.FINISH, homeTeam, awayTeam, 0, 0);
+    }
+
+    /**
+     * The line of this event in an event file, see EventFile
+     * The fields are not quoted, so an event is never created with a team name which contains a comma or a line break
+     */
+    public String toLine() {
+        return atSecond + "," + type + "," + homeTeam + "," + awayTeam + "," + homeScore + "," + awayScore;
+    }
+
+    /**
+     * Exactly 6 fields, the empty ones included
+     */
+    public static LoadEvent parse(String line) {
+        String[] fields = line.split(",", -1);
+        if(fields.length != 6) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("An event has 6 fields, not " + fields.length + ": " + line, null);
+        }
+        try {
+            return new LoadEvent(Long.parseLong(fields[0]), Type.valueOf(fields[1]), fields[2], fields[3],
+                    Integer.parseInt(fields[4]), Integer.parseInt(fields[5]));
+        } catch (IllegalArgumentException e) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Invalid event: " + line, e);
+        }
+    }
+
+    private static void checkTeam(String team) {
+        if(team == null || team.isEmpty() || team.indexOf(',') >= 0 || team.indexOf('\n') >= 0 || team.indexOf('\r') >= 0) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("A team of an event may not be empty or contain a comma or a line break: " + team, null);
+        }
+    }
+
+    public long getAtSecond() {
+        return atSecond;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getHomeTeam() {
+        return homeTeam;
+    }
+
+    public String getAwayTeam() {
+        return awayTeam;
+    }
+
+    public int getHomeScore() {
+        return homeScore;
+    }
+
+    public int getAwayScore() {
+        return awayScore;
+    }
+
+    @Override
+    public String toString() {
+        return toLine();
+    }
+}
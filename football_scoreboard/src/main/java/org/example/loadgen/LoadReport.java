@@ -0,0 +1,68 @@
+package org.example.loadgen;
+
+import org.example.metrics.OperationStatistics;
+
+/**
+ * Outcome of one run of the ReplayHarness, immutable
+ * The latencies are measured from the time an event was due, so a harness which falls behind its rate sees it in the percentiles
+ */
+public class LoadReport {
+
+    private final long events;
+    private final long failures;
+    private final long elapsedNanos;
+    private final OperationStatistics latency;
+    private final String mismatch;
+
+    LoadReport(long events, long failures, long elapsedNanos, OperationStatistics latency, String mismatch) {
+        this.events = events;
+        this.failures = failures;
+        this.elapsedNanos = elapsedNanos;
+        this.latency = latency;
+        this.mismatch = mismatch;
+    }
+
+    public long getEvents() {
+        return events;
+    }
+
+    /**
+     * Number of events which the service refused, a correct service refuses none of the generated events
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getEventsPerSecond() {
+        return elapsedNanos == 0 ? 0 : events * 1e9 / elapsedNanos;
+    }
+
+    public OperationStatistics getLatency() {
+        return latency;
+    }
+
+    /**
+     * True if the final summary of the service is the one of the reference model, in the same order
+     */
+    public boolean isSummaryCorrect() {
+        return mismatch == null;
+    }
+
+    /**
+     * The first difference between the final summary and the reference model, null if there is none
+     */
+    public String getMismatch() {
+        return mismatch;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d events in %.3f s, %.0f events/s, %d failures%nlatency %s%nsummary %s",
+                events, elapsedNanos / 1e9, getEventsPerSecond(), failures, latency,
+                mismatch == null ? "matches the reference model" : "differs: " + mismatch);
+    }
+}
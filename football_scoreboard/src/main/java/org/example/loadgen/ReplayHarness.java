@@ -0,0 +1,247 @@
+package org.example.loadgen;
+
+import org.example.ScoreBoardService;
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MatchComparator;
+import org.example.metrics.LatencyHistogram;
+import org.example.model.MatchInProgress;
+import org.example.repository.ScoreBoardDataStore;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.example.repository.impl.RingBufferFootballWorldcupScoreboard;
+import org.example.repository.impl.ShardedFootballWorldcupScoreboard;
+import org.example.repository.impl.SnapshotFootballWorldcupScoreboard;
+import org.example.repository.impl.StampedLockFootballWorldcupScoreboard;
+import org.example.serviceimpl.FootballWCScoreBoardServiceImpl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Plays a tournament day against any ScoreBoardService at a target rate and checks the final summary
+ * <p>
+ * The events are split over the feed threads by match, so the events of a match keep their order.
+ * Event i is due i / eventsPerSecond after the start, whichever thread plays it, and its latency is measured
+ * from that time, so a service which cannot keep up shows it in the percentiles instead of slowing the feeds down.
+ * A rate of 0 plays the events as fast as possible and measures every call from its own start.
+ * <p>
+ * Next to the service the harness keeps a reference model, a plain map of the matches which is sorted once at the end.
+ * The final summary of the service must have the same matches with the same scores in the same order.
+ * The service has to rank the matches as MatchComparator does.
+ */
+public class ReplayHarness {
+
+    private static final long SPIN_NANOS = 100_000; //Closer than this to the due time the feed spins instead of parking
+
+    private final ScoreBoardService service;
+    private final int threads;
+    private final double eventsPerSecond;
+    private final AtomicLong lastStart = new AtomicLong(); //Epoch nanos of the last kick off, every match gets its own
+
+    public ReplayHarness(ScoreBoardService service, int threads, double eventsPerSecond) {
+        if(service == null || threads < 1 || eventsPerSecond < 0) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Service may not be null, threads must be positive and the rate may not be negative", null);
+        }
+        this.service = service;
+        this.threads = threads;
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    public LoadReport run(List<LoadEvent> events) throws InterruptedException {
+        List<List<Integer>> partitions = new ArrayList<>();
+        for(int t = 0; t < threads; t++) {
+            partitions.add(new ArrayList<>());
+        }
+        for(int i = 0; i < events.size(); i++) {
+            partitions.get(Math.floorMod(events.get(i).getHomeTeam().hashCode(), threads)).add(i);
+        }
+        Map<String, MatchInProgress> reference = new ConcurrentHashMap<>(); //Every match is touched by its own feed only
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder failures = new LongAdder();
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        long[] start = new long[1];
+        List<Thread> feeds = new ArrayList<>();
+        for(List<Integer> partition : partitions) {
+            Thread feed = new Thread(() -> {
+                ready.countDown();
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                play(events, partition, start[0], reference, latency, failures);
+            }, "scoreboard-feed");
+            feed.start();
+            feeds.add(feed);
+        }
+        ready.await();
+        start[0] = System.nanoTime(); //Published to the feeds by the latch
+        go.countDown();
+        for(Thread feed : feeds) {
+            feed.join();
+        }
+        long elapsed = System.nanoTime() - start[0];
+        String mismatch = compare(service.getSummary(), reference);
+        return new LoadReport(events.size(), failures.sum(), elapsed, latency.getStatistics(failures.sum()), mismatch);
+    }
+
+    private void play(List<LoadEvent> events, List<Integer> partition, long start, Map<String, MatchInProgress> reference,
+                      LatencyHistogram latency, LongAdder failures) {
+        double nanosPerEvent = eventsPerSecond == 0 ? 0 : 1e9 / eventsPerSecond;
+        for(int index : partition) {
+            long due;
+            if(eventsPerSecond == 0) {
+                due = System.nanoTime();
+            } else {
+                due = start + (long) (index * nanosPerEvent);
+                waitUntil(due);
+            }
+            try {
+                if(!apply(events.get(index), reference)) {
+                    failures.increment();
+                }
+            } catch (ScoreBoardException e) {
+                //Log it so that it may be debugged
+                failures.increment();
+            }
+            latency.record(System.nanoTime() - due);
+        }
+    }
+
+    /**
+     * Plays the event on the service and on the reference model, the reference follows the events whatever the service says
+     */
+    private boolean apply(LoadEvent event, Map<String, MatchInProgress> reference) {
+        String homeTeam = event.getHomeTeam();
+        switch (event.getType()) {
+            case START:
+                OffsetDateTime startedAt = nextStartTime();
+                reference.put(homeTeam, MatchInProgress.restore(startedAt, homeTeam, event.getAwayTeam(), 0, 0));
+                return service.startNewMatch(startedAt, homeTeam, event.getAwayTeam());
+            case SCORE:
+            case CORRECTION:
+                MatchInProgress matchInProgress = reference.get(homeTeam);
+                if(matchInProgress != null) {
+                    reference.put(homeTeam, MatchInProgress.restore(matchInProgress.getStartTime(), homeTeam, event.getAwayTeam(),
+                            event.getHomeScore(), event.getAwayScore()));
+                }
+                return service.updateScore(homeTeam, event.getHomeScore(), event.getAwayScore());
+            default:
+                reference.remove(homeTeam);
+                return service.finishMatch(homeTeam);
+        }
+    }
+
+    /**
+     * Now, or a nanosecond after the last kick off, so that no two matches start at the same instant
+     */
+    private OffsetDateTime nextStartTime() {
+        Instant now = Instant.now();
+        long nanos = lastStart.accumulateAndGet(now.getEpochSecond() * 1_000_000_000L + now.getNano(), (last, next) -> Math.max(last + 1, next));
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(0, nanos), ZoneOffset.UTC);
+    }
+
+    private static void waitUntil(long due) {
+        long remaining;
+        while((remaining = due - System.nanoTime()) > 0) {
+            if(remaining > SPIN_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * The first difference between the summary and the sorted reference model, null if there is none
+     */
+    static String compare(List<MatchInProgress> summary, Map<String, MatchInProgress> reference) {
+        List<MatchInProgress> expected = new ArrayList<>(reference.values());
+        expected.sort(new MatchComparator());
+        for(int i = 0; i < Math.min(summary.size(), expected.size()); i++) {
+            MatchInProgress actual = summary.get(i);
+            MatchInProgress wanted = expected.get(i);
+            if(!actual.getHomeTeam().equals(wanted.getHomeTeam()) || !actual.getAwayTeam().equals(wanted.getAwayTeam())
+                    || actual.getHomeTeamScore() != wanted.getHomeTeamScore() || actual.getAwayTeamScore() != wanted.getAwayTeamScore()) {
+                return "rank " + i + " is " + describe(actual) + " instead of " + describe(wanted);
+            }
+        }
+        if(summary.size() != expected.size()) {
+            return summary.size() + " matches instead of " + expected.size();
+        }
+        return null;
+    }
+
+    private static String describe(MatchInProgress matchInProgress) {
+        return matchInProgress.getHomeTeam() + " " + matchInProgress.getHomeTeamScore() + "-"
+                + matchInProgress.getAwayTeam() + " " + matchInProgress.getAwayTeamScore();
+    }
+
+    /**
+     * matches [eventsPerSecond] [threads] [store] [eventFile]
+     * The store is locking, snapshot, stamped, sharded or ring. An existing event file is replayed,
+     * a missing one is written with the generated day first, so the same day can be replayed against another store
+     */
+    public static void main(String[] args) throws InterruptedException, IOException {
+        if(args.length < 1) {
+            System.out.println("Usage: ReplayHarness matches [eventsPerSecond] [threads] [store] [eventFile]");
+            return;
+        }
+        int matches = Integer.parseInt(args[0]);
+        double eventsPerSecond = args.length > 1 ? Double.parseDouble(args[1]) : 0;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        String store = args.length > 3 ? args[3] : "locking";
+        Path file = args.length > 4 ? Path.of(args[4]) : null;
+
+        List<LoadEvent> events;
+        if(file != null && Files.exists(file)) {
+            events = EventFile.read(file);
+        } else {
+            events = new TournamentGenerator(System.nanoTime(), matches).generate();
+            if(file != null) {
+                EventFile.write(file, events);
+            }
+        }
+        ScoreBoardDataStore dataStore = dataStore(store, threads);
+        try {
+            LoadReport report = new ReplayHarness(new FootballWCScoreBoardServiceImpl(dataStore), threads, eventsPerSecond).run(events);
+            System.out.println(report);
+        } finally {
+            if(dataStore instanceof Closeable) {
+                ((Closeable) dataStore).close();
+            }
+        }
+    }
+
+    private static ScoreBoardDataStore dataStore(String name, int threads) {
+        switch (name) {
+            case "locking":
+                return FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+            case "snapshot":
+                return SnapshotFootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+            case "stamped":
+                return StampedLockFootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+            case "sharded":
+                return ShardedFootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), threads);
+            case "ring":
+                return RingBufferFootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+            default:
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("Unknown data store " + name, null);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.loadgen;
+
+import org.example.exception.ScoreBoardException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthesizes a tournament day, the same seed always gives the same events
+ * <p>
+ * The kick offs are spread uniformly over the day, every match lasts 90 minutes and then finishes.
+ * The goals of each team are a Poisson process, the number of goals per match is Poisson distributed
+ * with a mean of goalsPerTeam. A goal is taken back by a CORRECTION a minute later with correctionProbability.
+ * Every match has its own two teams, so any number of matches may overlap.
+ * The day ends daySeconds after it started, the events after that are dropped,
+ * so the matches which kicked off in the last 90 minutes are still running and the final summary is not empty.
+ */
+public class TournamentGenerator {
+
+    public static final double DEFAULT_GOALS_PER_TEAM = 1.4;
+    public static final double DEFAULT_CORRECTION_PROBABILITY = 0.05;
+
+    private static final long MATCH_SECONDS = 90 * 60;
+    private static final long CORRECTION_DELAY_SECONDS = 60;
+
+    private final long seed;
+    private final int matchCount;
+    private final long daySeconds;
+    private final double goalsPerTeam;
+    private final double correctionProbability;
+
+    public TournamentGenerator(long seed, int matchCount) {
+        this(seed, matchCount, 12 * 60 * 60, DEFAULT_GOALS_PER_TEAM, DEFAULT_CORRECTION_PROBABILITY);
+    }
+
+    /**
+     * daySeconds is the length of the day, the kick offs are spread over it, a shorter day makes more matches overlap
+     */
+    public TournamentGenerator(long seed, int matchCount, long daySeconds, double goalsPerTeam, double correctionProbability) {
+        if(matchCount < 0 || daySeconds < 1 || goalsPerTeam < 0 || correctionProbability < 0 || correctionProbability > 1) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Match count, day, goals per team and correction probability are out of range", null);
+        }
+        this.seed = seed;
+        this.matchCount = matchCount;
+        this.daySeconds = daySeconds;
+        this.goalsPerTeam = goalsPerTeam;
+        this.correctionProbability = correctionProbability;
+    }
+
+    /**
+     * All the events of the day ordered by time, the events of one match keep their order
+     */
+    public List<LoadEvent> generate() {
+        Random random = new Random(seed);
+        List<LoadEvent> events = new ArrayList<>();
+        int digits = String.valueOf(Math.max(1, matchCount - 1)).length();
+        for(int match = 0; match < matchCount; match++) {
+            String number = String.format("%0" + digits + "d", match);
+            generateMatch(random, (long) (random.nextDouble() * daySeconds), "Home " + number, "Away " + number, events);
+        }
+        events.removeIf(event -> event.getAtSecond() >= daySeconds);
+        events.sort(Comparator.comparingLong(LoadEvent::getAtSecond)); //Stable, a match never goes back in time
+        return events;
+    }
+
+    private void generateMatch(Random random, long kickOff, String homeTeam, String awayTeam, List<LoadEvent> events) {
+        events.add(LoadEvent.start(kickOff, homeTeam, awayTeam));
+        double rate = goalsPerTeam / MATCH_SECONDS; //Goals per second of one team
+        double nextHomeGoal = nextArrival(random, rate);
+        double nextAwayGoal = nextArrival(random, rate);
+        int homeScore = 0;
+        int awayScore = 0;
+        long at = kickOff;
+        while(Math.min(nextHomeGoal, nextAwayGoal) < MATCH_SECONDS) {
+            boolean home = nextHomeGoal <= nextAwayGoal;
+            double goalTime = home ? nextHomeGoal : nextAwayGoal;
+            at = Math.max(at, kickOff + (long) goalTime);
+            if(home) {
+                homeScore++;
+                nextHomeGoal += nextArrival(random, rate);
+            } else {
+                awayScore++;
+                nextAwayGoal += nextArrival(random, rate);
+            }
+            events.add(LoadEvent.score(at, homeTeam, awayTeam, homeScore, awayScore));
+            if(random.nextDouble() < correctionProbability) {
+                if(home) {
+                    homeScore--;
+                } else {
+                    awayScore--;
+                }
+                at += CORRECTION_DELAY_SECONDS;
+                events.add(LoadEvent.correction(at, homeTeam, awayTeam, homeScore, awayScore));
+            }
+        }
+        events.add(LoadEvent.finish(Math.max(at, kickOff + MATCH_SECONDS), homeTeam, awayTeam));
+    }
+
+    /**
+     * Exponentially distributed time to the next goal
+     */
+    private static double nextArrival(Random random, double rate) {
+        return rate == 0 ? Double.POSITIVE_INFINITY : -Math.log(1 - random.nextDouble()) / rate;
+    }
+}
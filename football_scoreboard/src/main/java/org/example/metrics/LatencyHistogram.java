@@ -0,0 +1,105 @@
+package org.example.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Log-linear histogram of latencies in nanoseconds, in the style of HdrHistogram
+ * <p>
+ * Values below 64 have one bucket each. Above that every power of two is split into 32 buckets,
+ * so a recorded value is off by less than 1/32 of itself, over the whole range of a long.
+ * The buckets are a fixed array of 1888 counters, recording is two increments and never allocates.
+ * <p>
+ * Thread safe, a statistics taken while others record may be off by the values recorded meanwhile
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 64;
+    private static final int SUB_BUCKETS = 32; //Per power of two above LINEAR_BUCKETS
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int BUCKETS = LINEAR_BUCKETS + (63 - 6) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * O(1), a negative value is recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * O(number of buckets)
+     */
+    public OperationStatistics getStatistics(long failures) {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        long highest = max.get();
+        return new OperationStatistics(count, failures,
+                count == 0 ? 0 : total.sum() / count,
+                valueAt(copy, count, 0.5, highest),
+                valueAt(copy, count, 0.9, highest),
+                valueAt(copy, count, 0.99, highest),
+                valueAt(copy, count, 0.999, highest),
+                highest);
+    }
+
+    /**
+     * Not atomic, values recorded during the reset may survive it in part
+     */
+    public void reset() {
+        for(int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        total.reset();
+        max.reset();
+    }
+
+    static int bucketOf(long value) {
+        if(value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value); //6 or more
+        int top = (int) (value >>> (exponent - SUB_BUCKET_BITS)); //32 to 63
+        return LINEAR_BUCKETS + (exponent - 6) * SUB_BUCKETS + top - SUB_BUCKETS;
+    }
+
+    /**
+     * The highest value which falls into the bucket, as HdrHistogram reports its percentiles
+     */
+    static long highestValueOf(int bucket) {
+        if(bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int index = bucket - LINEAR_BUCKETS;
+        int shift = index / SUB_BUCKETS + 1;
+        long top = index % SUB_BUCKETS + SUB_BUCKETS;
+        long highest = ((top + 1) << shift) - 1;
+        return highest < 0 ? Long.MAX_VALUE : highest;
+    }
+
+    private static long valueAt(long[] counts, long count, double percentile, long highest) {
+        if(count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for(int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if(seen >= rank) {
+                return Math.min(highestValueOf(i), highest);
+            }
+        }
+        return highest;
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.metrics;
+
+/**
+ * Ships the metrics somewhere else, for example to a monitoring system, see ScoreBoardMetrics.exportPeriodically
+ * Called on the thread of the export, an exception only skips that export
+ */
+@FunctionalInterface
+public interface MetricsExporter {
+    void export(MetricsSnapshot snapshot);
+}
@@ -0,0 +1,67 @@
+package org.example.metrics;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable copy of all the metrics at one moment, handed to a MetricsExporter
+ */
+public class MetricsSnapshot {
+
+    private final Instant takenAt;
+    private final Map<ScoreBoardMetrics.Operation, OperationStatistics> operations;
+    private final OperationStatistics lockWait;
+    private final int matchCount;
+    private final int lastSummarySize;
+
+    MetricsSnapshot(Instant takenAt, Map<ScoreBoardMetrics.Operation, OperationStatistics> operations, OperationStatistics lockWait,
+                    int matchCount, int lastSummarySize) {
+        this.takenAt = takenAt;
+        this.operations = Collections.unmodifiableMap(operations);
+        this.lockWait = lockWait;
+        this.matchCount = matchCount;
+        this.lastSummarySize = lastSummarySize;
+    }
+
+    public Instant getTakenAt() {
+        return takenAt;
+    }
+
+    public OperationStatistics getStatistics(ScoreBoardMetrics.Operation operation) {
+        return operations.get(operation);
+    }
+
+    public Map<ScoreBoardMetrics.Operation, OperationStatistics> getOperations() {
+        return operations;
+    }
+
+    public OperationStatistics getLockWait() {
+        return lockWait;
+    }
+
+    /**
+     * -1 if no data store is instrumented with these metrics
+     */
+    public int getMatchCount() {
+        return matchCount;
+    }
+
+    public int getLastSummarySize() {
+        return lastSummarySize;
+    }
+
+    /**
+     * One line per operation, for a log
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append("matches=").append(matchCount).append(" lastSummarySize=").append(lastSummarySize).append('\n');
+        for(Map.Entry<ScoreBoardMetrics.Operation, OperationStatistics> entry : operations.entrySet()) {
+            text.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+        }
+        text.append("LOCK_WAIT ").append(lockWait).append('\n');
+        return text.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.metrics;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * Immutable statistics of one operation, the latencies are in nanoseconds
+ * JMX shows it as a CompositeData with one item per getter
+ */
+public class OperationStatistics {
+
+    private final long count;
+    private final long failures;
+    private final long meanNanos;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+    private final long maxNanos;
+
+    @ConstructorParameters({"count", "failures", "meanNanos", "p50Nanos", "p90Nanos", "p99Nanos", "p999Nanos", "maxNanos"})
+    public OperationStatistics(long count, long failures, long meanNanos, long p50Nanos, long p90Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+        this.count = count;
+        this.failures = failures;
+        this.meanNanos = meanNanos;
+        this.p50Nanos = p50Nanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * Number of calls, the failed ones included
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Number of calls which returned false, null or -1, or threw
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    public long getMeanNanos() {
+        return meanNanos;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP90Nanos() {
+        return p90Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getP999Nanos() {
+        return p999Nanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + count + " failures=" + failures + " mean=" + meanNanos + "ns p50=" + p50Nanos + "ns p90=" + p90Nanos
+                + "ns p99=" + p99Nanos + "ns p99.9=" + p999Nanos + "ns max=" + maxNanos + "ns";
+    }
+}
@@ -0,0 +1,178 @@
+package org.example.metrics;
+
+import org.example.exception.ScoreBoardException;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Counters and latency histograms of the operations of a data store, filled by InstrumentedFootballWorldcupScoreboard
+ * <p>
+ * The metrics cost nothing unless a data store is wrapped, a data store which is not wrapped never reads the clock.
+ * A wrapped one reads it twice per call and records into a LatencyHistogram, without allocating or locking.
+ * <p>
+ * The metrics can be read directly, through JMX after registerMBean, or pushed to a MetricsExporter periodically
+ */
+public class ScoreBoardMetrics implements ScoreBoardMetricsMXBean {
+
+    public static final String DEFAULT_OBJECT_NAME = "org.example:type=ScoreBoardMetrics";
+
+    public enum Operation {
+        ADD, SET_SCORE, REMOVE, APPLY_BATCH, GET, GET_SUMMARY, GET_RANK
+    }
+
+    private final LatencyHistogram[] latencies = new LatencyHistogram[Operation.values().length]; //Index is the ordinal
+    private final LongAdder[] failures = new LongAdder[Operation.values().length];
+    private final LatencyHistogram lockWait = new LatencyHistogram();
+    private volatile IntSupplier matchCount = () -> -1;
+    private volatile int lastSummarySize;
+
+    public ScoreBoardMetrics() {
+        for(Operation operation : Operation.values()) {
+            latencies[operation.ordinal()] = new LatencyHistogram();
+            failures[operation.ordinal()] = new LongAdder();
+        }
+    }
+
+    /**
+     * O(1), failed is true if the operation returned false or threw
+     */
+    public void record(Operation operation, long nanos, boolean failed) {
+        latencies[operation.ordinal()].record(nanos);
+        if(failed) {
+            failures[operation.ordinal()].increment();
+        }
+    }
+
+    /**
+     * O(1)
+     */
+    public void recordLockWait(long nanos) {
+        lockWait.record(nanos);
+    }
+
+    public void recordSummarySize(int size) {
+        lastSummarySize = size;
+    }
+
+    /**
+     * Asked for the number of live matches when the metrics are read, not on every change
+     */
+    public void setMatchCount(IntSupplier matchCount) {
+        if(matchCount == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Match count may not be null", null);
+        }
+        this.matchCount = matchCount;
+    }
+
+    public OperationStatistics getStatistics(Operation operation) {
+        return latencies[operation.ordinal()].getStatistics(failures[operation.ordinal()].sum());
+    }
+
+    public MetricsSnapshot snapshot() {
+        Map<Operation, OperationStatistics> operations = new EnumMap<>(Operation.class);
+        for(Operation operation : Operation.values()) {
+            operations.put(operation, getStatistics(operation));
+        }
+        return new MetricsSnapshot(Instant.now(), operations, getLockWait(), getMatchCount(), lastSummarySize);
+    }
+
+    @Override
+    public Map<String, OperationStatistics> getOperations() {
+        Map<String, OperationStatistics> operations = new LinkedHashMap<>();
+        for(Operation operation : Operation.values()) {
+            operations.put(operation.name(), getStatistics(operation));
+        }
+        return operations;
+    }
+
+    @Override
+    public OperationStatistics getLockWait() {
+        return lockWait.getStatistics(0);
+    }
+
+    @Override
+    public int getMatchCount() {
+        return matchCount.getAsInt();
+    }
+
+    @Override
+    public int getLastSummarySize() {
+        return lastSummarySize;
+    }
+
+    /**
+     * Starts counting again, for example after a warm up
+     */
+    @Override
+    public void reset() {
+        for(Operation operation : Operation.values()) {
+            latencies[operation.ordinal()].reset();
+            failures[operation.ordinal()].reset();
+        }
+        lockWait.reset();
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server under DEFAULT_OBJECT_NAME and the given name
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName(DEFAULT_OBJECT_NAME + ",name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Could not register the metrics " + name, e);
+        }
+    }
+
+    public void unregisterMBean(ObjectName objectName) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if(server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Could not unregister the metrics " + objectName, e);
+        }
+    }
+
+    /**
+     * Hands a snapshot to the exporter once per period on a daemon thread, until the returned Closeable is closed
+     */
+    public Closeable exportPeriodically(MetricsExporter exporter, Duration period) {
+        if(exporter == null || period == null || period.isNegative() || period.isZero()) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Exporter may not be null and the period must be positive", null);
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scoreboard-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(() -> {
+            try {
+                exporter.export(snapshot());
+            } catch (RuntimeException e) {
+                //Log it so that it may be debugged
+            }
+        }, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+        return executor::shutdownNow;
+    }
+}
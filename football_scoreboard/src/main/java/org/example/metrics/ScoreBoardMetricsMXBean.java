@@ -0,0 +1,25 @@
+package org.example.metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX view of ScoreBoardMetrics, see ScoreBoardMetrics.registerMBean
+ */
+public interface ScoreBoardMetricsMXBean {
+
+    /**
+     * Keyed by the name of the ScoreBoardMetrics.Operation
+     */
+    Map<String, OperationStatistics> getOperations();
+
+    /**
+     * Time the writers waited for the monitor of the data store
+     */
+    OperationStatistics getLockWait();
+
+    int getMatchCount();
+
+    int getLastSummarySize();
+
+    void reset();
+}
@@ -0,0 +1,49 @@
+package org.example.model;
+
+/**
+ * One score change of a match, read from its MatchEventHistory
+ * The minute is counted from the start of the match, the scores are the new scores after the change
+ */
+public class MatchEvent {
+
+    /**
+     * The team whose score changed, BOTH if both or none of the scores changed
+     * A goal taken back is a change of the score of its team as well
+     */
+    public enum Team {
+        HOME, AWAY, BOTH
+    }
+
+    private final int minute;
+    private final Team team;
+    private final int homeScore;
+    private final int awayScore;
+
+    public MatchEvent(int minute, Team team, int homeScore, int awayScore) {
+        this.minute = minute;
+        this.team = team;
+        this.homeScore = homeScore;
+        this.awayScore = awayScore;
+    }
+
+    public int getMinute() {
+        return minute;
+    }
+
+    public Team getTeam() {
+        return team;
+    }
+
+    public int getHomeScore() {
+        return homeScore;
+    }
+
+    public int getAwayScore() {
+        return awayScore;
+    }
+
+    @Override
+    public String toString() {
+        return minute + "' " + team + " " + homeScore + "-" + awayScore;
+    }
+}
@@ -0,0 +1,206 @@
+package org.example.model;
+
+import org.example.exception.ScoreBoardException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The append-only history of the score changes of one match, shared by all the versions of the match
+ * <p>
+ * The events are kept in three primitive columns of shorts, the minute with the team in its top two bits,
+ * the new home score and the new away score, so an event costs 6 bytes and no object.
+ * The columns are the three thirds of a single array, so a match pays for one array header only,
+ * the array is created with the first event and grows by half when it is full.
+ * The minutes never go back, a late event gets the minute of the event before it,
+ * so a time range is found with a binary search. Minutes above MAX_MINUTE and scores beyond the range of a short are saturated.
+ * A real match has a few dozen events at most, a history keeps MAX_EVENTS and only counts the events after those,
+ * so a synthetic feed which updates a match millions of times does not fill the heap.
+ * <p>
+ * One thread appends at a time, the data stores record the next version of the match under their lock.
+ * Any thread may read: the array and the size are published through volatile fields,
+ * so a reader sees every event up to the size it read, and an array is never changed below the size.
+ */
+public class MatchEventHistory {
+
+    public static final int BYTES_PER_EVENT = Short.BYTES * 3;
+    public static final int MAX_EVENTS = 4096;
+    public static final int MAX_MINUTE = (1 << 14) - 1;
+
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int TEAM_SHIFT = 14;
+    private static final MatchEvent.Team[] TEAMS = MatchEvent.Team.values();
+
+    private volatile short[] columns; //Minutes and teams, home scores, away scores, a third each, null until the first event
+    private volatile int size;
+    private volatile int dropped; //Events after MAX_EVENTS
+
+    /**
+     * Appends the change from previous to next, two versions of the match of this history,
+     * at the minute of the match the clock shows now
+     */
+    public void record(MatchInProgress previous, MatchInProgress next) {
+        long nanos = System.currentTimeMillis() * 1_000_000L - previous.getStartEpochNanos();
+        record(previous, next, (int) Math.max(0, Math.min(Integer.MAX_VALUE, nanos / NANOS_PER_MINUTE)));
+    }
+
+    /**
+     * Like record, for a caller which knows the minute of the match the score changed at, for example a feed
+     * The team is found by comparing the scores of the two versions
+     */
+    public void record(MatchInProgress previous, MatchInProgress next, int minute) {
+        if(previous == null || next == null || previous.getHistory() != this || next.getHistory() != this) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Both versions must be of the match of this history", null);
+        }
+        int home = next.getHomeTeamScore();
+        int away = next.getAwayTeamScore();
+        boolean homeChanged = previous.getHomeTeamScore() != home;
+        boolean awayChanged = previous.getAwayTeamScore() != away;
+        MatchEvent.Team team = homeChanged == awayChanged ? MatchEvent.Team.BOTH : homeChanged ? MatchEvent.Team.HOME : MatchEvent.Team.AWAY;
+        append(minute, team, home, away);
+    }
+
+    /**
+     * Appends the next event, an earlier minute than the last event is raised to it
+     * O(1) amortized, a full history only counts the event
+     */
+    public void append(int minute, MatchEvent.Team team, int homeScore, int awayScore) {
+        if(team == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Team of an event may not be null", null);
+        }
+        int index = size;
+        if(index == MAX_EVENTS) {
+            dropped++; //Only one thread appends
+            return;
+        }
+        short[] current = columns;
+        if(current == null || index == current.length / 3) {
+            current = grow(current, index);
+            columns = current;
+        }
+        int capacity = current.length / 3;
+        int last = index == 0 ? 0 : current[index - 1] & MAX_MINUTE;
+        current[index] = (short) (team.ordinal() << TEAM_SHIFT | Math.max(last, Math.min(MAX_MINUTE, minute)));
+        current[capacity + index] = saturate(homeScore);
+        current[2 * capacity + index] = saturate(awayScore);
+        size = index + 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Number of events which were not kept, as the history already had MAX_EVENTS
+     */
+    public int getDropped() {
+        return dropped;
+    }
+
+    public int getMinute(int index) {
+        return columns(index)[index] & MAX_MINUTE;
+    }
+
+    public MatchEvent.Team getTeam(int index) {
+        return TEAMS[(columns(index)[index] & 0xFFFF) >>> TEAM_SHIFT];
+    }
+
+    public int getHomeScore(int index) {
+        short[] current = columns(index);
+        return current[current.length / 3 + index];
+    }
+
+    public int getAwayScore(int index) {
+        short[] current = columns(index);
+        return current[2 * (current.length / 3) + index];
+    }
+
+    public MatchEvent get(int index) {
+        return event(columns(index), index);
+    }
+
+    /**
+     * Index of the first event at the given minute or later, size if there is none
+     * O(log n)
+     */
+    public int indexOf(int minute) {
+        int end = size;
+        return indexOf(columns, end, minute);
+    }
+
+    /**
+     * The events from fromMinute to before toMinute, in their order
+     * O(log n + k) for k events in the range
+     */
+    public List<MatchEvent> between(int fromMinute, int toMinute) {
+        int end = size;
+        short[] current = columns;
+        int from = indexOf(current, end, fromMinute);
+        int to = Math.max(from, indexOf(current, end, toMinute));
+        List<MatchEvent> events = new ArrayList<>(to - from);
+        for(int i = from; i < to; i++) {
+            events.add(event(current, i));
+        }
+        return events;
+    }
+
+    /**
+     * Number of events the columns have room for before they grow again
+     */
+    public int getCapacity() {
+        short[] current = columns;
+        return current == null ? 0 : current.length / 3;
+    }
+
+    /**
+     * The size is read before the columns, so the columns have at least that many events
+     */
+    private short[] columns(int index) {
+        if(index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " size " + size);
+        }
+        return columns;
+    }
+
+    private static int indexOf(short[] current, int end, int minute) {
+        int low = 0;
+        int high = end;
+        while(low < high) {
+            int middle = (low + high) >>> 1;
+            if((current[middle] & MAX_MINUTE) < minute) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static MatchEvent event(short[] current, int index) {
+        int capacity = current.length / 3;
+        short minute = current[index];
+        return new MatchEvent(minute & MAX_MINUTE, TEAMS[(minute & 0xFFFF) >>> TEAM_SHIFT], current[capacity + index], current[2 * capacity + index]);
+    }
+
+    /**
+     * Every column is copied to its place in the larger array, the new array is published only after that
+     */
+    private static short[] grow(short[] current, int size) {
+        int capacity = current == null ? INITIAL_CAPACITY : Math.min(MAX_EVENTS, size + (size >> 1));
+        short[] grown = new short[capacity * 3];
+        if(current != null) {
+            int oldCapacity = current.length / 3;
+            for(int column = 0; column < 3; column++) {
+                System.arraycopy(current, column * oldCapacity, grown, column * capacity, size);
+            }
+        }
+        return grown;
+    }
+
+    private static short saturate(int value) {
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+    }
+}
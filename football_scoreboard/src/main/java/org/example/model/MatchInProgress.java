@@ -4,8 +4,9 @@ import org.example.exception.ScoreBoardException;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.example.model.Constants.AWAYTEAM;
 import static org.example.model.Constants.HOMETEAM;
@@ -17,13 +18,41 @@ import static org.example.model.Constants.HOMETEAM;
  * Otherwise this is decided by the toss.
  * One of the teams is home team and the other is away team
  * For the whole match home team and away team may not interchange their status
+ * <p>
+ * The scores are kept as primitives packed in a single long, home score in the high and away score in the low 32 bits
+ * So the getters used by the comparator never allocate, and a reader always sees a consistent pair
+ * <p>
+ * A match never changes once it is created. A score update publishes a new instance
+ * created by withScore, with the next version number, so a match obtained from a store is an immutable snapshot
+ * <p>
+ * Every match gets a unique sequence number when it is created, kept by all its versions,
+ * so two different matches with the same score and the same start time still have a strict order in the summary
+ * <p>
+ * All the versions of a match also share its MatchEventHistory. withScore itself changes nothing,
+ * the data stores append every new version to the history under their lock, see MatchEventHistory.record
+ * A restored match starts with an empty history. A match read from a data store which keeps no history,
+ * created by withoutHistory, has none at all and getHistory throws ScoreBoardException
  */
 public class MatchInProgress {
+    private static final AtomicLong MATCH_SEQUENCES = new AtomicLong();
+
     private final OffsetDateTime startedAt;
-    private final Map<String, String> teams; //example: HOMETEAM:Argentina, AWAYTEAM:Australia
-    private final Map<String, Integer> currentScore; //example: HOMETEAM:3, AWAYTEAM:1
+    private final long startEpochNanos; //Precomputed for the comparator
+    private final String homeTeam; //example: Argentina
+    private final String awayTeam; //example: Australia
+    private final long version; //0 when the match starts, one more for every published score update
+    private final long matchSequence; //Unique per match, the last tie breaker of the comparator
+    private final MatchEventHistory history; //The same for all the versions
+    private final long currentScore; //example: 3 << 32 | 1
 
     public MatchInProgress(OffsetDateTime startedAt, Map<String, String> teams) {
+        this(startedAt, teams.get(HOMETEAM), teams.get(AWAYTEAM));
+    }
+
+    /**
+     * The same validations as with the map of the teams, without allocating the map
+     */
+    public MatchInProgress(OffsetDateTime startedAt, String homeTeam, String awayTeam) {
         if(startedAt == null) {
             //Log it so that it may be debugged
             throw new ScoreBoardException("Start time may not be null", null);
@@ -33,20 +62,100 @@ public class MatchInProgress {
             //Log it so that it may be debugged
             throw new ScoreBoardException("Start time may not 1 min ago or more", null);
         }
-        if(teams.get(HOMETEAM) == null || teams.get(AWAYTEAM) == null) {
+        if(homeTeam == null || awayTeam == null) {
             //Log it so that it may be debugged
             throw new ScoreBoardException("None of the Teams may be null", null);
         }
-        if(teams.get(HOMETEAM).equals(teams.get(AWAYTEAM))) {
+        if(homeTeam.equals(awayTeam)) {
             //Log it so that it may be debugged
             throw new ScoreBoardException("Two teams must be different", null);
         }
 
         this.startedAt = startedAt;
-        this.teams = teams;
-        this.currentScore = new HashMap<>();
-        currentScore.put(HOMETEAM, 0);
-        currentScore.put(AWAYTEAM, 0);
+        this.startEpochNanos = startedAt.toEpochSecond() * 1_000_000_000L + startedAt.getNano();
+        this.homeTeam = homeTeam;
+        this.awayTeam = awayTeam;
+        this.version = 0L;
+        this.matchSequence = MATCH_SEQUENCES.incrementAndGet();
+        this.history = new MatchEventHistory();
+        this.currentScore = 0L;
+    }
+
+    /**
+     * The next version of the given match, already validated when it started
+     */
+    private MatchInProgress(MatchInProgress previous, long currentScore) {
+        this.startedAt = previous.startedAt;
+        this.startEpochNanos = previous.startEpochNanos;
+        this.homeTeam = previous.homeTeam;
+        this.awayTeam = previous.awayTeam;
+        this.version = previous.version + 1;
+        this.matchSequence = previous.matchSequence;
+        this.history = previous.history;
+        this.currentScore = currentScore;
+    }
+
+    /**
+     * A match recreated from a journal, a snapshot or a record, with the given score, history null if it has none
+     */
+    private MatchInProgress(OffsetDateTime startedAt, String homeTeam, String awayTeam, long version, long matchSequence,
+                            MatchEventHistory history, long currentScore) {
+        this.startedAt = startedAt;
+        this.startEpochNanos = startedAt.toEpochSecond() * 1_000_000_000L + startedAt.getNano();
+        this.homeTeam = homeTeam;
+        this.awayTeam = awayTeam;
+        this.version = version;
+        this.matchSequence = matchSequence;
+        this.history = history;
+        this.currentScore = currentScore;
+    }
+
+    /**
+     * Recreates a match which was already validated when it started, for example while a journal is replayed
+     * The start time is not checked against the clock, since the match may have started long ago
+     */
+    public static MatchInProgress restore(OffsetDateTime startedAt, String homeTeam, String awayTeam, int homeScore, int awayScore) {
+        return restore(startedAt, homeTeam, awayTeam, homeScore, awayScore, 0L, MATCH_SEQUENCES.incrementAndGet());
+    }
+
+    /**
+     * Like restore, with the version and the sequence number the match had when it was stored,
+     * for a snapshot which must keep the order of tied matches over a restart
+     * The matches created afterwards get a higher sequence number than the restored one
+     */
+    public static MatchInProgress restore(OffsetDateTime startedAt, String homeTeam, String awayTeam, int homeScore, int awayScore,
+                                          long version, long matchSequence) {
+        return restore(startedAt, homeTeam, awayTeam, homeScore, awayScore, version, matchSequence, new MatchEventHistory());
+    }
+
+    /**
+     * Like restore with the version and the sequence number, for a data store which keeps its matches in another form,
+     * keeps no history and hands out a new instance on every read
+     * getHistory of the match and of its versions throws ScoreBoardException, instead of an empty history which looks like no goals
+     */
+    public static MatchInProgress withoutHistory(OffsetDateTime startedAt, String homeTeam, String awayTeam, int homeScore, int awayScore,
+                                                 long version, long matchSequence) {
+        return restore(startedAt, homeTeam, awayTeam, homeScore, awayScore, version, matchSequence, null);
+    }
+
+    private static MatchInProgress restore(OffsetDateTime startedAt, String homeTeam, String awayTeam, int homeScore, int awayScore,
+                                           long version, long matchSequence, MatchEventHistory history) {
+        if(startedAt == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Start time may not be null", null);
+        }
+        if(homeTeam == null || awayTeam == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("None of the Teams may be null", null);
+        }
+        if(homeTeam.equals(awayTeam)) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Two teams must be different", null);
+        }
+        if(matchSequence > MATCH_SEQUENCES.get()) { //Only a restart gets here, a read of a live match does not write the counter
+            MATCH_SEQUENCES.accumulateAndGet(matchSequence, Math::max);
+        }
+        return new MatchInProgress(startedAt, homeTeam, awayTeam, version, matchSequence, history, pack(homeScore, awayScore));
     }
 
     public boolean equals(Object o) {
@@ -63,30 +172,91 @@ public class MatchInProgress {
         return false;
     }
 
-    public boolean setScore(int home, int away) {
-        currentScore.put(HOMETEAM, home);
-        currentScore.put(AWAYTEAM, away);
-        return true;
+    /**
+     * Consistent with equals, all the versions of a match have the same hash code
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(startedAt, homeTeam, awayTeam);
+    }
+
+    /**
+     * A new version of this match with the given score, this instance and its history are not changed
+     */
+    public MatchInProgress withScore(int home, int away) {
+        return new MatchInProgress(this, pack(home, away));
+    }
+
+    /**
+     * The score changes of this match recorded so far by the data stores, shared by all its versions
+     * A history keeps the first MatchEventHistory.MAX_EVENTS changes and only counts the later ones, see getDropped
+     */
+    public MatchEventHistory getHistory() {
+        if(history == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("The data store of the match " + homeTeam + " - " + awayTeam + " keeps no history", null);
+        }
+        return history;
+    }
+
+    /**
+     * False for a match created by withoutHistory and its versions
+     */
+    public boolean hasHistory() {
+        return history != null;
+    }
+
+    /**
+     * Starts at 0 and grows by one with every withScore
+     * Two instances of the same match with the same version always have the same score
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Unique per match and the same for all its versions, a match created later has a larger one
+     */
+    public long getMatchSequence() {
+        return matchSequence;
     }
 
     public String getHomeTeam() {
-        return teams.get(HOMETEAM);
+        return homeTeam;
     }
 
     public String getAwayTeam() {
-        return teams.get(AWAYTEAM);
+        return awayTeam;
     }
 
     public int getHomeTeamScore() {
-       return currentScore.get(HOMETEAM);
+       return (int) (currentScore >> 32);
     }
 
     public int getAwayTeamScore() {
-        return currentScore.get(AWAYTEAM);
+        return (int) currentScore;
+    }
+
+    /**
+     * Both scores are read at once, so the total always belongs to one score update
+     */
+    public int getTotalScore() {
+        long score = currentScore;
+        return (int) (score >> 32) + (int) score;
     }
 
     public OffsetDateTime getStartTime() {
         return startedAt;
     }
 
+    /**
+     * The start time as nano seconds since the epoch
+     */
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    private static long pack(int home, int away) {
+        return ((long) home << 32) | (away & 0xFFFFFFFFL);
+    }
 }
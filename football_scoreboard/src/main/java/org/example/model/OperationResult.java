@@ -0,0 +1,37 @@
+package org.example.model;
+
+/**
+ * Outcome of one item of a batch
+ * A failed item carries the reason, the other items of the batch are applied anyway
+ */
+public class OperationResult {
+
+    private static final OperationResult SUCCESS = new OperationResult(true, null);
+
+    private final boolean success;
+    private final String message;
+
+    private OperationResult(boolean success, String message) {
+        this.success = success;
+        this.message = message;
+    }
+
+    public static OperationResult success() {
+        return SUCCESS;
+    }
+
+    public static OperationResult failure(String message) {
+        return new OperationResult(false, message);
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * The reason of the failure, null for a successful item
+     */
+    public String getMessage() {
+        return message;
+    }
+}
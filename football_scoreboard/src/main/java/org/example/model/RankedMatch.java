@@ -0,0 +1,24 @@
+package org.example.model;
+
+/**
+ * A match together with its 0 based rank in the summary, both read at the same moment
+ * So the rank always belongs to this version of the match
+ */
+public class RankedMatch {
+
+    private final MatchInProgress match;
+    private final int rank;
+
+    public RankedMatch(MatchInProgress match, int rank) {
+        this.match = match;
+        this.rank = rank;
+    }
+
+    public MatchInProgress getMatch() {
+        return match;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+}
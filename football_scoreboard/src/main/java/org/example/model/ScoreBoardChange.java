@@ -0,0 +1,52 @@
+package org.example.model;
+
+/**
+ * One change of the summary, numbered by the data store with a sequence number which grows by one per change
+ * The ranks are the 0 based positions in the summary, -1 when the match is not in the summary
+ */
+public class ScoreBoardChange {
+
+    public enum Type {
+        STARTED, SCORE_CHANGED, FINISHED
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final MatchInProgress match; //The version of the match after the change, the last version if it finished
+    private final int oldRank;
+    private final int newRank;
+
+    public ScoreBoardChange(long sequence, Type type, MatchInProgress match, int oldRank, int newRank) {
+        this.sequence = sequence;
+        this.type = type;
+        this.match = match;
+        this.oldRank = oldRank;
+        this.newRank = newRank;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public MatchInProgress getMatch() {
+        return match;
+    }
+
+    /**
+     * -1 for a match which just started
+     */
+    public int getOldRank() {
+        return oldRank;
+    }
+
+    /**
+     * -1 for a match which just finished
+     */
+    public int getNewRank() {
+        return newRank;
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.model;
+
+import java.time.OffsetDateTime;
+
+/**
+ * One item of a batch applied to the scoreboard
+ * A batch may mix starting matches, updating scores and finishing matches
+ * Instances are created with the static factory methods
+ */
+public class ScoreBoardOperation {
+
+    public enum Type {
+        START, UPDATE_SCORE, FINISH
+    }
+
+    private final Type type;
+    private final OffsetDateTime startedAt;
+    private final String homeTeam;
+    private final String awayTeam;
+    private final int homeScore;
+    private final int awayScore;
+
+    private ScoreBoardOperation(Type type, OffsetDateTime startedAt, String homeTeam, String awayTeam, int homeScore, int awayScore) {
+        this.type = type;
+        this.startedAt = startedAt;
+        this.homeTeam = homeTeam;
+        this.awayTeam = awayTeam;
+        this.homeScore = homeScore;
+        this.awayScore = awayScore;
+    }
+
+    public static ScoreBoardOperation startMatch(OffsetDateTime startedAt, String homeTeam, String awayTeam) {
+        return new ScoreBoardOperation(Type.START, startedAt, homeTeam, awayTeam, 0, 0);
+    }
+
+    /**
+     * Like updateScore of the service, any of the two teams may be passed
+     */
+    public static ScoreBoardOperation updateScore(String homeTeam, int homeScore, int awayScore) {
+        return new ScoreBoardOperation(Type.UPDATE_SCORE, null, homeTeam, null, homeScore, awayScore);
+    }
+
+    /**
+     * Like finishMatch of the service, any of the two teams may be passed
+     */
+    public static ScoreBoardOperation finishMatch(String homeTeam) {
+        return new ScoreBoardOperation(Type.FINISH, null, homeTeam, null, 0, 0);
+    }
+
+    /**
+     * Creates the match to be started, the usual validations of MatchInProgress apply
+     */
+    public MatchInProgress toMatch() {
+        return new MatchInProgress(startedAt, homeTeam, awayTeam);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public OffsetDateTime getStartTime() {
+        return startedAt;
+    }
+
+    public String getHomeTeam() {
+        return homeTeam;
+    }
+
+    public String getAwayTeam() {
+        return awayTeam;
+    }
+
+    public int getHomeScore() {
+        return homeScore;
+    }
+
+    public int getAwayScore() {
+        return awayScore;
+    }
+}
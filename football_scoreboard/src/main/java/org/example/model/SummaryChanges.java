@@ -0,0 +1,56 @@
+package org.example.model;
+
+import java.util.List;
+
+/**
+ * Answer to "give me all the changes since sequence X"
+ * <p>
+ * Usually it holds only the changes after X. When X is too old and the changes were already dropped
+ * from the bounded log, or X is unknown, it holds the full summary instead and the client starts over from there
+ * In both cases the client asks with getLastSequence next time
+ */
+public class SummaryChanges {
+
+    private final long lastSequence;
+    private final List<ScoreBoardChange> changes;
+    private final List<MatchInProgress> summary;
+
+    private SummaryChanges(long lastSequence, List<ScoreBoardChange> changes, List<MatchInProgress> summary) {
+        this.lastSequence = lastSequence;
+        this.changes = changes;
+        this.summary = summary;
+    }
+
+    public static SummaryChanges ofChanges(long lastSequence, List<ScoreBoardChange> changes) {
+        return new SummaryChanges(lastSequence, changes, null);
+    }
+
+    public static SummaryChanges ofSnapshot(long lastSequence, List<MatchInProgress> summary) {
+        return new SummaryChanges(lastSequence, null, summary);
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * true when the changes were not available and the full summary is returned instead
+     */
+    public boolean isFullSnapshot() {
+        return summary != null;
+    }
+
+    /**
+     * The changes in the order of their sequence numbers, null for a full snapshot
+     */
+    public List<ScoreBoardChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * The full summary, null when only the changes are returned
+     */
+    public List<MatchInProgress> getSummary() {
+        return summary;
+    }
+}
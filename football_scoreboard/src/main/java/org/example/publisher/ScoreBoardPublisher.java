@@ -0,0 +1,235 @@
+package org.example.publisher;
+
+import org.example.exception.ScoreBoardException;
+import org.example.model.MatchInProgress;
+import org.example.model.ScoreBoardChange;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pushes the changes of the summary to the subscribers, honouring the demand of each one
+ * <p>
+ * publish only queues the change for every subscriber and returns, the delivery runs on the executor
+ * Undelivered changes of a subscriber are coalesced per match, the latest change wins, so a subscriber
+ * which is behind holds at most one change per match and gets the newest state when it asks again
+ * A subscriber which lets more than maxPendingMatches matches pile up gets onError and is dropped
+ */
+public class ScoreBoardPublisher implements Flow.Publisher<ScoreBoardChange> {
+
+    public static final int DEFAULT_MAX_PENDING_MATCHES = 65_536;
+
+    private final Executor executor;
+    private final int maxPendingMatches;
+    private final List<ChangeSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    public ScoreBoardPublisher(Executor executor) {
+        this(executor, DEFAULT_MAX_PENDING_MATCHES);
+    }
+
+    public ScoreBoardPublisher(Executor executor, int maxPendingMatches) {
+        if(executor == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Executor may not be null", null);
+        }
+        this.executor = executor;
+        this.maxPendingMatches = maxPendingMatches;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ScoreBoardChange> subscriber) {
+        if(subscriber == null) {
+            throw new NullPointerException("Subscriber may not be null");
+        }
+        ChangeSubscription subscription = new ChangeSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        if(closed) {
+            subscription.complete();
+            return;
+        }
+        subscriptions.add(subscription);
+    }
+
+    /**
+     * Queues the change for every subscriber, never blocks
+     */
+    public void publish(ScoreBoardChange change) {
+        for(ChangeSubscription subscription : subscriptions) {
+            subscription.offer(change);
+        }
+    }
+
+    /**
+     * Completes every subscriber once its queued changes are delivered
+     */
+    public void close() {
+        closed = true;
+        for(ChangeSubscription subscription : subscriptions) {
+            subscription.complete();
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Merges a change into the one still waiting for the same match
+     * null means that nothing is left to deliver for the match
+     */
+    static ScoreBoardChange coalesce(ScoreBoardChange pending, ScoreBoardChange change) {
+        if(pending == null) {
+            return change;
+        }
+        ScoreBoardChange.Type pendingType = pending.getType();
+        switch (change.getType()) {
+            case SCORE_CHANGED:
+                if(pendingType == ScoreBoardChange.Type.FINISHED) {
+                    return change;
+                }
+                //The subscriber has not seen the old rank of a pending change yet, nor the start of a pending start
+                return new ScoreBoardChange(change.getSequence(), pendingType, change.getMatch(), pending.getOldRank(), change.getNewRank());
+            case FINISHED:
+                if(pendingType == ScoreBoardChange.Type.STARTED) {
+                    return null; //Started and finished before the subscriber saw it
+                }
+                if(pendingType == ScoreBoardChange.Type.SCORE_CHANGED) {
+                    return new ScoreBoardChange(change.getSequence(), change.getType(), change.getMatch(), pending.getOldRank(), -1);
+                }
+                return change;
+            default:
+                return change;
+        }
+    }
+
+    private final class ChangeSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super ScoreBoardChange> subscriber;
+        private final Map<MatchInProgress, ScoreBoardChange> pending = new LinkedHashMap<>(); //Guarded by pendingLock, oldest first
+        private final ReentrantLock pendingLock = new ReentrantLock(); //Not a monitor, publish runs under the lock of the data store
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger(); //Only one delivery loop runs at a time
+        private volatile boolean cancelled;
+        private volatile boolean completed;
+        private volatile Throwable error;
+
+        private ChangeSubscription(Flow.Subscriber<? super ScoreBoardChange> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if(n <= 0) {
+                error = new IllegalArgumentException("Demand must be positive " + n);
+                schedule();
+                return;
+            }
+            demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        private void offer(ScoreBoardChange change) {
+            if(cancelled) {
+                return;
+            }
+            pendingLock.lock();
+            try {
+                //Removed and put again, so the map stays in the order of the latest change
+                ScoreBoardChange merged = coalesce(pending.remove(change.getMatch()), change);
+                if(merged != null) {
+                    pending.put(merged.getMatch(), merged);
+                }
+                if(pending.size() > maxPendingMatches) {
+                    pending.clear();
+                    error = new ScoreBoardException("Subscriber is too slow, more than " + maxPendingMatches + " matches are pending", null);
+                }
+            } finally {
+                pendingLock.unlock();
+            }
+            schedule();
+        }
+
+        private void complete() {
+            completed = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if(wip.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                deliver();
+                missed = wip.addAndGet(-missed);
+            } while(missed != 0);
+        }
+
+        private void deliver() {
+            while(!cancelled) {
+                if(error != null) {
+                    cancel();
+                    subscriber.onError(error);
+                    return;
+                }
+                ScoreBoardChange next = null;
+                if(demand.get() > 0) {
+                    pendingLock.lock();
+                    try {
+                        Iterator<ScoreBoardChange> iterator = pending.values().iterator();
+                        if(iterator.hasNext()) {
+                            next = iterator.next();
+                            iterator.remove();
+                        }
+                    } finally {
+                        pendingLock.unlock();
+                    }
+                }
+                if(next == null) {
+                    if(completed && isPendingEmpty()) {
+                        cancel();
+                        subscriber.onComplete();
+                    }
+                    return;
+                }
+                if(demand.get() != Long.MAX_VALUE) {
+                    demand.decrementAndGet();
+                }
+                try {
+                    subscriber.onNext(next);
+                } catch (RuntimeException e) {
+                    //A subscriber may not throw, it is dropped
+                    cancel();
+                    return;
+                }
+            }
+        }
+
+        private boolean isPendingEmpty() {
+            pendingLock.lock();
+            try {
+                return pending.isEmpty();
+            } finally {
+                pendingLock.unlock();
+            }
+        }
+    }
+}
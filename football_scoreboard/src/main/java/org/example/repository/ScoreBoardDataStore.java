@@ -1,8 +1,16 @@
 package org.example.repository;
 
+import org.example.exception.ScoreBoardException;
 import org.example.model.MatchInProgress;
+import org.example.model.OperationResult;
+import org.example.model.RankedMatch;
+import org.example.model.ScoreBoardChange;
+import org.example.model.ScoreBoardOperation;
+import org.example.model.SummaryChanges;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ScoreBoardDataStore {
     boolean add(MatchInProgress matchInProgress);
@@ -10,4 +18,176 @@ public interface ScoreBoardDataStore {
     MatchInProgress get(String homeTeam);
     boolean remove(String homeTeam);
     List<MatchInProgress> getSummary();
+
+    /**
+     * Number of live matches
+     * This default counts the full summary, the data stores of this library count in O(1)
+     */
+    default int size() {
+        return getSummary().size();
+    }
+
+    /**
+     * The id of the team in the TeamRegistry of this data store, TeamRegistry.NO_TEAM if it is unknown
+     * Looked up once, the id can be passed to the int methods, which do not hash the name again
+     * Not every data store indexes the teams by id, those throw ScoreBoardException
+     */
+    default int getTeamId(String team) {
+        throw new ScoreBoardException(getClass().getSimpleName() + " does not index the teams by id", null);
+    }
+
+    /**
+     * Like get with the name of a team, see getTeamId
+     */
+    default MatchInProgress get(int teamId) {
+        throw new ScoreBoardException(getClass().getSimpleName() + " does not index the teams by id", null);
+    }
+
+    /**
+     * Like setScore with the name of a team, see getTeamId
+     */
+    default boolean setScore(int teamId, int homeScore, int awayScore) {
+        throw new ScoreBoardException(getClass().getSimpleName() + " does not index the teams by id", null);
+    }
+
+    /**
+     * Like remove with the name of a team, see getTeamId
+     */
+    default boolean remove(int teamId) {
+        throw new ScoreBoardException(getClass().getSimpleName() + " does not index the teams by id", null);
+    }
+
+    /**
+     * At most limit matches of the summary, starting at the 0 based offset
+     * This default copies the full summary, the data stores of this library walk only the requested part
+     */
+    default List<MatchInProgress> getSummary(int offset, int limit) {
+        if(offset < 0 || limit < 0) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Offset and limit may not be negative", null);
+        }
+        List<MatchInProgress> summary = getSummary();
+        if(offset >= summary.size()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(summary.subList(offset, (int) Math.min(summary.size(), (long) offset + limit)));
+    }
+
+    /**
+     * 0 based rank of the match of the given team in the summary, -1 if the team is not playing
+     * This default searches the full summary, the data stores of this library count in O(log N)
+     */
+    default int getRank(String team) {
+        MatchInProgress matchInProgress = team == null ? null : get(team);
+        if(matchInProgress == null) {
+            return -1;
+        }
+        return getSummary().indexOf(matchInProgress);
+    }
+
+    /**
+     * The match of the given team together with its rank in the summary, read at the same moment, null if the team is not playing
+     * This default reads the match again after its rank and retries until the match did not change in between,
+     * the data stores of this library read both under one lock
+     */
+    default RankedMatch getRankedMatch(String team) {
+        MatchInProgress matchInProgress = team == null ? null : get(team);
+        while(matchInProgress != null) {
+            int rank = getRank(team);
+            MatchInProgress again = get(team);
+            if(again != null && rank >= 0 && again.equals(matchInProgress) && again.getVersion() == matchInProgress.getVersion()) {
+                return new RankedMatch(again, rank);
+            }
+            matchInProgress = again;
+        }
+        return null;
+    }
+
+    /**
+     * The names of the other rankings this data store keeps next to the summary, see RankingStrategy
+     * This default keeps none
+     */
+    default List<String> getRankings() {
+        return new ArrayList<>();
+    }
+
+    /**
+     * A page of the ranking with the given name, one of getRankings
+     * Not every data store keeps other rankings, those throw ScoreBoardException
+     */
+    default List<MatchInProgress> getSummary(String ranking, int offset, int limit) {
+        throw new ScoreBoardException(getClass().getSimpleName() + " does not keep the ranking " + ranking, null);
+    }
+
+    /**
+     * 0 based rank of the match of the given team in the ranking with the given name, -1 if the team is not playing
+     * Not every data store keeps other rankings, those throw ScoreBoardException
+     */
+    default int getRank(String ranking, String team) {
+        throw new ScoreBoardException(getClass().getSimpleName() + " does not keep the ranking " + ranking, null);
+    }
+
+    /**
+     * Grows with every change of the summary, so a reader can tell whether anything changed without reading the summary
+     * A summary read after this call is at least as new as the returned sequence
+     * This default returns -1, for a data store which does not count its changes
+     */
+    default long getLastSequence() {
+        return -1;
+    }
+
+    /**
+     * Apply the operations in the given order and return one result per operation
+     * A failed operation does not stop the batch
+     * <p>
+     * This default applies them one by one, the data stores of this library override it
+     * so that the whole batch takes the lock once and the summary is re-ranked once
+     */
+    default List<OperationResult> applyBatch(List<ScoreBoardOperation> operations) {
+        if(operations == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Operations may not be null", null);
+        }
+        List<OperationResult> results = new ArrayList<>(operations.size());
+        for(ScoreBoardOperation operation : operations) {
+            if(operation == null) {
+                results.add(OperationResult.failure("Operation may not be null"));
+                continue;
+            }
+            try {
+                boolean applied;
+                switch (operation.getType()) {
+                    case START:
+                        applied = add(operation.toMatch());
+                        break;
+                    case UPDATE_SCORE:
+                        applied = setScore(operation.getHomeTeam(), operation.getHomeScore(), operation.getAwayScore());
+                        break;
+                    default:
+                        applied = remove(operation.getHomeTeam());
+                }
+                results.add(applied ? OperationResult.success() : OperationResult.failure("Home team may not be null"));
+            } catch (ScoreBoardException e) {
+                //Log it so that it may be debugged
+                results.add(OperationResult.failure(e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * The changes of the summary after the given sequence number, or the full summary if they are not available
+     * Not every data store keeps its changes, those throw ScoreBoardException
+     */
+    default SummaryChanges getChangesSince(long sequence) {
+        throw new ScoreBoardException(getClass().getSimpleName() + " does not keep the changes of the summary", null);
+    }
+
+    /**
+     * Be told about every change of the summary as soon as it happens
+     * Not every data store keeps its changes, those throw ScoreBoardException
+     */
+    default void addChangeListener(Consumer<ScoreBoardChange> listener) {
+        throw new ScoreBoardException(getClass().getSimpleName() + " does not keep the changes of the summary", null);
+    }
 }
@@ -0,0 +1,213 @@
+package org.example.repository.impl;
+
+import org.example.exception.ScoreBoardException;
+import org.example.helper.RankedSet;
+import org.example.model.MatchInProgress;
+import org.example.model.OperationResult;
+import org.example.model.ScoreBoardChange;
+import org.example.model.ScoreBoardOperation;
+
+import java.util.*;
+
+/**
+ * Applies a batch of operations to the live score board and the summary of a data store
+ * The caller must hold the write lock of the data store for the whole batch
+ * <p>
+ * Every touched match is taken out of the summary once, before it is changed for the first time,
+ * and all of them are put back at the end, so the summary is re-ranked only once per batch
+ * The rankings of the data store, if there are any, are treated the same way as the summary
+ * Like the data stores, a score update replaces the match with its next version and records it in the history of the match
+ * <p>
+ * If a change log is given, the batch is logged as one change per touched match, since no reader
+ * can see the states in between. A match started and finished in the same batch is not logged at all
+ */
+final class BatchApplier {
+
+    private final Map<String, MatchInProgress> scoreBoard;
+    private final RankedSet<MatchInProgress> summary;
+    private final List<RankedSet<MatchInProgress>> rankings;
+    private final ChangeLog changeLog; //null if the changes are not logged
+    private final ChangeLog sequenceCounter; //null if there is no change log at all
+    private final Set<MatchInProgress> detached = Collections.newSetFromMap(new IdentityHashMap<>()); //Touched matches, out of the summary
+    private final Map<MatchInProgress, Integer> oldRanks = new IdentityHashMap<>(); //Ranks before the batch
+    private final Map<MatchInProgress, TouchedMatch> touchedByVersion = new IdentityHashMap<>(); //Keyed by the latest version
+    private final List<TouchedMatch> touched = new ArrayList<>(); //In the order of the first touch
+
+    private BatchApplier(Map<String, MatchInProgress> scoreBoard, RankedSet<MatchInProgress> summary,
+                         List<RankedSet<MatchInProgress>> rankings, ChangeLog changeLog) {
+        this.scoreBoard = scoreBoard;
+        this.summary = summary;
+        this.rankings = rankings;
+        this.changeLog = changeLog != null && changeLog.isEnabled() ? changeLog : null;
+        this.sequenceCounter = changeLog;
+    }
+
+    static List<OperationResult> apply(Map<String, MatchInProgress> scoreBoard, RankedSet<MatchInProgress> summary, List<ScoreBoardOperation> operations) {
+        return apply(scoreBoard, summary, Collections.emptyList(), null, operations);
+    }
+
+    static List<OperationResult> apply(Map<String, MatchInProgress> scoreBoard, RankedSet<MatchInProgress> summary,
+                                       List<RankedSet<MatchInProgress>> rankings, ChangeLog changeLog, List<ScoreBoardOperation> operations) {
+        if(operations == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Operations may not be null", null);
+        }
+        return new BatchApplier(scoreBoard, summary, rankings, changeLog).applyAll(operations);
+    }
+
+    private List<OperationResult> applyAll(List<ScoreBoardOperation> operations) {
+        if(changeLog != null) {
+            rememberOldRanks(operations);
+        }
+        List<OperationResult> results = new ArrayList<>(operations.size());
+        try {
+            for(ScoreBoardOperation operation : operations) {
+                try {
+                    results.add(applyOne(operation));
+                } catch (ScoreBoardException e) {
+                    //Log it so that it may be debugged
+                    results.add(OperationResult.failure(e.getMessage()));
+                }
+            }
+        } finally {
+            //Any other exception still leaves every live match in the summary and the changes made so far logged
+            summary.addAll(detached);
+            for(RankedSet<MatchInProgress> ranking : rankings) {
+                ranking.addAll(detached);
+            }
+            if(changeLog != null) {
+                logChanges();
+            } else if(sequenceCounter != null && results.stream().anyMatch(OperationResult::isSuccess)) {
+                sequenceCounter.skip(); //Nothing is logged, but the sequence still moves on once for the whole batch
+            }
+        }
+        return results;
+    }
+
+    private OperationResult applyOne(ScoreBoardOperation operation) {
+        if(operation == null) {
+            return OperationResult.failure("Operation may not be null");
+        }
+        String homeTeam = operation.getHomeTeam();
+        if(homeTeam == null) {
+            return OperationResult.failure("Home team may not be null");
+        }
+        switch (operation.getType()) {
+            case START: {
+                MatchInProgress matchInProgress = operation.toMatch();
+                if(scoreBoard.containsKey(homeTeam)) {
+                    return OperationResult.failure("The same team " + homeTeam + " is already playing as a home team, so another match with it is not possible");
+                }
+                if(scoreBoard.containsKey(matchInProgress.getAwayTeam())) {
+                    return OperationResult.failure("The same team " + matchInProgress.getAwayTeam() + " is already playing as an away team, so another match with it is not possible");
+                }
+                scoreBoard.put(homeTeam, matchInProgress);
+                scoreBoard.put(matchInProgress.getAwayTeam(), matchInProgress);
+                detached.add(matchInProgress);
+                track(null, matchInProgress, false);
+                return OperationResult.success();
+            }
+            case UPDATE_SCORE: {
+                MatchInProgress matchInProgress = scoreBoard.get(homeTeam);
+                if(matchInProgress == null) {
+                    return OperationResult.failure("There is no such match going on with this home team " + homeTeam);
+                }
+                detach(matchInProgress);
+                MatchInProgress updated = matchInProgress.withScore(operation.getHomeScore(), operation.getAwayScore());
+                if(updated.hasHistory()) { //A match read from a data store without history may be added to this one
+                    updated.getHistory().record(matchInProgress, updated);
+                }
+                scoreBoard.put(updated.getHomeTeam(), updated);
+                scoreBoard.put(updated.getAwayTeam(), updated);
+                detached.add(updated);
+                track(matchInProgress, updated, false);
+                return OperationResult.success();
+            }
+            case FINISH: {
+                MatchInProgress matchInProgress = scoreBoard.get(homeTeam);
+                if(matchInProgress == null) {
+                    return OperationResult.failure("There is no such match going on with this home team " + homeTeam);
+                }
+                detach(matchInProgress);
+                scoreBoard.remove(matchInProgress.getAwayTeam());
+                scoreBoard.remove(matchInProgress.getHomeTeam());
+                track(matchInProgress, matchInProgress, true);
+                return OperationResult.success();
+            }
+            default:
+                return OperationResult.failure("Unknown operation " + operation.getType());
+        }
+    }
+
+    /**
+     * Takes the match out of the summary and the rankings, unless it is already out
+     */
+    private void detach(MatchInProgress matchInProgress) {
+        if(!detached.remove(matchInProgress)) {
+            summary.remove(matchInProgress);
+            for(RankedSet<MatchInProgress> ranking : rankings) {
+                ranking.remove(matchInProgress);
+            }
+        }
+    }
+
+    /**
+     * The ranks are counted before anything is taken out of the summary
+     * Every match an update or a finish may touch is counted, a few of them may turn out not to be touched
+     */
+    private void rememberOldRanks(List<ScoreBoardOperation> operations) {
+        for(ScoreBoardOperation operation : operations) {
+            if(operation == null || operation.getHomeTeam() == null || operation.getType() == ScoreBoardOperation.Type.START) {
+                continue;
+            }
+            MatchInProgress matchInProgress = scoreBoard.get(operation.getHomeTeam());
+            if(matchInProgress != null && !oldRanks.containsKey(matchInProgress)) {
+                oldRanks.put(matchInProgress, ChangeLog.rankOf(summary, matchInProgress));
+            }
+        }
+    }
+
+    /**
+     * previous is null for a match started in this batch
+     */
+    private void track(MatchInProgress previous, MatchInProgress latest, boolean finished) {
+        if(changeLog == null) {
+            return;
+        }
+        TouchedMatch touchedMatch = previous == null ? null : touchedByVersion.remove(previous);
+        if(touchedMatch == null) {
+            touchedMatch = new TouchedMatch(previous == null ? -1 : oldRanks.get(previous));
+            touched.add(touchedMatch);
+        }
+        touchedMatch.latest = latest;
+        touchedMatch.finished = finished;
+        if(!finished) {
+            touchedByVersion.put(latest, touchedMatch);
+        }
+    }
+
+    private void logChanges() {
+        for(TouchedMatch touchedMatch : touched) {
+            boolean startedInBatch = touchedMatch.oldRank < 0;
+            if(touchedMatch.finished) {
+                if(!startedInBatch) {
+                    changeLog.append(ScoreBoardChange.Type.FINISHED, touchedMatch.latest, touchedMatch.oldRank, -1);
+                }
+            } else {
+                int newRank = ChangeLog.rankOf(summary, touchedMatch.latest);
+                changeLog.append(startedInBatch ? ScoreBoardChange.Type.STARTED : ScoreBoardChange.Type.SCORE_CHANGED,
+                        touchedMatch.latest, touchedMatch.oldRank, newRank);
+            }
+        }
+    }
+
+    private static final class TouchedMatch {
+        private final int oldRank; //-1 for a match started in this batch
+        private MatchInProgress latest;
+        private boolean finished;
+
+        private TouchedMatch(int oldRank) {
+            this.oldRank = oldRank;
+        }
+    }
+}
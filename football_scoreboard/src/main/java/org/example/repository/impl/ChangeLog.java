@@ -0,0 +1,96 @@
+package org.example.repository.impl;
+
+import org.example.helper.RankedSet;
+import org.example.model.MatchInProgress;
+import org.example.model.ScoreBoardChange;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Bounded ring buffer of the last changes of a data store
+ * Not thread safe, the data store guards it with its own lock
+ * <p>
+ * A capacity of 0 disables the log, only the sequence numbers are counted then
+ * <p>
+ * Listeners are told about every change right after it is appended, still under the lock of the data store
+ * So a listener has to be quick and may not block or throw
+ */
+final class ChangeLog {
+
+    private final ScoreBoardChange[] ring;
+    private final List<Consumer<ScoreBoardChange>> listeners = new CopyOnWriteArrayList<>();
+    private volatile long lastSequence; //0 until the first change, only changed while the lock of the data store is held
+
+    ChangeLog(int capacity) {
+        if(capacity < 0) {
+            throw new IllegalArgumentException("Capacity may not be negative " + capacity);
+        }
+        ring = new ScoreBoardChange[capacity];
+    }
+
+    /**
+     * true if the changes are kept or somebody listens to them
+     */
+    boolean isEnabled() {
+        return ring.length > 0 || !listeners.isEmpty();
+    }
+
+    void addListener(Consumer<ScoreBoardChange> listener) {
+        listeners.add(listener);
+    }
+
+    void append(ScoreBoardChange.Type type, MatchInProgress matchInProgress, int oldRank, int newRank) {
+        lastSequence++;
+        if(!isEnabled()) {
+            return;
+        }
+        ScoreBoardChange change = new ScoreBoardChange(lastSequence, type, matchInProgress, oldRank, newRank);
+        if(ring.length > 0) {
+            ring[(int) (lastSequence % ring.length)] = change;
+        }
+        for(Consumer<ScoreBoardChange> listener : listeners) {
+            listener.accept(change);
+        }
+    }
+
+    /**
+     * Moves the sequence on without logging anything
+     */
+    void skip() {
+        lastSequence++;
+    }
+
+    long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * The changes after the given sequence
+     * null if some of them are not in the log any more, or the sequence was never given out
+     */
+    List<ScoreBoardChange> since(long sequence) {
+        if(sequence < 0 || sequence > lastSequence || sequence < lastSequence - ring.length) {
+            return null;
+        }
+        if(sequence == lastSequence) {
+            return Collections.emptyList();
+        }
+        List<ScoreBoardChange> changes = new ArrayList<>((int) (lastSequence - sequence));
+        for(long next = sequence + 1; next <= lastSequence; next++) {
+            changes.add(ring[(int) (next % ring.length)]);
+        }
+        return changes;
+    }
+
+    /**
+     * 0 based position of the match in the summary
+     * O(log N)
+     */
+    static int rankOf(RankedSet<MatchInProgress> summary, MatchInProgress matchInProgress) {
+        return summary.rankOf(matchInProgress);
+    }
+}
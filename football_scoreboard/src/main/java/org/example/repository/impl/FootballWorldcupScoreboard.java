@@ -1,83 +1,224 @@
 package org.example.repository.impl;
 
 import org.example.exception.ScoreBoardException;
+import org.example.helper.OrderStatisticTree;
+import org.example.helper.RankedSet;
+import org.example.helper.RankingStrategy;
+import org.example.helper.ScoreBucketIndex;
+import org.example.helper.TeamRegistry;
 import org.example.model.MatchInProgress;
+import org.example.model.OperationResult;
+import org.example.model.RankedMatch;
+import org.example.model.ScoreBoardChange;
+import org.example.model.ScoreBoardOperation;
+import org.example.model.SummaryChanges;
 import org.example.repository.ScoreBoardDataStore;
 
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
  * All the methods of this class is thread safe
  * <p>
  * This class stores the live scoreboard and the live summary of current Football world cup
- * The key to store each match in the HashMap is the name of the home Team
+ * Each match is stored under the ids of both of its teams, see TeamRegistry
  * This class also tracks the current teams who are playing now
  * This class also provides a summary
+ * A match handed out by this class is never changed, a score update replaces it with its next version
+ * Every change of the summary is numbered and kept in a bounded log, so clients can ask only for what changed
+ * Other orders of the matches, see RankingStrategy, are kept as indexes of their own next to the summary
+ * Every method takes a ReentrantLock instead of the monitor of this object,
+ * so a virtual thread waiting for it or holding it unmounts from its carrier thread instead of pinning it
  */
 public class FootballWorldcupScoreboard implements ScoreBoardDataStore {
 
-    private final Map<String, MatchInProgress> scoreBoard = new HashMap<>(); //Live match score board
-    private final TreeSet<MatchInProgress> summary; //The summary
+    public static final int DEFAULT_CHANGE_LOG_CAPACITY = 1024;
 
-    private FootballWorldcupScoreboard(Comparator<MatchInProgress> comparator) {
-        summary = new TreeSet<>(comparator);
+    private final TeamIdIndex scoreBoard; //Live match score board, indexed by team id
+    private final RankedSet<MatchInProgress> summary; //The summary, it also knows the rank of every match
+    private final ChangeLog changeLog; //The last changes of the summary
+    private final Map<String, RankedSet<MatchInProgress>> rankings = new LinkedHashMap<>(); //By the name of the ranking
+    private final List<RankedSet<MatchInProgress>> rankingIndexes; //The same indexes, for the writes
+    private final ReentrantLock lock = new ReentrantLock(); //Guards all of the above
+
+    protected FootballWorldcupScoreboard(Comparator<MatchInProgress> comparator, int changeLogCapacity) {
+        this(comparator, changeLogCapacity, TeamRegistry.withDefaultTeams());
     }
 
-    public static FootballWorldcupScoreboard getScoreBoard(Comparator<MatchInProgress> comparator) {
-        return new FootballWorldcupScoreboard(comparator);
+    protected FootballWorldcupScoreboard(Comparator<MatchInProgress> comparator, int changeLogCapacity, TeamRegistry teamRegistry) {
+        this(comparator, changeLogCapacity, teamRegistry, Collections.emptyList());
     }
 
+    protected FootballWorldcupScoreboard(Comparator<MatchInProgress> comparator, int changeLogCapacity, TeamRegistry teamRegistry, List<RankingStrategy> rankingStrategies) {
+        this(new OrderStatisticTree<>(comparator), changeLogCapacity, teamRegistry, rankingStrategies);
+    }
 
     /**
-     * Add a new match which has just started
-     * O(log N) as The Match has to be put in the TreeSet
+     * The summary index decides the order of the summary, it has to be empty
      */
-    @Override
-    public synchronized boolean add(MatchInProgress matchInProgress) {
-        if(matchInProgress == null) {
-            //Log it so that it may be debugged
-            throw new ScoreBoardException("Match may not be null", null);
-        }
-        String homeTeam = matchInProgress.getHomeTeam();
-        if(homeTeam == null) {
-            //Log it so that it may be debugged
-            return false;
+    protected FootballWorldcupScoreboard(RankedSet<MatchInProgress> summary, int changeLogCapacity, TeamRegistry teamRegistry, List<RankingStrategy> rankingStrategies) {
+        scoreBoard = new TeamIdIndex(teamRegistry);
+        this.summary = summary;
+        changeLog = new ChangeLog(changeLogCapacity);
+        for(RankingStrategy rankingStrategy : rankingStrategies) {
+            if(rankings.put(rankingStrategy.getName(), new OrderStatisticTree<>(rankingStrategy.getComparator())) != null) {
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("There are two rankings with the name " + rankingStrategy.getName(), null);
+            }
         }
-        if(scoreBoard.containsKey(homeTeam)) {
+        rankingIndexes = new ArrayList<>(rankings.values());
+    }
+
+    public static FootballWorldcupScoreboard getScoreBoard(Comparator<MatchInProgress> comparator) {
+        return new FootballWorldcupScoreboard(comparator, DEFAULT_CHANGE_LOG_CAPACITY);
+    }
+
+    /**
+     * changeLogCapacity is the number of changes kept for getChangesSince, 0 keeps none
+     */
+    public static FootballWorldcupScoreboard getScoreBoard(Comparator<MatchInProgress> comparator, int changeLogCapacity) {
+        return new FootballWorldcupScoreboard(comparator, changeLogCapacity);
+    }
+
+    /**
+     * The registry may be shared, for example with the feed which looks the team ids up
+     */
+    public static FootballWorldcupScoreboard getScoreBoard(Comparator<MatchInProgress> comparator, int changeLogCapacity, TeamRegistry teamRegistry) {
+        if(teamRegistry == null) {
             //Log it so that it may be debugged
-            throw new ScoreBoardException("The same team " + homeTeam + " is already playing as a home team, so another match with it is not possible", null);
+            throw new ScoreBoardException("Team registry may not be null", null);
         }
-        if(scoreBoard.containsKey(matchInProgress.getAwayTeam())) {
+        return new FootballWorldcupScoreboard(comparator, changeLogCapacity, teamRegistry);
+    }
+
+    /**
+     * The summary in the order of MatchComparator, indexed by ScoreBucketIndex instead of a single tree
+     * A goal moves the match between two small buckets, which pays off when many matches share a total
+     */
+    public static FootballWorldcupScoreboard getBucketedScoreBoard() {
+        return new FootballWorldcupScoreboard(new ScoreBucketIndex(), DEFAULT_CHANGE_LOG_CAPACITY, TeamRegistry.withDefaultTeams(), Collections.emptyList());
+    }
+
+    /**
+     * Keeps every given ranking up to date next to the summary of the comparator, see getSummary(String, int, int)
+     */
+    public static FootballWorldcupScoreboard getScoreBoard(Comparator<MatchInProgress> comparator, List<RankingStrategy> rankingStrategies) {
+        if(rankingStrategies == null || rankingStrategies.stream().anyMatch(Objects::isNull)) {
             //Log it so that it may be debugged
-            throw new ScoreBoardException("The same team " + matchInProgress.getAwayTeam() + " is already playing as an away team, so another match with it is not possible", null);
+            throw new ScoreBoardException("Rankings may not be null", null);
         }
+        return new FootballWorldcupScoreboard(comparator, DEFAULT_CHANGE_LOG_CAPACITY, TeamRegistry.withDefaultTeams(), rankingStrategies);
+    }
+
+    /**
+     * The lock every method of this scoreboard takes, it is reentrant
+     * Holding it makes several calls one atomic step, and blocks every other caller until it is released
+     */
+    public ReentrantLock getLock() {
+        return lock;
+    }
+
+    /**
+     * Add a new match which has just started
+     * O(log N) as The Match has to be put in the summary, and in every ranking
+     */
+    @Override
+    public boolean add(MatchInProgress matchInProgress) {
+        lock.lock();
+        try {
+            if(matchInProgress == null) {
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("Match may not be null", null);
+            }
+            String homeTeam = matchInProgress.getHomeTeam();
+            if(homeTeam == null) {
+                //Log it so that it may be debugged
+                return false;
+            }
+            if(scoreBoard.containsKey(homeTeam)) {
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("The same team " + homeTeam + " is already playing as a home team, so another match with it is not possible", null);
+            }
+            if(scoreBoard.containsKey(matchInProgress.getAwayTeam())) {
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("The same team " + matchInProgress.getAwayTeam() + " is already playing as an away team, so another match with it is not possible", null);
+            }
 
-        scoreBoard.put(homeTeam, matchInProgress);
-        scoreBoard.put(matchInProgress.getAwayTeam(), matchInProgress);
+            scoreBoard.put(homeTeam, matchInProgress);
+            scoreBoard.put(matchInProgress.getAwayTeam(), matchInProgress);
 
-        summary.add(matchInProgress);
-        return true;
+            summary.add(matchInProgress);
+            for(RankedSet<MatchInProgress> ranking : rankingIndexes) {
+                ranking.add(matchInProgress);
+            }
+            changeLog.append(ScoreBoardChange.Type.STARTED, matchInProgress, -1, rankOf(matchInProgress));
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
      * Set the new score of an ongoing match after a team scores
-     * The summary also changes
-     * O(log N) as The Match has to be removed and put in the TreeSet
+     * The match is replaced by its next version, the summary also changes
+     * O(log N) as The Match has to be removed and put in the summary
      */
     @Override
-    public synchronized boolean setScore(String homeTeam, int homeScore, int awayScore){
-        if(homeTeam == null) {
-            //Log it so that it may be debugged
-            return false;
+    public boolean setScore(String homeTeam, int homeScore, int awayScore) {
+        lock.lock();
+        try {
+            if(homeTeam == null) {
+                //Log it so that it may be debugged
+                return false;
+            }
+            int teamId = scoreBoard.getRegistry().idOf(homeTeam); //The name is hashed once, the rest goes by the id
+            if(scoreBoard.get(teamId) == null) {
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("There is no such match going on with this home team "+homeTeam, null);
+            }
+            return replaceScore(teamId, homeScore, awayScore);
+        } finally {
+            lock.unlock();
         }
-        if(!scoreBoard.containsKey(homeTeam)) {
+    }
+
+    /**
+     * Like setScore with the name of a team, without hashing the name
+     * O(log N) as The Match has to be removed and put in the summary
+     */
+    @Override
+    public boolean setScore(int teamId, int homeScore, int awayScore) {
+        lock.lock();
+        try {
+            return replaceScore(teamId, homeScore, awayScore);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Must be called while holding the lock of this object
+     */
+    private boolean replaceScore(int teamId, int homeScore, int awayScore) {
+        MatchInProgress matchInProgress = scoreBoard.get(teamId);
+        if(matchInProgress == null) {
             //Log it so that it may be debugged
-            throw new ScoreBoardException("There is no such match going on with this home team "+homeTeam, null);
+            throw new ScoreBoardException("There is no such match going on with the team id " + teamId, null);
         }
-        MatchInProgress matchInProgress = scoreBoard.get(homeTeam);
+        MatchInProgress updated = matchInProgress.withScore(homeScore, awayScore);
+        if(updated.hasHistory()) { //A match read from a data store without history may be added to this one
+            updated.getHistory().record(matchInProgress, updated);
+        }
+        int oldRank = rankOf(matchInProgress);
         summary.remove(matchInProgress);
-        matchInProgress.setScore(homeScore, awayScore);
-        summary.add(matchInProgress);
+        scoreBoard.replace(teamId, updated);
+        summary.add(updated);
+        for(RankedSet<MatchInProgress> ranking : rankingIndexes) {
+            ranking.remove(matchInProgress);
+            ranking.add(updated);
+        }
+        changeLog.append(ScoreBoardChange.Type.SCORE_CHANGED, updated, oldRank, rankOf(updated));
         return true;
     }
 
@@ -86,42 +227,296 @@ public class FootballWorldcupScoreboard implements ScoreBoardDataStore {
      *
      */
     @Override
-    public synchronized MatchInProgress get(String homeTeam) {
-        return scoreBoard.get(homeTeam);
+    public MatchInProgress get(String homeTeam) {
+        lock.lock();
+        try {
+            return scoreBoard.get(homeTeam);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * O(1)
+     */
+    @Override
+    public MatchInProgress get(int teamId) {
+        lock.lock();
+        try {
+            return scoreBoard.get(teamId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * O(1) without locking, TeamRegistry.NO_TEAM for a team which never played here
+     */
+    @Override
+    public int getTeamId(String team) {
+        return scoreBoard.getRegistry().idOf(team);
     }
 
     /**
      * Remove a finished match
-     * O(log N) as The Match has to be removed from the TreeSet
+     * O(log N) as The Match has to be removed from the summary
      */
     @Override
-    public synchronized boolean remove(String homeTeam) {
-        if(homeTeam == null) {
-            //Log it so that it may be debugged
-            return false;
+    public boolean remove(String homeTeam) {
+        lock.lock();
+        try {
+            if(homeTeam == null) {
+                //Log it so that it may be debugged
+                return false;
+            }
+            int teamId = scoreBoard.getRegistry().idOf(homeTeam); //The name is hashed once, the rest goes by the id
+            if(scoreBoard.get(teamId) == null) {
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("There is no such match going on with this home team "+homeTeam, null);
+            }
+            return finish(teamId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Like remove with the name of a team, without hashing the name
+     * O(log N) as The Match has to be removed from the summary
+     */
+    @Override
+    public boolean remove(int teamId) {
+        lock.lock();
+        try {
+            return finish(teamId);
+        } finally {
+            lock.unlock();
         }
-        if(!scoreBoard.containsKey(homeTeam)) {
+    }
+
+    /**
+     * Must be called while holding the lock of this object
+     */
+    private boolean finish(int teamId) {
+        MatchInProgress matchInProgress = scoreBoard.get(teamId);
+        if(matchInProgress == null) {
             //Log it so that it may be debugged
-            throw new ScoreBoardException("There is no such match going on with this home team "+homeTeam, null);
+            throw new ScoreBoardException("There is no such match going on with the team id " + teamId, null);
         }
-        MatchInProgress matchInProgress = scoreBoard.get(homeTeam);
+        int oldRank = rankOf(matchInProgress);
         summary.remove(matchInProgress);
-        scoreBoard.remove(matchInProgress.getAwayTeam());
-        scoreBoard.remove(matchInProgress.getHomeTeam());
+        for(RankedSet<MatchInProgress> ranking : rankingIndexes) {
+            ranking.remove(matchInProgress);
+        }
+        scoreBoard.removeMatch(teamId);
+        changeLog.append(ScoreBoardChange.Type.FINISHED, matchInProgress, oldRank, -1);
 
         return true;
     }
 
+    /**
+     * Number of live matches
+     * O(1)
+     */
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return summary.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
     /**
      * Get the summary of all the currently ongoing matches
-     * O(n) as the TreeSet is iterated
+     * O(n) as the summary is iterated
+     */
+    @Override
+    public List<MatchInProgress> getSummary() {
+        lock.lock();
+        try {
+            List<MatchInProgress> result = new ArrayList<>();
+            for(MatchInProgress matchInProgress :summary) {
+                result.add(matchInProgress);
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Apply a whole batch while holding the lock once
+     * Every touched match is re-ranked in the summary once, at the end of the batch
+     * O(k log N) for a batch of k operations
+     */
+    @Override
+    public List<OperationResult> applyBatch(List<ScoreBoardOperation> operations) {
+        lock.lock();
+        try {
+            return BatchApplier.apply(scoreBoard, summary, rankingIndexes, changeLog, operations);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A page of the summary, for example the top 10 with offset 0 and limit 10
+     * O(log N + limit) as only the requested part of the summary is walked
+     */
+    @Override
+    public List<MatchInProgress> getSummary(int offset, int limit) {
+        lock.lock();
+        try {
+            checkPage(offset, limit);
+            return summary.range(offset, limit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A page of the ranking with the given name, one of the rankings this scoreboard was created with
+     * O(log N + limit) as only the requested part of the ranking is walked
+     */
+    @Override
+    public List<MatchInProgress> getSummary(String ranking, int offset, int limit) {
+        lock.lock();
+        try {
+            checkPage(offset, limit);
+            return ranking(ranking).range(offset, limit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 0 based rank of the match of the given team in the ranking with the given name, -1 if the team is not playing
+     * O(log N)
+     */
+    @Override
+    public int getRank(String ranking, String team) {
+        lock.lock();
+        try {
+            RankedSet<MatchInProgress> index = ranking(ranking);
+            MatchInProgress matchInProgress = team == null ? null : scoreBoard.get(team);
+            return matchInProgress == null ? -1 : index.rankOf(matchInProgress);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The names of the rankings this scoreboard was created with, in their order
+     */
+    @Override
+    public List<String> getRankings() {
+        return new ArrayList<>(rankings.keySet());
+    }
+
+    private RankedSet<MatchInProgress> ranking(String name) {
+        RankedSet<MatchInProgress> index = name == null ? null : rankings.get(name);
+        if(index == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("There is no ranking with the name " + name, null);
+        }
+        return index;
+    }
+
+    /**
+     * 0 based rank of the match of the given team in the summary, -1 if the team is not playing
+     * O(log N)
+     */
+    @Override
+    public int getRank(String team) {
+        lock.lock();
+        try {
+            MatchInProgress matchInProgress = team == null ? null : scoreBoard.get(team);
+            return matchInProgress == null ? -1 : summary.rankOf(matchInProgress);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * O(log N), the match and its rank under the same lock
+     */
+    @Override
+    public RankedMatch getRankedMatch(String team) {
+        lock.lock();
+        try {
+            MatchInProgress matchInProgress = team == null ? null : scoreBoard.get(team);
+            return matchInProgress == null ? null : new RankedMatch(matchInProgress, summary.rankOf(matchInProgress));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of matches of this scoreboard ranked before the given match, which may belong to another scoreboard
+     * O(log N)
+     */
+    int countRankedBefore(MatchInProgress matchInProgress) {
+        lock.lock();
+        try {
+            return summary.countLessThan(matchInProgress);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    static void checkPage(int offset, int limit) {
+        if(offset < 0 || limit < 0) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Offset and limit may not be negative", null);
+        }
+    }
+
+    /**
+     * The listener is called with every change right after it happened, while the lock of this scoreboard is held
+     * It has to be quick and may not block, like ScoreBoardPublisher which only queues the change
+     */
+    @Override
+    public void addChangeListener(Consumer<ScoreBoardChange> listener) {
+        if(listener == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Listener may not be null", null);
+        }
+        changeLog.addListener(listener);
+    }
+
+    /**
+     * O(1) without locking
+     */
+    @Override
+    public long getLastSequence() {
+        return changeLog.getLastSequence();
+    }
+
+    /**
+     * The rank is only counted for the change log, -1 while it is disabled
+     */
+    private int rankOf(MatchInProgress matchInProgress) {
+        return changeLog.isEnabled() ? ChangeLog.rankOf(summary, matchInProgress) : -1;
+    }
+
+    /**
+     * The changes of the summary after the given sequence number, 0 for all the changes since the start
+     * Falls back to the full summary if the changes are not in the log any more
+     * O(k) for k changes, O(n) for the full summary
      */
     @Override
-    public synchronized List<MatchInProgress> getSummary() {
-        List<MatchInProgress> result = new ArrayList<>();
-        for(MatchInProgress matchInProgress :summary) {
-            result.add(matchInProgress);
+    public SummaryChanges getChangesSince(long sequence) {
+        lock.lock();
+        try {
+            List<ScoreBoardChange> changes = changeLog.since(sequence);
+            if(changes == null) {
+                return SummaryChanges.ofSnapshot(changeLog.getLastSequence(), getSummary());
+            }
+            return SummaryChanges.ofChanges(changeLog.getLastSequence(), changes);
+        } finally {
+            lock.unlock();
         }
-        return result;
     }
 }
@@ -0,0 +1,280 @@
+package org.example.repository.impl;
+
+import org.example.exception.ScoreBoardException;
+import org.example.metrics.ScoreBoardMetrics;
+import org.example.metrics.ScoreBoardMetrics.Operation;
+import org.example.model.MatchInProgress;
+import org.example.model.OperationResult;
+import org.example.model.RankedMatch;
+import org.example.model.ScoreBoardChange;
+import org.example.model.ScoreBoardOperation;
+import org.example.model.SummaryChanges;
+import org.example.repository.ScoreBoardDataStore;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Records the latency and the failures of every call to any data store into ScoreBoardMetrics
+ * A read fails only if it throws, a team which is not playing is a miss and not a failure
+ * <p>
+ * Instrumentation is switched on by wrapping the data store and off by not wrapping it,
+ * so a data store which is not wrapped pays nothing, not even a check of a flag.
+ * <p>
+ * FootballWorldcupScoreboard and its subclasses take their own ReentrantLock for every write.
+ * For those the writes take the lock here first, the time until it is taken is the lock wait,
+ * and the data store then takes it again without waiting. The other data stores record no lock wait.
+ */
+public class InstrumentedFootballWorldcupScoreboard implements ScoreBoardDataStore {
+
+    private final ScoreBoardDataStore dataStore;
+    private final ScoreBoardMetrics metrics;
+    private final ReentrantLock lock; //The lock the data store takes for its writes, null if it does not
+
+    private InstrumentedFootballWorldcupScoreboard(ScoreBoardDataStore dataStore, ScoreBoardMetrics metrics) {
+        this.dataStore = dataStore;
+        this.metrics = metrics;
+        this.lock = dataStore instanceof FootballWorldcupScoreboard ? ((FootballWorldcupScoreboard) dataStore).getLock() : null;
+    }
+
+    /**
+     * The match count of the metrics is read from this data store from now on
+     */
+    public static InstrumentedFootballWorldcupScoreboard getScoreBoard(ScoreBoardDataStore dataStore, ScoreBoardMetrics metrics) {
+        if(dataStore == null || metrics == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Data store and metrics may not be null", null);
+        }
+        metrics.setMatchCount(dataStore::size);
+        return new InstrumentedFootballWorldcupScoreboard(dataStore, metrics);
+    }
+
+    public ScoreBoardMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public boolean add(MatchInProgress matchInProgress) {
+        return write(Operation.ADD, () -> dataStore.add(matchInProgress));
+    }
+
+    @Override
+    public boolean setScore(String homeTeam, int homeScore, int awayScore) {
+        return write(Operation.SET_SCORE, () -> dataStore.setScore(homeTeam, homeScore, awayScore));
+    }
+
+    @Override
+    public boolean setScore(int teamId, int homeScore, int awayScore) {
+        return write(Operation.SET_SCORE, () -> dataStore.setScore(teamId, homeScore, awayScore));
+    }
+
+    @Override
+    public boolean remove(String homeTeam) {
+        return write(Operation.REMOVE, () -> dataStore.remove(homeTeam));
+    }
+
+    @Override
+    public boolean remove(int teamId) {
+        return write(Operation.REMOVE, () -> dataStore.remove(teamId));
+    }
+
+    /**
+     * The batch is recorded as one operation, it fails only if it throws
+     */
+    @Override
+    public List<OperationResult> applyBatch(List<ScoreBoardOperation> operations) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            List<OperationResult> results;
+            if(lock == null) {
+                results = dataStore.applyBatch(operations);
+            } else {
+                lock.lock();
+                try {
+                    metrics.recordLockWait(System.nanoTime() - start);
+                    results = dataStore.applyBatch(operations);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            failed = false;
+            return results;
+        } finally {
+            metrics.record(Operation.APPLY_BATCH, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public MatchInProgress get(String homeTeam) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            MatchInProgress matchInProgress = dataStore.get(homeTeam);
+            failed = false;
+            return matchInProgress;
+        } finally {
+            metrics.record(Operation.GET, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public MatchInProgress get(int teamId) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            MatchInProgress matchInProgress = dataStore.get(teamId);
+            failed = false;
+            return matchInProgress;
+        } finally {
+            metrics.record(Operation.GET, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public List<MatchInProgress> getSummary() {
+        long start = System.nanoTime();
+        List<MatchInProgress> summary = null;
+        try {
+            summary = dataStore.getSummary();
+            metrics.recordSummarySize(summary.size());
+            return summary;
+        } finally {
+            metrics.record(Operation.GET_SUMMARY, System.nanoTime() - start, summary == null);
+        }
+    }
+
+    /**
+     * Recorded as GET_SUMMARY, the last summary size is that of the full summary only
+     */
+    @Override
+    public List<MatchInProgress> getSummary(int offset, int limit) {
+        long start = System.nanoTime();
+        List<MatchInProgress> page = null;
+        try {
+            page = dataStore.getSummary(offset, limit);
+            return page;
+        } finally {
+            metrics.record(Operation.GET_SUMMARY, System.nanoTime() - start, page == null);
+        }
+    }
+
+    /**
+     * Recorded as GET_SUMMARY
+     */
+    @Override
+    public List<MatchInProgress> getSummary(String ranking, int offset, int limit) {
+        long start = System.nanoTime();
+        List<MatchInProgress> page = null;
+        try {
+            page = dataStore.getSummary(ranking, offset, limit);
+            return page;
+        } finally {
+            metrics.record(Operation.GET_SUMMARY, System.nanoTime() - start, page == null);
+        }
+    }
+
+    /**
+     * Recorded as GET_RANK
+     */
+    @Override
+    public int getRank(String ranking, String team) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            int rank = dataStore.getRank(ranking, team);
+            failed = false;
+            return rank;
+        } finally {
+            metrics.record(Operation.GET_RANK, System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Not recorded, it is read for the match count of the metrics
+     */
+    @Override
+    public int size() {
+        return dataStore.size();
+    }
+
+    @Override
+    public List<String> getRankings() {
+        return dataStore.getRankings();
+    }
+
+    @Override
+    public int getRank(String team) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            int rank = dataStore.getRank(team);
+            failed = false;
+            return rank;
+        } finally {
+            metrics.record(Operation.GET_RANK, System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Recorded as GET_RANK
+     */
+    @Override
+    public RankedMatch getRankedMatch(String team) {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            RankedMatch rankedMatch = dataStore.getRankedMatch(team);
+            failed = false;
+            return rankedMatch;
+        } finally {
+            metrics.record(Operation.GET_RANK, System.nanoTime() - start, failed);
+        }
+    }
+
+    @Override
+    public int getTeamId(String team) {
+        return dataStore.getTeamId(team);
+    }
+
+    @Override
+    public long getLastSequence() {
+        return dataStore.getLastSequence();
+    }
+
+    @Override
+    public SummaryChanges getChangesSince(long sequence) {
+        return dataStore.getChangesSince(sequence);
+    }
+
+    @Override
+    public void addChangeListener(Consumer<ScoreBoardChange> listener) {
+        dataStore.addChangeListener(listener);
+    }
+
+    /**
+     * A write fails if it returns false or throws
+     */
+    private boolean write(Operation operation, BooleanSupplier write) {
+        long start = System.nanoTime();
+        boolean applied = false;
+        try {
+            if(lock == null) {
+                applied = write.getAsBoolean();
+            } else {
+                lock.lock();
+                try {
+                    metrics.recordLockWait(System.nanoTime() - start);
+                    applied = write.getAsBoolean();
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return applied;
+        } finally {
+            metrics.record(operation, System.nanoTime() - start, !applied);
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package org.example.repository.impl;
+
+import org.example.exception.ScoreBoardException;
+import org.example.model.MatchInProgress;
+import org.example.repository.ScoreBoardDataStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary journal of the changes of a scoreboard, together with its compacted snapshot
+ * <p>
+ * Both files start with a header of magic, format version and generation, followed by records framed as
+ * payload length | CRC32 of the payload | payload
+ * A torn or corrupt record ends the journal, so a crash in the middle of a write loses only the records not yet committed
+ * <p>
+ * Records are encoded into an in-memory buffer while the lock of the data store is held.
+ * commit writes and forces them outside of that lock, and whoever commits first writes the records
+ * of every thread queued behind it with one write and one force. This is the group commit.
+ * <p>
+ * Compaction writes all the live matches to a new snapshot with the next generation, renames it over the old one
+ * and only then starts the journal of that generation, so a crash in between is detected by the generations
+ */
+final class Journal implements Closeable {
+
+    static final String JOURNAL_FILE = "scoreboard.journal";
+    static final String SNAPSHOT_FILE = "scoreboard.snapshot";
+
+    private static final int MAGIC = 0x53424A4E;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int FRAME_SIZE = 8;
+    private static final int TIME_SIZE = 16;
+
+    private static final byte START = 1;
+    private static final byte SCORE = 2;
+    private static final byte FINISH = 3;
+    private static final byte MATCH = 4; //Only in the snapshots written before RANKED_MATCH, a live match with its score
+    private static final byte RANKED_MATCH = 5; //Only in the snapshot, a live match with its score, version and sequence number
+
+    private final Path directory;
+    private final int syncBatchSize; //Force after this many records, 1 forces every commit, 0 leaves it to the OS
+    private final Object ioLock = new Object(); //Held while writing to the files
+    private final FileChannel channel;
+    private long generation; //Guarded by ioLock
+    private RecordBuffer pending = new RecordBuffer(); //Guarded by this, encoded but not yet written
+    private RecordBuffer spare = new RecordBuffer(); //Guarded by ioLock, swapped with pending on every write
+    private long appended; //Guarded by this, number of records encoded so far
+    private volatile long written; //Number of records written to the channel
+    private volatile long forced; //Number of records forced to the disk
+
+    private Journal(Path directory, int syncBatchSize, FileChannel channel, long generation) {
+        this.directory = directory;
+        this.syncBatchSize = syncBatchSize;
+        this.channel = channel;
+        this.generation = generation;
+    }
+
+    /**
+     * Replays the snapshot and the journal found in the directory into the given, empty data store
+     * and opens the journal for appending, right after its last valid record
+     */
+    static Journal open(Path directory, int syncBatchSize, ScoreBoardDataStore dataStore) {
+        try {
+            Files.createDirectories(directory);
+            long expectedGeneration = 0;
+            Path snapshot = directory.resolve(SNAPSHOT_FILE);
+            if(Files.exists(snapshot)) {
+                ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+                expectedGeneration = readHeader(buffer);
+                if(expectedGeneration < 0 || replay(buffer, dataStore) != buffer.limit()) {
+                    //Log it so that it may be debugged
+                    throw new ScoreBoardException("The snapshot " + snapshot + " is corrupt", null);
+                }
+            }
+            Path journal = directory.resolve(JOURNAL_FILE);
+            long validEnd = -1;
+            if(Files.exists(journal)) {
+                ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(journal));
+                long journalGeneration = readHeader(buffer);
+                if(journalGeneration > expectedGeneration) {
+                    //Log it so that it may be debugged
+                    throw new ScoreBoardException("The journal " + journal + " is newer than its snapshot", null);
+                }
+                if(journalGeneration == expectedGeneration) {
+                    validEnd = replay(buffer, dataStore);
+                }
+                //An older journal was already compacted into the snapshot, a torn header was never written to
+            }
+            FileChannel channel = FileChannel.open(journal, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            Journal result = new Journal(directory, syncBatchSize, channel, expectedGeneration);
+            if(validEnd < 0) {
+                result.startGeneration();
+            } else {
+                channel.truncate(validEnd);
+                channel.position(validEnd);
+            }
+            return result;
+        } catch (IOException e) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Could not open the journal in " + directory, e);
+        }
+    }
+
+    synchronized long appendStart(OffsetDateTime startedAt, String homeTeam, String awayTeam) {
+        byte[] home = encode(homeTeam);
+        byte[] away = encode(awayTeam);
+        RecordBuffer buffer = pending;
+        int start = buffer.begin(1 + TIME_SIZE + 2 + home.length + 2 + away.length);
+        buffer.put(START).putTime(startedAt).putString(home).putString(away);
+        buffer.end(start);
+        return ++appended;
+    }
+
+    synchronized long appendScore(String team, int homeScore, int awayScore) {
+        byte[] name = encode(team);
+        RecordBuffer buffer = pending;
+        int start = buffer.begin(1 + 2 + name.length + 8);
+        buffer.put(SCORE).putString(name).putInt(homeScore).putInt(awayScore);
+        buffer.end(start);
+        return ++appended;
+    }
+
+    synchronized long appendFinish(String team) {
+        byte[] name = encode(team);
+        RecordBuffer buffer = pending;
+        int start = buffer.begin(1 + 2 + name.length);
+        buffer.put(FINISH).putString(name);
+        buffer.end(start);
+        return ++appended;
+    }
+
+    /**
+     * Returns once the record with the given number is written, and forced if the sync batch asks for it
+     * Must not be called while holding the lock of the data store, so the other writers can queue up behind this one
+     */
+    void commit(long record) {
+        if(forced >= record || (syncBatchSize != 1 && written >= record)) {
+            return;
+        }
+        synchronized (ioLock) {
+            try {
+                if(written < record) {
+                    writePending();
+                }
+                if(syncBatchSize > 0 && forced < record && (syncBatchSize == 1 || written - forced >= syncBatchSize)) {
+                    channel.force(false);
+                    forced = written;
+                }
+            } catch (IOException e) {
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("Could not write the journal in " + directory, e);
+            }
+        }
+    }
+
+    /**
+     * Writes the given live matches as the snapshot of the next generation and empties the journal
+     * The caller must hold the lock of the data store, so no record is appended meanwhile
+     */
+    void compact(List<MatchInProgress> matches) {
+        synchronized (ioLock) {
+            try {
+                writePending();
+                RecordBuffer snapshot = new RecordBuffer();
+                snapshot.putHeader(generation + 1);
+                for(MatchInProgress matchInProgress : matches) {
+                    byte[] home = encode(matchInProgress.getHomeTeam());
+                    byte[] away = encode(matchInProgress.getAwayTeam());
+                    int start = snapshot.begin(1 + TIME_SIZE + 2 + home.length + 2 + away.length + 8 + 16);
+                    snapshot.put(RANKED_MATCH).putTime(matchInProgress.getStartTime()).putString(home).putString(away)
+                            .putInt(matchInProgress.getHomeTeamScore()).putInt(matchInProgress.getAwayTeamScore())
+                            .putLong(matchInProgress.getVersion()).putLong(matchInProgress.getMatchSequence());
+                    snapshot.end(start);
+                }
+                Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+                try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    writeFully(out, snapshot);
+                    out.force(true);
+                }
+                Files.move(temporary, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.ATOMIC_MOVE);
+                forceDirectory();
+                generation++;
+                startGeneration();
+                forced = written; //Everything written so far is in the snapshot
+            } catch (IOException e) {
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("Could not compact the journal in " + directory, e);
+            }
+        }
+    }
+
+    /**
+     * Writes and forces every record appended so far
+     */
+    void sync() {
+        synchronized (ioLock) {
+            try {
+                writePending();
+                channel.force(false);
+                forced = written;
+            } catch (IOException e) {
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("Could not write the journal in " + directory, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (ioLock) {
+            if(channel.isOpen()) {
+                sync();
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Must be called while holding ioLock
+     */
+    private void writePending() throws IOException {
+        RecordBuffer toWrite;
+        long upTo;
+        synchronized (this) {
+            toWrite = pending;
+            pending = spare;
+            upTo = appended;
+        }
+        spare = toWrite;
+        writeFully(channel, toWrite);
+        written = upTo;
+    }
+
+    /**
+     * Must be called while holding ioLock
+     */
+    private void startGeneration() throws IOException {
+        RecordBuffer header = new RecordBuffer();
+        header.putHeader(generation);
+        channel.truncate(0);
+        channel.position(0);
+        writeFully(channel, header);
+        channel.force(true);
+    }
+
+    /**
+     * The rename of the snapshot survives a power loss only once its directory is forced
+     * Not every platform can open a directory, there the rename is left to the OS
+     */
+    private void forceDirectory() {
+        try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException e) {
+            //Log it so that it may be debugged
+        }
+    }
+
+    private static void writeFully(FileChannel out, RecordBuffer records) throws IOException {
+        ByteBuffer buffer = records.buffer.flip();
+        while(buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * The generation of the file, -1 if the header is torn or not a header of this format
+     */
+    private static long readHeader(ByteBuffer buffer) {
+        if(buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            return -1;
+        }
+        return buffer.getLong();
+    }
+
+    /**
+     * Applies the records to the data store and returns the end of the last valid record
+     */
+    private static int replay(ByteBuffer buffer, ScoreBoardDataStore dataStore) {
+        CRC32 crc = new CRC32();
+        while(buffer.remaining() >= FRAME_SIZE) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if(length <= 0 || length > buffer.remaining()) {
+                return start;
+            }
+            ByteBuffer payload = buffer.slice(buffer.position(), length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if((int) crc.getValue() != checksum) {
+                return start;
+            }
+            apply(payload, dataStore);
+            buffer.position(buffer.position() + length);
+        }
+        return buffer.position();
+    }
+
+    private static void apply(ByteBuffer payload, ScoreBoardDataStore dataStore) {
+        byte type = payload.get();
+        switch (type) {
+            case START:
+                dataStore.add(MatchInProgress.restore(getTime(payload), getString(payload), getString(payload), 0, 0));
+                break;
+            case MATCH:
+                dataStore.add(MatchInProgress.restore(getTime(payload), getString(payload), getString(payload), payload.getInt(), payload.getInt()));
+                break;
+            case RANKED_MATCH:
+                //The sequence number keeps tied matches in their order, a fresh one would reverse them
+                dataStore.add(MatchInProgress.restore(getTime(payload), getString(payload), getString(payload), payload.getInt(), payload.getInt(),
+                        payload.getLong(), payload.getLong()));
+                break;
+            case SCORE:
+                dataStore.setScore(getString(payload), payload.getInt(), payload.getInt());
+                break;
+            case FINISH:
+                dataStore.remove(getString(payload));
+                break;
+            default:
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("Unknown journal record type " + type, null);
+        }
+    }
+
+    private static OffsetDateTime getTime(ByteBuffer payload) {
+        long epochSecond = payload.getLong();
+        int nano = payload.getInt();
+        ZoneOffset offset = ZoneOffset.ofTotalSeconds(payload.getInt());
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), offset);
+    }
+
+    private static String getString(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.getShort() & 0xFFFF];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encode(String team) {
+        byte[] bytes = team.getBytes(StandardCharsets.UTF_8);
+        if(bytes.length > 0xFFFF) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("The team name is too long for the journal", null);
+        }
+        return bytes;
+    }
+
+    /**
+     * A growable heap buffer of framed records, in write mode between writes
+     */
+    private static final class RecordBuffer {
+        private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        private final CRC32 crc = new CRC32();
+
+        /**
+         * Reserves the frame of a record with the given payload size and returns where it starts
+         */
+        int begin(int payloadSize) {
+            if(buffer.remaining() < FRAME_SIZE + payloadSize) {
+                ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + FRAME_SIZE + payloadSize));
+                larger.put(buffer.flip());
+                buffer = larger;
+            }
+            int start = buffer.position();
+            buffer.position(start + FRAME_SIZE);
+            return start;
+        }
+
+        void end(int start) {
+            int length = buffer.position() - start - FRAME_SIZE;
+            crc.reset();
+            crc.update(buffer.array(), start + FRAME_SIZE, length);
+            buffer.putInt(start, length);
+            buffer.putInt(start + 4, (int) crc.getValue());
+        }
+
+        void putHeader(long generation) {
+            buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(generation);
+        }
+
+        RecordBuffer put(byte value) {
+            buffer.put(value);
+            return this;
+        }
+
+        RecordBuffer putInt(int value) {
+            buffer.putInt(value);
+            return this;
+        }
+
+        RecordBuffer putLong(long value) {
+            buffer.putLong(value);
+            return this;
+        }
+
+        RecordBuffer putTime(OffsetDateTime time) {
+            buffer.putLong(time.toEpochSecond()).putInt(time.getNano()).putInt(time.getOffset().getTotalSeconds());
+            return this;
+        }
+
+        RecordBuffer putString(byte[] bytes) {
+            buffer.putShort((short) bytes.length).put(bytes);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package org.example.repository.impl;
+
+import org.example.exception.ScoreBoardException;
+import org.example.model.MatchInProgress;
+import org.example.model.OperationResult;
+import org.example.model.RankedMatch;
+import org.example.model.ScoreBoardChange;
+import org.example.model.ScoreBoardOperation;
+import org.example.model.SummaryChanges;
+import org.example.repository.ScoreBoardDataStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Makes any data store survive a restart of the JVM
+ * <p>
+ * Every successful add, setScore and remove is appended to a binary journal in the given directory,
+ * and every compactionInterval changes the live matches are written to a compacted snapshot.
+ * When it is created, the snapshot and the journal found in the directory are replayed into the data store.
+ * <p>
+ * A write returns once its change is in the journal. With a sync batch size of 1 it is also forced to the disk,
+ * larger sizes force once per that many changes and 0 leaves the forcing to the OS.
+ * The journal is forced outside of the lock, so concurrent writers share one force, the group commit.
+ * Readers are passed straight to the data store and may see a change shortly before it is durable.
+ */
+public class JournaledFootballWorldcupScoreboard implements ScoreBoardDataStore, Closeable {
+
+    public static final int DEFAULT_SYNC_BATCH_SIZE = 1;
+    public static final int DEFAULT_COMPACTION_INTERVAL = 100_000;
+
+    private final ScoreBoardDataStore dataStore; //Holds the live state
+    private final Journal journal;
+    private final int compactionInterval;
+    private int changesSinceCompaction; //Guarded by this
+
+    private JournaledFootballWorldcupScoreboard(ScoreBoardDataStore dataStore, Journal journal, int compactionInterval) {
+        this.dataStore = dataStore;
+        this.journal = journal;
+        this.compactionInterval = compactionInterval;
+    }
+
+    public static JournaledFootballWorldcupScoreboard getScoreBoard(ScoreBoardDataStore dataStore, Path directory) {
+        return getScoreBoard(dataStore, directory, DEFAULT_SYNC_BATCH_SIZE, DEFAULT_COMPACTION_INTERVAL);
+    }
+
+    /**
+     * The data store must be empty, it is filled from the directory
+     * syncBatchSize is the number of changes per force of the journal, 0 never forces
+     * compactionInterval is the number of changes between two snapshots, 0 compacts only when asked to
+     */
+    public static JournaledFootballWorldcupScoreboard getScoreBoard(ScoreBoardDataStore dataStore, Path directory, int syncBatchSize, int compactionInterval) {
+        if(dataStore == null || directory == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Data store and directory may not be null", null);
+        }
+        if(syncBatchSize < 0 || compactionInterval < 0) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Sync batch size and compaction interval may not be negative", null);
+        }
+        if(!dataStore.getSummary().isEmpty()) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("The data store must be empty before the journal is replayed", null);
+        }
+        Journal journal = Journal.open(directory, syncBatchSize, dataStore);
+        return new JournaledFootballWorldcupScoreboard(dataStore, journal, compactionInterval);
+    }
+
+    /**
+     * O(log N) plus the share of this change in a force of the journal
+     */
+    @Override
+    public boolean add(MatchInProgress matchInProgress) {
+        long record;
+        synchronized (this) {
+            if(!dataStore.add(matchInProgress)) {
+                return false;
+            }
+            record = journal.appendStart(matchInProgress.getStartTime(), matchInProgress.getHomeTeam(), matchInProgress.getAwayTeam());
+            compactIfDue(1);
+        }
+        journal.commit(record);
+        return true;
+    }
+
+    /**
+     * O(log N) plus the share of this change in a force of the journal
+     */
+    @Override
+    public boolean setScore(String homeTeam, int homeScore, int awayScore) {
+        long record;
+        synchronized (this) {
+            if(!dataStore.setScore(homeTeam, homeScore, awayScore)) {
+                return false;
+            }
+            record = journal.appendScore(homeTeam, homeScore, awayScore);
+            compactIfDue(1);
+        }
+        journal.commit(record);
+        return true;
+    }
+
+    /**
+     * O(log N) plus the share of this change in a force of the journal
+     */
+    @Override
+    public boolean remove(String homeTeam) {
+        long record;
+        synchronized (this) {
+            if(!dataStore.remove(homeTeam)) {
+                return false;
+            }
+            record = journal.appendFinish(homeTeam);
+            compactIfDue(1);
+        }
+        journal.commit(record);
+        return true;
+    }
+
+    /**
+     * The change is journaled with the name of the home team, so the journal does not depend on the ids
+     */
+    @Override
+    public boolean setScore(int teamId, int homeScore, int awayScore) {
+        long record;
+        synchronized (this) {
+            if(!dataStore.setScore(teamId, homeScore, awayScore)) {
+                return false;
+            }
+            record = journal.appendScore(dataStore.get(teamId).getHomeTeam(), homeScore, awayScore);
+            compactIfDue(1);
+        }
+        journal.commit(record);
+        return true;
+    }
+
+    /**
+     * The change is journaled with the name of the home team, so the journal does not depend on the ids
+     */
+    @Override
+    public boolean remove(int teamId) {
+        long record;
+        synchronized (this) {
+            MatchInProgress matchInProgress = dataStore.get(teamId);
+            if(!dataStore.remove(teamId)) {
+                return false;
+            }
+            record = journal.appendFinish(matchInProgress.getHomeTeam());
+            compactIfDue(1);
+        }
+        journal.commit(record);
+        return true;
+    }
+
+    /**
+     * Only the successful operations are journaled, the whole batch is committed with one force
+     */
+    @Override
+    public List<OperationResult> applyBatch(List<ScoreBoardOperation> operations) {
+        List<OperationResult> results;
+        long record = 0;
+        synchronized (this) {
+            results = dataStore.applyBatch(operations);
+            int changes = 0;
+            for(int i = 0; i < results.size(); i++) {
+                if(!results.get(i).isSuccess()) {
+                    continue;
+                }
+                ScoreBoardOperation operation = operations.get(i);
+                switch (operation.getType()) {
+                    case START:
+                        record = journal.appendStart(operation.getStartTime(), operation.getHomeTeam(), operation.getAwayTeam());
+                        break;
+                    case UPDATE_SCORE:
+                        record = journal.appendScore(operation.getHomeTeam(), operation.getHomeScore(), operation.getAwayScore());
+                        break;
+                    default:
+                        record = journal.appendFinish(operation.getHomeTeam());
+                }
+                changes++;
+            }
+            compactIfDue(changes);
+        }
+        if(record > 0) {
+            journal.commit(record);
+        }
+        return results;
+    }
+
+    /**
+     * Writes all the live matches to a new snapshot and empties the journal, so the next start replays less
+     * O(n), the writers wait meanwhile
+     */
+    public synchronized void compact() {
+        journal.compact(dataStore.getSummary());
+        changesSinceCompaction = 0;
+    }
+
+    @Override
+    public MatchInProgress get(String homeTeam) {
+        return dataStore.get(homeTeam);
+    }
+
+    @Override
+    public MatchInProgress get(int teamId) {
+        return dataStore.get(teamId);
+    }
+
+    @Override
+    public int getTeamId(String team) {
+        return dataStore.getTeamId(team);
+    }
+
+    @Override
+    public List<MatchInProgress> getSummary() {
+        return dataStore.getSummary();
+    }
+
+    @Override
+    public int size() {
+        return dataStore.size();
+    }
+
+    @Override
+    public List<MatchInProgress> getSummary(int offset, int limit) {
+        return dataStore.getSummary(offset, limit);
+    }
+
+    @Override
+    public int getRank(String team) {
+        return dataStore.getRank(team);
+    }
+
+    @Override
+    public RankedMatch getRankedMatch(String team) {
+        return dataStore.getRankedMatch(team);
+    }
+
+    @Override
+    public List<String> getRankings() {
+        return dataStore.getRankings();
+    }
+
+    @Override
+    public List<MatchInProgress> getSummary(String ranking, int offset, int limit) {
+        return dataStore.getSummary(ranking, offset, limit);
+    }
+
+    @Override
+    public int getRank(String ranking, String team) {
+        return dataStore.getRank(ranking, team);
+    }
+
+    @Override
+    public long getLastSequence() {
+        return dataStore.getLastSequence();
+    }
+
+    @Override
+    public SummaryChanges getChangesSince(long sequence) {
+        return dataStore.getChangesSince(sequence);
+    }
+
+    @Override
+    public void addChangeListener(Consumer<ScoreBoardChange> listener) {
+        dataStore.addChangeListener(listener);
+    }
+
+    /**
+     * Forces what is left of the journal and closes it, the data store is not usable for writes afterwards
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        journal.close();
+    }
+
+    /**
+     * Must be called while holding the lock of this object
+     */
+    private void compactIfDue(int changes) {
+        changesSinceCompaction += changes;
+        if(compactionInterval > 0 && changesSinceCompaction >= compactionInterval) {
+            compact();
+        }
+    }
+}
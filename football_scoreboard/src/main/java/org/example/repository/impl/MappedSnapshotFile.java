@@ -0,0 +1,238 @@
+package org.example.repository.impl;
+
+import org.example.exception.ScoreBoardException;
+import org.example.model.MatchInProgress;
+import org.example.repository.ScoreBoardDataStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * A compact binary dump of the live matches, read and written through a MappedByteBuffer
+ * <p>
+ * The file is a header followed by one fixed size slot per match, in the order of the summary
+ * header: magic | format version | slot size | match count | written at epoch millis | CRC32 of the slots | CRC32 of the header
+ * slot: start epoch second | nano | offset seconds | home score | away score | version | match sequence | home team | away team
+ * A team name takes its length and up to TEAM_NAME_BYTES bytes of UTF-8
+ * <p>
+ * A new dump is written to a temporary file of its own, forced and then renamed over the old one.
+ * The writes of one instance take turns, so a periodic dump and a dump on request never map the same file.
+ * A file of the wrong size or with a wrong checksum is refused, so a torn dump is never loaded.
+ */
+public final class MappedSnapshotFile {
+
+    public static final int TEAM_NAME_BYTES = 64;
+
+    private static final int MAGIC = 0x53424D53;
+    private static final int FORMAT_VERSION = 2; //1 had no version and match sequence
+    private static final int HEADER_SIZE = 32;
+    private static final int TEAM_SIZE = 2 + TEAM_NAME_BYTES;
+    private static final int SLOT_SIZE = 8 + 4 + 4 + 4 + 4 + 8 + 8 + TEAM_SIZE + TEAM_SIZE;
+
+    private final Path file;
+    private final ReentrantLock writeLock = new ReentrantLock(); //Not a monitor, a virtual thread may block in the write
+
+    private MappedSnapshotFile(Path file) {
+        this.file = file;
+    }
+
+    public static MappedSnapshotFile of(Path file) {
+        if(file == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Snapshot file may not be null", null);
+        }
+        return new MappedSnapshotFile(file);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public boolean exists() {
+        return Files.exists(file);
+    }
+
+    /**
+     * Dumps the given matches, the previous dump stays in place until the new one is complete
+     * O(n)
+     */
+    public void write(List<MatchInProgress> matches) {
+        Path directory = file.toAbsolutePath().getParent();
+        writeLock.lock();
+        try {
+            Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) matches.size() * SLOT_SIZE);
+                    buffer.position(HEADER_SIZE);
+                    for(MatchInProgress matchInProgress : matches) {
+                        OffsetDateTime startedAt = matchInProgress.getStartTime();
+                        buffer.putLong(startedAt.toEpochSecond()).putInt(startedAt.getNano()).putInt(startedAt.getOffset().getTotalSeconds());
+                        buffer.putInt(matchInProgress.getHomeTeamScore()).putInt(matchInProgress.getAwayTeamScore());
+                        buffer.putLong(matchInProgress.getVersion()).putLong(matchInProgress.getMatchSequence());
+                        putTeam(buffer, matchInProgress.getHomeTeam());
+                        putTeam(buffer, matchInProgress.getAwayTeam());
+                    }
+                    CRC32 crc = new CRC32();
+                    crc.update(buffer.slice(HEADER_SIZE, buffer.capacity() - HEADER_SIZE));
+                    buffer.putInt(0, MAGIC).putInt(4, FORMAT_VERSION).putInt(8, SLOT_SIZE).putInt(12, matches.size())
+                            .putLong(16, System.currentTimeMillis()).putInt(24, (int) crc.getValue());
+                    buffer.putInt(28, headerChecksum(buffer));
+                    buffer.force();
+                }
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary); //Only left over if the dump failed
+            }
+            forceDirectory(directory);
+        } catch (IOException e) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Could not write the snapshot " + file, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * The matches of the last complete dump, in the order of its summary
+     * They keep their sequence numbers, so tied matches are in the same order after a restart
+     * Throws ScoreBoardException if the file is torn or corrupt
+     * O(n)
+     */
+    public List<MatchInProgress> read() {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if(size < HEADER_SIZE) {
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("The snapshot " + file + " is torn, it has no complete header", null);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if(buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION || buffer.getInt(8) != SLOT_SIZE
+                    || buffer.getInt(28) != headerChecksum(buffer)) {
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("The snapshot " + file + " has no valid header", null);
+            }
+            int matchCount = buffer.getInt(12);
+            if(matchCount < 0 || size != HEADER_SIZE + (long) matchCount * SLOT_SIZE) {
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("The snapshot " + file + " is torn, it has " + size + " bytes for " + matchCount + " matches", null);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(HEADER_SIZE, (int) size - HEADER_SIZE));
+            if((int) crc.getValue() != buffer.getInt(24)) {
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("The snapshot " + file + " is corrupt, the checksum does not match", null);
+            }
+            List<MatchInProgress> matches = new ArrayList<>(matchCount);
+            buffer.position(HEADER_SIZE);
+            byte[] name = new byte[TEAM_NAME_BYTES];
+            for(int i = 0; i < matchCount; i++) {
+                long epochSecond = buffer.getLong();
+                int nano = buffer.getInt();
+                ZoneOffset offset = ZoneOffset.ofTotalSeconds(buffer.getInt());
+                int homeScore = buffer.getInt();
+                int awayScore = buffer.getInt();
+                long version = buffer.getLong();
+                long matchSequence = buffer.getLong();
+                String homeTeam = getTeam(buffer, name);
+                String awayTeam = getTeam(buffer, name);
+                matches.add(MatchInProgress.restore(OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), offset),
+                        homeTeam, awayTeam, homeScore, awayScore, version, matchSequence));
+            }
+            return matches;
+        } catch (IOException e) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Could not read the snapshot " + file, e);
+        }
+    }
+
+    /**
+     * Adds the matches of the last complete dump to the given, empty data store
+     * Nothing is added if the file is torn or corrupt
+     */
+    public void restoreInto(ScoreBoardDataStore dataStore) {
+        if(!dataStore.getSummary().isEmpty()) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("The data store must be empty before the snapshot is restored", null);
+        }
+        for(MatchInProgress matchInProgress : read()) {
+            dataStore.add(matchInProgress);
+        }
+    }
+
+    /**
+     * Dumps the summary of the data store on a daemon thread once per period, until the returned handle is closed
+     * A failed dump is skipped, the next period tries again
+     */
+    public Closeable writePeriodically(ScoreBoardDataStore dataStore, Duration period) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scoreboard-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                write(dataStore.getSummary());
+            } catch (ScoreBoardException e) {
+                //Log it so that it may be debugged
+            }
+        }, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+        return executor::shutdownNow;
+    }
+
+    /**
+     * The rename of the dump survives a power loss only once its directory is forced
+     * Not every platform can open a directory, there the rename is left to the OS
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException e) {
+            //Log it so that it may be debugged
+        }
+    }
+
+    private static int headerChecksum(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, 28));
+        return (int) crc.getValue();
+    }
+
+    private static void putTeam(ByteBuffer buffer, String team) {
+        byte[] bytes = team.getBytes(StandardCharsets.UTF_8);
+        if(bytes.length > TEAM_NAME_BYTES) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("The team " + team + " is longer than " + TEAM_NAME_BYTES + " bytes", null);
+        }
+        buffer.putShort((short) bytes.length).put(bytes).position(buffer.position() + TEAM_NAME_BYTES - bytes.length);
+    }
+
+    private static String getTeam(ByteBuffer buffer, byte[] name) {
+        int length = buffer.getShort();
+        if(length < 0 || length > TEAM_NAME_BYTES) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("A team name of the snapshot is corrupt", null);
+        }
+        buffer.get(name, 0, TEAM_NAME_BYTES);
+        return new String(name, 0, length, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,402 @@
+package org.example.repository.impl;
+
+import org.example.exception.ScoreBoardException;
+import org.example.helper.TeamRegistry;
+import org.example.model.MatchInProgress;
+import org.example.model.OperationResult;
+import org.example.model.ScoreBoardOperation;
+import org.example.repository.ScoreBoardDataStore;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * All the methods of this class are thread safe
+ * <p>
+ * A data store for hundreds of thousands of live matches, which keeps the matches out of the Java heap
+ * Every match is a fixed size record in a direct ByteBuffer, the garbage collector never scans or copies it
+ * record: home team id | away team id | home score | away score | start epoch second | nano | offset seconds | version | match sequence
+ * The teams are interned by a TeamRegistry, the names are kept once per team and not once per match
+ * <p>
+ * The heap only holds the lookup index, one int per team pointing to the record of its match,
+ * and the stack of the free records, both plain int arrays. A finished match frees its record for the next one.
+ * The buffer and the arrays grow by doubling and never shrink.
+ * <p>
+ * There is no ranked index, the summary is sorted when it is read. The writes are O(1) and allocate nothing,
+ * the reads create the matches they hand out and sort them with the comparator. This suits many feeds and few summary reads,
+ * for a summary read after every goal FootballWorldcupScoreboard is the better choice.
+ * The changes are counted but not kept, getChangesSince and addChangeListener throw ScoreBoardException.
+ * Neither are the score events of a match, getHistory of a match read from this store throws ScoreBoardException.
+ */
+public class OffHeapFootballWorldcupScoreboard implements ScoreBoardDataStore {
+
+    public static final int DEFAULT_INITIAL_CAPACITY = 1024;
+
+    static final int RECORD_SIZE = 48;
+
+    private static final int HOME_ID = 0;
+    private static final int AWAY_ID = 4;
+    private static final int HOME_SCORE = 8;
+    private static final int AWAY_SCORE = 12;
+    private static final int START_SECOND = 16;
+    private static final int START_NANO = 24;
+    private static final int START_OFFSET = 28;
+    private static final int VERSION = 32;
+    private static final int MATCH_SEQUENCE = 40;
+    private static final int FREE = -1; //Home team id of a free record
+    private static final int MAX_RECORDS = Integer.MAX_VALUE / RECORD_SIZE;
+
+    private final Comparator<MatchInProgress> comparator;
+    private final TeamRegistry registry;
+    private ByteBuffer records; //Direct, replaced by a larger copy when full
+    private int recordCount; //Records in use or freed, the ones above were never used
+    private int[] recordOfTeam = new int[16]; //Index is the team id, record + 1 of its match, 0 if the team is not playing
+    private int[] freeRecords = new int[16]; //Stack of the freed records below recordCount
+    private int freeCount;
+    private int matchCount;
+    private volatile long lastSequence;
+
+    private OffHeapFootballWorldcupScoreboard(Comparator<MatchInProgress> comparator, int initialCapacity, TeamRegistry registry) {
+        this.comparator = comparator;
+        this.registry = registry;
+        this.records = ByteBuffer.allocateDirect(initialCapacity * RECORD_SIZE).order(ByteOrder.nativeOrder());
+    }
+
+    public static OffHeapFootballWorldcupScoreboard getScoreBoard(Comparator<MatchInProgress> comparator) {
+        return getScoreBoard(comparator, DEFAULT_INITIAL_CAPACITY, TeamRegistry.withDefaultTeams());
+    }
+
+    /**
+     * initialCapacity is the number of matches which fit before the buffer grows the first time
+     * The registry may be shared, for example with the feed which looks the team ids up
+     */
+    public static OffHeapFootballWorldcupScoreboard getScoreBoard(Comparator<MatchInProgress> comparator, int initialCapacity, TeamRegistry teamRegistry) {
+        if(comparator == null || teamRegistry == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Comparator and team registry may not be null", null);
+        }
+        if(initialCapacity < 1 || initialCapacity > MAX_RECORDS) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Initial capacity must be between 1 and " + MAX_RECORDS, null);
+        }
+        return new OffHeapFootballWorldcupScoreboard(comparator, initialCapacity, teamRegistry);
+    }
+
+    /**
+     * Add a new match which has just started
+     * O(1), the match is copied into a record and not kept
+     */
+    @Override
+    public synchronized boolean add(MatchInProgress matchInProgress) {
+        if(matchInProgress == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Match may not be null", null);
+        }
+        String homeTeam = matchInProgress.getHomeTeam();
+        if(homeTeam == null) {
+            //Log it so that it may be debugged
+            return false;
+        }
+        if(recordOf(registry.idOf(homeTeam)) >= 0) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("The same team " + homeTeam + " is already playing as a home team, so another match with it is not possible", null);
+        }
+        if(recordOf(registry.idOf(matchInProgress.getAwayTeam())) >= 0) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("The same team " + matchInProgress.getAwayTeam() + " is already playing as an away team, so another match with it is not possible", null);
+        }
+        int homeId = registry.register(homeTeam);
+        int awayId = registry.register(matchInProgress.getAwayTeam());
+        int record = allocate();
+        int at = record * RECORD_SIZE;
+        OffsetDateTime startedAt = matchInProgress.getStartTime();
+        records.putInt(at + HOME_ID, homeId);
+        records.putInt(at + AWAY_ID, awayId);
+        records.putInt(at + HOME_SCORE, matchInProgress.getHomeTeamScore());
+        records.putInt(at + AWAY_SCORE, matchInProgress.getAwayTeamScore());
+        records.putLong(at + START_SECOND, startedAt.toEpochSecond());
+        records.putInt(at + START_NANO, startedAt.getNano());
+        records.putInt(at + START_OFFSET, startedAt.getOffset().getTotalSeconds());
+        records.putLong(at + VERSION, matchInProgress.getVersion());
+        records.putLong(at + MATCH_SEQUENCE, matchInProgress.getMatchSequence());
+        ensureTeamCapacity(Math.max(homeId, awayId) + 1);
+        recordOfTeam[homeId] = record + 1;
+        recordOfTeam[awayId] = record + 1;
+        matchCount++;
+        lastSequence++;
+        return true;
+    }
+
+    /**
+     * Set the new score of an ongoing match after a team scores
+     * O(1), the record is changed in place and the version grows by one
+     */
+    @Override
+    public synchronized boolean setScore(String homeTeam, int homeScore, int awayScore) {
+        if(homeTeam == null) {
+            //Log it so that it may be debugged
+            return false;
+        }
+        int record = recordOf(registry.idOf(homeTeam));
+        if(record < 0) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("There is no such match going on with this home team " + homeTeam, null);
+        }
+        writeScore(record, homeScore, awayScore);
+        return true;
+    }
+
+    /**
+     * Like setScore with the name of a team, without hashing the name
+     * O(1)
+     */
+    @Override
+    public synchronized boolean setScore(int teamId, int homeScore, int awayScore) {
+        int record = recordOf(teamId);
+        if(record < 0) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("There is no such match going on with the team id " + teamId, null);
+        }
+        writeScore(record, homeScore, awayScore);
+        return true;
+    }
+
+    /**
+     * A new instance created from the record, O(1)
+     */
+    @Override
+    public synchronized MatchInProgress get(String homeTeam) {
+        int record = recordOf(registry.idOf(homeTeam));
+        return record < 0 ? null : read(record);
+    }
+
+    /**
+     * A new instance created from the record, O(1)
+     */
+    @Override
+    public synchronized MatchInProgress get(int teamId) {
+        int record = recordOf(teamId);
+        return record < 0 ? null : read(record);
+    }
+
+    /**
+     * O(1) without locking, TeamRegistry.NO_TEAM for a team which never played here
+     */
+    @Override
+    public int getTeamId(String team) {
+        return registry.idOf(team);
+    }
+
+    /**
+     * Remove a finished match, its record is freed
+     * O(1)
+     */
+    @Override
+    public synchronized boolean remove(String homeTeam) {
+        if(homeTeam == null) {
+            //Log it so that it may be debugged
+            return false;
+        }
+        int record = recordOf(registry.idOf(homeTeam));
+        if(record < 0) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("There is no such match going on with this home team " + homeTeam, null);
+        }
+        free(record);
+        return true;
+    }
+
+    /**
+     * Like remove with the name of a team, without hashing the name
+     * O(1)
+     */
+    @Override
+    public synchronized boolean remove(int teamId) {
+        int record = recordOf(teamId);
+        if(record < 0) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("There is no such match going on with the team id " + teamId, null);
+        }
+        free(record);
+        return true;
+    }
+
+    /**
+     * Get the summary of all the currently ongoing matches
+     * O(n log n) as every record is read and the matches are sorted
+     */
+    @Override
+    public synchronized List<MatchInProgress> getSummary() {
+        List<MatchInProgress> summary = new ArrayList<>(matchCount);
+        for(int record = 0; record < recordCount; record++) {
+            if(records.getInt(record * RECORD_SIZE + HOME_ID) != FREE) {
+                summary.add(read(record));
+            }
+        }
+        summary.sort(comparator);
+        return summary;
+    }
+
+    /**
+     * A page of the summary, for example the top 10 with offset 0 and limit 10
+     * O(n log(offset + limit)) as every record is read, only the best offset + limit are kept and sorted
+     */
+    @Override
+    public synchronized List<MatchInProgress> getSummary(int offset, int limit) {
+        FootballWorldcupScoreboard.checkPage(offset, limit);
+        int keep = (int) Math.min((long) offset + limit, matchCount);
+        if(offset >= keep) {
+            return new ArrayList<>();
+        }
+        PriorityQueue<MatchInProgress> best = new PriorityQueue<>(keep, comparator.reversed()); //The worst kept match on top
+        for(int record = 0; record < recordCount; record++) {
+            if(records.getInt(record * RECORD_SIZE + HOME_ID) == FREE) {
+                continue;
+            }
+            MatchInProgress matchInProgress = read(record);
+            if(best.size() < keep) {
+                best.add(matchInProgress);
+            } else if(comparator.compare(matchInProgress, best.peek()) < 0) {
+                best.poll();
+                best.add(matchInProgress);
+            }
+        }
+        List<MatchInProgress> page = new ArrayList<>(best);
+        page.sort(comparator);
+        return new ArrayList<>(page.subList(offset, page.size()));
+    }
+
+    /**
+     * 0 based rank of the match of the given team in the summary, -1 if the team is not playing
+     * O(n) as every other match is compared with it
+     */
+    @Override
+    public synchronized int getRank(String team) {
+        int record = team == null ? -1 : recordOf(registry.idOf(team));
+        if(record < 0) {
+            return -1;
+        }
+        MatchInProgress matchInProgress = read(record);
+        int rank = 0;
+        for(int other = 0; other < recordCount; other++) {
+            if(other != record && records.getInt(other * RECORD_SIZE + HOME_ID) != FREE
+                    && comparator.compare(read(other), matchInProgress) < 0) {
+                rank++;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Apply a whole batch while holding the lock once
+     * O(k) for a batch of k operations
+     */
+    @Override
+    public synchronized List<OperationResult> applyBatch(List<ScoreBoardOperation> operations) {
+        return ScoreBoardDataStore.super.applyBatch(operations);
+    }
+
+    /**
+     * O(1) without locking
+     */
+    @Override
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Number of live matches
+     * O(1)
+     */
+    @Override
+    public synchronized int size() {
+        return matchCount;
+    }
+
+    /**
+     * Bytes of the direct buffer holding the records, outside of the Java heap
+     */
+    public synchronized long getOffHeapBytes() {
+        return records.capacity();
+    }
+
+    /**
+     * Must be called while holding the lock of this object
+     */
+    private int recordOf(int teamId) {
+        return teamId >= 0 && teamId < recordOfTeam.length ? recordOfTeam[teamId] - 1 : -1;
+    }
+
+    /**
+     * Must be called while holding the lock of this object
+     */
+    private void writeScore(int record, int homeScore, int awayScore) {
+        int at = record * RECORD_SIZE;
+        records.putInt(at + HOME_SCORE, homeScore);
+        records.putInt(at + AWAY_SCORE, awayScore);
+        records.putLong(at + VERSION, records.getLong(at + VERSION) + 1);
+        lastSequence++;
+    }
+
+    /**
+     * Must be called while holding the lock of this object
+     */
+    private MatchInProgress read(int record) {
+        int at = record * RECORD_SIZE;
+        OffsetDateTime startedAt = OffsetDateTime.ofInstant(
+                Instant.ofEpochSecond(records.getLong(at + START_SECOND), records.getInt(at + START_NANO)),
+                ZoneOffset.ofTotalSeconds(records.getInt(at + START_OFFSET)));
+        return MatchInProgress.withoutHistory(startedAt, registry.nameOf(records.getInt(at + HOME_ID)), registry.nameOf(records.getInt(at + AWAY_ID)),
+                records.getInt(at + HOME_SCORE), records.getInt(at + AWAY_SCORE), records.getLong(at + VERSION), records.getLong(at + MATCH_SEQUENCE));
+    }
+
+    /**
+     * A freed record if there is one, the next unused one otherwise
+     * Must be called while holding the lock of this object
+     */
+    private int allocate() {
+        if(freeCount > 0) {
+            return freeRecords[--freeCount];
+        }
+        if(recordCount == records.capacity() / RECORD_SIZE) {
+            if(recordCount == MAX_RECORDS) {
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("The scoreboard is full with " + MAX_RECORDS + " matches", null);
+            }
+            ByteBuffer larger = ByteBuffer.allocateDirect((int) Math.min(2L * recordCount, MAX_RECORDS) * RECORD_SIZE).order(ByteOrder.nativeOrder());
+            larger.put(records.clear());
+            records = larger; //The old buffer is released once it is collected
+        }
+        return recordCount++;
+    }
+
+    /**
+     * Must be called while holding the lock of this object
+     */
+    private void free(int record) {
+        int at = record * RECORD_SIZE;
+        recordOfTeam[records.getInt(at + HOME_ID)] = 0;
+        recordOfTeam[records.getInt(at + AWAY_ID)] = 0;
+        records.putInt(at + HOME_ID, FREE);
+        if(freeCount == freeRecords.length) {
+            freeRecords = Arrays.copyOf(freeRecords, freeCount * 2);
+        }
+        freeRecords[freeCount++] = record;
+        matchCount--;
+        lastSequence++;
+    }
+
+    private void ensureTeamCapacity(int capacity) {
+        if(capacity > recordOfTeam.length) {
+            recordOfTeam = Arrays.copyOf(recordOfTeam, Math.max(capacity, recordOfTeam.length * 2));
+        }
+    }
+}
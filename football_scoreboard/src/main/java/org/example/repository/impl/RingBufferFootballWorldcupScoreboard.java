@@ -0,0 +1,435 @@
+package org.example.repository.impl;
+
+import org.example.exception.ScoreBoardException;
+import org.example.model.MatchInProgress;
+import org.example.model.OperationResult;
+import org.example.model.ScoreBoardChange;
+import org.example.model.ScoreBoardOperation;
+import org.example.model.SummaryChanges;
+import org.example.repository.ScoreBoardDataStore;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * A data store in the style of the LMAX disruptor, every call is an event in a ring of pre-allocated slots
+ * and a single writer thread owns the scoreboard and its ranked summary
+ * <p>
+ * A caller claims the next sequence with one atomic increment, fills the slot of that sequence in place and publishes it.
+ * The writer handles the slots strictly in sequence order, writes the result into the slot and marks it processed.
+ * The caller waits for its own slot only, the sequence barrier, reads the result and frees the slot for the next lap.
+ * A slot is only claimed by the caller of its lap, the sequence the previous caller freed it for,
+ * so with more callers than slots two callers never share a slot.
+ * The reads are events too, so a read sees every write published before it, and no reader ever touches the summary.
+ * A full summary is copied once per change, consecutive reads share the same unmodifiable copy.
+ * <p>
+ * Nothing is allocated per event by the ring, the matches are still immutable and a score update creates its next version.
+ * The writer spins, then parks until a caller publishes, the callers spin, then park until the writer wakes them.
+ * The writer needs a core of its own to beat a lock, on a single core every call is a hand off between two threads.
+ * <p>
+ * All the methods of this class are thread safe, the calls after close throw ScoreBoardException
+ */
+public class RingBufferFootballWorldcupScoreboard implements ScoreBoardDataStore, Closeable {
+
+    public static final int DEFAULT_RING_SIZE = 1024;
+
+    private static final int SPINS = 200;
+    private static final long CLOSED = 1L << 62;
+
+    private enum Type {
+        ADD, SET_SCORE, REMOVE, GET, SUMMARY, SIZE, PAGE, RANK, BATCH, CHANGES
+    }
+
+    private final FootballWorldcupScoreboard scoreBoard; //Touched by the writer thread only
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong(); //Next sequence to claim, with CLOSED once closed
+    private final Thread writer;
+    private volatile long closedAt = Long.MAX_VALUE; //First sequence which was never claimed
+    private volatile boolean writerParked;
+    private List<MatchInProgress> summary; //The last full summary, null after a change, writer thread only
+    private long summarySequence = -1;
+
+    private RingBufferFootballWorldcupScoreboard(Comparator<MatchInProgress> comparator, int ringSize) {
+        scoreBoard = FootballWorldcupScoreboard.getScoreBoard(comparator);
+        slots = new Slot[ringSize];
+        for(int i = 0; i < ringSize; i++) {
+            slots[i] = new Slot(i);
+        }
+        mask = ringSize - 1;
+        writer = new Thread(this::write, "scoreboard-ring-writer");
+        writer.setDaemon(true);
+    }
+
+    public static RingBufferFootballWorldcupScoreboard getScoreBoard(Comparator<MatchInProgress> comparator) {
+        return getScoreBoard(comparator, DEFAULT_RING_SIZE);
+    }
+
+    /**
+     * The ring size must be a power of two, it bounds the number of calls in flight
+     */
+    public static RingBufferFootballWorldcupScoreboard getScoreBoard(Comparator<MatchInProgress> comparator, int ringSize) {
+        if(comparator == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Comparator may not be null", null);
+        }
+        if(ringSize < 1 || Integer.bitCount(ringSize) != 1) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Ring size must be a power of two", null);
+        }
+        RingBufferFootballWorldcupScoreboard ringBuffer = new RingBufferFootballWorldcupScoreboard(comparator, ringSize);
+        ringBuffer.writer.start();
+        return ringBuffer;
+    }
+
+    @Override
+    public boolean add(MatchInProgress matchInProgress) {
+        Slot slot = claim(Type.ADD);
+        slot.match = matchInProgress;
+        call(slot);
+        boolean applied = slot.applied;
+        release(slot);
+        return applied;
+    }
+
+    @Override
+    public boolean setScore(String homeTeam, int homeScore, int awayScore) {
+        Slot slot = claim(Type.SET_SCORE);
+        slot.team = homeTeam;
+        slot.homeScore = homeScore;
+        slot.awayScore = awayScore;
+        call(slot);
+        boolean applied = slot.applied;
+        release(slot);
+        return applied;
+    }
+
+    @Override
+    public boolean remove(String homeTeam) {
+        Slot slot = claim(Type.REMOVE);
+        slot.team = homeTeam;
+        call(slot);
+        boolean applied = slot.applied;
+        release(slot);
+        return applied;
+    }
+
+    @Override
+    public MatchInProgress get(String homeTeam) {
+        Slot slot = claim(Type.GET);
+        slot.team = homeTeam;
+        call(slot);
+        MatchInProgress matchInProgress = slot.match;
+        release(slot);
+        return matchInProgress;
+    }
+
+    /**
+     * Unmodifiable, shared with the other readers until the next change
+     */
+    @Override
+    public List<MatchInProgress> getSummary() {
+        Slot slot = claim(Type.SUMMARY);
+        call(slot);
+        List<MatchInProgress> summary = slot.list;
+        release(slot);
+        return summary;
+    }
+
+    @Override
+    public int size() {
+        Slot slot = claim(Type.SIZE);
+        call(slot);
+        int size = slot.rank;
+        release(slot);
+        return size;
+    }
+
+    @Override
+    public List<MatchInProgress> getSummary(int offset, int limit) {
+        FootballWorldcupScoreboard.checkPage(offset, limit);
+        Slot slot = claim(Type.PAGE);
+        slot.homeScore = offset;
+        slot.awayScore = limit;
+        call(slot);
+        List<MatchInProgress> page = slot.list;
+        release(slot);
+        return page;
+    }
+
+    @Override
+    public int getRank(String team) {
+        Slot slot = claim(Type.RANK);
+        slot.team = team;
+        call(slot);
+        int rank = slot.rank;
+        release(slot);
+        return rank;
+    }
+
+    /**
+     * The whole batch is one event, applied by the writer without any other event in between
+     */
+    @Override
+    public List<OperationResult> applyBatch(List<ScoreBoardOperation> operations) {
+        Slot slot = claim(Type.BATCH);
+        slot.operations = operations;
+        call(slot);
+        List<OperationResult> results = slot.results;
+        release(slot);
+        return results;
+    }
+
+    @Override
+    public SummaryChanges getChangesSince(long sequence) {
+        Slot slot = claim(Type.CHANGES);
+        slot.sequence = sequence;
+        call(slot);
+        SummaryChanges changes = slot.changes;
+        release(slot);
+        return changes;
+    }
+
+    /**
+     * The listener is called on the writer thread, it has to be quick and may not block
+     */
+    @Override
+    public void addChangeListener(Consumer<ScoreBoardChange> listener) {
+        scoreBoard.addChangeListener(listener);
+    }
+
+    /**
+     * O(1), the events published after this call see at least this sequence
+     */
+    @Override
+    public long getLastSequence() {
+        return scoreBoard.getLastSequence();
+    }
+
+    /**
+     * The events published before are still handled, then the writer stops
+     */
+    @Override
+    public void close() {
+        long claimed = cursor.getAndUpdate(sequence -> sequence | CLOSED);
+        if((claimed & CLOSED) != 0) {
+            return;
+        }
+        closedAt = claimed;
+        LockSupport.unpark(writer);
+        boolean interrupted = false;
+        while(writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if(interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The slot of the next sequence, once the caller of the previous lap has freed it for this sequence
+     */
+    private Slot claim(Type type) {
+        long sequence = cursor.getAndIncrement();
+        if((sequence & CLOSED) != 0) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("The scoreboard is closed", null);
+        }
+        Slot slot = slots[(int) sequence & mask];
+        for(int spins = 0; slot.claimable != sequence; spins++) {
+            backOff(spins);
+        }
+        slot.claimed = sequence;
+        slot.type = type;
+        return slot;
+    }
+
+    /**
+     * Publishes the slot and waits until the writer processed it, the sequence barrier of this caller
+     * The caller reads its result out of the slot and then releases it, a failure is released and thrown here
+     */
+    private void call(Slot slot) {
+        slot.state = Slot.PUBLISHED;
+        if(writerParked) {
+            LockSupport.unpark(writer);
+        }
+        for(int spins = 0; slot.state != Slot.PROCESSED; spins++) {
+            if(spins < SPINS) {
+                Thread.onSpinWait();
+            } else {
+                slot.waiter = Thread.currentThread();
+                if(slot.state != Slot.PROCESSED) {
+                    LockSupport.park(this);
+                }
+            }
+        }
+        slot.waiter = null;
+        RuntimeException error = slot.error;
+        if(error != null) {
+            release(slot);
+            throw error;
+        }
+    }
+
+    /**
+     * The slot may be claimed for the next lap from now on, by the caller of that lap only
+     */
+    private void release(Slot slot) {
+        slot.clear();
+        slot.state = Slot.FREE;
+        slot.claimable = slot.claimed + slots.length;
+    }
+
+    /**
+     * The writer thread, handles the slots in sequence order until it is closed and every claimed slot is handled
+     */
+    private void write() {
+        long next = 0;
+        int idle = 0;
+        while(true) {
+            Slot slot = slots[(int) next & mask];
+            if(slot.state == Slot.PUBLISHED) {
+                handle(slot);
+                slot.state = Slot.PROCESSED;
+                Thread waiter = slot.waiter;
+                if(waiter != null) {
+                    LockSupport.unpark(waiter);
+                }
+                next++;
+                idle = 0;
+            } else if(next >= closedAt) {
+                return;
+            } else if(++idle < SPINS) {
+                Thread.onSpinWait();
+            } else {
+                writerParked = true;
+                if(slot.state != Slot.PUBLISHED && next < closedAt) { //A caller which did not see the flag yet has already published
+                    LockSupport.park(this);
+                }
+                writerParked = false;
+                idle = 0;
+            }
+        }
+    }
+
+    /**
+     * Runs on the writer thread, a failure is handed to the caller and never stops the writer
+     */
+    private void handle(Slot slot) {
+        try {
+            switch (slot.type) {
+                case ADD:
+                    slot.applied = scoreBoard.add(slot.match);
+                    break;
+                case SET_SCORE:
+                    slot.applied = scoreBoard.setScore(slot.team, slot.homeScore, slot.awayScore);
+                    break;
+                case REMOVE:
+                    slot.applied = scoreBoard.remove(slot.team);
+                    break;
+                case GET:
+                    slot.match = scoreBoard.get(slot.team);
+                    break;
+                case SUMMARY:
+                    slot.list = summary();
+                    break;
+                case SIZE:
+                    slot.rank = scoreBoard.size();
+                    break;
+                case PAGE:
+                    slot.list = scoreBoard.getSummary(slot.homeScore, slot.awayScore);
+                    break;
+                case RANK:
+                    slot.rank = scoreBoard.getRank(slot.team);
+                    break;
+                case BATCH:
+                    slot.results = scoreBoard.applyBatch(slot.operations);
+                    break;
+                default:
+                    slot.changes = scoreBoard.getChangesSince(slot.sequence);
+            }
+        } catch (RuntimeException e) {
+            //Log it so that it may be debugged
+            slot.error = e;
+        }
+    }
+
+    private List<MatchInProgress> summary() {
+        long sequence = scoreBoard.getLastSequence();
+        if(summary == null || summarySequence != sequence) {
+            summary = Collections.unmodifiableList(scoreBoard.getSummary());
+            summarySequence = sequence;
+        }
+        return summary;
+    }
+
+    /**
+     * Spins first, then yields, then parks for a moment, only while the ring is full
+     */
+    private static void backOff(int spins) {
+        if(spins < SPINS) {
+            Thread.onSpinWait();
+        } else if(spins < 2 * SPINS) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(1_000);
+        }
+    }
+
+    /**
+     * One pre-allocated event, the plain fields are published by the writes of the volatile state
+     */
+    private static final class Slot {
+        private static final int FREE = 0;
+        private static final int PUBLISHED = 1;
+        private static final int PROCESSED = 2;
+
+        private volatile int state = FREE;
+        private volatile long claimable; //The sequence which may claim this slot next
+        private volatile Thread waiter; //The caller, once it parks
+
+        private long claimed; //The sequence of the caller which holds this slot
+
+        private Type type;
+        private MatchInProgress match;
+        private String team;
+        private int homeScore;
+        private int awayScore;
+        private long sequence;
+        private List<ScoreBoardOperation> operations;
+
+        private boolean applied;
+        private int rank;
+        private List<MatchInProgress> list;
+        private List<OperationResult> results;
+        private SummaryChanges changes;
+        private RuntimeException error;
+
+        private Slot(long claimable) {
+            this.claimable = claimable;
+        }
+
+        /**
+         * The ring keeps no reference to a match or a list after its call
+         */
+        private void clear() {
+            match = null;
+            team = null;
+            operations = null;
+            list = null;
+            results = null;
+            changes = null;
+            error = null;
+            applied = false;
+        }
+    }
+}
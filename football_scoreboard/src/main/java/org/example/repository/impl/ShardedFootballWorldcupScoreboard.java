@@ -0,0 +1,417 @@
+package org.example.repository.impl;
+
+import org.example.exception.ScoreBoardException;
+import org.example.model.MatchInProgress;
+import org.example.model.OperationResult;
+import org.example.model.RankedMatch;
+import org.example.model.ScoreBoardOperation;
+import org.example.repository.ScoreBoardDataStore;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * All the methods of this class is thread safe
+ * <p>
+ * Splits the matches over N independent FootballWorldcupScoreboard shards, each with its own lock,
+ * so the updates of matches in different shards do not wait for each other
+ * A match lives in the shard chosen by the partitioner from its home team, by default a hash of the home team
+ * A partitioner can also map the teams of one tournament to one shard
+ * <p>
+ * A team may still play only one match at a time over all the shards, the playing teams are claimed in a ConcurrentHashMap
+ * The summary is a k-way merge of the already sorted summaries of the shards
+ * A batch locks the shards it touches and the summary and the rank lock all the shards, always in the order of the shard index,
+ * so a reader sees a batch either completely or not at all, while a single update still locks only its own shard
+ */
+public class ShardedFootballWorldcupScoreboard implements ScoreBoardDataStore {
+
+    private final FootballWorldcupScoreboard[] shards;
+    private final Comparator<MatchInProgress> comparator;
+    private final ToIntFunction<String> partitioner;
+    private final Map<String, Integer> playingTeams = new ConcurrentHashMap<>(); //Team to its shard
+
+    private ShardedFootballWorldcupScoreboard(Comparator<MatchInProgress> comparator, int shardCount, ToIntFunction<String> partitioner) {
+        if(shardCount < 1) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("There must be at least one shard", null);
+        }
+        this.comparator = comparator;
+        this.partitioner = partitioner;
+        this.shards = new FootballWorldcupScoreboard[shardCount];
+        for(int i = 0; i < shardCount; i++) {
+            shards[i] = FootballWorldcupScoreboard.getScoreBoard(comparator, 0);
+        }
+    }
+
+    /**
+     * Partitioned by a hash of the home team
+     */
+    public static ShardedFootballWorldcupScoreboard getScoreBoard(Comparator<MatchInProgress> comparator, int shardCount) {
+        return new ShardedFootballWorldcupScoreboard(comparator, shardCount, String::hashCode);
+    }
+
+    /**
+     * partitioner maps the home team to any int, for example the id of its tournament, it is reduced modulo the shard count
+     */
+    public static ShardedFootballWorldcupScoreboard getScoreBoard(Comparator<MatchInProgress> comparator, int shardCount, ToIntFunction<String> partitioner) {
+        return new ShardedFootballWorldcupScoreboard(comparator, shardCount, partitioner);
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Both teams are claimed first, then the match is added to its shard
+     * O(log N/S) with S shards
+     */
+    @Override
+    public boolean add(MatchInProgress matchInProgress) {
+        if(matchInProgress == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Match may not be null", null);
+        }
+        String homeTeam = matchInProgress.getHomeTeam();
+        if(homeTeam == null) {
+            //Log it so that it may be debugged
+            return false;
+        }
+        int shard = Math.floorMod(partitioner.applyAsInt(homeTeam), shards.length);
+        if(playingTeams.putIfAbsent(homeTeam, shard) != null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("The same team " + homeTeam + " is already playing, so another match with it is not possible", null);
+        }
+        if(playingTeams.putIfAbsent(matchInProgress.getAwayTeam(), shard) != null) {
+            playingTeams.remove(homeTeam);
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("The same team " + matchInProgress.getAwayTeam() + " is already playing, so another match with it is not possible", null);
+        }
+        try {
+            return shards[shard].add(matchInProgress);
+        } catch (RuntimeException e) {
+            playingTeams.remove(homeTeam);
+            playingTeams.remove(matchInProgress.getAwayTeam());
+            throw e;
+        }
+    }
+
+    /**
+     * O(log N/S), only the shard of the match is locked
+     */
+    @Override
+    public boolean setScore(String homeTeam, int homeScore, int awayScore) {
+        if(homeTeam == null) {
+            //Log it so that it may be debugged
+            return false;
+        }
+        return shardOf(homeTeam).setScore(homeTeam, homeScore, awayScore);
+    }
+
+    /**
+     * O(1)
+     */
+    @Override
+    public MatchInProgress get(String homeTeam) {
+        if(homeTeam == null) {
+            return null;
+        }
+        Integer shard = playingTeams.get(homeTeam);
+        return shard == null ? null : shards[shard].get(homeTeam);
+    }
+
+    /**
+     * O(log N/S), the teams of the removed match are released under the lock of its shard,
+     * so a match started with the same teams meanwhile never loses its claims
+     */
+    @Override
+    public boolean remove(String homeTeam) {
+        if(homeTeam == null) {
+            //Log it so that it may be debugged
+            return false;
+        }
+        FootballWorldcupScoreboard shard = shardOf(homeTeam);
+        shard.getLock().lock();
+        try {
+            MatchInProgress matchInProgress = shard.get(homeTeam);
+            boolean removed = shard.remove(homeTeam);
+            if(removed && matchInProgress != null) {
+                playingTeams.remove(matchInProgress.getHomeTeam());
+                playingTeams.remove(matchInProgress.getAwayTeam());
+            }
+            return removed;
+        } finally {
+            shard.getLock().unlock();
+        }
+    }
+
+    /**
+     * The sum of the sequences of the shards
+     * O(S)
+     */
+    @Override
+    public long getLastSequence() {
+        long sequence = 0;
+        for(FootballWorldcupScoreboard shard : shards) {
+            sequence += shard.getLastSequence();
+        }
+        return sequence;
+    }
+
+    /**
+     * O(S), the sizes of the shards are added under all their locks
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        lockAll();
+        try {
+            for(FootballWorldcupScoreboard shard : shards) {
+                size += shard.size();
+            }
+        } finally {
+            unlockAll();
+        }
+        return size;
+    }
+
+    /**
+     * O(n log S), k-way merge of the summaries of the S shards
+     * The shards are copied under all their locks, the merge runs after they are released
+     */
+    @Override
+    public List<MatchInProgress> getSummary() {
+        List<Iterator<MatchInProgress>> cursors = new ArrayList<>(shards.length);
+        int size = 0;
+        lockAll();
+        try {
+            for(FootballWorldcupScoreboard shard : shards) {
+                List<MatchInProgress> shardSummary = shard.getSummary();
+                size += shardSummary.size();
+                cursors.add(shardSummary.iterator());
+            }
+        } finally {
+            unlockAll();
+        }
+        return merge(cursors, size, comparator);
+    }
+
+    /**
+     * The k-way merge stops after offset + limit matches, each shard gives only its first offset + limit matches
+     * O(S log N/S + (offset + limit) log S)
+     */
+    @Override
+    public List<MatchInProgress> getSummary(int offset, int limit) {
+        FootballWorldcupScoreboard.checkPage(offset, limit);
+        int end = (int) Math.min(Integer.MAX_VALUE, (long) offset + limit);
+        List<Iterator<MatchInProgress>> cursors = new ArrayList<>(shards.length);
+        int size = 0;
+        lockAll();
+        try {
+            for(FootballWorldcupScoreboard shard : shards) {
+                List<MatchInProgress> shardPage = shard.getSummary(0, end);
+                size += shardPage.size();
+                cursors.add(shardPage.iterator());
+            }
+        } finally {
+            unlockAll();
+        }
+        List<MatchInProgress> merged = merge(cursors, Math.min(size, end), comparator);
+        return offset >= merged.size() ? new ArrayList<>() : new ArrayList<>(merged.subList(offset, Math.min(merged.size(), end)));
+    }
+
+    /**
+     * The sum of the matches ranked before this match in every shard
+     * O(S log N/S)
+     */
+    @Override
+    public int getRank(String team) {
+        RankedMatch rankedMatch = getRankedMatch(team);
+        return rankedMatch == null ? -1 : rankedMatch.getRank();
+    }
+
+    /**
+     * The match and its rank under the locks of all the shards
+     * O(S log N/S)
+     */
+    @Override
+    public RankedMatch getRankedMatch(String team) {
+        lockAll();
+        try {
+            MatchInProgress matchInProgress = get(team);
+            if(matchInProgress == null) {
+                return null;
+            }
+            int rank = 0;
+            for(FootballWorldcupScoreboard shard : shards) {
+                rank += shard.countRankedBefore(matchInProgress);
+            }
+            return new RankedMatch(matchInProgress, rank);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * The shards the batch touches are locked in the order of their index for the whole batch,
+     * so readers see the batch at once and two batches never wait for each other in a cycle
+     * Each operation is applied through the shard of its match, the team claims span the shards,
+     * so unlike a single scoreboard the summaries are re-ranked per operation, not once per batch
+     * O(k log N/S) for k operations
+     */
+    @Override
+    public List<OperationResult> applyBatch(List<ScoreBoardOperation> operations) {
+        if(operations == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Operations may not be null", null);
+        }
+        boolean[] locked = lockShards(operations);
+        try {
+            List<OperationResult> results = new ArrayList<>(operations.size());
+            for(ScoreBoardOperation operation : operations) {
+                try {
+                    results.add(applyLocked(operation, locked));
+                } catch (ScoreBoardException e) {
+                    //Log it so that it may be debugged
+                    results.add(OperationResult.failure(e.getMessage()));
+                }
+            }
+            return results;
+        } finally {
+            unlock(locked);
+        }
+    }
+
+    /**
+     * A match which another thread started in a shard after the batch took its locks is not seen by the batch,
+     * so the batch never takes a lock out of order
+     */
+    private OperationResult applyLocked(ScoreBoardOperation operation, boolean[] locked) {
+        if(operation == null) {
+            return OperationResult.failure("Operation may not be null");
+        }
+        String homeTeam = operation.getHomeTeam();
+        if(homeTeam == null) {
+            return OperationResult.failure("Home team may not be null");
+        }
+        if(operation.getType() == ScoreBoardOperation.Type.START) {
+            add(operation.toMatch());
+            return OperationResult.success();
+        }
+        Integer shard = playingTeams.get(homeTeam);
+        if(shard == null || !locked[shard]) {
+            return OperationResult.failure("There is no such match going on with this home team " + homeTeam);
+        }
+        if(operation.getType() == ScoreBoardOperation.Type.UPDATE_SCORE) {
+            shards[shard].setScore(homeTeam, operation.getHomeScore(), operation.getAwayScore());
+        } else {
+            remove(homeTeam);
+        }
+        return OperationResult.success();
+    }
+
+    /**
+     * Locks the shards the operations touch in the order of their index
+     * A team may start playing in another shard before the locks are taken, then the locks are taken again including that shard
+     */
+    private boolean[] lockShards(List<ScoreBoardOperation> operations) {
+        boolean[] locked = new boolean[shards.length];
+        while(true) {
+            boolean[] wanted = locked.clone();
+            boolean missing = false;
+            for(ScoreBoardOperation operation : operations) {
+                if(operation == null || operation.getHomeTeam() == null) {
+                    continue;
+                }
+                Integer shard;
+                if(operation.getType() == ScoreBoardOperation.Type.START) {
+                    shard = Math.floorMod(partitioner.applyAsInt(operation.getHomeTeam()), shards.length);
+                } else {
+                    shard = playingTeams.get(operation.getHomeTeam());
+                }
+                if(shard != null && !wanted[shard]) {
+                    wanted[shard] = true;
+                    missing = true;
+                }
+            }
+            if(!missing) {
+                return locked;
+            }
+            unlock(locked);
+            for(int i = 0; i < shards.length; i++) {
+                if(wanted[i]) {
+                    shards[i].getLock().lock();
+                }
+            }
+            locked = wanted;
+        }
+    }
+
+    private void unlock(boolean[] locked) {
+        for(int i = shards.length - 1; i >= 0; i--) {
+            if(locked[i]) {
+                shards[i].getLock().unlock();
+            }
+        }
+    }
+
+    private void lockAll() {
+        for(FootballWorldcupScoreboard shard : shards) {
+            shard.getLock().lock();
+        }
+    }
+
+    private void unlockAll() {
+        for(int i = shards.length - 1; i >= 0; i--) {
+            shards[i].getLock().unlock();
+        }
+    }
+
+    /**
+     * Merges already sorted sequences into one sorted list
+     */
+    static List<MatchInProgress> merge(List<Iterator<MatchInProgress>> cursors, int size, Comparator<MatchInProgress> comparator) {
+        List<MatchInProgress> result = new ArrayList<>(size);
+        PriorityQueue<MergeCursor> heads = new PriorityQueue<>(Math.max(1, cursors.size()), (a, b) -> comparator.compare(a.head, b.head));
+        for(Iterator<MatchInProgress> cursor : cursors) {
+            if(cursor.hasNext()) {
+                heads.add(new MergeCursor(cursor));
+            }
+        }
+        while(!heads.isEmpty()) {
+            MergeCursor smallest = heads.poll();
+            result.add(smallest.head);
+            if(smallest.advance()) {
+                heads.add(smallest);
+            }
+        }
+        return result;
+    }
+
+    private FootballWorldcupScoreboard shardOf(String team) {
+        Integer shard = playingTeams.get(team);
+        if(shard == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("There is no such match going on with this home team " + team, null);
+        }
+        return shards[shard];
+    }
+
+    private static final class MergeCursor {
+        private final Iterator<MatchInProgress> iterator;
+        private MatchInProgress head;
+
+        private MergeCursor(Iterator<MatchInProgress> iterator) {
+            this.iterator = iterator;
+            this.head = iterator.next();
+        }
+
+        private boolean advance() {
+            if(!iterator.hasNext()) {
+                return false;
+            }
+            head = iterator.next();
+            return true;
+        }
+    }
+}
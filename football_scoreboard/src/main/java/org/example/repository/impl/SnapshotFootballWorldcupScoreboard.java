@@ -0,0 +1,173 @@
+package org.example.repository.impl;
+
+import org.example.model.MatchInProgress;
+import org.example.model.OperationResult;
+import org.example.model.ScoreBoardOperation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Copy-on-publish variant of the scoreboard
+ * <p>
+ * Writers are serialized exactly like in FootballWorldcupScoreboard, but after every change
+ * they build an immutable, already sorted copy of the summary and publish it through a volatile reference.
+ * Readers of the summary never take the lock and never allocate, they just read the last published list.
+ * <p>
+ * This suits many polling readers and comparatively few writers.
+ * Every write pays an extra O(n) copy of the summary.
+ */
+public class SnapshotFootballWorldcupScoreboard extends FootballWorldcupScoreboard {
+
+    private volatile List<MatchInProgress> publishedSummary = Collections.emptyList(); //Last published summary
+    private volatile long publishedSequence; //Sequence of the last published summary, written after it
+
+    private SnapshotFootballWorldcupScoreboard(Comparator<MatchInProgress> comparator, int changeLogCapacity) {
+        super(comparator, changeLogCapacity);
+    }
+
+    public static SnapshotFootballWorldcupScoreboard getScoreBoard(Comparator<MatchInProgress> comparator) {
+        return new SnapshotFootballWorldcupScoreboard(comparator, DEFAULT_CHANGE_LOG_CAPACITY);
+    }
+
+    public static SnapshotFootballWorldcupScoreboard getScoreBoard(Comparator<MatchInProgress> comparator, int changeLogCapacity) {
+        return new SnapshotFootballWorldcupScoreboard(comparator, changeLogCapacity);
+    }
+
+    /**
+     * O(n) as the summary is published again
+     */
+    @Override
+    public boolean add(MatchInProgress matchInProgress) {
+        getLock().lock();
+        try {
+            boolean added = super.add(matchInProgress);
+            publish();
+            return added;
+        } finally {
+            getLock().unlock();
+        }
+    }
+
+    /**
+     * O(n) as the summary is published again
+     */
+    @Override
+    public boolean setScore(String homeTeam, int homeScore, int awayScore) {
+        getLock().lock();
+        try {
+            boolean updated = super.setScore(homeTeam, homeScore, awayScore);
+            publish();
+            return updated;
+        } finally {
+            getLock().unlock();
+        }
+    }
+
+    /**
+     * O(n) as the summary is published again
+     */
+    @Override
+    public boolean remove(String homeTeam) {
+        getLock().lock();
+        try {
+            boolean removed = super.remove(homeTeam);
+            publish();
+            return removed;
+        } finally {
+            getLock().unlock();
+        }
+    }
+
+    /**
+     * O(n) as the summary is published again
+     */
+    @Override
+    public boolean setScore(int teamId, int homeScore, int awayScore) {
+        getLock().lock();
+        try {
+            boolean updated = super.setScore(teamId, homeScore, awayScore);
+            publish();
+            return updated;
+        } finally {
+            getLock().unlock();
+        }
+    }
+
+    /**
+     * O(n) as the summary is published again
+     */
+    @Override
+    public boolean remove(int teamId) {
+        getLock().lock();
+        try {
+            boolean removed = super.remove(teamId);
+            publish();
+            return removed;
+        } finally {
+            getLock().unlock();
+        }
+    }
+
+    /**
+     * The summary is published once for the whole batch
+     */
+    @Override
+    public List<OperationResult> applyBatch(List<ScoreBoardOperation> operations) {
+        getLock().lock();
+        try {
+            return super.applyBatch(operations);
+        } finally {
+            publish(); //Also after an unexpected exception, the summary may have changed
+            getLock().unlock();
+        }
+    }
+
+    /**
+     * O(1), a single volatile read without any locking
+     * The returned list is unmodifiable
+     */
+    @Override
+    public List<MatchInProgress> getSummary() {
+        return publishedSummary;
+    }
+
+    /**
+     * O(1), the size of the last published summary, without any locking
+     */
+    @Override
+    public int size() {
+        return publishedSummary.size();
+    }
+
+    /**
+     * The sequence of the last published summary, so a summary read afterwards is never older
+     */
+    @Override
+    public long getLastSequence() {
+        return publishedSequence;
+    }
+
+    /**
+     * O(limit), copied from the published summary without any locking
+     */
+    @Override
+    public List<MatchInProgress> getSummary(int offset, int limit) {
+        checkPage(offset, limit);
+        List<MatchInProgress> summary = publishedSummary;
+        if(offset >= summary.size()) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(new ArrayList<>(summary.subList(offset, (int) Math.min(summary.size(), (long) offset + limit))));
+    }
+
+    /**
+     * Must be called while holding the lock of this object
+     */
+    private void publish() {
+        publishedSummary = Collections.unmodifiableList(super.getSummary());
+        publishedSequence = super.getLastSequence();
+    }
+}
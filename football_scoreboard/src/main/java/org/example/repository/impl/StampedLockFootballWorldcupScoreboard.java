@@ -0,0 +1,271 @@
+package org.example.repository.impl;
+
+import org.example.exception.ScoreBoardException;
+import org.example.helper.OrderStatisticTree;
+import org.example.model.MatchInProgress;
+import org.example.model.OperationResult;
+import org.example.model.RankedMatch;
+import org.example.model.ScoreBoardOperation;
+import org.example.repository.ScoreBoardDataStore;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * All the methods of this class is thread safe
+ * <p>
+ * Same scoreboard as FootballWorldcupScoreboard, but reads and writes are split
+ * The point lookups go to a ConcurrentHashMap and never lock
+ * The summary is read with an optimistic read of a StampedLock, and with the read lock only if a writer interfered
+ * Only the changes of the matches and the summary take the write lock
+ * A match handed out by this class is never changed, a score update replaces it with its next version
+ */
+public class StampedLockFootballWorldcupScoreboard implements ScoreBoardDataStore {
+
+    private final Map<String, MatchInProgress> scoreBoard = new ConcurrentHashMap<>(); //Live match score board
+    private final OrderStatisticTree<MatchInProgress> summary; //The summary, guarded by the lock
+    private final StampedLock lock = new StampedLock();
+    private volatile long lastSequence; //One more after every write, changed under the write lock
+
+    private StampedLockFootballWorldcupScoreboard(Comparator<MatchInProgress> comparator) {
+        summary = new OrderStatisticTree<>(comparator);
+    }
+
+    public static StampedLockFootballWorldcupScoreboard getScoreBoard(Comparator<MatchInProgress> comparator) {
+        return new StampedLockFootballWorldcupScoreboard(comparator);
+    }
+
+    /**
+     * Add a new match which has just started
+     * O(log N) under the write lock
+     */
+    @Override
+    public boolean add(MatchInProgress matchInProgress) {
+        if(matchInProgress == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Match may not be null", null);
+        }
+        String homeTeam = matchInProgress.getHomeTeam();
+        if(homeTeam == null) {
+            //Log it so that it may be debugged
+            return false;
+        }
+        long stamp = lock.writeLock();
+        try {
+            if(scoreBoard.containsKey(homeTeam)) {
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("The same team " + homeTeam + " is already playing as a home team, so another match with it is not possible", null);
+            }
+            if(scoreBoard.containsKey(matchInProgress.getAwayTeam())) {
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("The same team " + matchInProgress.getAwayTeam() + " is already playing as an away team, so another match with it is not possible", null);
+            }
+            scoreBoard.put(homeTeam, matchInProgress);
+            scoreBoard.put(matchInProgress.getAwayTeam(), matchInProgress);
+            summary.add(matchInProgress);
+            lastSequence++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Set the new score of an ongoing match after a team scores
+     * O(log N) under the write lock as the Match has to be removed and put in the summary
+     */
+    @Override
+    public boolean setScore(String homeTeam, int homeScore, int awayScore) {
+        if(homeTeam == null) {
+            //Log it so that it may be debugged
+            return false;
+        }
+        long stamp = lock.writeLock();
+        try {
+            MatchInProgress matchInProgress = scoreBoard.get(homeTeam);
+            if(matchInProgress == null) {
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("There is no such match going on with this home team "+homeTeam, null);
+            }
+            MatchInProgress updated = matchInProgress.withScore(homeScore, awayScore);
+            if(updated.hasHistory()) { //A match read from a data store without history may be added to this one
+                updated.getHistory().record(matchInProgress, updated);
+            }
+            summary.remove(matchInProgress);
+            scoreBoard.put(updated.getHomeTeam(), updated);
+            scoreBoard.put(updated.getAwayTeam(), updated);
+            summary.add(updated);
+            lastSequence++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * O(1) without any locking
+     */
+    @Override
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * O(1) without any locking
+     */
+    @Override
+    public MatchInProgress get(String homeTeam) {
+        if(homeTeam == null) {
+            return null;
+        }
+        return scoreBoard.get(homeTeam);
+    }
+
+    /**
+     * Remove a finished match
+     * O(log N) under the write lock
+     */
+    @Override
+    public boolean remove(String homeTeam) {
+        if(homeTeam == null) {
+            //Log it so that it may be debugged
+            return false;
+        }
+        long stamp = lock.writeLock();
+        try {
+            MatchInProgress matchInProgress = scoreBoard.get(homeTeam);
+            if(matchInProgress == null) {
+                //Log it so that it may be debugged
+                throw new ScoreBoardException("There is no such match going on with this home team "+homeTeam, null);
+            }
+            summary.remove(matchInProgress);
+            scoreBoard.remove(matchInProgress.getAwayTeam());
+            scoreBoard.remove(matchInProgress.getHomeTeam());
+            lastSequence++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Apply a whole batch under the write lock taken once
+     * O(k log N) for a batch of k operations
+     */
+    @Override
+    public List<OperationResult> applyBatch(List<ScoreBoardOperation> operations) {
+        long stamp = lock.writeLock();
+        try {
+            return BatchApplier.apply(scoreBoard, summary, operations);
+        } finally {
+            lastSequence++; //Also after an unexpected exception, the summary may have changed
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Number of live matches
+     * O(1), under the read lock
+     */
+    @Override
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return summary.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Get the summary of all the currently ongoing matches
+     * O(n), first tried with an optimistic read and repeated under the read lock if a writer came in between
+     */
+    @Override
+    public List<MatchInProgress> getSummary() {
+        long stamp = lock.tryOptimisticRead();
+        if(stamp != 0) {
+            List<MatchInProgress> result = copySummaryOptimistically();
+            if(result != null && lock.validate(stamp)) {
+                return result;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return new ArrayList<>(summary);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * A page of the summary under the read lock
+     * O(log N + limit)
+     */
+    @Override
+    public List<MatchInProgress> getSummary(int offset, int limit) {
+        FootballWorldcupScoreboard.checkPage(offset, limit);
+        long stamp = lock.readLock();
+        try {
+            return summary.range(offset, limit);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * O(log N) under the read lock
+     */
+    @Override
+    public int getRank(String team) {
+        if(team == null) {
+            return -1;
+        }
+        long stamp = lock.readLock();
+        try {
+            MatchInProgress matchInProgress = scoreBoard.get(team);
+            return matchInProgress == null ? -1 : summary.rankOf(matchInProgress);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * O(log N), the match and its rank under the same read lock
+     */
+    @Override
+    public RankedMatch getRankedMatch(String team) {
+        if(team == null) {
+            return null;
+        }
+        long stamp = lock.readLock();
+        try {
+            MatchInProgress matchInProgress = scoreBoard.get(team);
+            return matchInProgress == null ? null : new RankedMatch(matchInProgress, summary.rankOf(matchInProgress));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * The summary may be changed by a writer while it is iterated here
+     * The copy is bounded by the size read at the start and any failure is swallowed
+     * null means the copy is not usable, the caller validates the stamp in any case
+     */
+    private List<MatchInProgress> copySummaryOptimistically() {
+        int size = summary.size();
+        List<MatchInProgress> result = new ArrayList<>(size);
+        try {
+            for(MatchInProgress matchInProgress : summary) {
+                if(result.size() == size) {
+                    return null;
+                }
+                result.add(matchInProgress);
+            }
+        } catch (RuntimeException e) {
+            return null;
+        }
+        return result;
+    }
+}
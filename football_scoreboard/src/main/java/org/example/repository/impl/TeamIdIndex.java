@@ -0,0 +1,159 @@
+package org.example.repository.impl;
+
+import org.example.helper.TeamRegistry;
+import org.example.model.MatchInProgress;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The live matches indexed by the ids of their teams, both teams of a match point to it
+ * <p>
+ * The slots are plain arrays indexed by the team id, so the int methods never hash a name
+ * and a match costs two array slots instead of two hash map entries
+ * The Map methods intern the names through the registry, so BatchApplier can use this index like any map
+ * <p>
+ * Not thread safe, the data store guards it with its lock
+ */
+final class TeamIdIndex extends AbstractMap<String, MatchInProgress> {
+
+    private final TeamRegistry registry;
+    private MatchInProgress[] matches = new MatchInProgress[16]; //Index is the team id
+    private int[] opponents = new int[16]; //Id of the other team of the match in the same slot
+    private int size; //Number of teams playing, twice the number of matches
+
+    TeamIdIndex(TeamRegistry registry) {
+        this.registry = registry;
+    }
+
+    TeamRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * O(1), null if the team is not playing or not registered
+     */
+    MatchInProgress get(int teamId) {
+        return teamId >= 0 && teamId < matches.length ? matches[teamId] : null;
+    }
+
+    /**
+     * The match of the given team is replaced by its next version in the slots of both teams
+     * O(1), the team must be playing
+     */
+    void replace(int teamId, MatchInProgress updated) {
+        matches[teamId] = updated;
+        matches[opponents[teamId]] = updated;
+    }
+
+    /**
+     * Frees the slots of both teams of the match of the given team
+     * O(1), the team must be playing
+     */
+    void removeMatch(int teamId) {
+        matches[opponents[teamId]] = null;
+        matches[teamId] = null;
+        size -= 2;
+    }
+
+    @Override
+    public MatchInProgress get(Object team) {
+        return team instanceof String ? get(registry.idOf((String) team)) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object team) {
+        return get(team) != null;
+    }
+
+    /**
+     * The team is registered if it is new
+     */
+    @Override
+    public MatchInProgress put(String team, MatchInProgress matchInProgress) {
+        int id = registry.register(team);
+        String opponent = team.equals(matchInProgress.getHomeTeam()) ? matchInProgress.getAwayTeam() : matchInProgress.getHomeTeam();
+        int opponentId = registry.register(opponent);
+        ensureCapacity(Math.max(id, opponentId) + 1);
+        MatchInProgress previous = matches[id];
+        matches[id] = matchInProgress;
+        opponents[id] = opponentId;
+        if(previous == null) {
+            size++;
+        }
+        return previous;
+    }
+
+    @Override
+    public MatchInProgress remove(Object team) {
+        int id = team instanceof String ? registry.idOf((String) team) : TeamRegistry.NO_TEAM;
+        MatchInProgress previous = get(id);
+        if(previous != null) {
+            matches[id] = null;
+            size--;
+        }
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(matches, null);
+        size = 0;
+    }
+
+    @Override
+    public Set<Entry<String, MatchInProgress>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, MatchInProgress>> iterator() {
+                return new Iterator<>() {
+                    private int next = advance(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < matches.length;
+                    }
+
+                    @Override
+                    public Entry<String, MatchInProgress> next() {
+                        if(!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, MatchInProgress> entry = new SimpleImmutableEntry<>(registry.nameOf(next), matches[next]);
+                        next = advance(next + 1);
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int advance(int from) {
+        while(from < matches.length && matches[from] == null) {
+            from++;
+        }
+        return from;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if(capacity > matches.length) {
+            int length = Math.max(capacity, matches.length * 2);
+            matches = Arrays.copyOf(matches, length);
+            opponents = Arrays.copyOf(opponents, length);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.example.serviceimpl;
+
+import org.example.ScoreBoardService;
+import org.example.exception.ScoreBoardException;
+import org.example.model.MatchInProgress;
+import org.example.model.OperationResult;
+import org.example.model.RankedMatch;
+import org.example.model.ScoreBoardOperation;
+import org.example.model.SummaryChanges;
+
+import java.io.Closeable;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous front end for the blocking calls of any ScoreBoardService, every call returns a CompletableFuture right away
+ * <p>
+ * Every call runs on the executor as a blocking call to the service, and its future completes with the result.
+ * With onVirtualThreads every call gets a virtual thread of its own, so any number of callers may wait for the lock
+ * of the data store while only a few carrier threads run. This suits data stores which lock with ReentrantLock,
+ * like FootballWorldcupScoreboard, a synchronized data store pins the carrier of a virtual thread while it waits.
+ * <p>
+ * Unlike ScoreBoardIngestion the calls are not batched, each one is applied on its own, and the reads are asynchronous too.
+ * A call which throws fails its future with the same exception, so exceptionally and handle see it as it was thrown,
+ * get wraps it in an ExecutionException and join in a CompletionException as usual.
+ */
+public class AsyncScoreBoardService implements Closeable {
+
+    private final ScoreBoardService service;
+    private final Executor executor;
+    private final boolean ownsExecutor; //Closed with this service
+
+    private AsyncScoreBoardService(ScoreBoardService service, Executor executor, boolean ownsExecutor) {
+        this.service = service;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * A new virtual thread for every call, the threads are shut down by close
+     */
+    public static AsyncScoreBoardService onVirtualThreads(ScoreBoardService service) {
+        if(service == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Service may not be null", null);
+        }
+        return new AsyncScoreBoardService(service, Executors.newVirtualThreadPerTaskExecutor(), true);
+    }
+
+    /**
+     * The calls run on the given executor, which close does not shut down
+     */
+    public static AsyncScoreBoardService on(ScoreBoardService service, Executor executor) {
+        if(service == null || executor == null) {
+            //Log it so that it may be debugged
+            throw new ScoreBoardException("Service and executor may not be null", null);
+        }
+        return new AsyncScoreBoardService(service, executor, false);
+    }
+
+    public CompletableFuture<Boolean> startNewMatch(OffsetDateTime time, String homeTeam, String awayTeam) {
+        return call(() -> service.startNewMatch(time, homeTeam, awayTeam));
+    }
+
+    public CompletableFuture<Boolean> updateScore(String homeTeam, int homeTeamScore, int awayTeamScore) {
+        return call(() -> service.updateScore(homeTeam, homeTeamScore, awayTeamScore));
+    }
+
+    public CompletableFuture<Boolean> updateScore(int teamId, int homeTeamScore, int awayTeamScore) {
+        return call(() -> service.updateScore(teamId, homeTeamScore, awayTeamScore));
+    }
+
+    public CompletableFuture<Boolean> finishMatch(String homeTeam) {
+        return call(() -> service.finishMatch(homeTeam));
+    }
+
+    public CompletableFuture<Boolean> finishMatch(int teamId) {
+        return call(() -> service.finishMatch(teamId));
+    }
+
+    public CompletableFuture<List<MatchInProgress>> getSummary() {
+        return call(service::getSummary);
+    }
+
+    public CompletableFuture<List<MatchInProgress>> getSummary(int offset, int limit) {
+        return call(() -> service.getSummary(offset, limit));
+    }
+
+    public CompletableFuture<List<MatchInProgress>> getSummary(String ranking, int offset, int limit) {
+        return call(() -> service.getSummary(ranking, offset, limit));
+    }
+
+    public CompletableFuture<MatchInProgress> getMatch(String team) {
+        return call(() -> service.getMatch(team));
+    }
+
+    public CompletableFuture<Integer> getRank(String team) {
+        return call(() -> service.getRank(team));
+    }
+
+    public CompletableFuture<RankedMatch> getRankedMatch(String team) {
+        return call(() -> service.getRankedMatch(team));
+    }
+
+    public CompletableFuture<List<OperationResult>> applyBatch(List<ScoreBoardOperation> operations) {
+        return call(() -> service.applyBatch(operations));
+    }
+
+    public CompletableFuture<SummaryChanges> getChangesSince(long sequence) {
+        return call(() -> service.getChangesSince(sequence));
+    }
+
+    /**
+     * The blocking service, for the calls which are cheap enough to make directly, like getTeamId
+     */
+    public ScoreBoardService getService() {
+        return service;
+    }
+
+    /**
+     * Takes no more calls, with onVirtualThreads it also waits for the running calls to finish
+     */
+    @Override
+    public void close() {
+        if(ownsExecutor) {
+            ((ExecutorService) executor).close();
+        }
+    }
+
+    /**
+     * The future fails with ScoreBoardException if the executor takes no more calls
+     * Unlike supplyAsync, which wraps the exception of the call in a CompletionException, the future fails with the exception itself
+     */
+    private <T> CompletableFuture<T> call(Supplier<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(call.get());
+                } catch (Throwable e) {
+                    //Log it so that it may be debugged
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            //Log it so that it may be debugged
+            future.completeExceptionally(new ScoreBoardException("The service takes no more calls", e));
+        }
+        return future;
+    }
+}
@@ -1,32 +1,63 @@
 package org.example.serviceimpl;
 
 import org.example.ScoreBoardService;
+import org.example.ingestion.BackpressurePolicy;
+import org.example.ingestion.ScoreBoardIngestion;
 import org.example.model.MatchInProgress;
+import org.example.model.OperationResult;
+import org.example.model.RankedMatch;
+import org.example.model.ScoreBoardChange;
+import org.example.model.ScoreBoardOperation;
+import org.example.model.SummaryChanges;
+import org.example.publisher.ScoreBoardPublisher;
 import org.example.repository.ScoreBoardDataStore;
 import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.example.repository.impl.MappedSnapshotFile;
 
 import java.time.OffsetDateTime;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-
-import static org.example.model.Constants.AWAYTEAM;
-import static org.example.model.Constants.HOMETEAM;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
 
 public class FootballWCScoreBoardServiceImpl implements ScoreBoardService {
 
     private final ScoreBoardDataStore scoreBoardDataStore;
+    private volatile ScoreBoardPublisher changePublisher; //Created with the first subscriber
 
     public FootballWCScoreBoardServiceImpl(Comparator<MatchInProgress> comparator) {
-        scoreBoardDataStore = FootballWorldcupScoreboard.getScoreBoard(comparator);
+        this(FootballWorldcupScoreboard.getScoreBoard(comparator));
+    }
+
+    /**
+     * Use any implementation of the data store, for example SnapshotFootballWorldcupScoreboard
+     */
+    public FootballWCScoreBoardServiceImpl(ScoreBoardDataStore scoreBoardDataStore) {
+        this.scoreBoardDataStore = scoreBoardDataStore;
     }
+
+    /**
+     * Warm restart, the empty data store is rebuilt from the last dump of the snapshot file before the service starts
+     * Without any dump yet the service starts empty, a torn or corrupt dump is refused with ScoreBoardException
+     */
+    public static FootballWCScoreBoardServiceImpl restoreFrom(MappedSnapshotFile snapshotFile, ScoreBoardDataStore scoreBoardDataStore) {
+        if(snapshotFile.exists()) {
+            snapshotFile.restoreInto(scoreBoardDataStore);
+        }
+        return new FootballWCScoreBoardServiceImpl(scoreBoardDataStore);
+    }
+
+    /**
+     * An asynchronous front end for the writes of the feeds, applied by a single writer thread in batches to the data store of this service
+     * The reads of this service see every write once its future has completed
+     */
+    public ScoreBoardIngestion startIngestion(int capacity, int maxBatchSize, BackpressurePolicy policy) {
+        return ScoreBoardIngestion.start(scoreBoardDataStore, capacity, maxBatchSize, policy);
+    }
+
     @Override
     public boolean startNewMatch(OffsetDateTime time, String homeTeam, String awayTeam) {
-        Map<String, String> teams = new HashMap<>();
-        teams.put(HOMETEAM, homeTeam);
-        teams.put(AWAYTEAM, awayTeam);
-        MatchInProgress matchInProgress = new MatchInProgress(time, teams);
+        MatchInProgress matchInProgress = new MatchInProgress(time, homeTeam, awayTeam);
         return scoreBoardDataStore.add(matchInProgress);
     }
 
@@ -44,4 +75,78 @@ public class FootballWCScoreBoardServiceImpl implements ScoreBoardService {
     public List<MatchInProgress> getSummary() {
         return scoreBoardDataStore.getSummary();
     }
+
+    @Override
+    public int getTeamId(String team) {
+        return scoreBoardDataStore.getTeamId(team);
+    }
+
+    @Override
+    public boolean updateScore(int teamId, int homeTeamScore, int awayTeamScore) {
+        return scoreBoardDataStore.setScore(teamId, homeTeamScore, awayTeamScore);
+    }
+
+    @Override
+    public boolean finishMatch(int teamId) {
+        return scoreBoardDataStore.remove(teamId);
+    }
+
+    @Override
+    public List<MatchInProgress> getSummary(int offset, int limit) {
+        return scoreBoardDataStore.getSummary(offset, limit);
+    }
+
+    @Override
+    public List<MatchInProgress> getSummary(String ranking, int offset, int limit) {
+        return scoreBoardDataStore.getSummary(ranking, offset, limit);
+    }
+
+    @Override
+    public MatchInProgress getMatch(String team) {
+        return team == null ? null : scoreBoardDataStore.get(team);
+    }
+
+    @Override
+    public int getRank(String team) {
+        return scoreBoardDataStore.getRank(team);
+    }
+
+    @Override
+    public RankedMatch getRankedMatch(String team) {
+        return scoreBoardDataStore.getRankedMatch(team);
+    }
+
+    @Override
+    public List<OperationResult> applyBatch(List<ScoreBoardOperation> operations) {
+        return scoreBoardDataStore.applyBatch(operations);
+    }
+
+    @Override
+    public SummaryChanges getChangesSince(long sequence) {
+        return scoreBoardDataStore.getChangesSince(sequence);
+    }
+
+    @Override
+    public long getLastSequence() {
+        return scoreBoardDataStore.getLastSequence();
+    }
+
+    /**
+     * The changes are delivered on the common ForkJoinPool
+     */
+    @Override
+    public Flow.Publisher<ScoreBoardChange> getChangePublisher() {
+        ScoreBoardPublisher publisher = changePublisher;
+        if(publisher == null) {
+            synchronized (this) {
+                publisher = changePublisher;
+                if(publisher == null) {
+                    publisher = new ScoreBoardPublisher(ForkJoinPool.commonPool());
+                    scoreBoardDataStore.addChangeListener(publisher::publish);
+                    changePublisher = publisher;
+                }
+            }
+        }
+        return publisher;
+    }
 }
@@ -0,0 +1,88 @@
+package org.example.tests;
+
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MatchComparator;
+import org.example.model.MatchInProgress;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.example.serviceimpl.AsyncScoreBoardService;
+import org.example.serviceimpl.FootballWCScoreBoardServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.model.Constants.*;
+
+public class AsyncScoreBoardServiceTest {
+
+    /**
+     * Every call completes with the result of the blocking service, a call which throws fails its future with that exception
+     */
+    @Test
+    public void testCallsComplete() throws Exception {
+        FootballWCScoreBoardServiceImpl service = new FootballWCScoreBoardServiceImpl(new MatchComparator());
+        try (AsyncScoreBoardService async = AsyncScoreBoardService.onVirtualThreads(service)) {
+            Assertions.assertTrue(async.startNewMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA).get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(async.updateScore(MEXICO, 0, 5).get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(5, async.getMatch(CANADA).get(5, TimeUnit.SECONDS).getAwayTeamScore());
+            Assertions.assertEquals(0, async.getRank(MEXICO).get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals(1, async.getSummary(0, 10).get(5, TimeUnit.SECONDS).size());
+
+            ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> async.updateScore(ITALY, 1, 0).get(5, TimeUnit.SECONDS));
+            Assertions.assertInstanceOf(ScoreBoardException.class, e.getCause());
+            Throwable thrown = async.finishMatch(ITALY).handle((result, failure) -> failure).get(5, TimeUnit.SECONDS);
+            Assertions.assertInstanceOf(ScoreBoardException.class, thrown); //Not wrapped in a CompletionException
+
+            Assertions.assertTrue(async.finishMatch(MEXICO).get(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(async.getSummary().get(5, TimeUnit.SECONDS).isEmpty());
+        }
+    }
+
+    /**
+     * Thousands of virtual threads wait for the lock of the data store without holding on to their carrier threads,
+     * so another virtual thread still runs, and every update is applied once the lock is released
+     */
+    @Test
+    public void testWaitingCallsDoNotPinCarriers() throws Exception {
+        FootballWorldcupScoreboard dataStore = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        FootballWCScoreBoardServiceImpl service = new FootballWCScoreBoardServiceImpl(dataStore);
+        service.startNewMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            AsyncScoreBoardService async = AsyncScoreBoardService.on(service, executor);
+            List<CompletableFuture<Boolean>> updates = new ArrayList<>();
+            dataStore.getLock().lock();
+            try {
+                for(int goal = 1; goal <= 5_000; goal++) {
+                    updates.add(async.updateScore(MEXICO, goal, 0));
+                }
+                Assertions.assertEquals(42, CompletableFuture.supplyAsync(() -> 42, executor).get(5, TimeUnit.SECONDS));
+                Assertions.assertTrue(updates.stream().noneMatch(CompletableFuture::isDone));
+            } finally {
+                dataStore.getLock().unlock();
+            }
+            CompletableFuture.allOf(updates.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+            MatchInProgress match = service.getMatch(MEXICO);
+            Assertions.assertEquals(5_000, match.getVersion());
+        }
+    }
+
+    /**
+     * A closed service takes no more calls
+     */
+    @Test
+    public void testClosed() {
+        AsyncScoreBoardService async = AsyncScoreBoardService.onVirtualThreads(new FootballWCScoreBoardServiceImpl(new MatchComparator()));
+        async.close();
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> async.getSummary().get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(ScoreBoardException.class, e.getCause());
+        Assertions.assertThrows(ScoreBoardException.class, () -> AsyncScoreBoardService.onVirtualThreads(null));
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.tests;
+
+import org.example.ScoreBoardService;
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MatchComparator;
+import org.example.model.MatchInProgress;
+import org.example.model.OperationResult;
+import org.example.model.ScoreBoardOperation;
+import org.example.repository.ScoreBoardDataStore;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.example.repository.impl.SnapshotFootballWorldcupScoreboard;
+import org.example.repository.impl.StampedLockFootballWorldcupScoreboard;
+import org.example.serviceimpl.FootballWCScoreBoardServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.example.model.Constants.*;
+
+public class BatchOperationTest {
+
+    /**
+     * Start three matches, update the scores and finish one in a single batch
+     * Following is the summary
+     * 1. Spain 10 - Brazil 2
+     * 2. Germany 2 - France 2
+     */
+    @Test
+    public void testMixedBatch() {
+        for(ScoreBoardDataStore repo : allDataStores()) {
+            OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+            List<OperationResult> results = repo.applyBatch(Arrays.asList(
+                    ScoreBoardOperation.startMatch(utc, MEXICO, CANADA),
+                    ScoreBoardOperation.startMatch(utc.plusNanos(1000), SPAIN, BRAZIL),
+                    ScoreBoardOperation.startMatch(utc.plusNanos(2000), GERMANY, FRANCE),
+                    ScoreBoardOperation.updateScore(SPAIN, 1, 0),
+                    ScoreBoardOperation.updateScore(BRAZIL, 10, 2),
+                    ScoreBoardOperation.updateScore(GERMANY, 2, 2),
+                    ScoreBoardOperation.updateScore(MEXICO, 0, 1),
+                    ScoreBoardOperation.finishMatch(CANADA)));
+
+            Assertions.assertEquals(8, results.size());
+            for(OperationResult result : results) {
+                Assertions.assertTrue(result.isSuccess(), result.getMessage());
+            }
+            List<MatchInProgress> summary = repo.getSummary();
+            Assertions.assertEquals(2, summary.size());
+            Assertions.assertEquals(SPAIN, summary.get(0).getHomeTeam());
+            Assertions.assertEquals(10, summary.get(0).getHomeTeamScore());
+            Assertions.assertEquals(GERMANY, summary.get(1).getHomeTeam());
+            Assertions.assertNull(repo.get(MEXICO));
+        }
+    }
+
+    /**
+     * A failed operation is reported and does not stop the rest of the batch
+     */
+    @Test
+    public void testFailedOperationsAreReported() {
+        for(ScoreBoardDataStore repo : allDataStores()) {
+            OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+            List<OperationResult> results = repo.applyBatch(Arrays.asList(
+                    ScoreBoardOperation.startMatch(utc, ARGENTINA, AUSTRALIA),
+                    ScoreBoardOperation.startMatch(utc, ARGENTINA, ITALY),
+                    ScoreBoardOperation.updateScore(MEXICO, 1, 0),
+                    ScoreBoardOperation.startMatch(null, URUGUAY, ITALY),
+                    ScoreBoardOperation.finishMatch(null),
+                    null,
+                    ScoreBoardOperation.updateScore(ARGENTINA, 3, 1)));
+
+            Assertions.assertTrue(results.get(0).isSuccess());
+            Assertions.assertFalse(results.get(1).isSuccess());
+            Assertions.assertNotNull(results.get(1).getMessage());
+            Assertions.assertFalse(results.get(2).isSuccess());
+            Assertions.assertFalse(results.get(3).isSuccess());
+            Assertions.assertFalse(results.get(4).isSuccess());
+            Assertions.assertFalse(results.get(5).isSuccess());
+            Assertions.assertTrue(results.get(6).isSuccess());
+
+            List<MatchInProgress> summary = repo.getSummary();
+            Assertions.assertEquals(1, summary.size());
+            Assertions.assertEquals(3, summary.get(0).getHomeTeamScore());
+            Assertions.assertEquals(1, summary.get(0).getAwayTeamScore());
+        }
+    }
+
+    /**
+     * The batch goes through the service in the same way
+     */
+    @Test
+    public void testServiceBatch() throws InterruptedException {
+        ScoreBoardService service = new FootballWCScoreBoardServiceImpl(new MatchComparator());
+        service.startNewMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA);
+        Thread.sleep(50);
+        service.startNewMatch(OffsetDateTime.now(ZoneOffset.UTC), URUGUAY, ITALY);
+
+        List<ScoreBoardOperation> operations = new ArrayList<>();
+        for(int goals = 1; goals <= 5; goals++) {
+            operations.add(ScoreBoardOperation.updateScore(MEXICO, 0, goals));
+        }
+        List<OperationResult> results = service.applyBatch(operations);
+        Assertions.assertEquals(5, results.size());
+
+        List<MatchInProgress> summary = service.getSummary();
+        Assertions.assertEquals(MEXICO, summary.get(0).getHomeTeam());
+        Assertions.assertEquals(5, summary.get(0).getAwayTeamScore());
+        Assertions.assertEquals(URUGUAY, summary.get(1).getHomeTeam());
+        Assertions.assertThrows(ScoreBoardException.class, () -> service.applyBatch(null));
+    }
+
+    /**
+     * An unexpected exception in the middle of a batch still puts the matches touched so far back in the summary
+     * The comparator fails once, when the match of Spain is taken out of the summary, the stores keep no changes
+     * so that the batch does not count the old ranks first
+     */
+    @Test
+    public void testUnexpectedExceptionKeepsSummary() {
+        AtomicBoolean armed = new AtomicBoolean();
+        MatchComparator matchComparator = new MatchComparator();
+        Comparator<MatchInProgress> comparator = (a, b) -> {
+            if(a.getHomeTeam().equals(SPAIN) && b.getHomeTeam().equals(SPAIN) && armed.getAndSet(false)) {
+                throw new IllegalStateException("Comparator failed");
+            }
+            return matchComparator.compare(a, b);
+        };
+        for(ScoreBoardDataStore repo : Arrays.asList(FootballWorldcupScoreboard.getScoreBoard(comparator, 0),
+                SnapshotFootballWorldcupScoreboard.getScoreBoard(comparator, 0), StampedLockFootballWorldcupScoreboard.getScoreBoard(comparator))) {
+            OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+            repo.add(new MatchInProgress(utc, MEXICO, CANADA));
+            repo.add(new MatchInProgress(utc.plusNanos(1000), SPAIN, BRAZIL));
+            armed.set(true);
+            Assertions.assertThrows(IllegalStateException.class, () -> repo.applyBatch(Arrays.asList(
+                    ScoreBoardOperation.updateScore(MEXICO, 1, 0),
+                    ScoreBoardOperation.updateScore(SPAIN, 1, 0))));
+
+            List<MatchInProgress> summary = repo.getSummary();
+            Assertions.assertEquals(2, summary.size());
+            Assertions.assertEquals(MEXICO, summary.get(0).getHomeTeam());
+            Assertions.assertEquals(1, summary.get(0).getHomeTeamScore());
+            Assertions.assertTrue(repo.setScore(SPAIN, 2, 0)); //The lock was released
+        }
+    }
+
+    private static List<ScoreBoardDataStore> allDataStores() {
+        return Arrays.asList(FootballWorldcupScoreboard.getScoreBoard(new MatchComparator()),
+                SnapshotFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()),
+                StampedLockFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()));
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.tests;
+
+import org.example.ScoreBoardService;
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MatchComparator;
+import org.example.model.*;
+import org.example.repository.ScoreBoardDataStore;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.example.repository.impl.ShardedFootballWorldcupScoreboard;
+import org.example.repository.impl.SnapshotFootballWorldcupScoreboard;
+import org.example.repository.impl.StampedLockFootballWorldcupScoreboard;
+import org.example.serviceimpl.FootballWCScoreBoardServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.example.model.Constants.*;
+import static org.example.tests.MatchFixtures.newMatch;
+
+public class ChangeFeedTest {
+
+    /**
+     * Every change is numbered and carries the old and the new rank
+     * a. Mexico 0 - Canada 0 Started 1st
+     * b. Spain 0 - Brazil 0 Started 2nd, ranked first
+     * Mexico scores, moves from rank 1 to rank 0, then the match finishes
+     */
+    @Test
+    public void testChangesCarrySequenceAndRanks() throws InterruptedException {
+        ScoreBoardService service = new FootballWCScoreBoardServiceImpl(new MatchComparator());
+        service.startNewMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA);
+        Thread.sleep(50);
+        service.startNewMatch(OffsetDateTime.now(ZoneOffset.UTC), SPAIN, BRAZIL);
+        service.updateScore(MEXICO, 1, 0);
+        service.finishMatch(CANADA);
+
+        SummaryChanges changes = service.getChangesSince(0);
+        Assertions.assertFalse(changes.isFullSnapshot());
+        Assertions.assertEquals(4, changes.getLastSequence());
+        List<ScoreBoardChange> list = changes.getChanges();
+        Assertions.assertEquals(4, list.size());
+
+        assertChange(list.get(0), 1, ScoreBoardChange.Type.STARTED, MEXICO, -1, 0);
+        assertChange(list.get(1), 2, ScoreBoardChange.Type.STARTED, SPAIN, -1, 0);
+        assertChange(list.get(2), 3, ScoreBoardChange.Type.SCORE_CHANGED, MEXICO, 1, 0);
+        Assertions.assertEquals(1, list.get(2).getMatch().getHomeTeamScore());
+        assertChange(list.get(3), 4, ScoreBoardChange.Type.FINISHED, MEXICO, 0, -1);
+
+        SummaryChanges tail = service.getChangesSince(3);
+        Assertions.assertEquals(1, tail.getChanges().size());
+        Assertions.assertEquals(4, tail.getChanges().get(0).getSequence());
+        Assertions.assertTrue(service.getChangesSince(4).getChanges().isEmpty());
+    }
+
+    /**
+     * A client which fell behind the bounded log gets the full summary, so does a client with an unknown sequence
+     */
+    @Test
+    public void testSlowClientGetsFullSnapshot() {
+        FootballWorldcupScoreboard repo = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 2);
+        ScoreBoardService service = new FootballWCScoreBoardServiceImpl(repo);
+        service.startNewMatch(OffsetDateTime.now(ZoneOffset.UTC), ARGENTINA, AUSTRALIA);
+        service.updateScore(ARGENTINA, 1, 0);
+        service.updateScore(ARGENTINA, 2, 0);
+
+        Assertions.assertFalse(service.getChangesSince(1).isFullSnapshot());
+        SummaryChanges changes = service.getChangesSince(0);
+        Assertions.assertTrue(changes.isFullSnapshot());
+        Assertions.assertNull(changes.getChanges());
+        Assertions.assertEquals(3, changes.getLastSequence());
+        Assertions.assertEquals(1, changes.getSummary().size());
+        Assertions.assertEquals(2, changes.getSummary().get(0).getHomeTeamScore());
+
+        Assertions.assertTrue(service.getChangesSince(99).isFullSnapshot());
+        Assertions.assertTrue(service.getChangesSince(-1).isFullSnapshot());
+    }
+
+    /**
+     * With the change log disabled every client gets the full summary, the sequence still counts the changes
+     */
+    @Test
+    public void testDisabledChangeLog() {
+        FootballWorldcupScoreboard repo = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 0);
+        repo.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), ARGENTINA, AUSTRALIA));
+        SummaryChanges changes = repo.getChangesSince(0);
+        Assertions.assertTrue(changes.isFullSnapshot());
+        Assertions.assertEquals(1, changes.getLastSequence());
+        Assertions.assertTrue(repo.getChangesSince(1).getChanges().isEmpty());
+    }
+
+    /**
+     * A batch is logged as one change per touched match
+     * A match started and finished within the batch is not logged
+     */
+    @Test
+    public void testBatchIsLoggedOncePerMatch() {
+        FootballWorldcupScoreboard repo = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        repo.add(newMatch(utc, MEXICO, CANADA));
+        repo.add(newMatch(utc.plusNanos(1000), GERMANY, FRANCE));
+        long sequence = repo.getChangesSince(0).getLastSequence();
+
+        repo.applyBatch(Arrays.asList(
+                ScoreBoardOperation.updateScore(MEXICO, 1, 0),
+                ScoreBoardOperation.updateScore(MEXICO, 2, 0),
+                ScoreBoardOperation.startMatch(utc.plusNanos(2000), SPAIN, BRAZIL),
+                ScoreBoardOperation.startMatch(utc.plusNanos(3000), URUGUAY, ITALY),
+                ScoreBoardOperation.finishMatch(ITALY),
+                ScoreBoardOperation.finishMatch(GERMANY)));
+
+        List<ScoreBoardChange> changes = repo.getChangesSince(sequence).getChanges();
+        Assertions.assertEquals(3, changes.size());
+        assertChange(changes.get(0), sequence + 1, ScoreBoardChange.Type.SCORE_CHANGED, MEXICO, 1, 0);
+        Assertions.assertEquals(2, changes.get(0).getMatch().getHomeTeamScore());
+        assertChange(changes.get(1), sequence + 2, ScoreBoardChange.Type.STARTED, SPAIN, -1, 1);
+        assertChange(changes.get(2), sequence + 3, ScoreBoardChange.Type.FINISHED, GERMANY, 0, -1);
+    }
+
+    /**
+     * A data store which does not keep its changes says so
+     */
+    @Test
+    public void testUnsupportedDataStore() {
+        ScoreBoardService service = new FootballWCScoreBoardServiceImpl(StampedLockFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()));
+        Assertions.assertThrows(ScoreBoardException.class, () -> service.getChangesSince(0));
+    }
+
+    /**
+     * Every data store of this library counts its changes, also those which do not keep them
+     */
+    @Test
+    public void testLastSequenceGrowsInEveryDataStore() {
+        List<ScoreBoardDataStore> dataStores = Arrays.asList(
+                FootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 0),
+                SnapshotFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()),
+                StampedLockFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()),
+                ShardedFootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 4));
+        for(ScoreBoardDataStore dataStore : dataStores) {
+            long start = dataStore.getLastSequence();
+            dataStore.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA));
+            long started = dataStore.getLastSequence();
+            dataStore.setScore(MEXICO, 1, 0);
+            long scored = dataStore.getLastSequence();
+            Assertions.assertTrue(start < started && started < scored, dataStore.getClass().getSimpleName());
+        }
+    }
+
+    private static void assertChange(ScoreBoardChange change, long sequence, ScoreBoardChange.Type type, String homeTeam, int oldRank, int newRank) {
+        Assertions.assertEquals(sequence, change.getSequence());
+        Assertions.assertEquals(type, change.getType());
+        Assertions.assertEquals(homeTeam, change.getMatch().getHomeTeam());
+        Assertions.assertEquals(oldRank, change.getOldRank());
+        Assertions.assertEquals(newRank, change.getNewRank());
+    }
+}
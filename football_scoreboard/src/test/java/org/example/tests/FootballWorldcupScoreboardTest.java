@@ -2,8 +2,16 @@ package org.example.tests;
 
 import org.example.exception.ScoreBoardException;
 import org.example.helper.MatchComparator;
+import org.example.helper.TeamRegistry;
 import org.example.model.MatchInProgress;
+import org.example.model.RankedMatch;
+import org.example.repository.ScoreBoardDataStore;
 import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.example.repository.impl.OffHeapFootballWorldcupScoreboard;
+import org.example.repository.impl.RingBufferFootballWorldcupScoreboard;
+import org.example.repository.impl.ShardedFootballWorldcupScoreboard;
+import org.example.repository.impl.SnapshotFootballWorldcupScoreboard;
+import org.example.repository.impl.StampedLockFootballWorldcupScoreboard;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -400,4 +408,131 @@ public class FootballWorldcupScoreboardTest {
         Assertions.assertEquals(ARGENTINA, summary.get(2).getHomeTeam());
         Assertions.assertEquals(GERMANY, summary.get(3).getHomeTeam());
     }
+
+    /**
+     * A match which was handed out is never changed by the repository
+     * A score update publishes the next version of the match, for both teams and in the summary
+     */
+    @Test
+    public void testSetScorePublishesNewVersion() {
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        Map<String, String> teams = new HashMap<>();
+        teams.put(HOMETEAM, ARGENTINA);
+        teams.put(AWAYTEAM, AUSTRALIA);
+        FootballWorldcupScoreboard repo = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        repo.add(new MatchInProgress(utc, teams));
+
+        MatchInProgress before = repo.get(ARGENTINA);
+        List<MatchInProgress> summaryBefore = repo.getSummary();
+        repo.setScore(ARGENTINA, 3, 1);
+
+        Assertions.assertEquals(0, before.getHomeTeamScore()); //The old version is unchanged
+        Assertions.assertEquals(0, before.getVersion());
+        Assertions.assertEquals(0, summaryBefore.get(0).getHomeTeamScore());
+
+        MatchInProgress after = repo.get(AUSTRALIA);
+        Assertions.assertSame(after, repo.get(ARGENTINA));
+        Assertions.assertSame(after, repo.getSummary().get(0));
+        Assertions.assertEquals(1, after.getVersion());
+        Assertions.assertEquals(3, after.getHomeTeamScore());
+        Assertions.assertEquals(1, after.getAwayTeamScore());
+        Assertions.assertEquals(before, after); //Still the same match
+        Assertions.assertEquals(1, repo.getSummary().size());
+
+        repo.setScore(AUSTRALIA, 3, 2);
+        Assertions.assertEquals(2, repo.get(ARGENTINA).getVersion());
+        Assertions.assertTrue(repo.remove(ARGENTINA));
+        Assertions.assertTrue(repo.getSummary().isEmpty());
+    }
+
+    /**
+     * The id of either team finds the match, updates it and finishes it like the name does
+     */
+    @Test
+    public void testTeamIds() {
+        FootballWorldcupScoreboard repo = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        repo.add(new MatchInProgress(utc, ARGENTINA, AUSTRALIA));
+        repo.add(new MatchInProgress(utc.plusSeconds(1), SPAIN, BRAZIL));
+        int argentina = repo.getTeamId(ARGENTINA);
+        int australia = repo.getTeamId(AUSTRALIA);
+        Assertions.assertNotEquals(argentina, australia);
+        Assertions.assertSame(repo.get(ARGENTINA), repo.get(australia));
+
+        Assertions.assertTrue(repo.setScore(australia, 2, 0));
+        Assertions.assertEquals(2, repo.get(ARGENTINA).getHomeTeamScore());
+        Assertions.assertEquals(ARGENTINA, repo.getSummary().get(0).getHomeTeam());
+        Assertions.assertEquals(0, repo.getRank(AUSTRALIA));
+
+        Assertions.assertTrue(repo.remove(argentina));
+        Assertions.assertNull(repo.get(australia));
+        Assertions.assertNull(repo.get(AUSTRALIA));
+        Assertions.assertEquals(1, repo.getSummary().size());
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.setScore(argentina, 3, 0));
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.remove(TeamRegistry.NO_TEAM));
+    }
+
+    /**
+     * A team which is not in the registry yet is registered when its first match starts
+     */
+    @Test
+    public void testNewTeamIsRegistered() {
+        TeamRegistry registry = new TeamRegistry();
+        FootballWorldcupScoreboard repo = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 16, registry);
+        Assertions.assertEquals(TeamRegistry.NO_TEAM, repo.getTeamId("Japan"));
+        repo.add(new MatchInProgress(OffsetDateTime.now(ZoneOffset.UTC), "Japan", "Korea"));
+        Assertions.assertEquals(2, registry.size());
+        int korea = registry.idOf("Korea");
+        Assertions.assertEquals(korea, repo.getTeamId("Korea"));
+        Assertions.assertTrue(repo.setScore(korea, 0, 1));
+        Assertions.assertEquals(1, repo.get("Japan").getAwayTeamScore());
+    }
+
+    /**
+     * The match comes with its rank, also from a data store which only has the default, like the off heap one
+     */
+    @Test
+    public void testRankedMatch() {
+        for(ScoreBoardDataStore repo : List.of(FootballWorldcupScoreboard.getScoreBoard(new MatchComparator()),
+                OffHeapFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()))) {
+            OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+            repo.add(new MatchInProgress(utc, ARGENTINA, AUSTRALIA));
+            repo.add(new MatchInProgress(utc.plusSeconds(1), SPAIN, BRAZIL));
+            repo.setScore(ARGENTINA, 1, 0);
+
+            RankedMatch rankedMatch = repo.getRankedMatch(AUSTRALIA);
+            Assertions.assertEquals(ARGENTINA, rankedMatch.getMatch().getHomeTeam());
+            Assertions.assertEquals(1, rankedMatch.getMatch().getVersion());
+            Assertions.assertEquals(0, rankedMatch.getRank());
+            Assertions.assertEquals(1, repo.getRankedMatch(SPAIN).getRank());
+            Assertions.assertNull(repo.getRankedMatch(ITALY));
+            Assertions.assertNull(repo.getRankedMatch(null));
+        }
+    }
+
+    /**
+     * Every data store counts its live matches, the same as the size of its summary
+     */
+    @Test
+    public void testSize() {
+        RingBufferFootballWorldcupScoreboard ringBuffer = RingBufferFootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        try {
+            for(ScoreBoardDataStore repo : List.of(FootballWorldcupScoreboard.getScoreBoard(new MatchComparator()),
+                    SnapshotFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()),
+                    StampedLockFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()),
+                    ShardedFootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 4),
+                    OffHeapFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()), ringBuffer)) {
+                OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+                Assertions.assertEquals(0, repo.size());
+                repo.add(new MatchInProgress(utc, ARGENTINA, AUSTRALIA));
+                repo.add(new MatchInProgress(utc.plusSeconds(1), SPAIN, BRAZIL));
+                repo.add(new MatchInProgress(utc.plusSeconds(2), MEXICO, CANADA));
+                repo.remove(SPAIN);
+                Assertions.assertEquals(2, repo.size());
+                Assertions.assertEquals(repo.getSummary().size(), repo.size());
+            }
+        } finally {
+            ringBuffer.close();
+        }
+    }
 }
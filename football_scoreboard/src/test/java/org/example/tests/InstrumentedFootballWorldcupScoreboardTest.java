@@ -0,0 +1,165 @@
+package org.example.tests;
+
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MatchComparator;
+import org.example.metrics.MetricsSnapshot;
+import org.example.metrics.ScoreBoardMetrics;
+import org.example.metrics.ScoreBoardMetrics.Operation;
+import org.example.model.ScoreBoardOperation;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.example.repository.impl.InstrumentedFootballWorldcupScoreboard;
+import org.example.repository.impl.StampedLockFootballWorldcupScoreboard;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.model.Constants.*;
+import static org.example.tests.MatchFixtures.newMatch;
+
+public class InstrumentedFootballWorldcupScoreboardTest {
+
+    /**
+     * Every call is counted per operation, a write fails if it returns false or throws
+     * A read fails only if it throws, a team which is not playing is no failure
+     */
+    @Test
+    public void testOperationsAreCounted() {
+        ScoreBoardMetrics metrics = new ScoreBoardMetrics();
+        InstrumentedFootballWorldcupScoreboard repo = InstrumentedFootballWorldcupScoreboard.getScoreBoard(
+                FootballWorldcupScoreboard.getScoreBoard(new MatchComparator()), metrics);
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        repo.add(newMatch(utc, MEXICO, CANADA));
+        repo.add(newMatch(utc.plusSeconds(1), SPAIN, BRAZIL));
+        repo.setScore(MEXICO, 0, 5);
+        repo.setScore(repo.getTeamId(BRAZIL), 10, 2);
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.setScore(ITALY, 1, 0));
+        Assertions.assertFalse(repo.setScore((String) null, 1, 0));
+        repo.remove(SPAIN);
+        Assertions.assertNotNull(repo.get(CANADA));
+        Assertions.assertNull(repo.get(SPAIN));
+        Assertions.assertEquals(0, repo.getRank(MEXICO));
+        Assertions.assertEquals(-1, repo.getRank(SPAIN));
+        Assertions.assertEquals(1, repo.size());
+        Assertions.assertEquals(1, repo.getSummary().size());
+        repo.getSummary(0, 10);
+        repo.applyBatch(Arrays.asList(ScoreBoardOperation.startMatch(utc.plusSeconds(2), URUGUAY, ITALY)));
+
+        Assertions.assertEquals(2, metrics.getStatistics(Operation.ADD).getCount());
+        Assertions.assertEquals(4, metrics.getStatistics(Operation.SET_SCORE).getCount());
+        Assertions.assertEquals(2, metrics.getStatistics(Operation.SET_SCORE).getFailures());
+        Assertions.assertEquals(1, metrics.getStatistics(Operation.REMOVE).getCount());
+        Assertions.assertEquals(2, metrics.getStatistics(Operation.GET).getCount());
+        Assertions.assertEquals(0, metrics.getStatistics(Operation.GET).getFailures());
+        Assertions.assertEquals(2, metrics.getStatistics(Operation.GET_RANK).getCount());
+        Assertions.assertEquals(0, metrics.getStatistics(Operation.GET_RANK).getFailures());
+        Assertions.assertEquals(2, metrics.getStatistics(Operation.GET_SUMMARY).getCount());
+        Assertions.assertEquals(1, metrics.getStatistics(Operation.APPLY_BATCH).getCount());
+        Assertions.assertEquals(8, metrics.getLockWait().getCount()); //One per write on the monitor
+        Assertions.assertEquals(2, metrics.getMatchCount());
+        Assertions.assertEquals(1, metrics.getLastSummarySize());
+        Assertions.assertTrue(metrics.getStatistics(Operation.ADD).getMaxNanos() > 0);
+
+        metrics.reset();
+        Assertions.assertEquals(0, metrics.getStatistics(Operation.ADD).getCount());
+        Assertions.assertEquals(0, metrics.getStatistics(Operation.SET_SCORE).getFailures());
+    }
+
+    /**
+     * A writer which waits for the lock of the data store records how long it waited
+     */
+    @Test
+    public void testLockWaitIsRecorded() throws InterruptedException {
+        ScoreBoardMetrics metrics = new ScoreBoardMetrics();
+        FootballWorldcupScoreboard dataStore = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        InstrumentedFootballWorldcupScoreboard repo = InstrumentedFootballWorldcupScoreboard.getScoreBoard(dataStore, metrics);
+        CountDownLatch holding = new CountDownLatch(1);
+        Thread writer;
+        dataStore.getLock().lock();
+        try {
+            writer = new Thread(() -> {
+                holding.countDown();
+                repo.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA));
+            });
+            writer.start();
+            holding.await();
+            Thread.sleep(50);
+        } finally {
+            dataStore.getLock().unlock();
+        }
+        writer.join();
+        Assertions.assertEquals(1, metrics.getLockWait().getCount());
+        Assertions.assertTrue(metrics.getLockWait().getMaxNanos() >= TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    /**
+     * A data store which does not lock its monitor records no lock wait
+     */
+    @Test
+    public void testNoLockWaitWithoutMonitor() {
+        ScoreBoardMetrics metrics = new ScoreBoardMetrics();
+        InstrumentedFootballWorldcupScoreboard repo = InstrumentedFootballWorldcupScoreboard.getScoreBoard(
+                StampedLockFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()), metrics);
+        repo.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA));
+        Assertions.assertEquals(1, metrics.getStatistics(Operation.ADD).getCount());
+        Assertions.assertEquals(0, metrics.getLockWait().getCount());
+    }
+
+    /**
+     * The metrics are readable through the platform MBean server
+     */
+    @Test
+    public void testMBean() throws Exception {
+        ScoreBoardMetrics metrics = new ScoreBoardMetrics();
+        InstrumentedFootballWorldcupScoreboard repo = InstrumentedFootballWorldcupScoreboard.getScoreBoard(
+                FootballWorldcupScoreboard.getScoreBoard(new MatchComparator()), metrics);
+        repo.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA));
+        ObjectName name = metrics.registerMBean("test-" + System.nanoTime());
+        try {
+            Assertions.assertEquals(1, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "MatchCount"));
+            CompositeData lockWait = (CompositeData) ManagementFactory.getPlatformMBeanServer().getAttribute(name, "LockWait");
+            Assertions.assertEquals(1L, lockWait.get("count"));
+            TabularData operations = (TabularData) ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Operations");
+            CompositeData add = (CompositeData) operations.get(new Object[]{"ADD"}).get("value");
+            Assertions.assertEquals(1L, add.get("count"));
+            Assertions.assertEquals(0L, add.get("failures"));
+        } finally {
+            metrics.unregisterMBean(name);
+        }
+        Assertions.assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+    }
+
+    /**
+     * The exporter is handed a snapshot once per period until it is closed
+     */
+    @Test
+    public void testExportPeriodically() throws Exception {
+        ScoreBoardMetrics metrics = new ScoreBoardMetrics();
+        InstrumentedFootballWorldcupScoreboard repo = InstrumentedFootballWorldcupScoreboard.getScoreBoard(
+                FootballWorldcupScoreboard.getScoreBoard(new MatchComparator()), metrics);
+        repo.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA));
+        BlockingQueue<MetricsSnapshot> exported = new ArrayBlockingQueue<>(100);
+        Closeable export = metrics.exportPeriodically(exported::offer, Duration.ofMillis(10));
+        try {
+            MetricsSnapshot snapshot = exported.poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(snapshot);
+            Assertions.assertEquals(1, snapshot.getStatistics(Operation.ADD).getCount());
+            Assertions.assertEquals(1, snapshot.getMatchCount());
+        } finally {
+            export.close();
+        }
+        Assertions.assertThrows(ScoreBoardException.class, () -> metrics.exportPeriodically(exported::offer, Duration.ZERO));
+    }
+}
@@ -0,0 +1,232 @@
+package org.example.tests;
+
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MatchComparator;
+import org.example.model.MatchInProgress;
+import org.example.model.ScoreBoardOperation;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.example.repository.impl.JournaledFootballWorldcupScoreboard;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.example.model.Constants.*;
+import static org.example.tests.MatchFixtures.newMatch;
+
+public class JournaledFootballWorldcupScoreboardTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Starts, score updates, a finish and a batch are replayed after a restart
+     * The restored summary has the same teams, scores and start times
+     */
+    @Test
+    public void testReplayAfterRestart() throws IOException {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<MatchInProgress> expected;
+        try (JournaledFootballWorldcupScoreboard repo = open(1, 0)) {
+            repo.add(newMatch(now, MEXICO, CANADA));
+            repo.add(newMatch(now.plusSeconds(1), SPAIN, BRAZIL));
+            repo.add(newMatch(now.plusSeconds(2), GERMANY, FRANCE));
+            repo.setScore(MEXICO, 0, 5);
+            repo.setScore(BRAZIL, 10, 2);
+            repo.remove(GERMANY);
+            repo.applyBatch(Arrays.asList(
+                    ScoreBoardOperation.startMatch(now.plusSeconds(3), URUGUAY, ITALY),
+                    ScoreBoardOperation.updateScore(URUGUAY, 6, 6),
+                    ScoreBoardOperation.updateScore(ARGENTINA, 1, 0))); //Fails, is not journaled
+            expected = repo.getSummary();
+        }
+
+        try (JournaledFootballWorldcupScoreboard restored = open(1, 0)) {
+            assertSameSummary(expected, restored.getSummary());
+            Assertions.assertNull(restored.get(GERMANY));
+            restored.setScore(SPAIN, 11, 2);
+            expected = restored.getSummary();
+        }
+        try (JournaledFootballWorldcupScoreboard restored = open(1, 0)) {
+            assertSameSummary(expected, restored.getSummary());
+        }
+    }
+
+    /**
+     * Writes by team id are journaled by name and replayed like the others
+     */
+    @Test
+    public void testTeamIdWritesAreReplayed() throws IOException {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<MatchInProgress> expected;
+        try (JournaledFootballWorldcupScoreboard repo = open(1, 0)) {
+            repo.add(newMatch(now, MEXICO, CANADA));
+            repo.add(newMatch(now.plusSeconds(1), SPAIN, BRAZIL));
+            repo.setScore(repo.getTeamId(CANADA), 0, 5);
+            repo.remove(repo.getTeamId(SPAIN));
+            expected = repo.getSummary();
+        }
+        try (JournaledFootballWorldcupScoreboard restored = open(1, 0)) {
+            assertSameSummary(expected, restored.getSummary());
+            Assertions.assertNull(restored.get(BRAZIL));
+        }
+    }
+
+    /**
+     * A record torn by a crash in the middle of a write is dropped, everything before it is restored
+     * and the journal goes on right after the last valid record
+     */
+    @Test
+    public void testTornRecordIsDropped() throws IOException {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        try (JournaledFootballWorldcupScoreboard repo = open(1, 0)) {
+            repo.add(newMatch(now, MEXICO, CANADA));
+            repo.setScore(MEXICO, 1, 0);
+            repo.setScore(MEXICO, 2, 0);
+        }
+        Path journal = directory.resolve("scoreboard.journal");
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (JournaledFootballWorldcupScoreboard restored = open(1, 0)) {
+            Assertions.assertEquals(1, restored.get(MEXICO).getHomeTeamScore());
+            restored.setScore(MEXICO, 3, 0);
+        }
+        try (JournaledFootballWorldcupScoreboard restored = open(1, 0)) {
+            Assertions.assertEquals(3, restored.get(MEXICO).getHomeTeamScore());
+        }
+    }
+
+    /**
+     * Every 4 changes the live matches are compacted into the snapshot and the journal starts again
+     * The restart replays the snapshot and the short journal written after it
+     */
+    @Test
+    public void testCompaction() throws IOException {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<MatchInProgress> expected;
+        long journalSize;
+        try (JournaledFootballWorldcupScoreboard repo = open(8, 4)) {
+            repo.add(newMatch(now, MEXICO, CANADA));
+            repo.add(newMatch(now.plusSeconds(1), SPAIN, BRAZIL));
+            for(int goal = 1; goal <= 20; goal++) {
+                repo.setScore(SPAIN, goal, 0);
+            }
+            repo.setScore(MEXICO, 0, 1);
+            expected = repo.getSummary();
+            journalSize = Files.size(directory.resolve("scoreboard.journal"));
+        }
+        Assertions.assertTrue(Files.exists(directory.resolve("scoreboard.snapshot")));
+        Assertions.assertTrue(journalSize < 100, "The journal was not compacted, size " + journalSize);
+
+        try (JournaledFootballWorldcupScoreboard restored = open(8, 4)) {
+            assertSameSummary(expected, restored.getSummary());
+        }
+    }
+
+    /**
+     * Two matches with the same score and the same start time keep their order in the summary
+     * over a restart from the compacted snapshot, and over one more restart after that
+     */
+    @Test
+    public void testTiedMatchesKeepTheirOrderAfterCompaction() throws IOException {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<MatchInProgress> expected;
+        try (JournaledFootballWorldcupScoreboard repo = open(1, 2)) {
+            repo.add(newMatch(now, MEXICO, CANADA));
+            repo.add(newMatch(now, SPAIN, BRAZIL));
+            expected = repo.getSummary();
+        }
+        Assertions.assertTrue(Files.exists(directory.resolve("scoreboard.snapshot")));
+
+        try (JournaledFootballWorldcupScoreboard restored = open(1, 2)) {
+            assertSameSummary(expected, restored.getSummary());
+            restored.add(newMatch(now, URUGUAY, ITALY)); //Started after the restored ones, so ranked first
+            Assertions.assertEquals(URUGUAY, restored.getSummary().get(0).getHomeTeam());
+            restored.setScore(URUGUAY, 1, 0);
+            restored.setScore(URUGUAY, 0, 0);
+            expected = restored.getSummary();
+        }
+        try (JournaledFootballWorldcupScoreboard restored = open(1, 2)) {
+            assertSameSummary(expected, restored.getSummary());
+        }
+    }
+
+    /**
+     * Concurrent writers share the forces of the journal, every acknowledged change is restored
+     */
+    @Test
+    public void testConcurrentWritersAreAllRestored() throws Exception {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        int matches = 8;
+        List<MatchInProgress> expected;
+        try (JournaledFootballWorldcupScoreboard repo = open(1, 0)) {
+            for(int i = 0; i < matches; i++) {
+                repo.add(newMatch(now.plusNanos(i * 1000L), "Home-" + i, "Away-" + i));
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for(int i = 0; i < matches; i++) {
+                    String team = "Home-" + i;
+                    futures.add(executor.submit(() -> {
+                        for(int goal = 1; goal <= 50; goal++) {
+                            repo.setScore(team, goal, 0);
+                        }
+                    }));
+                }
+                for(Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            expected = repo.getSummary();
+        }
+
+        try (JournaledFootballWorldcupScoreboard restored = open(1, 0)) {
+            assertSameSummary(expected, restored.getSummary());
+            Assertions.assertEquals(50, restored.get("Away-3").getHomeTeamScore());
+        }
+    }
+
+    /**
+     * The journal is replayed only into an empty data store
+     */
+    @Test
+    public void testDataStoreMustBeEmpty() {
+        FootballWorldcupScoreboard dataStore = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        dataStore.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA));
+        Assertions.assertThrows(ScoreBoardException.class, () -> JournaledFootballWorldcupScoreboard.getScoreBoard(dataStore, directory));
+        Assertions.assertThrows(ScoreBoardException.class, () -> JournaledFootballWorldcupScoreboard.getScoreBoard(
+                FootballWorldcupScoreboard.getScoreBoard(new MatchComparator()), directory, -1, 0));
+    }
+
+    private JournaledFootballWorldcupScoreboard open(int syncBatchSize, int compactionInterval) {
+        return JournaledFootballWorldcupScoreboard.getScoreBoard(FootballWorldcupScoreboard.getScoreBoard(new MatchComparator()),
+                directory, syncBatchSize, compactionInterval);
+    }
+
+    private static void assertSameSummary(List<MatchInProgress> expected, List<MatchInProgress> actual) {
+        Assertions.assertEquals(expected.size(), actual.size());
+        for(int i = 0; i < expected.size(); i++) {
+            Assertions.assertEquals(expected.get(i), actual.get(i));
+            Assertions.assertEquals(expected.get(i).getHomeTeamScore(), actual.get(i).getHomeTeamScore());
+            Assertions.assertEquals(expected.get(i).getAwayTeamScore(), actual.get(i).getAwayTeamScore());
+        }
+    }
+}
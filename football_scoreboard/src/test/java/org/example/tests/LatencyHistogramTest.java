@@ -0,0 +1,64 @@
+package org.example.tests;
+
+import org.example.metrics.LatencyHistogram;
+import org.example.metrics.OperationStatistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    /**
+     * An empty histogram reports zeros
+     */
+    @Test
+    public void testEmpty() {
+        OperationStatistics statistics = new LatencyHistogram().getStatistics(0);
+        Assertions.assertEquals(0, statistics.getCount());
+        Assertions.assertEquals(0, statistics.getP99Nanos());
+        Assertions.assertEquals(0, statistics.getMaxNanos());
+    }
+
+    /**
+     * Small values are exact, every percentile is within 1/32 above the exact value
+     */
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for(long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 100);
+        }
+        OperationStatistics statistics = histogram.getStatistics(3);
+        Assertions.assertEquals(100_000, statistics.getCount());
+        Assertions.assertEquals(3, statistics.getFailures());
+        Assertions.assertEquals(5_000_050, statistics.getMeanNanos());
+        Assertions.assertEquals(10_000_000, statistics.getMaxNanos());
+        assertClose(5_000_000, statistics.getP50Nanos());
+        assertClose(9_000_000, statistics.getP90Nanos());
+        assertClose(9_900_000, statistics.getP99Nanos());
+        assertClose(9_990_000, statistics.getP999Nanos());
+
+        LatencyHistogram small = new LatencyHistogram();
+        small.record(7);
+        small.record(-5); //Recorded as 0
+        Assertions.assertEquals(0, small.getStatistics(0).getP50Nanos());
+        Assertions.assertEquals(7, small.getStatistics(0).getP99Nanos());
+    }
+
+    /**
+     * The largest values do not overflow the buckets
+     */
+    @Test
+    public void testLargeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(1L << 62);
+        Assertions.assertEquals(Long.MAX_VALUE, histogram.getStatistics(0).getMaxNanos());
+        Assertions.assertEquals(Long.MAX_VALUE, histogram.getStatistics(0).getP99Nanos());
+        histogram.reset();
+        Assertions.assertEquals(0, histogram.getStatistics(0).getCount());
+    }
+
+    private static void assertClose(long expected, long actual) {
+        Assertions.assertTrue(actual >= expected && actual <= expected + expected / 32, "Expected about " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,175 @@
+package org.example.tests;
+
+import org.example.ScoreBoardService;
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MatchComparator;
+import org.example.model.MatchInProgress;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.example.repository.impl.MappedSnapshotFile;
+import org.example.serviceimpl.FootballWCScoreBoardServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.example.model.Constants.*;
+import static org.example.tests.MatchFixtures.newMatch;
+
+public class MappedSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Following is the summary dumped and restored by a new service
+     * 1. Spain 10 - Brazil 2
+     * 2. Mexico 0 - Canada 5
+     */
+    @Test
+    public void testWarmRestart() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        FootballWorldcupScoreboard repo = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        repo.add(newMatch(now, MEXICO, CANADA));
+        repo.add(newMatch(now.plusSeconds(1), SPAIN, BRAZIL));
+        repo.setScore(MEXICO, 0, 5);
+        repo.setScore(SPAIN, 10, 2);
+        MappedSnapshotFile snapshotFile = MappedSnapshotFile.of(directory.resolve("scoreboard.dump"));
+        snapshotFile.write(repo.getSummary());
+
+        ScoreBoardService service = FootballWCScoreBoardServiceImpl.restoreFrom(snapshotFile,
+                FootballWorldcupScoreboard.getScoreBoard(new MatchComparator()));
+        List<MatchInProgress> summary = service.getSummary();
+        Assertions.assertEquals(2, summary.size());
+        Assertions.assertEquals(repo.getSummary(), summary);
+        Assertions.assertEquals(SPAIN, summary.get(0).getHomeTeam());
+        Assertions.assertEquals(10, summary.get(0).getHomeTeamScore());
+        Assertions.assertEquals(5, summary.get(1).getAwayTeamScore());
+        Assertions.assertTrue(service.updateScore(CANADA, 1, 5));
+    }
+
+    /**
+     * Two matches with the same score and the same start time are restored in the order of the dump,
+     * a match started after the restart is ranked before both
+     */
+    @Test
+    public void testTiedMatchesKeepTheirOrder() {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        FootballWorldcupScoreboard repo = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        repo.add(newMatch(now, MEXICO, CANADA));
+        repo.add(newMatch(now, SPAIN, BRAZIL));
+        MappedSnapshotFile snapshotFile = MappedSnapshotFile.of(directory.resolve("scoreboard.dump"));
+        snapshotFile.write(repo.getSummary());
+
+        FootballWorldcupScoreboard restored = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        snapshotFile.restoreInto(restored);
+        Assertions.assertEquals(repo.getSummary(), restored.getSummary());
+        restored.add(newMatch(now, URUGUAY, ITALY));
+        Assertions.assertEquals(URUGUAY, restored.getSummary().get(0).getHomeTeam());
+    }
+
+    /**
+     * Without any dump the service starts empty
+     */
+    @Test
+    public void testNoSnapshotYet() {
+        MappedSnapshotFile snapshotFile = MappedSnapshotFile.of(directory.resolve("scoreboard.dump"));
+        ScoreBoardService service = FootballWCScoreBoardServiceImpl.restoreFrom(snapshotFile,
+                FootballWorldcupScoreboard.getScoreBoard(new MatchComparator()));
+        Assertions.assertTrue(service.getSummary().isEmpty());
+    }
+
+    /**
+     * A partially written dump and a dump with a flipped byte are both refused
+     */
+    @Test
+    public void testTornOrCorruptFileIsRefused() throws IOException {
+        MappedSnapshotFile snapshotFile = MappedSnapshotFile.of(directory.resolve("scoreboard.dump"));
+        snapshotFile.write(List.of(newMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA)));
+        Assertions.assertEquals(1, snapshotFile.read().size());
+
+        try (FileChannel channel = FileChannel.open(snapshotFile.getFile(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer oneByte = ByteBuffer.allocate(1);
+            channel.read(oneByte, 60);
+            oneByte.put(0, (byte) (oneByte.get(0) ^ 1)).rewind();
+            channel.write(oneByte, 60);
+        }
+        Assertions.assertThrows(ScoreBoardException.class, snapshotFile::read);
+
+        snapshotFile.write(List.of(newMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA)));
+        try (FileChannel channel = FileChannel.open(snapshotFile.getFile(), StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 10);
+        }
+        FootballWorldcupScoreboard repo = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        Assertions.assertThrows(ScoreBoardException.class, () -> FootballWCScoreBoardServiceImpl.restoreFrom(snapshotFile, repo));
+        Assertions.assertTrue(repo.getSummary().isEmpty());
+    }
+
+    /**
+     * The summary is dumped once per period until the handle is closed
+     */
+    @Test
+    public void testWritePeriodically() throws Exception {
+        FootballWorldcupScoreboard repo = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        repo.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA));
+        MappedSnapshotFile snapshotFile = MappedSnapshotFile.of(directory.resolve("scoreboard.dump"));
+        Closeable writer = snapshotFile.writePeriodically(repo, Duration.ofMillis(20));
+        try {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while(!snapshotFile.exists() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            writer.close();
+        }
+        Assertions.assertEquals(1, snapshotFile.read().size());
+    }
+
+    /**
+     * Writers of the same file overlap, every dump they leave behind is complete and no temporary file is left over
+     */
+    @Test
+    public void testConcurrentWrites() throws Exception {
+        FootballWorldcupScoreboard repo = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        for(int i = 0; i < 100; i++) {
+            repo.add(newMatch(now.plusNanos(i * 1000L), "Home-" + i, "Away-" + i));
+        }
+        List<MatchInProgress> summary = repo.getSummary();
+        MappedSnapshotFile shared = MappedSnapshotFile.of(directory.resolve("scoreboard.dump"));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for(int t = 0; t < 4; t++) {
+            MappedSnapshotFile snapshotFile = t % 2 == 0 ? shared : MappedSnapshotFile.of(directory.resolve("scoreboard.dump"));
+            futures.add(executor.submit(() -> {
+                for(int i = 0; i < 50; i++) {
+                    snapshotFile.write(summary);
+                }
+            }));
+        }
+        for(Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        Assertions.assertEquals(summary, shared.read());
+        try (Stream<Path> files = Files.list(directory)) {
+            Assertions.assertEquals(1, files.count());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.tests;
+
+import org.example.helper.MatchComparator;
+import org.example.model.MatchInProgress;
+import org.example.repository.ScoreBoardDataStore;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.example.repository.impl.OffHeapFootballWorldcupScoreboard;
+import org.example.repository.impl.SnapshotFootballWorldcupScoreboard;
+import org.example.repository.impl.StampedLockFootballWorldcupScoreboard;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.example.tests.MatchFixtures.restoredMatch;
+
+public class MatchComparatorTest {
+
+    private static final OffsetDateTime KICK_OFF = OffsetDateTime.of(2026, 6, 11, 18, 0, 0, 0, ZoneOffset.UTC);
+
+    /**
+     * Two different matches with the same score and the same start time are both kept by a sorted set
+     */
+    @Test
+    public void testSameScoreAndStartTime() {
+        MatchInProgress first = restoredMatch(KICK_OFF, "Home 1", "Away 1");
+        MatchInProgress second = restoredMatch(KICK_OFF, "Home 2", "Away 2");
+        MatchComparator comparator = new MatchComparator();
+        Assertions.assertTrue(comparator.compare(second, first) < 0);
+        Assertions.assertEquals(0, comparator.compare(first, first.withScore(0, 0)));
+
+        TreeSet<MatchInProgress> summary = new TreeSet<>(comparator);
+        summary.add(first);
+        summary.add(second);
+        Assertions.assertEquals(2, summary.size());
+        Assertions.assertEquals(second, summary.first());
+    }
+
+    /**
+     * For random matches full of ties the comparator is antisymmetric and transitive,
+     * and only the versions of the same match compare as equal
+     */
+    @Test
+    public void testTotalOrder() {
+        checkTotalOrder(100_000);
+    }
+
+    /**
+     * Hundreds of thousands of random starts, goals and finishes among matches which mostly share their start time
+     * Every data store always holds exactly the live matches, in the order of the composite key
+     */
+    @Test
+    public void testNoMatchIsLost() {
+        checkRandomOperations(FootballWorldcupScoreboard.getScoreBoard(new MatchComparator()), 1, 100_000, 1_000);
+        checkRandomOperations(SnapshotFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()), 2, 50_000, 1_000);
+        checkRandomOperations(StampedLockFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()), 3, 50_000, 1_000);
+        checkRandomOperations(OffHeapFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()), 4, 50_000, 1_000);
+    }
+
+    /**
+     * The same checks with millions of random operations per data store, about half a minute long
+     * Runs only with mvn test -Dscoreboard.stress=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "scoreboard.stress", matches = "true")
+    public void testMillionsOfOperations() {
+        checkTotalOrder(10_000_000);
+        checkRandomOperations(FootballWorldcupScoreboard.getScoreBoard(new MatchComparator()), 11, 5_000_000, 10_000);
+        checkRandomOperations(SnapshotFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()), 12, 2_000_000, 10_000);
+        checkRandomOperations(StampedLockFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()), 13, 2_000_000, 10_000);
+        checkRandomOperations(OffHeapFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()), 14, 2_000_000, 10_000);
+    }
+
+    private static void checkTotalOrder(int triples) {
+        Random random = new Random(21);
+        MatchComparator comparator = new MatchComparator();
+        List<MatchInProgress> matches = new ArrayList<>();
+        for(int i = 0; i < 300; i++) {
+            MatchInProgress match = restoredMatch(KICK_OFF.plusNanos(random.nextInt(3)), "Home " + i, "Away " + i);
+            matches.add(match.withScore(random.nextInt(3), random.nextInt(3)));
+        }
+        for(int n = 0; n < triples; n++) {
+            MatchInProgress a = matches.get(random.nextInt(matches.size()));
+            MatchInProgress b = matches.get(random.nextInt(matches.size()));
+            MatchInProgress c = matches.get(random.nextInt(matches.size()));
+            int ab = comparator.compare(a, b);
+            Assertions.assertEquals(Integer.signum(ab), -Integer.signum(comparator.compare(b, a)));
+            Assertions.assertEquals(ab == 0, a == b);
+            if(ab < 0 && comparator.compare(b, c) < 0) {
+                Assertions.assertTrue(comparator.compare(a, c) < 0);
+            }
+        }
+    }
+
+    /**
+     * The summary is compared with the reference order every checkInterval operations and after the last one
+     */
+    private static void checkRandomOperations(ScoreBoardDataStore store, long seed, int operations, int checkInterval) {
+        Random random = new Random(seed);
+        Map<String, MatchInProgress> live = new HashMap<>();
+        for(int n = 0; n < operations; n++) {
+            int i = random.nextInt(200);
+            String homeTeam = "Home " + i;
+            MatchInProgress match = live.get(homeTeam);
+            if(match == null) {
+                match = restoredMatch(KICK_OFF.plusNanos(random.nextInt(3)), homeTeam, "Away " + i);
+                Assertions.assertTrue(store.add(match));
+                live.put(homeTeam, match);
+            } else if(random.nextInt(8) == 0) {
+                Assertions.assertTrue(store.remove(homeTeam));
+                live.remove(homeTeam);
+            } else {
+                MatchInProgress updated = match.withScore(random.nextInt(4), random.nextInt(4));
+                Assertions.assertTrue(store.setScore(homeTeam, updated.getHomeTeamScore(), updated.getAwayTeamScore()));
+                live.put(homeTeam, updated);
+            }
+            if(n % checkInterval == 0 || n == operations - 1) {
+                List<MatchInProgress> summary = store.getSummary();
+                List<MatchInProgress> expected = sorted(live);
+                Assertions.assertEquals(expected.size(), summary.size());
+                for(int rank = 0; rank < expected.size(); rank++) {
+                    Assertions.assertEquals(expected.get(rank), summary.get(rank));
+                    Assertions.assertEquals(expected.get(rank).getTotalScore(), summary.get(rank).getTotalScore());
+                }
+            }
+        }
+    }
+
+    /**
+     * The reference order, the composite key compared field by field with a full sort
+     */
+    private static List<MatchInProgress> sorted(Map<String, MatchInProgress> live) {
+        List<MatchInProgress> expected = new ArrayList<>(live.values());
+        expected.sort((a, b) -> {
+            if(a.getTotalScore() != b.getTotalScore()) {
+                return b.getTotalScore() - a.getTotalScore();
+            }
+            if(a.getStartEpochNanos() != b.getStartEpochNanos()) {
+                return a.getStartEpochNanos() > b.getStartEpochNanos() ? -1 : 1;
+            }
+            return a.getMatchSequence() > b.getMatchSequence() ? -1 : a.getMatchSequence() < b.getMatchSequence() ? 1 : 0;
+        });
+        return expected;
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.tests;
+
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MatchComparator;
+import org.example.model.MatchEvent;
+import org.example.model.MatchEventHistory;
+import org.example.model.MatchInProgress;
+import org.example.model.ScoreBoardOperation;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.example.model.Constants.*;
+import static org.example.tests.MatchFixtures.newMatch;
+
+public class MatchEventHistoryTest {
+
+    /**
+     * Every recorded version appends the team which scored and the new score, all the versions share the history
+     * withScore alone records nothing
+     */
+    @Test
+    public void testGoalsAreRecorded() {
+        MatchInProgress match = newMatch(MEXICO, CANADA);
+        MatchInProgress last = record(match, 1, 0, 12);
+        last = record(last, 1, 1, 30);
+        last = record(last, 0, 1, 31);
+        last = record(last, 2, 2, 88);
+        MatchEventHistory history = last.getHistory();
+        Assertions.assertSame(match.getHistory(), history);
+        Assertions.assertEquals(4, history.size());
+        Assertions.assertEquals(MatchEvent.Team.HOME, history.getTeam(0));
+        Assertions.assertEquals(MatchEvent.Team.AWAY, history.getTeam(1));
+        Assertions.assertEquals(MatchEvent.Team.HOME, history.getTeam(2)); //The goal of the home team is taken back
+        Assertions.assertEquals(MatchEvent.Team.BOTH, history.getTeam(3));
+        Assertions.assertEquals(30, history.getMinute(1));
+        Assertions.assertEquals(2, history.getHomeScore(3));
+        Assertions.assertEquals(2, history.getAwayScore(3));
+        Assertions.assertEquals("31' HOME 0-1", history.get(2).toString());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> history.get(4));
+
+        last.withScore(3, 2);
+        Assertions.assertEquals(4, history.size());
+        MatchInProgress spain = newMatch(SPAIN, BRAZIL);
+        MatchInProgress scored = spain.withScore(1, 0);
+        scored.getHistory().record(spain, scored);
+        Assertions.assertEquals(0, scored.getHistory().getMinute(0)); //Just started by the clock
+        Assertions.assertThrows(ScoreBoardException.class, () -> history.record(spain, scored));
+        Assertions.assertEquals(0, MatchInProgress.restore(match.getStartTime(), MEXICO, CANADA, 2, 2).getHistory().size());
+    }
+
+    /**
+     * The events of a time range are the same as found by going through all of them, late events keep the order
+     */
+    @Test
+    public void testBetween() {
+        MatchEventHistory history = new MatchEventHistory();
+        Random random = new Random(25);
+        List<MatchEvent> expected = new ArrayList<>();
+        int minute = 0;
+        for(int i = 0; i < 500; i++) {
+            int next = minute + random.nextInt(5) - 1; //Now and then an event comes late
+            history.append(next, MatchEvent.Team.HOME, i, 0);
+            minute = Math.max(minute, next);
+            expected.add(new MatchEvent(minute, MatchEvent.Team.HOME, i, 0));
+        }
+        for(int n = 0; n < 1_000; n++) {
+            int from = random.nextInt(minute + 10) - 5;
+            int to = from + random.nextInt(100);
+            List<MatchEvent> actual = history.between(from, to);
+            List<MatchEvent> wanted = expected.stream().filter(e -> e.getMinute() >= from && e.getMinute() < to).toList();
+            Assertions.assertEquals(wanted.size(), actual.size());
+            for(int i = 0; i < wanted.size(); i++) {
+                Assertions.assertEquals(wanted.get(i).toString(), actual.get(i).toString());
+            }
+        }
+        Assertions.assertTrue(history.between(50, 10).isEmpty());
+        Assertions.assertTrue(new MatchEventHistory().between(0, 90).isEmpty());
+    }
+
+    /**
+     * The columns grow geometrically, so the room they take stays within half again of the events,
+     * a full history counts the events it does not keep
+     */
+    @Test
+    public void testCapacity() {
+        MatchEventHistory history = new MatchEventHistory();
+        Assertions.assertEquals(0, history.getCapacity());
+        for(int i = 0; i < MatchEventHistory.MAX_EVENTS + 10; i++) {
+            history.append(i, MatchEvent.Team.AWAY, 0, i);
+            int size = history.size();
+            Assertions.assertTrue(history.getCapacity() >= size);
+            Assertions.assertTrue(history.getCapacity() <= Math.max(4, size * 3 / 2 + 1));
+        }
+        Assertions.assertEquals(MatchEventHistory.MAX_EVENTS, history.size());
+        Assertions.assertEquals(10, history.getDropped());
+        Assertions.assertEquals(6, MatchEventHistory.BYTES_PER_EVENT);
+    }
+
+    /**
+     * The data store records every score update, single or in a batch, and the history stays with the match after it finished
+     */
+    @Test
+    public void testDataStoreRecords() {
+        FootballWorldcupScoreboard dataStore = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        dataStore.add(newMatch(MEXICO, CANADA));
+        dataStore.setScore(MEXICO, 1, 0);
+        dataStore.applyBatch(List.of(ScoreBoardOperation.updateScore(MEXICO, 1, 1), ScoreBoardOperation.updateScore(MEXICO, 2, 1)));
+        MatchInProgress match = dataStore.get(CANADA);
+        dataStore.remove(MEXICO);
+
+        MatchEventHistory history = match.getHistory();
+        Assertions.assertEquals(3, history.size());
+        Assertions.assertEquals(MatchEvent.Team.AWAY, history.getTeam(1));
+        Assertions.assertEquals(2, history.getHomeScore(2));
+        Assertions.assertEquals(1, history.getAwayScore(2));
+    }
+
+    /**
+     * A reader running next to the writer always sees whole events, in order
+     */
+    @Test
+    public void testConcurrentReader() throws InterruptedException {
+        MatchEventHistory history = new MatchEventHistory();
+        Thread writer = new Thread(() -> {
+            for(int i = 0; i < MatchEventHistory.MAX_EVENTS; i++) {
+                history.append(i, MatchEvent.Team.HOME, i, i);
+            }
+        });
+        writer.start();
+        while(writer.isAlive() || history.size() < MatchEventHistory.MAX_EVENTS) {
+            int size = history.size();
+            if(size > 0) {
+                Assertions.assertEquals(size - 1, history.getHomeScore(size - 1));
+                Assertions.assertEquals(size - 1, history.getMinute(size - 1));
+            }
+            List<MatchEvent> events = history.between(0, Integer.MAX_VALUE);
+            for(int i = 0; i < events.size(); i++) {
+                Assertions.assertEquals(i, events.get(i).getAwayScore());
+            }
+        }
+        writer.join();
+    }
+
+    private static MatchInProgress record(MatchInProgress previous, int home, int away, int minute) {
+        MatchInProgress next = previous.withScore(home, away);
+        next.getHistory().record(previous, next, minute);
+        return next;
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.tests;
+
+import org.example.model.MatchInProgress;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * The matches the tests start, shared by all the test classes
+ */
+final class MatchFixtures {
+
+    private MatchFixtures() {
+    }
+
+    /**
+     * A match validated like one started through the service, so the start time may not be older than a minute
+     */
+    static MatchInProgress newMatch(OffsetDateTime startedAt, String homeTeam, String awayTeam) {
+        return new MatchInProgress(startedAt, homeTeam, awayTeam);
+    }
+
+    /**
+     * A match starting now
+     */
+    static MatchInProgress newMatch(String homeTeam, String awayTeam) {
+        return newMatch(OffsetDateTime.now(ZoneOffset.UTC), homeTeam, awayTeam);
+    }
+
+    /**
+     * A match with no score which may have started at any time, for example at a fixed kick off in the past
+     */
+    static MatchInProgress restoredMatch(OffsetDateTime startedAt, String homeTeam, String awayTeam) {
+        return MatchInProgress.restore(startedAt, homeTeam, awayTeam, 0, 0);
+    }
+}
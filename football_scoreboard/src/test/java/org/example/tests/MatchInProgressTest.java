@@ -1,10 +1,13 @@
 package org.example.tests;
 
 import org.example.exception.ScoreBoardException;
+import org.example.helper.MatchComparator;
 import org.example.model.MatchInProgress;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.HashMap;
@@ -42,12 +45,34 @@ public class MatchInProgressTest {
         teams.put(HOMETEAM, ARGENTINA);
         teams.put(AWAYTEAM, AUSTRALIA);
 
-        MatchInProgress matchInProgress = new MatchInProgress(utc, teams);
-        Assertions.assertTrue(matchInProgress.setScore(3,1));
+        MatchInProgress matchInProgress = new MatchInProgress(utc, teams).withScore(3,1);
         Assertions.assertEquals(3, matchInProgress.getHomeTeamScore());
         Assertions.assertEquals(1, matchInProgress.getAwayTeamScore());
     }
 
+    /**
+     * withScore creates the next version and leaves the original unchanged
+     */
+    @Test
+    public void testWithScore() {
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        Map<String, String> teams = new HashMap<>();
+        teams.put(HOMETEAM, ARGENTINA);
+        teams.put(AWAYTEAM, AUSTRALIA);
+
+        MatchInProgress matchInProgress = new MatchInProgress(utc, teams);
+        MatchInProgress next = matchInProgress.withScore(2, 1);
+        Assertions.assertEquals(0, matchInProgress.getVersion());
+        Assertions.assertEquals(0, matchInProgress.getHomeTeamScore());
+        Assertions.assertEquals(1, next.getVersion());
+        Assertions.assertEquals(2, next.getHomeTeamScore());
+        Assertions.assertEquals(1, next.getAwayTeamScore());
+        Assertions.assertEquals(ARGENTINA, next.getHomeTeam());
+        Assertions.assertEquals(AUSTRALIA, next.getAwayTeam());
+        Assertions.assertEquals(utc, next.getStartTime());
+        Assertions.assertEquals(2, next.withScore(2, 2).getVersion());
+    }
+
     /**
      * HomeTeam and AwayTeam must be different
      */
@@ -102,4 +127,113 @@ public class MatchInProgressTest {
         Assertions.assertEquals(0, matchInProgress.getAwayTeamScore());
         Assertions.assertEquals(utc2, matchInProgress.getStartTime());
     }
+
+    /**
+     * Scores are packed, so each score can still use the whole int range
+     */
+    @Test
+    public void testPackedScores() {
+        Map<String, String> teams = new HashMap<>();
+        teams.put(HOMETEAM, AUSTRALIA);
+        teams.put(AWAYTEAM, ARGENTINA);
+        MatchInProgress matchInProgress = new MatchInProgress(OffsetDateTime.now(ZoneOffset.UTC), teams).withScore(Integer.MAX_VALUE, 7);
+        Assertions.assertEquals(Integer.MAX_VALUE, matchInProgress.getHomeTeamScore());
+        Assertions.assertEquals(7, matchInProgress.getAwayTeamScore());
+        matchInProgress = matchInProgress.withScore(2, Integer.MAX_VALUE);
+        Assertions.assertEquals(2, matchInProgress.getHomeTeamScore());
+        Assertions.assertEquals(Integer.MAX_VALUE, matchInProgress.getAwayTeamScore());
+        Assertions.assertEquals(9, matchInProgress.withScore(4, 5).getTotalScore());
+    }
+
+    /**
+     * The getters and the comparator allocate nothing, withScore allocates the new version only
+     * A version is measured against a restored match, which allocates a version and a new history,
+     * and a million updates allocate no more per update than a short sample of them
+     */
+    @Test
+    public void testWithScoreAllocatesOnlyTheVersion() {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        Map<String, String> teams = new HashMap<>();
+        teams.put(HOMETEAM, AUSTRALIA);
+        teams.put(AWAYTEAM, ARGENTINA);
+        MatchInProgress matchInProgress = new MatchInProgress(OffsetDateTime.now(ZoneOffset.UTC), teams);
+        MatchInProgress other = matchInProgress.withScore(2, 1);
+        MatchComparator comparator = new MatchComparator();
+        MatchInProgress[] restored = new MatchInProgress[16];
+        long threadId = Thread.currentThread().threadId();
+
+        long total = readScores(matchInProgress, other, comparator, 1_000_000) + updateScores(matchInProgress, 1_000_000)
+                + restoreMatches(matchInProgress, restored, 10_000); //warm up
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        long overhead = threadMXBean.getThreadAllocatedBytes(threadId) - before; //Of the measurement itself
+
+        before = threadMXBean.getThreadAllocatedBytes(threadId);
+        total += readScores(matchInProgress, other, comparator, 1_000_000);
+        long readAllocated = threadMXBean.getThreadAllocatedBytes(threadId) - before - overhead;
+
+        before = threadMXBean.getThreadAllocatedBytes(threadId);
+        total += restoreMatches(matchInProgress, restored, 10_000);
+        long perRestore = (threadMXBean.getThreadAllocatedBytes(threadId) - before - overhead) / 10_000;
+
+        before = threadMXBean.getThreadAllocatedBytes(threadId);
+        total += updateScores(matchInProgress, 10_000);
+        long perUpdate = (threadMXBean.getThreadAllocatedBytes(threadId) - before - overhead + 9_999) / 10_000;
+
+        before = threadMXBean.getThreadAllocatedBytes(threadId);
+        total += updateScores(matchInProgress, 1_000_000);
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before - overhead;
+
+        Assertions.assertTrue(total > 0);
+        Assertions.assertEquals(0, readAllocated, "Allocated " + readAllocated + " bytes for a million reads and compares");
+        Assertions.assertTrue(perUpdate > 0 && perUpdate < perRestore, "A version took " + perUpdate + " bytes, a restored match " + perRestore);
+        Assertions.assertTrue(allocated <= perUpdate * 1_000_000 + 1024, "Allocated " + allocated + " bytes for a million updates of " + perUpdate + " bytes");
+    }
+
+    /**
+     * A restored match may have started long ago, its score is kept
+     */
+    @Test
+    public void testRestore() {
+        OffsetDateTime startedAt = OffsetDateTime.now(ZoneOffset.UTC).minusHours(1);
+        MatchInProgress matchInProgress = MatchInProgress.restore(startedAt, MEXICO, CANADA, 2, 1);
+        Assertions.assertEquals(startedAt, matchInProgress.getStartTime());
+        Assertions.assertEquals(2, matchInProgress.getHomeTeamScore());
+        Assertions.assertEquals(1, matchInProgress.getAwayTeamScore());
+        Assertions.assertEquals(0, matchInProgress.getVersion());
+        Assertions.assertThrows(ScoreBoardException.class, () -> MatchInProgress.restore(startedAt, MEXICO, MEXICO, 0, 0));
+        Assertions.assertThrows(ScoreBoardException.class, () -> MatchInProgress.restore(null, MEXICO, CANADA, 0, 0));
+    }
+
+    private static long readScores(MatchInProgress first, MatchInProgress second, MatchComparator comparator, int reads) {
+        long total = 0;
+        for(int i = 0; i < reads; i++) {
+            MatchInProgress matchInProgress = (i & 1) == 0 ? first : second;
+            total += matchInProgress.getTotalScore() + matchInProgress.getHomeTeamScore() + matchInProgress.getAwayTeamScore()
+                    + matchInProgress.getStartEpochNanos() + matchInProgress.getMatchSequence() + comparator.compare(first, second);
+        }
+        return total;
+    }
+
+    /**
+     * The restored matches are kept in a small array, so the JIT can not leave their allocation out
+     */
+    private static long restoreMatches(MatchInProgress matchInProgress, MatchInProgress[] restored, int restores) {
+        long total = 0;
+        for(int i = 0; i < restores; i++) {
+            restored[i & 15] = MatchInProgress.restore(matchInProgress.getStartTime(), AUSTRALIA, ARGENTINA, i & 15, i & 7, 0L, 1L);
+            total += restored[i & 15].getTotalScore();
+        }
+        return total;
+    }
+
+    private static long updateScores(MatchInProgress matchInProgress, int updates) {
+        long total = 0;
+        for(int i = 0; i < updates; i++) {
+            matchInProgress = matchInProgress.withScore(i & 15, i & 7);
+            total += matchInProgress.getTotalScore() + matchInProgress.getHomeTeamScore() + matchInProgress.getAwayTeamScore();
+        }
+        return total;
+    }
 }
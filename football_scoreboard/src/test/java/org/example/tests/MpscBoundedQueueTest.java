@@ -0,0 +1,99 @@
+package org.example.tests;
+
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MpscBoundedQueue;
+import org.example.helper.MpscBoundedQueue.OfferResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+public class MpscBoundedQueueTest {
+
+    /**
+     * First in first out, the capacity is rounded up to a power of two and a full queue takes nothing
+     */
+    @Test
+    public void testOfferAndPoll() {
+        MpscBoundedQueue<Integer> queue = new MpscBoundedQueue<>(3);
+        Assertions.assertEquals(4, queue.capacity());
+        Assertions.assertTrue(queue.isEmpty());
+        Assertions.assertNull(queue.poll());
+        for(int i = 0; i < 4; i++) {
+            Assertions.assertEquals(OfferResult.ACCEPTED, queue.offer(i));
+        }
+        Assertions.assertEquals(OfferResult.FULL, queue.offer(4));
+        Assertions.assertEquals(0, queue.poll());
+        Assertions.assertEquals(OfferResult.ACCEPTED, queue.offer(4));
+        List<Integer> drained = new ArrayList<>();
+        Assertions.assertEquals(3, queue.drainTo(drained, 3));
+        Assertions.assertEquals(List.of(1, 2, 3), drained);
+        Assertions.assertEquals(4, queue.poll());
+        Assertions.assertTrue(queue.isEmpty());
+        Assertions.assertThrows(ScoreBoardException.class, () -> new MpscBoundedQueue<Integer>(0));
+    }
+
+    /**
+     * A closed queue takes nothing more, the elements offered before are still polled
+     */
+    @Test
+    public void testClose() {
+        MpscBoundedQueue<String> queue = new MpscBoundedQueue<>(8);
+        queue.offer("a");
+        queue.close();
+        queue.close();
+        Assertions.assertTrue(queue.isClosed());
+        Assertions.assertEquals(OfferResult.CLOSED, queue.offer("b"));
+        Assertions.assertFalse(queue.isEmpty());
+        Assertions.assertEquals("a", queue.poll());
+        Assertions.assertTrue(queue.isEmpty());
+    }
+
+    /**
+     * Every element of many producers is polled once, in the order of its producer
+     */
+    @Test
+    public void testManyProducers() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 50_000;
+        MpscBoundedQueue<long[]> queue = new MpscBoundedQueue<>(64);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for(int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for(int i = 0; i < perProducer; i++) {
+                    long[] element = {producer, i};
+                    while(queue.offer(element) != OfferResult.ACCEPTED) {
+                        Thread.yield();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        long[] next = new long[producers];
+        int polled = 0;
+        while(polled < producers * perProducer) {
+            long[] element = queue.poll();
+            if(element == null) {
+                Thread.yield();
+                continue;
+            }
+            Assertions.assertEquals(next[(int) element[0]]++, element[1]);
+            polled++;
+        }
+        for(Thread thread : threads) {
+            thread.join();
+        }
+        Assertions.assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.tests;
+
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MatchComparator;
+import org.example.helper.TeamRegistry;
+import org.example.model.MatchInProgress;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.example.repository.impl.OffHeapFootballWorldcupScoreboard;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+
+import static org.example.model.Constants.*;
+import static org.example.tests.MatchFixtures.newMatch;
+
+public class OffHeapFootballWorldcupScoreboardTest {
+
+    /**
+     * The match can be looked up by both teams and finished by both teams
+     */
+    @Test
+    public void testGetAndRemove() {
+        OffHeapFootballWorldcupScoreboard repo = OffHeapFootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        MatchInProgress match = newMatch(OffsetDateTime.now(ZoneOffset.UTC), ARGENTINA, AUSTRALIA);
+        repo.add(match);
+        Assertions.assertEquals(match, repo.get(ARGENTINA));
+        Assertions.assertEquals(ARGENTINA, repo.get(AUSTRALIA).getHomeTeam());
+        Assertions.assertNull(repo.get(SPAIN));
+        Assertions.assertNull(repo.get((String) null));
+
+        Assertions.assertTrue(repo.remove(AUSTRALIA));
+        Assertions.assertNull(repo.get(ARGENTINA));
+        Assertions.assertTrue(repo.getSummary().isEmpty());
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.remove(ARGENTINA));
+        Assertions.assertFalse(repo.remove((String) null));
+    }
+
+    /**
+     * A team may not play two matches at the same time
+     */
+    @Test
+    public void testTeamIsAlreadyPlaying() {
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        OffHeapFootballWorldcupScoreboard repo = OffHeapFootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        repo.add(newMatch(utc, ARGENTINA, AUSTRALIA));
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.add(newMatch(utc, ARGENTINA, SPAIN)));
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.add(newMatch(utc, SPAIN, ARGENTINA)));
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.add(null));
+        Assertions.assertEquals(1, repo.size());
+    }
+
+    /**
+     * The start time keeps its offset and every score update grows the version, by name or by id
+     */
+    @Test
+    public void testRecordRoundTrip() {
+        OffsetDateTime startedAt = OffsetDateTime.now(ZoneOffset.ofHoursMinutes(5, 30));
+        OffHeapFootballWorldcupScoreboard repo = OffHeapFootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        repo.add(newMatch(startedAt, SPAIN, BRAZIL));
+        repo.setScore(SPAIN, 1, 0);
+        repo.setScore(repo.getTeamId(BRAZIL), 1, 1);
+
+        MatchInProgress match = repo.get(repo.getTeamId(SPAIN));
+        Assertions.assertEquals(startedAt, match.getStartTime());
+        Assertions.assertEquals(1, match.getHomeTeamScore());
+        Assertions.assertEquals(1, match.getAwayTeamScore());
+        Assertions.assertEquals(2, match.getVersion());
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.setScore(ITALY, 1, 0));
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.setScore(TeamRegistry.NO_TEAM, 1, 0));
+        Assertions.assertFalse(repo.setScore(null, 1, 0));
+        Assertions.assertTrue(repo.remove(repo.getTeamId(SPAIN)));
+        Assertions.assertEquals(4, repo.getLastSequence());
+    }
+
+    /**
+     * The buffer grows past its initial capacity and the records of finished matches are used again
+     */
+    @Test
+    public void testGrowAndReuse() {
+        OffHeapFootballWorldcupScoreboard repo = OffHeapFootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 2, new TeamRegistry());
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        for(int i = 0; i < 100; i++) {
+            repo.add(newMatch(utc.plusNanos(i), "Home " + i, "Away " + i));
+        }
+        long bytes = repo.getOffHeapBytes();
+        Assertions.assertTrue(bytes >= 100 * 48);
+        for(int i = 0; i < 50; i++) {
+            repo.remove("Away " + i);
+        }
+        for(int i = 100; i < 150; i++) {
+            repo.add(newMatch(utc.plusNanos(i), "Home " + i, "Away " + i));
+        }
+        Assertions.assertEquals(bytes, repo.getOffHeapBytes());
+        Assertions.assertEquals(100, repo.size());
+        Assertions.assertEquals("Home 149", repo.getSummary().get(0).getHomeTeam());
+        Assertions.assertNull(repo.get("Home 0"));
+    }
+
+    /**
+     * The summary, its pages and the ranks are the same as those of FootballWorldcupScoreboard
+     */
+    @Test
+    public void testSameRankingAsTree() {
+        OffHeapFootballWorldcupScoreboard repo = OffHeapFootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 16, new TeamRegistry());
+        FootballWorldcupScoreboard tree = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        Random random = new Random(17);
+        for(int i = 0; i < 300; i++) {
+            MatchInProgress match = newMatch(utc.plusNanos(i), "Home " + i, "Away " + i);
+            repo.add(match);
+            tree.add(match);
+        }
+        for(int i = 0; i < 1000; i++) {
+            String team = "Home " + random.nextInt(300);
+            if(tree.get(team) == null) {
+                continue;
+            }
+            if(random.nextInt(10) == 0) {
+                repo.remove(team);
+                tree.remove(team);
+            } else {
+                int home = random.nextInt(5);
+                int away = random.nextInt(5);
+                repo.setScore(team, home, away);
+                tree.setScore(team, home, away);
+            }
+        }
+        List<MatchInProgress> summary = repo.getSummary();
+        Assertions.assertEquals(tree.getSummary(), summary);
+        Assertions.assertEquals(tree.getSummary(0, 10), repo.getSummary(0, 10));
+        Assertions.assertEquals(tree.getSummary(25, 7), repo.getSummary(25, 7));
+        Assertions.assertTrue(repo.getSummary(summary.size(), 5).isEmpty());
+        for(int i = 0; i < summary.size(); i += 13) {
+            Assertions.assertEquals(i, repo.getRank(summary.get(i).getAwayTeam()));
+        }
+        Assertions.assertEquals(-1, repo.getRank(SPAIN));
+    }
+
+    /**
+     * The store keeps no history, its matches say so instead of handing out an empty one
+     * Such a match may still be added to a store with history and updated there
+     */
+    @Test
+    public void testMatchesHaveNoHistory() {
+        OffHeapFootballWorldcupScoreboard repo = OffHeapFootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        repo.add(newMatch(SPAIN, BRAZIL));
+        repo.setScore(SPAIN, 1, 0);
+        MatchInProgress match = repo.get(SPAIN);
+        Assertions.assertFalse(match.hasHistory());
+        Assertions.assertThrows(ScoreBoardException.class, match::getHistory);
+
+        FootballWorldcupScoreboard tree = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        tree.add(match);
+        Assertions.assertTrue(tree.setScore(SPAIN, 2, 0));
+        Assertions.assertEquals(2, tree.get(SPAIN).getHomeTeamScore());
+        Assertions.assertFalse(tree.get(SPAIN).hasHistory());
+    }
+}
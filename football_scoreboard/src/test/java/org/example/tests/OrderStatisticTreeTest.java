@@ -0,0 +1,57 @@
+package org.example.tests;
+
+import org.example.helper.OrderStatisticTree;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class OrderStatisticTreeTest {
+
+    /**
+     * Random adds and removes, the tree must always agree with a TreeSet
+     * Ranks, positions and pages are checked against the sorted list
+     */
+    @Test
+    public void testAgreesWithTreeSet() {
+        OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.reverseOrder());
+        TreeSet<Integer> expected = new TreeSet<>(Comparator.reverseOrder());
+        Random random = new Random(42);
+        for(int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(2_000);
+            if(random.nextInt(3) == 0) {
+                Assertions.assertEquals(expected.remove(value), tree.remove(value));
+            } else {
+                Assertions.assertEquals(expected.add(value), tree.add(value));
+            }
+            Assertions.assertEquals(expected.size(), tree.size());
+        }
+        List<Integer> sorted = new ArrayList<>(expected);
+        Assertions.assertEquals(sorted, new ArrayList<>(tree));
+        for(int i = 0; i < sorted.size(); i++) {
+            Assertions.assertEquals(sorted.get(i), tree.get(i));
+            Assertions.assertEquals(i, tree.rankOf(sorted.get(i)));
+        }
+        Assertions.assertEquals(-1, tree.rankOf(5_000));
+        Assertions.assertEquals(0, tree.countLessThan(5_000)); //Reverse order, ranked first
+        Assertions.assertEquals(sorted.size(), tree.countLessThan(-1));
+        Assertions.assertEquals(sorted.subList(10, 25), tree.range(10, 15));
+        Assertions.assertEquals(sorted.subList(sorted.size() - 3, sorted.size()), tree.range(sorted.size() - 3, 10));
+        Assertions.assertTrue(tree.range(sorted.size(), 10).isEmpty());
+    }
+
+    /**
+     * Positions outside of the tree are rejected
+     */
+    @Test
+    public void testGetOutOfBounds() {
+        OrderStatisticTree<String> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+        tree.add("a");
+        Assertions.assertEquals("a", tree.get(0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> tree.get(1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> tree.get(-1));
+        Assertions.assertThrows(NoSuchElementException.class, () -> tree.iterator(1).next());
+        tree.clear();
+        Assertions.assertTrue(tree.isEmpty());
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.tests;
+
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MatchComparator;
+import org.example.helper.RankingStrategy;
+import org.example.model.MatchInProgress;
+import org.example.model.ScoreBoardOperation;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.example.repository.impl.StampedLockFootballWorldcupScoreboard;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.example.model.Constants.*;
+import static org.example.tests.MatchFixtures.newMatch;
+
+public class RankingStrategyTest {
+
+    private static final List<RankingStrategy> RANKINGS = List.of(RankingStrategy.GOAL_DIFFERENCE, RankingStrategy.KICK_OFF, RankingStrategy.TEAM_NAME);
+
+    /**
+     * 1. Spain 4 - Brazil 0 by goal difference
+     * 2. Mexico 3 - Canada 2
+     * The earliest kick off and the first home team by name are Mexico - Canada
+     */
+    @Test
+    public void testRankings() {
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        FootballWorldcupScoreboard repo = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), RANKINGS);
+        repo.add(newMatch(utc, MEXICO, CANADA));
+        repo.add(newMatch(utc.plusSeconds(1), SPAIN, BRAZIL));
+        repo.setScore(MEXICO, 3, 2);
+        repo.setScore(SPAIN, 4, 0);
+
+        Assertions.assertEquals(List.of("goalDifference", "kickOff", "teamName"), repo.getRankings());
+        Assertions.assertEquals(SPAIN, repo.getSummary("goalDifference", 0, 10).get(0).getHomeTeam());
+        Assertions.assertEquals(MEXICO, repo.getSummary("kickOff", 0, 1).get(0).getHomeTeam());
+        Assertions.assertEquals(1, repo.getSummary("teamName", 1, 10).size());
+        Assertions.assertEquals(1, repo.getRank("teamName", BRAZIL));
+        Assertions.assertEquals(-1, repo.getRank("teamName", ITALY));
+        Assertions.assertEquals(MEXICO, repo.getSummary().get(0).getHomeTeam());
+
+        repo.remove(CANADA);
+        Assertions.assertEquals(0, repo.getRank("kickOff", SPAIN));
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.getSummary("unknown", 0, 10));
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.getSummary("kickOff", -1, 10));
+    }
+
+    /**
+     * A data store without rankings and a second ranking with the same name are refused
+     */
+    @Test
+    public void testInvalidRankings() {
+        StampedLockFootballWorldcupScoreboard stamped = StampedLockFootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        Assertions.assertTrue(stamped.getRankings().isEmpty());
+        Assertions.assertThrows(ScoreBoardException.class, () -> stamped.getSummary("kickOff", 0, 10));
+        Assertions.assertThrows(ScoreBoardException.class, () -> FootballWorldcupScoreboard.getScoreBoard(new MatchComparator(),
+                List.of(RankingStrategy.KICK_OFF, RankingStrategy.of("kickOff", Comparator.comparing(MatchInProgress::getAwayTeam)))));
+        Assertions.assertThrows(ScoreBoardException.class, () -> RankingStrategy.of(null, new MatchComparator()));
+    }
+
+    /**
+     * After random single and batched writes every ranking is the summary sorted by its comparator
+     * Matches with the same kick off are all kept
+     */
+    @Test
+    public void testRankingsFollowRandomWrites() {
+        FootballWorldcupScoreboard repo = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), RANKINGS);
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        Random random = new Random(22);
+        for(int n = 0; n < 20_000; n++) {
+            int i = random.nextInt(100);
+            String homeTeam = "Home " + i;
+            boolean playing = repo.get(homeTeam) != null;
+            if(random.nextInt(20) == 0) {
+                List<ScoreBoardOperation> batch = new ArrayList<>();
+                batch.add(playing ? ScoreBoardOperation.updateScore(homeTeam, random.nextInt(5), random.nextInt(5))
+                        : ScoreBoardOperation.startMatch(utc, homeTeam, "Away " + i));
+                batch.add(ScoreBoardOperation.updateScore(homeTeam, random.nextInt(5), random.nextInt(5)));
+                batch.add(playing ? ScoreBoardOperation.finishMatch(homeTeam) : ScoreBoardOperation.updateScore(homeTeam, 1, 1));
+                repo.applyBatch(batch);
+            } else if(!playing) {
+                repo.add(newMatch(utc.plusNanos(random.nextInt(3)), homeTeam, "Away " + i));
+            } else if(random.nextInt(6) == 0) {
+                repo.remove(homeTeam);
+            } else {
+                repo.setScore(homeTeam, random.nextInt(5), random.nextInt(5));
+            }
+            if(n % 1000 == 0) {
+                checkRankings(repo);
+            }
+        }
+        checkRankings(repo);
+    }
+
+    private static void checkRankings(FootballWorldcupScoreboard repo) {
+        List<MatchInProgress> summary = repo.getSummary();
+        for(RankingStrategy ranking : RANKINGS) {
+            List<MatchInProgress> expected = new ArrayList<>(summary);
+            expected.sort(ranking.getComparator());
+            List<MatchInProgress> actual = repo.getSummary(ranking.getName(), 0, Integer.MAX_VALUE);
+            Assertions.assertEquals(expected, actual, ranking.getName());
+            for(int rank = 0; rank < actual.size(); rank += 7) {
+                Assertions.assertEquals(rank, repo.getRank(ranking.getName(), actual.get(rank).getAwayTeam()));
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.tests;
+
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MatchComparator;
+import org.example.loadgen.EventFile;
+import org.example.loadgen.LoadEvent;
+import org.example.loadgen.LoadReport;
+import org.example.loadgen.ReplayHarness;
+import org.example.loadgen.TournamentGenerator;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.example.repository.impl.RingBufferFootballWorldcupScoreboard;
+import org.example.serviceimpl.FootballWCScoreBoardServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public class ReplayHarnessTest {
+
+    /**
+     * Four feeds as fast as possible, the final summary matches the reference model
+     */
+    @Test
+    public void testReplayLockingStore() throws InterruptedException {
+        List<LoadEvent> events = new TournamentGenerator(3, 300, 2 * 60 * 60, 1.4, 0.1).generate();
+        FootballWCScoreBoardServiceImpl service = new FootballWCScoreBoardServiceImpl(FootballWorldcupScoreboard.getScoreBoard(new MatchComparator()));
+        LoadReport report = new ReplayHarness(service, 4, 0).run(events);
+        Assertions.assertEquals(events.size(), report.getEvents());
+        Assertions.assertEquals(0, report.getFailures());
+        Assertions.assertTrue(report.isSummaryCorrect(), report.getMismatch());
+        Assertions.assertFalse(service.getSummary().isEmpty());
+        Assertions.assertEquals(events.size(), report.getLatency().getCount());
+    }
+
+    /**
+     * At a target rate the run takes about as long as the events need
+     */
+    @Test
+    public void testReplayRingStoreAtRate() throws InterruptedException {
+        List<LoadEvent> events = new TournamentGenerator(5, 50, 2 * 60 * 60, 1.4, 0.1).generate();
+        try(RingBufferFootballWorldcupScoreboard dataStore = RingBufferFootballWorldcupScoreboard.getScoreBoard(new MatchComparator())) {
+            LoadReport report = new ReplayHarness(new FootballWCScoreBoardServiceImpl(dataStore), 2, 2_000).run(events);
+            Assertions.assertEquals(0, report.getFailures());
+            Assertions.assertTrue(report.isSummaryCorrect(), report.getMismatch());
+            Assertions.assertTrue(report.getElapsedNanos() >= (events.size() - 1) * 500_000L);
+        }
+    }
+
+    /**
+     * A match the service never heard of counts as a failure
+     */
+    @Test
+    public void testFailures() throws InterruptedException {
+        FootballWCScoreBoardServiceImpl service = new FootballWCScoreBoardServiceImpl(new MatchComparator());
+        LoadReport report = new ReplayHarness(service, 1, 0).run(List.of(LoadEvent.finish(0, "Home 1", "Away 1")));
+        Assertions.assertEquals(1, report.getFailures());
+        Assertions.assertTrue(report.isSummaryCorrect());
+    }
+
+    /**
+     * A written day is read back event for event
+     */
+    @Test
+    public void testEventFileRoundTrip(@TempDir Path directory) {
+        List<LoadEvent> events = new TournamentGenerator(9, 100).generate();
+        Path file = directory.resolve("day.csv");
+        EventFile.write(file, events);
+        List<LoadEvent> read = EventFile.read(file);
+        Assertions.assertEquals(events.stream().map(LoadEvent::toLine).toList(), read.stream().map(LoadEvent::toLine).toList());
+    }
+
+    /**
+     * A line which is not an event is refused
+     */
+    @Test
+    public void testParseInvalidLine() {
+        Assertions.assertThrows(ScoreBoardException.class, () -> LoadEvent.parse("12,KICKOFF,Home 1,Away 1,0,0"));
+        Assertions.assertThrows(ScoreBoardException.class, () -> new ReplayHarness(null, 1, 0));
+    }
+}
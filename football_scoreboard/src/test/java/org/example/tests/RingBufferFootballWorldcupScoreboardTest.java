@@ -0,0 +1,183 @@
+package org.example.tests;
+
+import org.example.ScoreBoardService;
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MatchComparator;
+import org.example.model.MatchInProgress;
+import org.example.model.OperationResult;
+import org.example.model.ScoreBoardOperation;
+import org.example.repository.impl.RingBufferFootballWorldcupScoreboard;
+import org.example.serviceimpl.FootballWCScoreBoardServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.model.Constants.*;
+import static org.example.tests.MatchFixtures.newMatch;
+
+public class RingBufferFootballWorldcupScoreboardTest {
+
+    /**
+     * The writes, reads and failures of the ring behave like those of FootballWorldcupScoreboard
+     */
+    @Test
+    public void testOperations() {
+        try (RingBufferFootballWorldcupScoreboard repo = RingBufferFootballWorldcupScoreboard.getScoreBoard(new MatchComparator())) {
+            OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+            Assertions.assertTrue(repo.add(newMatch(utc, MEXICO, CANADA)));
+            Assertions.assertTrue(repo.add(newMatch(utc.plusSeconds(1), SPAIN, BRAZIL)));
+            Assertions.assertThrows(ScoreBoardException.class, () -> repo.add(newMatch(utc.plusSeconds(2), CANADA, ITALY)));
+            Assertions.assertThrows(ScoreBoardException.class, () -> repo.add(null));
+            Assertions.assertTrue(repo.setScore(MEXICO, 0, 5));
+            Assertions.assertThrows(ScoreBoardException.class, () -> repo.setScore(ITALY, 1, 0));
+            Assertions.assertFalse(repo.setScore(null, 1, 0));
+
+            Assertions.assertEquals(5, repo.get(CANADA).getAwayTeamScore());
+            Assertions.assertNull(repo.get(ITALY));
+            Assertions.assertEquals(MEXICO, repo.getSummary().get(0).getHomeTeam());
+            Assertions.assertEquals(SPAIN, repo.getSummary(1, 5).get(0).getHomeTeam());
+            Assertions.assertEquals(1, repo.getRank(BRAZIL));
+            Assertions.assertEquals(-1, repo.getRank(ITALY));
+            Assertions.assertTrue(repo.getLastSequence() > 0);
+            Assertions.assertEquals(3, repo.getChangesSince(0).getChanges().size());
+
+            List<OperationResult> results = repo.applyBatch(Arrays.asList(
+                    ScoreBoardOperation.finishMatch(MEXICO),
+                    ScoreBoardOperation.updateScore(ITALY, 1, 0)));
+            Assertions.assertTrue(results.get(0).isSuccess());
+            Assertions.assertFalse(results.get(1).isSuccess());
+            Assertions.assertTrue(repo.remove(BRAZIL));
+            Assertions.assertTrue(repo.getSummary().isEmpty());
+        }
+    }
+
+    /**
+     * A summary is shared by the readers until the next change and may not be modified
+     */
+    @Test
+    public void testSummaryIsSharedUntilTheNextChange() {
+        try (RingBufferFootballWorldcupScoreboard repo = RingBufferFootballWorldcupScoreboard.getScoreBoard(new MatchComparator())) {
+            repo.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA));
+            List<MatchInProgress> summary = repo.getSummary();
+            Assertions.assertSame(summary, repo.getSummary());
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> summary.remove(0));
+            repo.setScore(MEXICO, 1, 0);
+            Assertions.assertNotSame(summary, repo.getSummary());
+            Assertions.assertEquals(0, summary.get(0).getHomeTeamScore());
+        }
+    }
+
+    /**
+     * Many callers on a small ring wait for their slots of the next lap, every write is applied once
+     */
+    @Test
+    public void testManyCallersOnASmallRing() throws Exception {
+        String[][] matches = {{MEXICO, CANADA}, {SPAIN, BRAZIL}, {GERMANY, FRANCE}, {URUGUAY, ITALY}};
+        int goals = 1_000;
+        try (RingBufferFootballWorldcupScoreboard repo = RingBufferFootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 2)) {
+            OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+            for(int m = 0; m < matches.length; m++) {
+                repo.add(newMatch(utc.plusSeconds(m), matches[m][0], matches[m][1]));
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(matches.length);
+            List<Future<?>> futures = new ArrayList<>();
+            for(String[] match : matches) {
+                futures.add(executor.submit(() -> {
+                    for(int goal = 1; goal <= goals; goal++) {
+                        Assertions.assertTrue(repo.setScore(match[0], goal, 0));
+                        Assertions.assertEquals(goal, repo.get(match[1]).getHomeTeamScore());
+                    }
+                }));
+            }
+            for(Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+            for(MatchInProgress matchInProgress : repo.getSummary()) {
+                Assertions.assertEquals(goals, matchInProgress.getHomeTeamScore());
+            }
+        }
+    }
+
+    /**
+     * Far more callers than slots, every caller must get the result of its own call, never the one of another lap
+     */
+    @Test
+    public void testMoreCallersThanSlots() throws Exception {
+        int callers = 64;
+        int goals = 200;
+        try (RingBufferFootballWorldcupScoreboard repo = RingBufferFootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 1)) {
+            OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+            for(int c = 0; c < callers; c++) {
+                repo.add(newMatch(utc.plusNanos(c), "H" + c, "A" + c));
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(callers);
+            List<Future<?>> futures = new ArrayList<>();
+            for(int c = 0; c < callers; c++) {
+                String homeTeam = "H" + c;
+                futures.add(executor.submit(() -> {
+                    for(int goal = 1; goal <= goals; goal++) {
+                        Assertions.assertTrue(repo.setScore(homeTeam, goal, 0));
+                        MatchInProgress matchInProgress = repo.get(homeTeam);
+                        Assertions.assertEquals(homeTeam, matchInProgress.getHomeTeam());
+                        Assertions.assertEquals(goal, matchInProgress.getHomeTeamScore());
+                    }
+                }));
+            }
+            for(Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+            Assertions.assertEquals(callers, repo.getSummary().size());
+        }
+    }
+
+    /**
+     * The service ranks the matches in the same way with the ring buffer data store
+     * 1. Uruguay 6 - Italy 6
+     * 2. Spain 10 - Brazil 2
+     * 3. Germany 2 - France 2
+     */
+    @Test
+    public void testServiceWithRingBufferStore() {
+        try (RingBufferFootballWorldcupScoreboard repo = RingBufferFootballWorldcupScoreboard.getScoreBoard(new MatchComparator())) {
+            ScoreBoardService service = new FootballWCScoreBoardServiceImpl(repo);
+            OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+            repo.add(newMatch(utc, SPAIN, BRAZIL));
+            repo.add(newMatch(utc.plusSeconds(1), GERMANY, FRANCE));
+            repo.add(newMatch(utc.plusSeconds(2), URUGUAY, ITALY));
+
+            service.updateScore(SPAIN, 10, 2);
+            service.updateScore(GERMANY, 2, 2);
+            service.updateScore(ITALY, 6, 6);
+
+            List<MatchInProgress> summary = service.getSummary();
+            Assertions.assertEquals(URUGUAY, summary.get(0).getHomeTeam());
+            Assertions.assertEquals(SPAIN, summary.get(1).getHomeTeam());
+            Assertions.assertEquals(GERMANY, summary.get(2).getHomeTeam());
+        }
+    }
+
+    /**
+     * A closed ring refuses every call, the ring size must be a power of two
+     */
+    @Test
+    public void testClose() {
+        RingBufferFootballWorldcupScoreboard repo = RingBufferFootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        repo.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA));
+        repo.close();
+        repo.close();
+        Assertions.assertThrows(ScoreBoardException.class, repo::getSummary);
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.setScore(MEXICO, 1, 0));
+        Assertions.assertThrows(ScoreBoardException.class, () -> RingBufferFootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 3));
+    }
+}
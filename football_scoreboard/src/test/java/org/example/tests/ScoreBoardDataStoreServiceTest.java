@@ -4,6 +4,7 @@ import org.example.ScoreBoardService;
 import org.example.exception.ScoreBoardException;
 import org.example.helper.MatchComparator;
 import org.example.model.MatchInProgress;
+import org.example.repository.impl.StampedLockFootballWorldcupScoreboard;
 import org.example.serviceimpl.FootballWCScoreBoardServiceImpl;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -217,4 +218,68 @@ public class ScoreBoardDataStoreServiceTest {
         Assertions.assertEquals(ARGENTINA, summary.get(3).getHomeTeam());
         Assertions.assertEquals(GERMANY, summary.get(4).getHomeTeam());
     }
+
+    /**
+     * Following is the summary
+     * 1. Uruguay 6 - Italy 6
+     * 2. Spain 10 - Brazil 2
+     * 3. Mexico 0 - Canada 5
+     * 4. Argentina 3 - Australia 1
+     * 5. Germany 2 - France 2
+     * <p>
+     * The top 2, the page starting at rank 2 and the rank of single matches are checked
+     */
+    @Test
+    public void testTopKPagesAndRanks() throws InterruptedException {
+        ScoreBoardService service = new FootballWCScoreBoardServiceImpl(new MatchComparator());
+        String[][] matches = {{MEXICO, CANADA}, {SPAIN, BRAZIL}, {GERMANY, FRANCE}, {URUGUAY, ITALY}, {ARGENTINA, AUSTRALIA}};
+        for(String[] match : matches) {
+            service.startNewMatch(OffsetDateTime.now(ZoneOffset.UTC), match[0], match[1]);
+            Thread.sleep(50);
+        }
+        service.updateScore(MEXICO, 0, 5);
+        service.updateScore(SPAIN, 10, 2);
+        service.updateScore(GERMANY, 2, 2);
+        service.updateScore(ITALY, 6, 6);
+        service.updateScore(ARGENTINA, 3, 1);
+
+        List<MatchInProgress> top = service.getSummary(0, 2);
+        Assertions.assertEquals(2, top.size());
+        Assertions.assertEquals(URUGUAY, top.get(0).getHomeTeam());
+        Assertions.assertEquals(SPAIN, top.get(1).getHomeTeam());
+
+        List<MatchInProgress> page = service.getSummary(2, 10);
+        Assertions.assertEquals(3, page.size());
+        Assertions.assertEquals(MEXICO, page.get(0).getHomeTeam());
+        Assertions.assertEquals(GERMANY, page.get(2).getHomeTeam());
+        Assertions.assertTrue(service.getSummary(5, 10).isEmpty());
+        Assertions.assertThrows(ScoreBoardException.class, () -> service.getSummary(-1, 10));
+
+        Assertions.assertEquals(0, service.getRank(ITALY));
+        Assertions.assertEquals(2, service.getRank(CANADA));
+        Assertions.assertEquals(4, service.getRank(GERMANY));
+        Assertions.assertEquals(-1, service.getRank(null));
+        service.finishMatch(URUGUAY);
+        Assertions.assertEquals(-1, service.getRank(ITALY));
+        Assertions.assertEquals(0, service.getRank(SPAIN));
+    }
+
+    /**
+     * The id of a team, looked up once, updates and finishes its match
+     * The data stores which do not index the teams by id refuse it
+     */
+    @Test
+    public void testTeamIds() {
+        ScoreBoardService service = new FootballWCScoreBoardServiceImpl(new MatchComparator());
+        service.startNewMatch(OffsetDateTime.now(ZoneOffset.UTC), URUGUAY, ITALY);
+        int italy = service.getTeamId(ITALY);
+        Assertions.assertTrue(service.updateScore(italy, 6, 6));
+        Assertions.assertEquals(6, service.getMatch(URUGUAY).getAwayTeamScore());
+        Assertions.assertTrue(service.finishMatch(italy));
+        Assertions.assertTrue(service.getSummary().isEmpty());
+
+        ScoreBoardService stamped = new FootballWCScoreBoardServiceImpl(StampedLockFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()));
+        Assertions.assertThrows(ScoreBoardException.class, () -> stamped.getTeamId(ITALY));
+        Assertions.assertThrows(ScoreBoardException.class, () -> stamped.updateScore(0, 1, 0));
+    }
 }
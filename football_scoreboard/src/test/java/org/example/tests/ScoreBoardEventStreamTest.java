@@ -0,0 +1,127 @@
+package org.example.tests;
+
+import org.example.ScoreBoardService;
+import org.example.helper.MatchComparator;
+import org.example.http.ScoreBoardHttpServer;
+import org.example.model.ScoreBoardOperation;
+import org.example.repository.impl.StampedLockFootballWorldcupScoreboard;
+import org.example.serviceimpl.FootballWCScoreBoardServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.example.model.Constants.*;
+
+public class ScoreBoardEventStreamTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /**
+     * Every connection starts with a snapshot of the summary and then gets the same change events
+     */
+    @Test
+    public void testSnapshotThenChanges() throws Exception {
+        ScoreBoardService service = new FootballWCScoreBoardServiceImpl(new MatchComparator());
+        service.startNewMatch(OffsetDateTime.now(ZoneOffset.UTC), SPAIN, BRAZIL);
+        try (ScoreBoardHttpServer server = ScoreBoardHttpServer.start(service, new InetSocketAddress("127.0.0.1", 0))) {
+            List<BufferedReader> clients = new ArrayList<>();
+            for(int i = 0; i < 20; i++) {
+                clients.add(connect(server));
+            }
+            for(BufferedReader reader : clients) {
+                Assertions.assertEquals("event: snapshot", readUntil(reader, "event:"));
+                Assertions.assertTrue(readUntil(reader, "data:").contains("\"homeTeam\":\"Spain\""));
+            }
+            waitForConnections(server, clients.size());
+
+            service.updateScore(SPAIN, 1, 0);
+            for(BufferedReader reader : clients) {
+                Assertions.assertEquals("event: change", readUntil(reader, "event:"));
+                String data = readUntil(reader, "data:");
+                Assertions.assertTrue(data.contains("\"type\":\"SCORE_CHANGED\""), data);
+                Assertions.assertTrue(data.contains("\"homeScore\":1"), data);
+            }
+            for(BufferedReader reader : clients) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * With a queue of 1 event the client falls behind a burst of goals and is resynced with a snapshot
+     * Either way the last state it sees is the final score
+     */
+    @Test
+    public void testSlowClientConvergesToFinalScore() throws Exception {
+        ScoreBoardService service = new FootballWCScoreBoardServiceImpl(new MatchComparator());
+        service.startNewMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA);
+        try (ScoreBoardHttpServer server = ScoreBoardHttpServer.start(service, new InetSocketAddress("127.0.0.1", 0), 1)) {
+            BufferedReader reader = connect(server);
+            Assertions.assertEquals("event: snapshot", readUntil(reader, "event:"));
+            waitForConnections(server, 1);
+            for(int goal = 1; goal <= 200; goal++) {
+                service.applyBatch(List.of(ScoreBoardOperation.updateScore(MEXICO, goal, 0)));
+            }
+            String data;
+            do {
+                data = readUntil(reader, "data:");
+            } while(!data.contains("\"homeScore\":200,"));
+            reader.close();
+        }
+    }
+
+    /**
+     * A data store which does not keep its changes cannot stream them
+     */
+    @Test
+    public void testUnsupportedDataStore() throws Exception {
+        ScoreBoardService service = new FootballWCScoreBoardServiceImpl(StampedLockFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()));
+        try (ScoreBoardHttpServer server = ScoreBoardHttpServer.start(service, new InetSocketAddress("127.0.0.1", 0))) {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri(server)).GET().build(), HttpResponse.BodyHandlers.ofString());
+            Assertions.assertEquals(501, response.statusCode());
+        }
+    }
+
+    private BufferedReader connect(ScoreBoardHttpServer server) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = client.send(HttpRequest.newBuilder(uri(server)).GET().build(), HttpResponse.BodyHandlers.ofInputStream());
+        Assertions.assertEquals(200, response.statusCode());
+        Assertions.assertEquals("text/event-stream; charset=utf-8", response.headers().firstValue("Content-Type").orElseThrow());
+        return new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8));
+    }
+
+    private static String readUntil(BufferedReader reader, String prefix) throws IOException {
+        String line;
+        while((line = reader.readLine()) != null) {
+            if(line.startsWith(prefix)) {
+                return line;
+            }
+        }
+        throw new IOException("The stream ended before " + prefix);
+    }
+
+    private static void waitForConnections(ScoreBoardHttpServer server, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while(server.getEventConnectionCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(count, server.getEventConnectionCount());
+    }
+
+    private static URI uri(ScoreBoardHttpServer server) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/events");
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.tests;
+
+import org.example.ScoreBoardService;
+import org.example.helper.MatchComparator;
+import org.example.helper.RankingStrategy;
+import org.example.http.ScoreBoardHttpServer;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.example.repository.impl.SnapshotFootballWorldcupScoreboard;
+import org.example.repository.impl.StampedLockFootballWorldcupScoreboard;
+import org.example.serviceimpl.FootballWCScoreBoardServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.example.model.Constants.*;
+
+public class ScoreBoardHttpServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /**
+     * The summary is served with an ETag, asking again with it gives 304 until the summary changes
+     * 1. Spain 1 - Brazil 0
+     * 2. Mexico 0 - Canada 0
+     */
+    @Test
+    public void testSummaryWithEtag() throws Exception {
+        ScoreBoardService service = new FootballWCScoreBoardServiceImpl(SnapshotFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()));
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        service.startNewMatch(now, MEXICO, CANADA);
+        service.startNewMatch(now.plusSeconds(1), SPAIN, BRAZIL);
+        service.updateScore(SPAIN, 1, 0);
+        try (ScoreBoardHttpServer server = ScoreBoardHttpServer.start(service, new InetSocketAddress("127.0.0.1", 0))) {
+            HttpResponse<String> first = get(server, "/summary", null);
+            Assertions.assertEquals(200, first.statusCode());
+            Assertions.assertTrue(first.body().startsWith("[{\"rank\":0,\"homeTeam\":\"Spain\",\"awayTeam\":\"Brazil\",\"homeScore\":1,\"awayScore\":0"), first.body());
+            Assertions.assertTrue(first.body().contains("{\"rank\":1,\"homeTeam\":\"Mexico\""), first.body());
+            String etag = first.headers().firstValue("ETag").orElseThrow();
+
+            HttpResponse<String> notModified = get(server, "/summary", etag);
+            Assertions.assertEquals(304, notModified.statusCode());
+            Assertions.assertTrue(notModified.body().isEmpty());
+
+            service.updateScore(MEXICO, 2, 0);
+            HttpResponse<String> changed = get(server, "/summary", etag);
+            Assertions.assertEquals(200, changed.statusCode());
+            Assertions.assertNotEquals(etag, changed.headers().firstValue("ETag").orElseThrow());
+            Assertions.assertTrue(changed.body().startsWith("[{\"rank\":0,\"homeTeam\":\"Mexico\""), changed.body());
+
+            HttpResponse<String> page = get(server, "/summary?offset=1&limit=5", null);
+            Assertions.assertEquals(200, page.statusCode());
+            Assertions.assertTrue(page.body().startsWith("[{\"rank\":1,\"homeTeam\":\"Spain\""), page.body());
+            Assertions.assertEquals(400, get(server, "/summary?offset=-1", null).statusCode());
+        }
+    }
+
+    /**
+     * Another ranking kept by the data store is paged like the summary, an unknown one gives 400
+     */
+    @Test
+    public void testRanking() throws Exception {
+        ScoreBoardService service = new FootballWCScoreBoardServiceImpl(
+                FootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), List.of(RankingStrategy.KICK_OFF)));
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        service.startNewMatch(now, MEXICO, CANADA);
+        service.startNewMatch(now.plusSeconds(1), SPAIN, BRAZIL);
+        service.updateScore(SPAIN, 1, 0);
+        try (ScoreBoardHttpServer server = ScoreBoardHttpServer.start(service, new InetSocketAddress("127.0.0.1", 0))) {
+            HttpResponse<String> page = get(server, "/summary?ranking=kickOff&limit=1", null);
+            Assertions.assertEquals(200, page.statusCode());
+            Assertions.assertTrue(page.body().startsWith("[{\"rank\":0,\"homeTeam\":\"Mexico\""), page.body());
+            Assertions.assertFalse(page.body().contains(SPAIN), page.body());
+            Assertions.assertEquals(400, get(server, "/summary?ranking=unknown", null).statusCode());
+        }
+    }
+
+    /**
+     * A match is found by either team, an unknown team gives 404 and a write gives 405
+     * The data store does not count its changes here, so the summary is served uncached with a checksum ETag
+     * A new server for the same match, as after a restart, does not take the ETag of the previous one
+     */
+    @Test
+    public void testMatchEndpoint() throws Exception {
+        ScoreBoardService service = new FootballWCScoreBoardServiceImpl(StampedLockFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()));
+        service.startNewMatch(OffsetDateTime.now(ZoneOffset.UTC), URUGUAY, ITALY);
+        service.updateScore(URUGUAY, 6, 6);
+        String matchEtag;
+        try (ScoreBoardHttpServer server = ScoreBoardHttpServer.start(service, new InetSocketAddress("127.0.0.1", 0))) {
+            HttpResponse<String> match = get(server, "/matches/" + ITALY, null);
+            matchEtag = match.headers().firstValue("ETag").orElseThrow();
+            Assertions.assertEquals(200, match.statusCode());
+            Assertions.assertTrue(match.body().contains("\"homeTeam\":\"Uruguay\",\"awayTeam\":\"Italy\",\"homeScore\":6,\"awayScore\":6"), match.body());
+            Assertions.assertEquals(304, get(server, "/matches/" + URUGUAY, match.headers().firstValue("ETag").orElseThrow()).statusCode());
+            Assertions.assertEquals(404, get(server, "/matches/" + SPAIN, null).statusCode());
+
+            HttpResponse<String> summary = get(server, "/summary", null);
+            Assertions.assertEquals(304, get(server, "/summary", summary.headers().firstValue("ETag").orElseThrow()).statusCode());
+
+            HttpRequest post = HttpRequest.newBuilder(uri(server, "/summary")).POST(HttpRequest.BodyPublishers.noBody()).build();
+            Assertions.assertEquals(405, client.send(post, HttpResponse.BodyHandlers.ofString()).statusCode());
+        }
+        try (ScoreBoardHttpServer restarted = ScoreBoardHttpServer.start(service, new InetSocketAddress("127.0.0.1", 0))) {
+            Assertions.assertEquals(200, get(restarted, "/matches/" + URUGUAY, matchEtag).statusCode());
+        }
+    }
+
+    private HttpResponse<String> get(ScoreBoardHttpServer server, String path, String ifNoneMatch) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(server, path)).GET();
+        if(ifNoneMatch != null) {
+            request.header("If-None-Match", ifNoneMatch);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(ScoreBoardHttpServer server, String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.tests;
+
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MatchComparator;
+import org.example.ingestion.BackpressurePolicy;
+import org.example.ingestion.ScoreBoardIngestion;
+import org.example.model.MatchInProgress;
+import org.example.model.OperationResult;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.example.serviceimpl.FootballWCScoreBoardServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.model.Constants.*;
+
+public class ScoreBoardIngestionTest {
+
+    /**
+     * Every submitted operation is applied in order and acknowledged with its result
+     * The service reads the writes once their futures completed
+     */
+    @Test
+    public void testOperationsAreAcknowledged() throws Exception {
+        FootballWCScoreBoardServiceImpl service = new FootballWCScoreBoardServiceImpl(new MatchComparator());
+        try (ScoreBoardIngestion ingestion = service.startIngestion(16, 4, BackpressurePolicy.BLOCK)) {
+            OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+            CompletableFuture<OperationResult> started = ingestion.startNewMatch(utc, MEXICO, CANADA);
+            CompletableFuture<OperationResult> scored = ingestion.updateScore(MEXICO, 0, 5);
+            CompletableFuture<OperationResult> invalid = ingestion.updateScore(ITALY, 1, 0);
+            Assertions.assertTrue(started.get(5, TimeUnit.SECONDS).isSuccess());
+            Assertions.assertTrue(scored.get(5, TimeUnit.SECONDS).isSuccess());
+            Assertions.assertFalse(invalid.get(5, TimeUnit.SECONDS).isSuccess());
+            Assertions.assertNotNull(invalid.get().getMessage());
+            Assertions.assertEquals(5, service.getSummary().get(0).getAwayTeamScore());
+
+            Assertions.assertTrue(ingestion.finishMatch(MEXICO).get(5, TimeUnit.SECONDS).isSuccess());
+            Assertions.assertTrue(service.getSummary().isEmpty());
+            assertFailsWithScoreBoardException(ingestion.submit(null));
+        }
+    }
+
+    /**
+     * Many feeds update their own matches concurrently, each one sees its updates applied in its order
+     */
+    @Test
+    public void testManyFeeds() throws Exception {
+        FootballWorldcupScoreboard dataStore = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        String[][] matches = {{MEXICO, CANADA}, {SPAIN, BRAZIL}, {GERMANY, FRANCE}, {URUGUAY, ITALY}};
+        int goals = 2_000;
+        try (ScoreBoardIngestion ingestion = ScoreBoardIngestion.start(dataStore, 64, 16, BackpressurePolicy.BLOCK)) {
+            OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+            List<Thread> feeds = new ArrayList<>();
+            List<CompletableFuture<OperationResult>> last = new ArrayList<>();
+            for(int m = 0; m < matches.length; m++) {
+                String[] match = matches[m];
+                Assertions.assertTrue(ingestion.startNewMatch(utc.plusSeconds(m), match[0], match[1]).get(5, TimeUnit.SECONDS).isSuccess());
+            }
+            for(String[] match : matches) {
+                CompletableFuture<OperationResult> lastOfFeed = new CompletableFuture<>();
+                last.add(lastOfFeed);
+                Thread feed = new Thread(() -> {
+                    CompletableFuture<OperationResult> future = null;
+                    for(int goal = 1; goal <= goals; goal++) {
+                        future = ingestion.updateScore(match[0], goal, 0);
+                    }
+                    future.whenComplete((result, e) -> lastOfFeed.complete(result));
+                });
+                feed.start();
+                feeds.add(feed);
+            }
+            for(Thread feed : feeds) {
+                feed.join();
+            }
+            for(CompletableFuture<OperationResult> future : last) {
+                Assertions.assertTrue(future.get(10, TimeUnit.SECONDS).isSuccess());
+            }
+        }
+        for(String[] match : matches) {
+            Assertions.assertEquals(goals, dataStore.get(match[0]).getHomeTeamScore());
+            Assertions.assertEquals(goals, dataStore.get(match[0]).getVersion());
+        }
+    }
+
+    /**
+     * With REJECT a full queue fails the future right away, the accepted operations are still applied
+     */
+    @Test
+    public void testRejectWhenFull() throws Exception {
+        FootballWorldcupScoreboard dataStore = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        dataStore.add(new MatchInProgress(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA));
+        List<CompletableFuture<OperationResult>> accepted = new ArrayList<>();
+        CompletableFuture<OperationResult> rejected;
+        try (ScoreBoardIngestion ingestion = ScoreBoardIngestion.start(dataStore, 4, 1, BackpressurePolicy.REJECT)) {
+            dataStore.getLock().lock(); //The writer blocks on the data store, the queue fills up
+            try {
+                int goal = 0;
+                while(true) {
+                    CompletableFuture<OperationResult> future = ingestion.updateScore(MEXICO, ++goal, 0);
+                    if(future.isCompletedExceptionally()) {
+                        rejected = future;
+                        break;
+                    }
+                    accepted.add(future);
+                }
+            } finally {
+                dataStore.getLock().unlock();
+            }
+            assertFailsWithScoreBoardException(rejected);
+            Assertions.assertTrue(accepted.size() >= 4);
+            for(CompletableFuture<OperationResult> future : accepted) {
+                Assertions.assertTrue(future.get(5, TimeUnit.SECONDS).isSuccess());
+            }
+        }
+        Assertions.assertEquals(accepted.size(), dataStore.get(MEXICO).getHomeTeamScore());
+    }
+
+    /**
+     * A continuation of a future runs on the writer thread, with BLOCK it may not wait for the queue it has to drain itself
+     * Its submits beyond the capacity fail right away, the accepted ones are applied once the continuation returns
+     */
+    @Test
+    public void testSubmitFromWriterDoesNotBlock() throws Exception {
+        FootballWorldcupScoreboard dataStore = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        dataStore.add(new MatchInProgress(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA));
+        List<CompletableFuture<OperationResult>> submitted = new ArrayList<>();
+        CompletableFuture<Void> continuation;
+        try (ScoreBoardIngestion ingestion = ScoreBoardIngestion.start(dataStore, 4, 1, BackpressurePolicy.BLOCK)) {
+            dataStore.getLock().lock(); //The continuation is registered before the writer can complete the future
+            try {
+                continuation = ingestion.updateScore(MEXICO, 1, 0).thenAccept(result -> {
+                    for(int goal = 2; goal <= 10; goal++) {
+                        submitted.add(ingestion.updateScore(MEXICO, goal, 0));
+                    }
+                });
+            } finally {
+                dataStore.getLock().unlock();
+            }
+            continuation.get(5, TimeUnit.SECONDS);
+            assertFailsWithScoreBoardException(submitted.get(submitted.size() - 1));
+            Assertions.assertTrue(submitted.get(0).get(5, TimeUnit.SECONDS).isSuccess());
+        }
+    }
+
+    /**
+     * Close applies what was queued before and refuses what comes after
+     */
+    @Test
+    public void testClose() throws Exception {
+        FootballWorldcupScoreboard dataStore = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        ScoreBoardIngestion ingestion = ScoreBoardIngestion.start(dataStore);
+        CompletableFuture<OperationResult> started = ingestion.startNewMatch(OffsetDateTime.now(ZoneOffset.UTC), SPAIN, BRAZIL);
+        ingestion.close();
+        Assertions.assertTrue(started.isDone());
+        Assertions.assertTrue(started.get().isSuccess());
+        Assertions.assertNotNull(dataStore.get(SPAIN));
+        assertFailsWithScoreBoardException(ingestion.updateScore(SPAIN, 1, 0));
+        ingestion.close();
+    }
+
+    private static void assertFailsWithScoreBoardException(CompletableFuture<OperationResult> future) {
+        ExecutionException e = Assertions.assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(ScoreBoardException.class, e.getCause());
+    }
+}
@@ -0,0 +1,196 @@
+package org.example.tests;
+
+import org.example.ScoreBoardService;
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MatchComparator;
+import org.example.model.MatchInProgress;
+import org.example.model.ScoreBoardChange;
+import org.example.publisher.ScoreBoardPublisher;
+import org.example.serviceimpl.FootballWCScoreBoardServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.example.model.Constants.*;
+import static org.example.tests.MatchFixtures.newMatch;
+
+public class ScoreBoardPublisherTest {
+
+    /**
+     * A subscriber without demand gets nothing
+     * When it asks, it gets only the latest change per match, in the order of the latest changes
+     */
+    @Test
+    public void testSlowSubscriberGetsLatestChangePerMatch() {
+        ScoreBoardPublisher publisher = new ScoreBoardPublisher(Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+
+        MatchInProgress argentina = newMatch(OffsetDateTime.now(ZoneOffset.UTC), ARGENTINA, AUSTRALIA);
+        MatchInProgress spain = newMatch(OffsetDateTime.now(ZoneOffset.UTC), SPAIN, BRAZIL);
+        publisher.publish(new ScoreBoardChange(1, ScoreBoardChange.Type.STARTED, argentina, -1, 0));
+        publisher.publish(new ScoreBoardChange(2, ScoreBoardChange.Type.STARTED, spain, -1, 0));
+        publisher.publish(new ScoreBoardChange(3, ScoreBoardChange.Type.SCORE_CHANGED, spain.withScore(1, 0), 0, 0));
+        publisher.publish(new ScoreBoardChange(4, ScoreBoardChange.Type.SCORE_CHANGED, argentina.withScore(1, 0), 1, 1));
+        publisher.publish(new ScoreBoardChange(5, ScoreBoardChange.Type.SCORE_CHANGED, argentina.withScore(2, 0), 1, 0));
+        Assertions.assertTrue(subscriber.received.isEmpty());
+
+        subscriber.subscription.request(10);
+        Assertions.assertEquals(2, subscriber.received.size());
+        ScoreBoardChange first = subscriber.received.poll();
+        Assertions.assertEquals(SPAIN, first.getMatch().getHomeTeam());
+        Assertions.assertEquals(ScoreBoardChange.Type.STARTED, first.getType());
+        Assertions.assertEquals(1, first.getMatch().getHomeTeamScore());
+        ScoreBoardChange second = subscriber.received.poll();
+        Assertions.assertEquals(ARGENTINA, second.getMatch().getHomeTeam());
+        Assertions.assertEquals(ScoreBoardChange.Type.STARTED, second.getType());
+        Assertions.assertEquals(2, second.getMatch().getHomeTeamScore());
+        Assertions.assertEquals(-1, second.getOldRank());
+        Assertions.assertEquals(0, second.getNewRank());
+        Assertions.assertEquals(5, second.getSequence());
+    }
+
+    /**
+     * A match which started and finished before the subscriber asked is never delivered
+     * Score changes followed by the finish are delivered as a single finish
+     */
+    @Test
+    public void testFinishedMatchesAreCoalesced() {
+        ScoreBoardPublisher publisher = new ScoreBoardPublisher(Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+
+        MatchInProgress argentina = newMatch(OffsetDateTime.now(ZoneOffset.UTC), ARGENTINA, AUSTRALIA);
+        MatchInProgress spain = newMatch(OffsetDateTime.now(ZoneOffset.UTC), SPAIN, BRAZIL);
+        publisher.publish(new ScoreBoardChange(1, ScoreBoardChange.Type.STARTED, argentina, -1, 0));
+        publisher.publish(new ScoreBoardChange(2, ScoreBoardChange.Type.FINISHED, argentina, 0, -1));
+        publisher.publish(new ScoreBoardChange(3, ScoreBoardChange.Type.SCORE_CHANGED, spain.withScore(1, 0), 4, 2));
+        publisher.publish(new ScoreBoardChange(4, ScoreBoardChange.Type.FINISHED, spain.withScore(1, 0), 2, -1));
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        Assertions.assertEquals(1, subscriber.received.size());
+        ScoreBoardChange change = subscriber.received.poll();
+        Assertions.assertEquals(ScoreBoardChange.Type.FINISHED, change.getType());
+        Assertions.assertEquals(SPAIN, change.getMatch().getHomeTeam());
+        Assertions.assertEquals(4, change.getOldRank());
+        Assertions.assertEquals(-1, change.getNewRank());
+    }
+
+    /**
+     * A subscriber which lets too many matches pile up is dropped with an error
+     * A cancelled subscriber gets nothing any more
+     */
+    @Test
+    public void testTooSlowAndCancelledSubscribers() {
+        ScoreBoardPublisher publisher = new ScoreBoardPublisher(Runnable::run, 2);
+        RecordingSubscriber slow = new RecordingSubscriber(0);
+        RecordingSubscriber cancelled = new RecordingSubscriber(0);
+        publisher.subscribe(slow);
+        publisher.subscribe(cancelled);
+        cancelled.subscription.cancel();
+        Assertions.assertEquals(1, publisher.getSubscriberCount());
+
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        publisher.publish(new ScoreBoardChange(1, ScoreBoardChange.Type.STARTED, newMatch(utc, ARGENTINA, AUSTRALIA), -1, 0));
+        publisher.publish(new ScoreBoardChange(2, ScoreBoardChange.Type.STARTED, newMatch(utc, SPAIN, BRAZIL), -1, 0));
+        Assertions.assertNull(slow.error);
+        publisher.publish(new ScoreBoardChange(3, ScoreBoardChange.Type.STARTED, newMatch(utc, GERMANY, FRANCE), -1, 0));
+
+        Assertions.assertTrue(slow.error instanceof ScoreBoardException);
+        Assertions.assertEquals(0, publisher.getSubscriberCount());
+        Assertions.assertTrue(cancelled.received.isEmpty());
+        Assertions.assertNull(cancelled.error);
+    }
+
+    /**
+     * The demand must be positive
+     */
+    @Test
+    public void testInvalidDemand() {
+        ScoreBoardPublisher publisher = new ScoreBoardPublisher(Runnable::run);
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(0);
+        Assertions.assertTrue(subscriber.error instanceof IllegalArgumentException);
+    }
+
+    /**
+     * The service pushes its changes to the subscriber and never completes it on its own
+     */
+    @Test
+    public void testServicePushesChanges() throws InterruptedException {
+        ScoreBoardService service = new FootballWCScoreBoardServiceImpl(new MatchComparator());
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        service.getChangePublisher().subscribe(subscriber);
+        Assertions.assertSame(service.getChangePublisher(), service.getChangePublisher());
+
+        service.startNewMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA);
+        service.updateScore(MEXICO, 0, 1);
+
+        //Depending on the timing the two changes may have been coalesced, the last one always carries the goal
+        ScoreBoardChange change = subscriber.received.poll(10, TimeUnit.SECONDS);
+        Assertions.assertNotNull(change);
+        while(change.getSequence() != 2) {
+            change = subscriber.received.poll(10, TimeUnit.SECONDS);
+            Assertions.assertNotNull(change);
+        }
+        Assertions.assertEquals(MEXICO, change.getMatch().getHomeTeam());
+        Assertions.assertEquals(1, change.getMatch().getAwayTeamScore());
+        Assertions.assertNull(subscriber.error);
+        Assertions.assertFalse(subscriber.completed);
+    }
+
+    /**
+     * Closing completes the subscribers, also the ones which subscribe later
+     */
+    @Test
+    public void testClose() {
+        ScoreBoardPublisher publisher = new ScoreBoardPublisher(Runnable::run);
+        RecordingSubscriber before = new RecordingSubscriber(1);
+        publisher.subscribe(before);
+        publisher.close();
+        RecordingSubscriber after = new RecordingSubscriber(1);
+        publisher.subscribe(after);
+        Assertions.assertTrue(before.completed);
+        Assertions.assertTrue(after.completed);
+    }
+
+    private static final class RecordingSubscriber implements Flow.Subscriber<ScoreBoardChange> {
+        private final long initialDemand;
+        private final BlockingQueue<ScoreBoardChange> received = new LinkedBlockingQueue<>();
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+        private volatile boolean completed;
+
+        private RecordingSubscriber(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if(initialDemand > 0) {
+                subscription.request(initialDemand);
+            }
+        }
+
+        @Override
+        public void onNext(ScoreBoardChange item) {
+            received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
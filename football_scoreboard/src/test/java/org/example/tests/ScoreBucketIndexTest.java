@@ -0,0 +1,136 @@
+package org.example.tests;
+
+import org.example.helper.MatchComparator;
+import org.example.helper.OrderStatisticTree;
+import org.example.helper.ScoreBucketIndex;
+import org.example.model.MatchInProgress;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.example.tests.MatchFixtures.restoredMatch;
+
+public class ScoreBucketIndexTest {
+
+    private static final OffsetDateTime KICK_OFF = OffsetDateTime.of(2026, 6, 11, 18, 0, 0, 0, ZoneOffset.UTC);
+
+    /**
+     * Random goals, corrections and finishes, the buckets must always agree with a single tree ordered by MatchComparator
+     * Some scores are negative or above the buckets so that the trees on both ends are used as well
+     */
+    @Test
+    public void testAgreesWithTree() {
+        ScoreBucketIndex index = new ScoreBucketIndex();
+        OrderStatisticTree<MatchInProgress> expected = new OrderStatisticTree<>(new MatchComparator());
+        Random random = new Random(23);
+        List<MatchInProgress> live = new ArrayList<>();
+        for(int i = 0; i < 50_000; i++) {
+            int action = random.nextInt(10);
+            if(action == 0 || live.isEmpty()) {
+                MatchInProgress match = restoredMatch(KICK_OFF.plusNanos(random.nextInt(20)), "Home " + i, "Away " + i);
+                Assertions.assertEquals(expected.add(match), index.add(match));
+                live.add(match);
+            } else if(action == 1) {
+                MatchInProgress match = live.remove(random.nextInt(live.size()));
+                Assertions.assertEquals(expected.remove(match), index.remove(match));
+            } else {
+                int position = random.nextInt(live.size());
+                MatchInProgress match = live.get(position);
+                MatchInProgress updated = match.withScore(score(random), score(random));
+                Assertions.assertTrue(index.remove(match));
+                Assertions.assertTrue(index.add(updated));
+                expected.remove(match);
+                expected.add(updated);
+                live.set(position, updated);
+            }
+            Assertions.assertEquals(expected.size(), index.size());
+        }
+
+        List<MatchInProgress> sorted = new ArrayList<>(expected);
+        Assertions.assertEquals(sorted, new ArrayList<>(index));
+        for(int i = 0; i < sorted.size(); i++) {
+            Assertions.assertSame(sorted.get(i), index.get(i));
+            Assertions.assertEquals(i, index.rankOf(sorted.get(i)));
+            Assertions.assertTrue(index.contains(sorted.get(i)));
+        }
+        for(int from = 0; from <= sorted.size(); from += 97) {
+            Assertions.assertEquals(sorted.subList(from, Math.min(sorted.size(), from + 10)), index.range(from, 10));
+            Iterator<MatchInProgress> iterator = index.iterator(from);
+            Assertions.assertEquals(from < sorted.size(), iterator.hasNext());
+        }
+        for(int n = 0; n < 1_000; n++) {
+            MatchInProgress probe = restoredMatch(KICK_OFF.plusNanos(random.nextInt(20)), "Probe Home", "Probe Away").withScore(score(random), score(random));
+            Assertions.assertEquals(expected.countLessThan(probe), index.countLessThan(probe));
+            Assertions.assertEquals(-1, index.rankOf(probe));
+        }
+    }
+
+    /**
+     * A match which is not in the index has no rank, positions outside of the index are rejected
+     */
+    @Test
+    public void testEmptyAndOutOfBounds() {
+        ScoreBucketIndex index = new ScoreBucketIndex();
+        MatchInProgress match = restoredMatch(KICK_OFF, "Home", "Away").withScore(700, 400);
+        Assertions.assertEquals(-1, index.rankOf(match));
+        Assertions.assertFalse(index.remove(match));
+        Assertions.assertFalse(index.iterator().hasNext());
+        Assertions.assertThrows(NoSuchElementException.class, () -> index.iterator().next());
+        Assertions.assertTrue(index.add(match));
+        Assertions.assertFalse(index.add(match));
+        Assertions.assertEquals(match, index.get(0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> index.get(1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> index.get(-1));
+        index.clear();
+        Assertions.assertTrue(index.isEmpty());
+        Assertions.assertEquals(-1, index.rankOf(match));
+    }
+
+    /**
+     * The bucketed data store gives the same summary, pages and ranks as the one with a single tree
+     */
+    @Test
+    public void testBucketedScoreBoard() {
+        FootballWorldcupScoreboard bucketed = FootballWorldcupScoreboard.getBucketedScoreBoard();
+        FootballWorldcupScoreboard tree = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        Random random = new Random(5);
+        for(int i = 0; i < 200; i++) {
+            MatchInProgress match = restoredMatch(KICK_OFF.plusSeconds(random.nextInt(10)), "Home " + i, "Away " + i);
+            Assertions.assertTrue(bucketed.add(match));
+            Assertions.assertTrue(tree.add(match));
+        }
+        for(int i = 0; i < 2_000; i++) {
+            String homeTeam = "Home " + random.nextInt(200);
+            int homeScore = random.nextInt(6);
+            int awayScore = random.nextInt(6);
+            Assertions.assertEquals(tree.setScore(homeTeam, homeScore, awayScore), bucketed.setScore(homeTeam, homeScore, awayScore));
+        }
+        Assertions.assertTrue(bucketed.remove("Home 7"));
+        Assertions.assertTrue(tree.remove("Home 7"));
+
+        Assertions.assertEquals(tree.getSummary(), bucketed.getSummary());
+        Assertions.assertEquals(tree.getSummary(40, 25), bucketed.getSummary(40, 25));
+        for(int i = 0; i < 200; i++) {
+            Assertions.assertEquals(tree.getRank("Home " + i), bucketed.getRank("Home " + i));
+        }
+    }
+
+    private static int score(Random random) {
+        int score = random.nextInt(20);
+        if(score == 0) {
+            return -1 - random.nextInt(3);
+        }
+        if(score == 1) {
+            return ScoreBucketIndex.MAX_BUCKETED_TOTAL + random.nextInt(3);
+        }
+        return random.nextInt(8);
+    }
+}
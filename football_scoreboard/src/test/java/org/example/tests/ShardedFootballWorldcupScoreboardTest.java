@@ -0,0 +1,249 @@
+package org.example.tests;
+
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MatchComparator;
+import org.example.model.MatchInProgress;
+import org.example.model.OperationResult;
+import org.example.model.ScoreBoardOperation;
+import org.example.repository.impl.FootballWorldcupScoreboard;
+import org.example.repository.impl.ShardedFootballWorldcupScoreboard;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.model.Constants.*;
+import static org.example.tests.MatchFixtures.newMatch;
+
+public class ShardedFootballWorldcupScoreboardTest {
+
+    /**
+     * The merged summary of the shards is the same as the summary of a single scoreboard
+     */
+    @Test
+    public void testMergedSummaryMatchesSingleScoreboard() {
+        ShardedFootballWorldcupScoreboard sharded = ShardedFootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 4);
+        FootballWorldcupScoreboard single = FootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        Random random = new Random(7);
+        for(int i = 0; i < 200; i++) {
+            sharded.add(newMatch(utc.plusNanos(i * 1000L), "Home-" + i, "Away-" + i));
+            single.add(newMatch(utc.plusNanos(i * 1000L), "Home-" + i, "Away-" + i));
+        }
+        for(int i = 0; i < 1000; i++) {
+            String team = (random.nextBoolean() ? "Home-" : "Away-") + random.nextInt(200);
+            int home = random.nextInt(6);
+            int away = random.nextInt(6);
+            sharded.setScore(team, home, away);
+            single.setScore(team, home, away);
+        }
+        for(int i = 0; i < 200; i += 3) {
+            sharded.remove("Away-" + i);
+            single.remove("Away-" + i);
+        }
+
+        List<MatchInProgress> expected = single.getSummary();
+        List<MatchInProgress> actual = sharded.getSummary();
+        Assertions.assertEquals(expected.size(), actual.size());
+        for(int i = 0; i < expected.size(); i++) {
+            Assertions.assertEquals(expected.get(i).getHomeTeam(), actual.get(i).getHomeTeam());
+            Assertions.assertEquals(expected.get(i).getHomeTeamScore(), actual.get(i).getHomeTeamScore());
+            Assertions.assertEquals(i, sharded.getRank(actual.get(i).getAwayTeam()));
+        }
+        List<MatchInProgress> page = sharded.getSummary(20, 15);
+        Assertions.assertEquals(15, page.size());
+        for(int i = 0; i < page.size(); i++) {
+            Assertions.assertEquals(expected.get(20 + i).getHomeTeam(), page.get(i).getHomeTeam());
+        }
+        Assertions.assertEquals(5, sharded.getSummary(expected.size() - 5, 15).size());
+    }
+
+    /**
+     * A team may not play two matches at the same time, even if the matches would go to different shards
+     * A finished match releases both teams
+     */
+    @Test
+    public void testTeamIsAlreadyPlayingInAnotherShard() {
+        ShardedFootballWorldcupScoreboard repo = ShardedFootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 8);
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        repo.add(newMatch(utc, ARGENTINA, AUSTRALIA));
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.add(newMatch(utc, SPAIN, AUSTRALIA)));
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.add(newMatch(utc, AUSTRALIA, SPAIN)));
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.add(newMatch(utc, ARGENTINA, SPAIN)));
+        Assertions.assertNull(repo.get(SPAIN)); //The failed claims were rolled back
+        repo.add(newMatch(utc, SPAIN, BRAZIL));
+
+        Assertions.assertEquals(ARGENTINA, repo.get(AUSTRALIA).getHomeTeam());
+        Assertions.assertTrue(repo.remove(AUSTRALIA));
+        Assertions.assertNull(repo.get(ARGENTINA));
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.setScore(ARGENTINA, 1, 0));
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.remove(ARGENTINA));
+        Assertions.assertFalse(repo.remove(null));
+        Assertions.assertFalse(repo.setScore(null, 1, 0));
+        repo.add(newMatch(utc, AUSTRALIA, ARGENTINA));
+        Assertions.assertEquals(2, repo.getSummary().size());
+    }
+
+    /**
+     * A tournament partitioner puts all the matches of a tournament into the same shard
+     */
+    @Test
+    public void testTournamentPartitioner() {
+        Map<String, Integer> tournaments = new HashMap<>();
+        tournaments.put(ARGENTINA, 0);
+        tournaments.put(SPAIN, 1);
+        ShardedFootballWorldcupScoreboard repo = ShardedFootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 2, tournaments::get);
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        repo.add(newMatch(utc, ARGENTINA, AUSTRALIA));
+        repo.add(newMatch(utc.plusNanos(1000), SPAIN, BRAZIL));
+        repo.setScore(BRAZIL, 0, 2);
+        List<MatchInProgress> summary = repo.getSummary();
+        Assertions.assertEquals(SPAIN, summary.get(0).getHomeTeam());
+        Assertions.assertEquals(ARGENTINA, summary.get(1).getHomeTeam());
+        Assertions.assertEquals(2, repo.getShardCount());
+    }
+
+    /**
+     * Many threads start, update and finish their own matches in parallel
+     * In the end all their matches are in the summary exactly once
+     */
+    @Test
+    public void testConcurrentWriters() throws Exception {
+        ShardedFootballWorldcupScoreboard repo = ShardedFootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 4);
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for(int t = 0; t < 4; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for(int i = 0; i < 500; i++) {
+                    String home = "Home-" + thread + "-" + i;
+                    repo.add(newMatch(utc.plusNanos((thread * 1000L + i) * 1000L), home, "Away-" + thread + "-" + i));
+                    repo.setScore(home, i % 5, i % 3);
+                    if(i % 2 == 0) {
+                        repo.remove(home);
+                    }
+                }
+            }));
+        }
+        for(Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        List<MatchInProgress> summary = repo.getSummary();
+        Assertions.assertEquals(1000, summary.size());
+        Assertions.assertEquals(1000, new HashSet<>(summary).size());
+    }
+
+    /**
+     * Threads keep starting and finishing matches of the same home team against new away teams
+     * Once every match is finished no team is still claimed, so each of them may start a new match
+     */
+    @Test
+    public void testRemoveReleasesOnlyItsOwnTeams() throws Exception {
+        ShardedFootballWorldcupScoreboard repo = ShardedFootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 4);
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for(int t = 0; t < 4; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for(int i = 0; i < 2_000; i++) {
+                    try {
+                        repo.add(newMatch(utc, SPAIN, "Away-" + thread + "-" + i));
+                    } catch (ScoreBoardException e) {
+                        //Spain is playing in the match of another thread
+                    }
+                    try {
+                        repo.remove(SPAIN);
+                    } catch (ScoreBoardException e) {
+                        //Another thread finished it first
+                    }
+                }
+            }));
+        }
+        for(Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        if(repo.get(SPAIN) != null) {
+            repo.remove(SPAIN);
+        }
+        Assertions.assertTrue(repo.getSummary().isEmpty());
+        for(int t = 0; t < 4; t++) {
+            for(int i = 0; i < 2_000; i++) {
+                String awayTeam = "Away-" + t + "-" + i;
+                repo.add(newMatch(utc, BRAZIL, awayTeam));
+                repo.remove(awayTeam);
+            }
+        }
+    }
+
+    /**
+     * Every batch sets all the matches over all the shards to the same score, a reader running next to the batches
+     * never sees two different scores, neither in the summary nor in the ranks
+     */
+    @Test
+    public void testBatchIsAtomicOverShards() throws Exception {
+        ShardedFootballWorldcupScoreboard repo = ShardedFootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 4);
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        int matchCount = 32;
+        for(int i = 0; i < matchCount; i++) {
+            repo.add(newMatch(utc.plusNanos(i * 1000L), "Home-" + i, "Away-" + i));
+        }
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> writer = executor.submit(() -> {
+            for(int goal = 1; goal <= 2_000; goal++) {
+                List<ScoreBoardOperation> batch = new ArrayList<>();
+                for(int i = 0; i < matchCount; i++) {
+                    batch.add(ScoreBoardOperation.updateScore("Home-" + i, goal, 0));
+                }
+                Assertions.assertTrue(repo.applyBatch(batch).stream().allMatch(OperationResult::isSuccess));
+            }
+        });
+        while(!writer.isDone()) {
+            List<MatchInProgress> summary = repo.getSummary();
+            Assertions.assertEquals(matchCount, summary.size());
+            int goals = summary.get(0).getHomeTeamScore();
+            Assertions.assertTrue(summary.stream().allMatch(m -> m.getHomeTeamScore() == goals), "A batch was seen half applied");
+            Assertions.assertEquals(1, repo.getSummary(0, matchCount).stream().map(MatchInProgress::getHomeTeamScore).distinct().count());
+            Assertions.assertEquals(matchCount - 1, repo.getRank("Home-0")); //Same score, so the earliest start is last
+        }
+        writer.get(60, TimeUnit.SECONDS);
+        executor.shutdown();
+        Assertions.assertEquals(2_000, repo.get("Away-5").getHomeTeamScore());
+    }
+
+    /**
+     * The operations of a batch may start and finish matches in any shard, failures do not stop the batch
+     */
+    @Test
+    public void testBatchOverShards() {
+        ShardedFootballWorldcupScoreboard repo = ShardedFootballWorldcupScoreboard.getScoreBoard(new MatchComparator(), 8);
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        repo.add(newMatch(utc, ARGENTINA, AUSTRALIA));
+        List<OperationResult> results = repo.applyBatch(Arrays.asList(
+                ScoreBoardOperation.startMatch(utc.plusNanos(1000), SPAIN, BRAZIL),
+                ScoreBoardOperation.updateScore(BRAZIL, 2, 0),
+                ScoreBoardOperation.startMatch(utc.plusNanos(2000), MEXICO, AUSTRALIA),
+                ScoreBoardOperation.finishMatch(AUSTRALIA),
+                ScoreBoardOperation.updateScore(ITALY, 1, 0),
+                null));
+        Assertions.assertTrue(results.get(0).isSuccess());
+        Assertions.assertTrue(results.get(1).isSuccess());
+        Assertions.assertFalse(results.get(2).isSuccess()); //Australia is still playing
+        Assertions.assertTrue(results.get(3).isSuccess());
+        Assertions.assertFalse(results.get(4).isSuccess());
+        Assertions.assertFalse(results.get(5).isSuccess());
+        Assertions.assertNull(repo.get(ARGENTINA));
+        Assertions.assertEquals(2, repo.get(SPAIN).getHomeTeamScore());
+        Assertions.assertEquals(1, repo.getSummary().size());
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.applyBatch(null));
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.tests;
+
+import org.example.ScoreBoardService;
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MatchComparator;
+import org.example.model.MatchInProgress;
+import org.example.repository.impl.SnapshotFootballWorldcupScoreboard;
+import org.example.serviceimpl.FootballWCScoreBoardServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.example.model.Constants.*;
+import static org.example.tests.MatchFixtures.newMatch;
+
+public class SnapshotFootballWorldcupScoreboardTest {
+
+    /**
+     * The published summary may not be modified by the readers
+     */
+    @Test
+    public void testSummaryIsUnmodifiable() {
+        SnapshotFootballWorldcupScoreboard repo = SnapshotFootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        Assertions.assertTrue(repo.getSummary().isEmpty());
+        repo.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), ARGENTINA, AUSTRALIA));
+        List<MatchInProgress> summary = repo.getSummary();
+        Assertions.assertEquals(1, summary.size());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> summary.remove(0));
+    }
+
+    /**
+     * A summary which was already handed out does not change when a match is added or removed later
+     * A new summary is published instead
+     */
+    @Test
+    public void testPublishedSummaryIsStable() throws InterruptedException {
+        SnapshotFootballWorldcupScoreboard repo = SnapshotFootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        repo.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA));
+        List<MatchInProgress> before = repo.getSummary();
+        Thread.sleep(50);
+        repo.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), SPAIN, BRAZIL));
+        repo.remove(MEXICO);
+
+        Assertions.assertEquals(1, before.size());
+        Assertions.assertEquals(MEXICO, before.get(0).getHomeTeam());
+        List<MatchInProgress> after = repo.getSummary();
+        Assertions.assertEquals(1, after.size());
+        Assertions.assertEquals(SPAIN, after.get(0).getHomeTeam());
+        Assertions.assertEquals(SPAIN, repo.getSummary(0, 5).get(0).getHomeTeam());
+        Assertions.assertTrue(repo.getSummary(1, 5).isEmpty());
+        Assertions.assertEquals(0, repo.getRank(BRAZIL));
+    }
+
+    /**
+     * A failed write keeps the last published summary
+     */
+    @Test
+    public void testFailedWriteKeepsSummary() {
+        SnapshotFootballWorldcupScoreboard repo = SnapshotFootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        repo.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), ARGENTINA, AUSTRALIA));
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.setScore(MEXICO, 1, 0));
+        Assertions.assertEquals(1, repo.getSummary().size());
+        Assertions.assertEquals(ARGENTINA, repo.getSummary().get(0).getHomeTeam());
+    }
+
+    /**
+     * The service ranks the matches in the same way with the snapshot data store
+     * 1. Uruguay 6 - Italy 6
+     * 2. Spain 10 - Brazil 2
+     * 3. Germany 2 - France 2
+     */
+    @Test
+    public void testServiceWithSnapshotStore() throws InterruptedException {
+        ScoreBoardService service = new FootballWCScoreBoardServiceImpl(SnapshotFootballWorldcupScoreboard.getScoreBoard(new MatchComparator()));
+        service.startNewMatch(OffsetDateTime.now(ZoneOffset.UTC), SPAIN, BRAZIL);
+        Thread.sleep(50);
+        service.startNewMatch(OffsetDateTime.now(ZoneOffset.UTC), GERMANY, FRANCE);
+        Thread.sleep(50);
+        service.startNewMatch(OffsetDateTime.now(ZoneOffset.UTC), URUGUAY, ITALY);
+
+        service.updateScore(SPAIN, 10, 2);
+        service.updateScore(GERMANY, 2, 2);
+        service.updateScore(ITALY, 6, 6);
+
+        List<MatchInProgress> summary = service.getSummary();
+        Assertions.assertEquals(URUGUAY, summary.get(0).getHomeTeam());
+        Assertions.assertEquals(SPAIN, summary.get(1).getHomeTeam());
+        Assertions.assertEquals(GERMANY, summary.get(2).getHomeTeam());
+    }
+
+    /**
+     * A write by team id publishes a new summary too
+     */
+    @Test
+    public void testTeamIdWritesArePublished() {
+        SnapshotFootballWorldcupScoreboard repo = SnapshotFootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        repo.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA));
+        List<MatchInProgress> before = repo.getSummary();
+        int canada = repo.getTeamId(CANADA);
+        repo.setScore(canada, 0, 5);
+        Assertions.assertEquals(0, before.get(0).getAwayTeamScore());
+        Assertions.assertEquals(5, repo.getSummary().get(0).getAwayTeamScore());
+        repo.remove(canada);
+        Assertions.assertTrue(repo.getSummary().isEmpty());
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.tests;
+
+import org.example.exception.ScoreBoardException;
+import org.example.helper.MatchComparator;
+import org.example.model.MatchInProgress;
+import org.example.repository.impl.StampedLockFootballWorldcupScoreboard;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.example.model.Constants.*;
+import static org.example.tests.MatchFixtures.newMatch;
+
+public class StampedLockFootballWorldcupScoreboardTest {
+
+    /**
+     * The match can be looked up by both teams and finished by both teams
+     */
+    @Test
+    public void testGetAndRemove() {
+        StampedLockFootballWorldcupScoreboard repo = StampedLockFootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        repo.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), ARGENTINA, AUSTRALIA));
+        Assertions.assertEquals(AUSTRALIA, repo.get(ARGENTINA).getAwayTeam());
+        Assertions.assertEquals(ARGENTINA, repo.get(AUSTRALIA).getHomeTeam());
+        Assertions.assertNull(repo.get(SPAIN));
+        Assertions.assertNull(repo.get(null));
+
+        Assertions.assertTrue(repo.remove(AUSTRALIA));
+        Assertions.assertNull(repo.get(ARGENTINA));
+        Assertions.assertTrue(repo.getSummary().isEmpty());
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.remove(ARGENTINA));
+        Assertions.assertFalse(repo.remove(null));
+    }
+
+    /**
+     * A team may not play two matches at the same time
+     */
+    @Test
+    public void testTeamIsAlreadyPlaying() {
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        StampedLockFootballWorldcupScoreboard repo = StampedLockFootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        repo.add(newMatch(utc, ARGENTINA, AUSTRALIA));
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.add(newMatch(utc, ARGENTINA, SPAIN)));
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.add(newMatch(utc, SPAIN, ARGENTINA)));
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.add(null));
+    }
+
+    /**
+     * 1. Spain 10 - Brazil 2
+     * 2. Germany 2 - France 2
+     * 3. Mexico 0 - Canada 0
+     */
+    @Test
+    public void testSummaryAfterScoreChanges() throws InterruptedException {
+        StampedLockFootballWorldcupScoreboard repo = StampedLockFootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        repo.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), MEXICO, CANADA));
+        Thread.sleep(50);
+        repo.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), SPAIN, BRAZIL));
+        Thread.sleep(50);
+        repo.add(newMatch(OffsetDateTime.now(ZoneOffset.UTC), GERMANY, FRANCE));
+
+        repo.setScore(SPAIN, 10, 2);
+        repo.setScore(FRANCE, 2, 2);
+        Assertions.assertThrows(ScoreBoardException.class, () -> repo.setScore(ITALY, 1, 0));
+        Assertions.assertFalse(repo.setScore(null, 1, 0));
+
+        List<MatchInProgress> summary = repo.getSummary();
+        Assertions.assertEquals(SPAIN, summary.get(0).getHomeTeam());
+        Assertions.assertEquals(GERMANY, summary.get(1).getHomeTeam());
+        Assertions.assertEquals(MEXICO, summary.get(2).getHomeTeam());
+    }
+
+    /**
+     * Writers keep changing the scores while readers keep reading the summary
+     * No summary may ever show a match twice or lose a match in the middle of an update
+     */
+    @Test
+    public void testSummaryIsConsistentUnderConcurrentUpdates() throws Exception {
+        int matchCount = 50;
+        StampedLockFootballWorldcupScoreboard repo = StampedLockFootballWorldcupScoreboard.getScoreBoard(new MatchComparator());
+        OffsetDateTime utc = OffsetDateTime.now(ZoneOffset.UTC);
+        for(int i = 0; i < matchCount; i++) {
+            repo.add(newMatch(utc.plusNanos(i * 1000L), "Home-" + i, "Away-" + i));
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for(int w = 0; w < 4; w++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for(int i = 0; i < 20_000; i++) {
+                    repo.setScore("Home-" + random.nextInt(matchCount), random.nextInt(10), random.nextInt(10));
+                }
+            }));
+        }
+        List<Future<Integer>> readers = new ArrayList<>();
+        for(int r = 0; r < 4; r++) {
+            readers.add(executor.submit(() -> {
+                int reads = 0;
+                while(running.get()) {
+                    List<MatchInProgress> summary = repo.getSummary();
+                    Assertions.assertEquals(matchCount, summary.size());
+                    Set<String> distinct = new HashSet<>(); //Two versions of the same match would be two instances
+                    for(MatchInProgress matchInProgress : summary) {
+                        distinct.add(matchInProgress.getHomeTeam());
+                    }
+                    Assertions.assertEquals(matchCount, distinct.size());
+                    Assertions.assertNotNull(repo.get("Away-" + (reads % matchCount)));
+                    reads++;
+                }
+                return reads;
+            }));
+        }
+        for(Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        running.set(false);
+        for(Future<Integer> reader : readers) {
+            Assertions.assertTrue(reader.get(60, TimeUnit.SECONDS) > 0);
+        }
+        executor.shutdown();
+        Assertions.assertEquals(matchCount, repo.getSummary().size());
+    }
+}
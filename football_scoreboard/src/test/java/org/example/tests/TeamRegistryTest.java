@@ -0,0 +1,65 @@
+package org.example.tests;
+
+import org.example.exception.ScoreBoardException;
+import org.example.helper.TeamRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.example.model.Constants.*;
+
+public class TeamRegistryTest {
+
+    /**
+     * The ids are dense, in the order of registration, and the same team always gets the same id
+     */
+    @Test
+    public void testRegister() {
+        TeamRegistry registry = new TeamRegistry();
+        Assertions.assertEquals(0, registry.register(MEXICO));
+        Assertions.assertEquals(1, registry.register(CANADA));
+        Assertions.assertEquals(0, registry.register(MEXICO));
+        Assertions.assertEquals(2, registry.size());
+        Assertions.assertEquals(1, registry.idOf(CANADA));
+        Assertions.assertEquals(CANADA, registry.nameOf(1));
+        Assertions.assertEquals(TeamRegistry.NO_TEAM, registry.idOf(SPAIN));
+        Assertions.assertEquals(TeamRegistry.NO_TEAM, registry.idOf(null));
+    }
+
+    /**
+     * The teams of the constants are registered in the order they are listed
+     */
+    @Test
+    public void testDefaultTeams() {
+        TeamRegistry registry = TeamRegistry.withDefaultTeams();
+        Assertions.assertEquals(10, registry.size());
+        Assertions.assertEquals(0, registry.idOf(ARGENTINA));
+        Assertions.assertEquals(CANADA, registry.nameOf(9));
+        Assertions.assertEquals(10, registry.register("Japan"));
+    }
+
+    /**
+     * More teams than the initial capacity keep their ids and names
+     */
+    @Test
+    public void testGrows() {
+        TeamRegistry registry = new TeamRegistry();
+        for(int i = 0; i < 100; i++) {
+            Assertions.assertEquals(i, registry.register("Team " + i));
+        }
+        for(int i = 0; i < 100; i++) {
+            Assertions.assertEquals("Team " + i, registry.nameOf(i));
+            Assertions.assertEquals(i, registry.idOf("Team " + i));
+        }
+    }
+
+    /**
+     * Null teams and unknown ids are refused
+     */
+    @Test
+    public void testInvalidTeams() {
+        TeamRegistry registry = TeamRegistry.withDefaultTeams();
+        Assertions.assertThrows(ScoreBoardException.class, () -> registry.register(null));
+        Assertions.assertThrows(ScoreBoardException.class, () -> registry.nameOf(-1));
+        Assertions.assertThrows(ScoreBoardException.class, () -> registry.nameOf(10));
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.tests;
+
+import org.example.exception.ScoreBoardException;
+import org.example.loadgen.LoadEvent;
+import org.example.loadgen.TournamentGenerator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TournamentGeneratorTest {
+
+    /**
+     * The same seed gives the same day, another seed another one
+     */
+    @Test
+    public void testDeterministic() {
+        List<String> first = lines(new TournamentGenerator(42, 200).generate());
+        Assertions.assertEquals(first, lines(new TournamentGenerator(42, 200).generate()));
+        Assertions.assertNotEquals(first, lines(new TournamentGenerator(43, 200).generate()));
+    }
+
+    /**
+     * Every match starts first, its scores only change by one goal and nothing follows its finish
+     */
+    @Test
+    public void testMatchSequences() {
+        List<LoadEvent> events = new TournamentGenerator(7, 500, 3 * 60 * 60, 2.5, 0.2).generate();
+        Map<String, int[]> running = new HashMap<>();
+        long lastSecond = 0;
+        for(LoadEvent event : events) {
+            Assertions.assertTrue(event.getAtSecond() >= lastSecond);
+            Assertions.assertTrue(event.getAtSecond() < 3 * 60 * 60);
+            lastSecond = event.getAtSecond();
+            int[] score = running.get(event.getHomeTeam());
+            if(event.getType() == LoadEvent.Type.START) {
+                Assertions.assertNull(score);
+                running.put(event.getHomeTeam(), new int[2]);
+                continue;
+            }
+            Assertions.assertNotNull(score);
+            if(event.getType() == LoadEvent.Type.FINISH) {
+                running.remove(event.getHomeTeam());
+                continue;
+            }
+            int goals = event.getHomeScore() + event.getAwayScore() - score[0] - score[1];
+            Assertions.assertEquals(event.getType() == LoadEvent.Type.SCORE ? 1 : -1, goals);
+            score[0] = event.getHomeScore();
+            score[1] = event.getAwayScore();
+        }
+        Assertions.assertFalse(running.isEmpty());
+    }
+
+    /**
+     * Without corrections the finished matches average about twice the goals per team
+     */
+    @Test
+    public void testMeanGoals() {
+        List<LoadEvent> events = new TournamentGenerator(11, 20_000, 1_000_000, 1.4, 0).generate();
+        Map<String, Integer> goals = new HashMap<>();
+        int finished = 0;
+        long total = 0;
+        for(LoadEvent event : events) {
+            if(event.getType() == LoadEvent.Type.SCORE) {
+                goals.put(event.getHomeTeam(), event.getHomeScore() + event.getAwayScore());
+            } else if(event.getType() == LoadEvent.Type.FINISH) {
+                finished++;
+                total += goals.getOrDefault(event.getHomeTeam(), 0);
+            }
+        }
+        Assertions.assertEquals(2.8, (double) total / finished, 0.1);
+    }
+
+    /**
+     * A probability above one is refused
+     */
+    @Test
+    public void testInvalidArguments() {
+        Assertions.assertThrows(ScoreBoardException.class, () -> new TournamentGenerator(1, 10, 3600, 1.4, 1.5));
+        Assertions.assertThrows(ScoreBoardException.class, () -> new TournamentGenerator(1, -1));
+    }
+
+    private static List<String> lines(List<LoadEvent> events) {
+        return events.stream().map(LoadEvent::toLine).toList();
+    }
+
+    /**
+     * An event is written as one line of comma separated fields, a team name which would break the line is rejected
+     */
+    @Test
+    public void testEventLines() {
+        LoadEvent event = LoadEvent.score(90, "Korea Republic", "Cote d'Ivoire", 2, 1);
+        LoadEvent parsed = LoadEvent.parse(event.toLine());
+        Assertions.assertEquals(event.toLine(), parsed.toLine());
+        Assertions.assertEquals("Cote d'Ivoire", parsed.getAwayTeam());
+
+        Assertions.assertThrows(ScoreBoardException.class, () -> LoadEvent.start(0, "Korea, Republic of", "Spain"));
+        Assertions.assertThrows(ScoreBoardException.class, () -> LoadEvent.finish(0, "Spain", "Brazil\n1"));
+        Assertions.assertThrows(ScoreBoardException.class, () -> LoadEvent.score(0, null, "Spain", 1, 0));
+        Assertions.assertThrows(ScoreBoardException.class, () -> LoadEvent.parse("1,START,Korea, Republic of,Spain,0,0"));
+        Assertions.assertThrows(ScoreBoardException.class, () -> LoadEvent.parse("1,START,,Spain,0,0"));
+    }
+}